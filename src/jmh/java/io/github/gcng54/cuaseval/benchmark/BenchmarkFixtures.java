@@ -0,0 +1,98 @@
+package io.github.gcng54.cuaseval.benchmark;
+
+import io.github.gcng54.cuaseval.dti.MultiDtiSystem;
+import io.github.gcng54.cuaseval.model.*;
+import io.github.gcng54.cuaseval.terrain.DtedReader;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the JMH benchmarks.
+ * <p>
+ * All random inputs use {@link #SEED} and terrain is synthesised rather than
+ * read from local DTED/SRTM data, so results are comparable between machines
+ * and releases.
+ * </p>
+ */
+final class BenchmarkFixtures {
+
+    /** Seed of every benchmark random stream */
+    static final long SEED = 42;
+
+    /** Scenario centre (default map centre of the application) */
+    static final GeoPosition CENTRE = new GeoPosition(38.4, 26.8, 100);
+
+    /** Posts per side of the synthetic DTED tiles (DTED level 1) */
+    static final int TILE_POSTS = DtedReader.DTED1_POSTS;
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Load a synthetic 2×2-tile DTED cache around {@link #CENTRE}
+     * (lon 26–27, lat 38–39) with smooth rolling terrain.
+     */
+    static DtedReader syntheticTerrain() throws IOException {
+        File cache = File.createTempFile("cuas-eval-bench", ".dtcache");
+        cache.deleteOnExit();
+        writeSyntheticCache(cache, 26, 38, 2, 2);
+
+        DtedReader reader = new DtedReader();
+        if (!reader.loadCache(cache)) {
+            throw new IOException("Failed to load synthetic DTED cache " + cache);
+        }
+        return reader;
+    }
+
+    /**
+     * Write a DTCACHE2 file with every tile present.
+     */
+    private static void writeSyntheticCache(File file, int minLon, int minLat,
+                                            int cols, int rows) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            dos.write("DTCACHE2".getBytes());
+            dos.writeInt(minLon);
+            dos.writeInt(minLat);
+            dos.writeInt(minLon + cols - 1);
+            dos.writeInt(minLat + rows - 1);
+            dos.writeInt(cols);
+            dos.writeInt(rows);
+            dos.writeInt(TILE_POSTS);
+
+            double step = 1.0 / (TILE_POSTS - 1);
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    dos.writeBoolean(true);
+                    for (int lc = 0; lc < TILE_POSTS; lc++) {
+                        double lon = minLon + c + lc * step;
+                        for (int lr = 0; lr < TILE_POSTS; lr++) {
+                            double lat = minLat + r + lr * step;
+                            dos.writeShort((short) (400
+                                    + 250 * Math.sin(lat * 40) * Math.cos(lon * 35)
+                                    + 60 * Math.sin(lat * 300 + lon * 170)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add {@code count} DTI nodes on a 2 km ring around the centre, cycling
+     * through the sensor library templates in library order.
+     */
+    static void addRingNodes(MultiDtiSystem system, int count) {
+        List<CuasSensor> templates = SensorLibrary.getAllTemplates();
+        double radiusM = 2000;
+        for (int i = 0; i < count; i++) {
+            double bearing = Math.toRadians(360.0 * i / count);
+            double lat = CENTRE.getLatitude() + radiusM * Math.cos(bearing) / 111_320.0;
+            double lon = CENTRE.getLongitude() + radiusM * Math.sin(bearing)
+                    / (111_320.0 * Math.cos(Math.toRadians(CENTRE.getLatitude())));
+            system.addNode("N" + (i + 1), "Node " + (i + 1),
+                    new GeoPosition(lat, lon, CENTRE.getAltitudeMsl()),
+                    templates.get(i % templates.size()).copy());
+        }
+    }
+}
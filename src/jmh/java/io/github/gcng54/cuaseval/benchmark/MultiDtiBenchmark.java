@@ -0,0 +1,53 @@
+package io.github.gcng54.cuaseval.benchmark;
+
+import io.github.gcng54.cuaseval.dti.MultiDtiSystem;
+import io.github.gcng54.cuaseval.generator.TestScenarioGenerator;
+import io.github.gcng54.cuaseval.model.EvaluationResult;
+import io.github.gcng54.cuaseval.model.TestScenario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link MultiDtiSystem#execute} (per-node evaluation plus
+ * fusion) on a 20-target scenario with 1–50 nodes.
+ * <p>
+ * The system is rebuilt before each invocation so that every node pipeline
+ * starts from its default seed and each invocation does identical work.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class MultiDtiBenchmark {
+
+    @Param({"1", "5", "10", "25", "50"})
+    public int nodes;
+
+    @Param({"OR_LOGIC", "VOTING"})
+    public MultiDtiSystem.FusionStrategy fusion;
+
+    private TestScenario scenario;
+    private MultiDtiSystem system;
+
+    @Setup(Level.Trial)
+    public void setUpScenario() {
+        scenario = new TestScenarioGenerator()
+                .createMultiTargetScenario(BenchmarkFixtures.CENTRE, 20);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSystem() {
+        system = new MultiDtiSystem();
+        BenchmarkFixtures.addRingNodes(system, nodes);
+        system.setDetectionFusion(fusion);
+    }
+
+    @Benchmark
+    public EvaluationResult execute() {
+        return system.execute(scenario);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.gcng54.cuaseval.benchmark;
+
+import io.github.gcng54.cuaseval.dti.DtiPipeline;
+import io.github.gcng54.cuaseval.generator.TestScenarioGenerator;
+import io.github.gcng54.cuaseval.model.EvaluationResult;
+import io.github.gcng54.cuaseval.model.TestScenario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one full single-node DTI run ({@link DtiPipeline#execute})
+ * on the multi-target scenario at increasing target counts.
+ * <p>
+ * Every invocation runs on a fresh pipeline fork seeded with
+ * {@link BenchmarkFixtures#SEED}, so each one does identical work.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int targets;
+
+    private TestScenario scenario;
+    private DtiPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scenario = new TestScenarioGenerator()
+                .createMultiTargetScenario(BenchmarkFixtures.CENTRE, targets);
+        pipeline = new DtiPipeline();
+    }
+
+    @Benchmark
+    public EvaluationResult execute() {
+        return pipeline.fork(BenchmarkFixtures.SEED).execute(scenario);
+    }
+}
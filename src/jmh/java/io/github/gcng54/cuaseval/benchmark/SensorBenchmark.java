@@ -0,0 +1,60 @@
+package io.github.gcng54.cuaseval.benchmark;
+
+import io.github.gcng54.cuaseval.model.CuasSensor;
+import io.github.gcng54.cuaseval.model.SensorLibrary;
+import io.github.gcng54.cuaseval.model.TestEnvironment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-look Pd model ({@link CuasSensor#computePd}) for one sensor of each
+ * family, with and without EW degradation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class SensorBenchmark {
+
+    /** Pd evaluations per invocation */
+    private static final int LOOKS = 1024;
+
+    @Param({"RD-03", "EO-01", "RF-01"})
+    public String sensorId;
+
+    private CuasSensor sensor;
+    private final double[] ranges = new double[LOOKS];
+    private final double[] rcs = new double[LOOKS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sensor = SensorLibrary.getTemplate(sensorId);
+        Random rng = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < LOOKS; i++) {
+            ranges[i] = rng.nextDouble() * sensor.getMaxRangeM() * 1.1;
+            rcs[i] = 0.005 + rng.nextDouble() * 0.5;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKS)
+    public void computePd(Blackhole bh) {
+        for (int i = 0; i < LOOKS; i++) {
+            bh.consume(sensor.computePd(ranges[i], rcs[i], TestEnvironment.WeatherCondition.RAIN));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKS)
+    public void computePdWithEw(Blackhole bh) {
+        for (int i = 0; i < LOOKS; i++) {
+            bh.consume(sensor.computePd(ranges[i], rcs[i], TestEnvironment.WeatherCondition.RAIN,
+                    TestEnvironment.EwCondition.MEDIUM));
+        }
+    }
+}
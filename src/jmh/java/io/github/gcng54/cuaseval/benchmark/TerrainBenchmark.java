@@ -0,0 +1,81 @@
+package io.github.gcng54.cuaseval.benchmark;
+
+import io.github.gcng54.cuaseval.model.GeoPosition;
+import io.github.gcng54.cuaseval.terrain.DtedReader;
+import io.github.gcng54.cuaseval.terrain.TerrainMaskCache;
+import io.github.gcng54.cuaseval.terrain.TerrainMaskCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terrain hot paths on a synthetic DTED level-1 cache: point elevation
+ * queries, elevation grids for map rendering and a 360 × 500 terrain mask,
+ * computed from the terrain and looked up in a mask cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class TerrainBenchmark {
+
+    /** Point queries per {@link #getElevation} invocation */
+    private static final int POINTS = 1024;
+
+    @Param({"100", "400"})
+    public int gridResolution;
+
+    private DtedReader reader;
+    private TerrainMaskCalculator maskCalculator;
+    private TerrainMaskCalculator cachedMaskCalculator;
+    private final double[] lats = new double[POINTS];
+    private final double[] lons = new double[POINTS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        reader = BenchmarkFixtures.syntheticTerrain();
+        // No cache: every invocation samples the terrain
+        maskCalculator = new TerrainMaskCalculator(reader, null);
+        cachedMaskCalculator = new TerrainMaskCalculator(reader, new TerrainMaskCache());
+        cachedTerrainMask();
+
+        // Random points within 20 km of the centre
+        Random rng = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = BenchmarkFixtures.CENTRE.getLatitude() + (rng.nextDouble() - 0.5) * 0.36;
+            lons[i] = BenchmarkFixtures.CENTRE.getLongitude() + (rng.nextDouble() - 0.5) * 0.45;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void getElevation(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(reader.getElevation(lats[i], lons[i]));
+        }
+    }
+
+    @Benchmark
+    public DtedReader.ElevationGrid getElevationGrid() {
+        GeoPosition c = BenchmarkFixtures.CENTRE;
+        return reader.getElevationGrid(c.getLatitude(), c.getLongitude(), 20, gridResolution);
+    }
+
+    @Benchmark
+    public TerrainMaskCalculator.TerrainMask computeTerrainMask() {
+        return maskCalculator.computeTerrainMask(BenchmarkFixtures.CENTRE,
+                BenchmarkFixtures.CENTRE.getAltitudeMsl() + 10, 20_000, 360, 500);
+    }
+
+    /** Mask cache hit for the mask computed during setup. */
+    @Benchmark
+    public TerrainMaskCalculator.TerrainMask cachedTerrainMask() {
+        return cachedMaskCalculator.computeTerrainMask(BenchmarkFixtures.CENTRE,
+                BenchmarkFixtures.CENTRE.getAltitudeMsl() + 10, 20_000, 360, 500);
+    }
+}
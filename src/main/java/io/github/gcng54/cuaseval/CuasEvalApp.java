@@ -3,10 +3,16 @@ package io.github.gcng54.cuaseval;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import io.github.gcng54.cuaseval.event.JsonLinesEventWriter;
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
+import io.github.gcng54.cuaseval.event.SampledLogConsumer;
 import io.github.gcng54.cuaseval.ui.MainView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * CUAS-Eval — Counter-UAS Evaluation Application.
  * <p>
@@ -32,12 +38,23 @@ public class CuasEvalApp extends Application {
 
     private static final Logger log = LoggerFactory.getLogger(CuasEvalApp.class);
 
+    /** Structured DTI event log (JSON Lines, next to the text log) */
+    private static final Path EVENT_LOG = Path.of("logs", "cuas-eval-events.jsonl");
+
+    /** Per-target events echoed to the console: one in this many */
+    private static final int CONSOLE_SAMPLE_EVERY = 100;
+
+    private PipelineEventBus events;
+
     @Override
     public void start(Stage primaryStage) {
         log.info("    CUAS-Eval v2.0 — CWA 18150 Evaluator   ");
         log.info("    Counter-UAS DTI Performance Evaluation ");
         log.info("    Gokhan Cengiz - 2026                   ");
 
+        // Pipeline event bus (must exist before the views attach their consumers)
+        events = createEventBus();
+
         // Create main view
         MainView mainView = new MainView();
 
@@ -52,12 +69,31 @@ public class CuasEvalApp extends Application {
 
         primaryStage.setOnCloseRequest(e -> {
             log.info("CUAS-Eval shutting down.");
+            PipelineEventBus.setDefault(null);
+            events.close();
         });
 
         primaryStage.show();
         log.info("Application started successfully.");
     }
 
+    /**
+     * Create and install the pipeline event bus with the JSON Lines file
+     * writer and a sampled console log.
+     */
+    private static PipelineEventBus createEventBus() {
+        PipelineEventBus bus = new PipelineEventBus(PipelineEventBus.DEFAULT_CAPACITY);
+        try {
+            bus.addConsumer(new JsonLinesEventWriter(EVENT_LOG));
+        } catch (IOException e) {
+            log.warn("Cannot open event log {}: {}", EVENT_LOG, e.getMessage());
+        }
+        bus.addConsumer(SampledLogConsumer.toLogger(CONSOLE_SAMPLE_EVERY));
+        bus.start();
+        PipelineEventBus.setDefault(bus);
+        return bus;
+    }
+
     /**
      * Application entry point.
      * Launches the JavaFX application.
@@ -0,0 +1,686 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.CoverageReport;
+import io.github.gcng54.cuaseval.model.CuasSensor;
+import io.github.gcng54.cuaseval.model.GeoPosition;
+import io.github.gcng54.cuaseval.model.TestEnvironment;
+import io.github.gcng54.cuaseval.model.UasClass;
+import io.github.gcng54.cuaseval.terrain.DtedReader;
+import io.github.gcng54.cuaseval.terrain.TerrainMaskCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Raster engine for the three-dimensional detection coverage of a set of
+ * {@link MultiDtiSystem.DtiNode}s.
+ * <p>
+ * The union of the nodes' nominal range sectors is divided into lat/lon
+ * cells of {@link #getCellSizeM()} and altitude layers above ground
+ * ({@link #getLayerBoundsAglM()}). A node covers a voxel — cell centre at
+ * the layer's mid altitude — for a UAS class when:
+ * </p>
+ * <ul>
+ *   <li>the slant range lies within the sensor's range limits and the
+ *       voxel within its azimuth sector and elevation coverage</li>
+ *   <li>the altitude lies within the sensor's altitude envelope (AGL)</li>
+ *   <li>the voxel is in line of sight above the terrain horizon (only when
+ *       loaded DTED data is set, see {@link #setTerrain(DtedReader)})</li>
+ *   <li>{@link CuasSensor#computePd} for the class's typical RCS reaches
+ *       the Pd threshold</li>
+ * </ul>
+ * <p>
+ * Every voxel is counted once with the number of nodes covering it, giving
+ * the true union coverage, the k-fold overlap and the gaps per layer and
+ * class in a {@link CoverageReport}.
+ * </p>
+ * <p>
+ * The grid is evaluated in square tiles, concurrently when the parallelism
+ * allows. Each tile accumulates its own partial areas and tiles are merged
+ * in grid order, so the report does not depend on the parallelism or the
+ * thread schedule. Reports are kept in a small LRU cache keyed by the node
+ * sensors and positions, the engine settings and the terrain data revision;
+ * cached reports are shared and must not be modified.
+ * </p>
+ */
+public class CoverageEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverageEngine.class);
+
+    /** Metres per degree of latitude on the spherical earth of {@link GeoPosition#distanceTo} */
+    private static final double M_PER_DEG = 6_371_000.0 * Math.PI / 180.0;
+    private static final double EARTH_RADIUS = 6_371_000.0;
+
+    /** Default altitude layer bounds in metres AGL */
+    public static final double[] DEFAULT_LAYER_BOUNDS_AGL_M = {0, 30, 60, 120, 300, 600};
+
+    /** Default UAS classes evaluated */
+    public static final List<UasClass> DEFAULT_UAS_CLASSES =
+            List.of(UasClass.C0, UasClass.C1, UasClass.C2, UasClass.C3, UasClass.C4);
+
+    /** Cells per tile side */
+    private static final int TILE_CELLS = 32;
+
+    /** Upper bound of grid cells along each axis; the cell grows beyond it */
+    private static final int MAX_CELLS_PER_AXIS = 2048;
+
+    /** Azimuth resolution and maximum range samples of the terrain horizons */
+    private static final int HORIZON_AZIMUTHS = 720;
+    private static final int MAX_HORIZON_SAMPLES = 1000;
+
+    /** Default number of reports kept */
+    public static final int DEFAULT_CACHE_CAPACITY = 16;
+
+    /** Number of single-sensor voxel masks kept (see {@link #coveredVoxels}) */
+    private static final int MASK_CACHE_CAPACITY = 512;
+
+    // ── Settings ────────────────────────────────────────────────────────
+
+    private double cellSizeM = 250;
+    private double[] layerBoundsAglM = DEFAULT_LAYER_BOUNDS_AGL_M.clone();
+    private double pdThreshold = 0.5;
+    private TestEnvironment.WeatherCondition weather = TestEnvironment.WeatherCondition.CLEAR;
+    private TestEnvironment.EwCondition ewCondition = TestEnvironment.EwCondition.NONE;
+    private List<UasClass> uasClasses = DEFAULT_UAS_CLASSES;
+    private DtedReader terrain;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ExecutorService executor;
+
+    // ── Report cache ────────────────────────────────────────────────────
+
+    private int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private final Map<String, CoverageReport> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CoverageReport> eldest) {
+            return size() > cacheCapacity;
+        }
+    };
+    private long hits;
+    private long misses;
+
+    private final Map<String, int[]> maskCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > MASK_CACHE_CAPACITY;
+        }
+    };
+
+    // ── Configuration ───────────────────────────────────────────────────
+
+    public double getCellSizeM()                              { return cellSizeM; }
+    public double[] getLayerBoundsAglM()                      { return layerBoundsAglM.clone(); }
+    public double getPdThreshold()                            { return pdThreshold; }
+    public TestEnvironment.WeatherCondition getWeather()      { return weather; }
+    public TestEnvironment.EwCondition getEwCondition()       { return ewCondition; }
+    public List<UasClass> getUasClasses()                     { return uasClasses; }
+    public DtedReader getTerrain()                            { return terrain; }
+    public int getParallelism()                               { return parallelism; }
+    public ExecutorService getExecutor()                      { return executor; }
+
+    public void setPdThreshold(double pdThreshold)                     { this.pdThreshold = pdThreshold; }
+    public void setWeather(TestEnvironment.WeatherCondition weather)   { this.weather = weather; }
+    public void setEwCondition(TestEnvironment.EwCondition ew)         { this.ewCondition = ew; }
+    public void setParallelism(int parallelism)                        { this.parallelism = Math.max(1, parallelism); }
+
+    /**
+     * Executor on which tiles are evaluated. It is not shut down by this
+     * engine; null creates a fixed pool of {@link #getParallelism()} threads
+     * for each computation.
+     */
+    public void setExecutor(ExecutorService executor)                  { this.executor = executor; }
+
+    /**
+     * Elevation data for terrain line of sight and ground heights; null or
+     * an unloaded reader evaluates over a flat earth at sea level.
+     */
+    public void setTerrain(DtedReader terrain)                         { this.terrain = terrain; }
+
+    public void setCellSizeM(double cellSizeM) {
+        if (!(cellSizeM > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSizeM);
+        }
+        this.cellSizeM = cellSizeM;
+    }
+
+    /**
+     * Altitude layer bounds in metres above ground: layer {@code i} spans
+     * {@code bounds[i] .. bounds[i + 1]}.
+     */
+    public void setLayerBoundsAglM(double... bounds) {
+        if (bounds.length < 2) {
+            throw new IllegalArgumentException("At least one altitude layer is required");
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            if (bounds[i] < 0 || (i > 0 && bounds[i] <= bounds[i - 1])) {
+                throw new IllegalArgumentException("Layer bounds must be ascending and non-negative: "
+                        + Arrays.toString(bounds));
+            }
+        }
+        this.layerBoundsAglM = bounds.clone();
+    }
+
+    public void setUasClasses(List<UasClass> classes) {
+        if (classes.isEmpty()) {
+            throw new IllegalArgumentException("At least one UAS class is required");
+        }
+        this.uasClasses = List.copyOf(classes);
+    }
+
+    // ── Cache ───────────────────────────────────────────────────────────
+
+    public synchronized int getCacheCapacity()   { return cacheCapacity; }
+    public synchronized long getCacheHits()      { return hits; }
+    public synchronized long getCacheMisses()    { return misses; }
+
+    /** Drop every cached report and voxel mask. */
+    public synchronized void clearCache() {
+        cache.clear();
+        maskCache.clear();
+    }
+
+    /** Change the number of reports kept (0 disables caching). */
+    public synchronized void setCacheCapacity(int capacity) {
+        this.cacheCapacity = Math.max(0, capacity);
+        var it = cache.entrySet().iterator();
+        while (cache.size() > cacheCapacity && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // ── Computation ─────────────────────────────────────────────────────
+
+    /**
+     * Coverage of a set of nodes, from the cache when nothing relevant changed.
+     *
+     * @param nodes DTI nodes (sensor and position are used)
+     * @return coverage per UAS class and altitude layer
+     */
+    public CoverageReport compute(List<MultiDtiSystem.DtiNode> nodes) {
+        boolean useTerrain = terrain != null && terrain.isLoaded();
+        if (nodes.isEmpty()) {
+            return new CoverageReport(0, cellSizeM, pdThreshold, weather.name(), useTerrain);
+        }
+
+        String key = cacheKey(nodes, useTerrain);
+        synchronized (this) {
+            CoverageReport cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        CoverageReport report = rasterise(nodes, useTerrain);
+        synchronized (this) {
+            if (cacheCapacity > 0) cache.put(key, report);
+        }
+        return report;
+    }
+
+    private String cacheKey(List<MultiDtiSystem.DtiNode> nodes, boolean useTerrain) {
+        List<Object> parts = new ArrayList<>(2 * nodes.size() + 1);
+        parts.add(describeSettings(useTerrain));
+        for (MultiDtiSystem.DtiNode node : nodes) {
+            parts.add(node.getSensor());
+            parts.add(node.getPosition());
+        }
+        return NodeResultCache.contentDigest(parts.toArray());
+    }
+
+    private String describeSettings(boolean useTerrain) {
+        return String.format(Locale.ENGLISH, "cell=%s layers=%s pd=%s weather=%s ew=%s classes=%s terrain=%s",
+                cellSizeM, Arrays.toString(layerBoundsAglM), pdThreshold, weather, ewCondition, uasClasses,
+                useTerrain ? System.identityHashCode(terrain) + "#" + terrain.getRevision() : "none");
+    }
+
+    private CoverageReport rasterise(List<MultiDtiSystem.DtiNode> nodes, boolean useTerrain) {
+        long start = System.nanoTime();
+        DtedReader dted = useTerrain ? terrain : null;
+
+        // Sites and their terrain horizons (independent, so also concurrent)
+        List<Callable<Site>> siteTasks = new ArrayList<>(nodes.size());
+        for (MultiDtiSystem.DtiNode node : nodes) {
+            siteTasks.add(() -> new Site(node.getSensor(), node.getPosition(), dted, cellSizeM));
+        }
+        Site[] sites = runTasks(siteTasks).toArray(new Site[0]);
+
+        // Grid over the bounding box of the range discs
+        double south = Double.POSITIVE_INFINITY, north = Double.NEGATIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY, east = Double.NEGATIVE_INFINITY;
+        double sectorSumKm2 = 0;
+        for (Site s : sites) {
+            south = Math.min(south, s.lat - s.dLat);
+            north = Math.max(north, s.lat + s.dLat);
+            west = Math.min(west, s.lon - s.dLon);
+            east = Math.max(east, s.lon + s.dLon);
+            double r = s.maxRange / 1000.0;
+            sectorSumKm2 += Math.PI * r * r * (s.azCoverage / 360.0);
+        }
+        double midLat = Math.min(89.9, Math.abs((south + north) / 2));
+        double cell = cellSizeM;
+        double cellLat = cell / M_PER_DEG;
+        double cellLon = cell / (M_PER_DEG * Math.cos(Math.toRadians(midLat)));
+        double scale = Math.max(1, Math.max((north - south) / cellLat, (east - west) / cellLon) / MAX_CELLS_PER_AXIS);
+        if (scale > 1) {
+            cell *= scale;
+            cellLat *= scale;
+            cellLon *= scale;
+            log.warn(String.format(Locale.ENGLISH, "Coverage grid too large at %.0f m cells — using %.0f m",
+                    cellSizeM, cell));
+        }
+        int ny = Math.max(1, (int) Math.ceil((north - south) / cellLat));
+        int nx = Math.max(1, (int) Math.ceil((east - west) / cellLon));
+        Grid grid = new Grid(south, west, cellLat, cellLon, nx, ny);
+
+        double[] rcs = new double[uasClasses.size()];
+        for (int c = 0; c < rcs.length; c++) rcs[c] = uasClasses.get(c).getTypicalRcsSqm();
+        double[] layerMid = new double[layerBoundsAglM.length - 1];
+        for (int l = 0; l < layerMid.length; l++) {
+            layerMid[l] = (layerBoundsAglM[l] + layerBoundsAglM[l + 1]) / 2;
+        }
+
+        // Tiles in row-major grid order
+        List<Callable<TileResult>> tiles = new ArrayList<>();
+        for (int y0 = 0; y0 < ny; y0 += TILE_CELLS) {
+            for (int x0 = 0; x0 < nx; x0 += TILE_CELLS) {
+                int ty0 = y0, tx0 = x0;
+                tiles.add(() -> evaluateTile(grid, sites, dted, rcs, layerMid, tx0, ty0,
+                        Math.min(nx, tx0 + TILE_CELLS), Math.min(ny, ty0 + TILE_CELLS)));
+            }
+        }
+
+        int classes = rcs.length, layers = layerMid.length, folds = sites.length + 1;
+        double[] area = new double[classes * layers * folds];
+        double footprint = 0, covered = 0;
+        for (TileResult tile : runTasks(tiles)) {
+            for (int i = 0; i < area.length; i++) area[i] += tile.area[i];
+            footprint += tile.footprint;
+            covered += tile.covered;
+        }
+
+        CoverageReport report = new CoverageReport(sites.length, cell, pdThreshold, weather.name(), useTerrain);
+        report.setGridCols(nx);
+        report.setGridRows(ny);
+        report.setFootprintAreaKm2(footprint);
+        report.setCoveredAreaKm2(covered);
+        report.setSectorAreaSumKm2(sectorSumKm2);
+        for (int c = 0; c < classes; c++) {
+            for (int l = 0; l < layers; l++) {
+                int base = (c * layers + l) * folds;
+                report.getLayers().add(new CoverageReport.LayerCoverage(uasClasses.get(c),
+                        layerBoundsAglM[l], layerBoundsAglM[l + 1],
+                        Arrays.copyOfRange(area, base, base + folds)));
+            }
+        }
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Coverage computed in {} ms: {}", report.getElapsedMillis(), report);
+        return report;
+    }
+
+    /**
+     * Evaluate the voxels of one tile (cells {@code x0..x1-1} × {@code y0..y1-1}).
+     */
+    private TileResult evaluateTile(Grid grid, Site[] sites, DtedReader dted, double[] rcs, double[] layerMid,
+                                    int x0, int y0, int x1, int y1) {
+        int classes = rcs.length, layers = layerMid.length, folds = sites.length + 1;
+        TileResult result = new TileResult(new double[classes * layers * folds]);
+
+        // Sites whose range disc may reach the tile
+        double tileSouth = grid.south + y0 * grid.cellLat, tileNorth = grid.south + y1 * grid.cellLat;
+        double tileWest = grid.west + x0 * grid.cellLon, tileEast = grid.west + x1 * grid.cellLon;
+        List<Site> candidates = new ArrayList<>();
+        for (Site s : sites) {
+            if (s.lat + s.dLat >= tileSouth && s.lat - s.dLat <= tileNorth
+                    && s.lon + s.dLon >= tileWest && s.lon - s.dLon <= tileEast) {
+                candidates.add(s);
+            }
+        }
+        if (candidates.isEmpty()) return result;
+
+        Site[] reach = new Site[candidates.size()];
+        double[] dist = new double[candidates.size()];
+        double[] azimuth = new double[candidates.size()];
+        int[] counts = new int[classes];
+
+        for (int y = y0; y < y1; y++) {
+            double lat = grid.south + (y + 0.5) * grid.cellLat;
+            double cellAreaKm2 = grid.cellLat * M_PER_DEG
+                    * grid.cellLon * M_PER_DEG * Math.cos(Math.toRadians(lat)) / 1e6;
+            for (int x = x0; x < x1; x++) {
+                double lon = grid.west + (x + 0.5) * grid.cellLon;
+
+                // Nodes whose nominal range sector contains the cell
+                int n = 0;
+                for (Site s : candidates) {
+                    double dy = (lat - s.lat) * M_PER_DEG;
+                    double dx = (lon - s.lon) * s.kx;
+                    double d = Math.sqrt(dx * dx + dy * dy);
+                    if (d > s.maxRange) continue;
+                    double az = Math.toDegrees(Math.atan2(dx, dy));
+                    if (!s.inSector(az, d)) continue;
+                    reach[n] = s;
+                    dist[n] = d;
+                    azimuth[n] = az;
+                    n++;
+                }
+                if (n == 0) continue;
+                result.footprint += cellAreaKm2;
+
+                double ground = 0;
+                if (dted != null) {
+                    double e = dted.getElevation(lat, lon);
+                    if (e != DtedReader.NO_DATA) ground = e;
+                }
+
+                boolean anyCovered = false;
+                for (int l = 0; l < layers; l++) {
+                    double agl = layerMid[l];
+                    Arrays.fill(counts, 0);
+                    for (int i = 0; i < n; i++) {
+                        Site s = reach[i];
+                        double slant = s.slantRange(dist[i], azimuth[i], ground, agl);
+                        if (Double.isNaN(slant)) continue;
+                        for (int c = 0; c < classes; c++) {
+                            if (s.sensor.computePd(slant, rcs[c], weather, ewCondition) >= pdThreshold) {
+                                counts[c]++;
+                            }
+                        }
+                    }
+                    for (int c = 0; c < classes; c++) {
+                        result.area[(c * layers + l) * folds + counts[c]] += cellAreaKm2;
+                        if (counts[c] > 0) anyCovered = true;
+                    }
+                }
+                if (anyCovered) result.covered += cellAreaKm2;
+            }
+        }
+        return result;
+    }
+
+    // ── Voxel masks ─────────────────────────────────────────────────────
+
+    /**
+     * Voxels of a protected circle for the current settings and terrain.
+     */
+    VoxelGrid voxelGrid(GeoPosition centre, double radiusM) {
+        DtedReader dted = terrain != null && terrain.isLoaded() ? terrain : null;
+        double cellLat = cellSizeM / M_PER_DEG;
+        double cellLon = cellSizeM / (M_PER_DEG * Math.cos(Math.toRadians(centre.getLatitude())));
+        double kx = M_PER_DEG * Math.cos(Math.toRadians(centre.getLatitude()));
+        int half = (int) Math.ceil(radiusM / cellSizeM);
+
+        List<double[]> cells = new ArrayList<>();
+        for (int y = -half; y <= half; y++) {
+            double lat = centre.getLatitude() + y * cellLat;
+            for (int x = -half; x <= half; x++) {
+                double lon = centre.getLongitude() + x * cellLon;
+                double dy = y * cellLat * M_PER_DEG, dx = x * cellLon * kx;
+                if (dx * dx + dy * dy > radiusM * radiusM) continue;
+                double ground = 0;
+                if (dted != null) {
+                    double e = dted.getElevation(lat, lon);
+                    if (e != DtedReader.NO_DATA) ground = e;
+                }
+                double areaKm2 = cellLat * M_PER_DEG * cellLon * M_PER_DEG * Math.cos(Math.toRadians(lat)) / 1e6;
+                cells.add(new double[]{lat, lon, ground, areaKm2});
+            }
+        }
+        return new VoxelGrid(centre, radiusM, cells, layerBoundsAglM, dted != null);
+    }
+
+    /**
+     * Ascending indices of the voxels of a grid that one sensor at a position
+     * covers for a UAS class. Masks are cached by sensor, position, class,
+     * grid and settings; the returned array is shared and must not be modified.
+     */
+    int[] coveredVoxels(VoxelGrid grid, CuasSensor sensor, GeoPosition position, UasClass uasClass) {
+        DtedReader dted = grid.terrain ? terrain : null;
+        String key = NodeResultCache.contentDigest(describeSettings(grid.terrain), grid.centre,
+                grid.radiusM, sensor, position, uasClass);
+        synchronized (this) {
+            int[] cached = maskCache.get(key);
+            if (cached != null) return cached;
+        }
+
+        Site site = new Site(sensor, position, dted, cellSizeM);
+        double rcs = uasClass.getTypicalRcsSqm();
+        int layers = grid.layerMid.length;
+        int[] covered = new int[grid.size()];
+        int n = 0;
+        for (int c = 0; c < grid.lat.length; c++) {
+            double dy = (grid.lat[c] - site.lat) * M_PER_DEG;
+            double dx = (grid.lon[c] - site.lon) * site.kx;
+            double d = Math.sqrt(dx * dx + dy * dy);
+            if (d > site.maxRange) continue;
+            double az = Math.toDegrees(Math.atan2(dx, dy));
+            if (!site.inSector(az, d)) continue;
+            for (int l = 0; l < layers; l++) {
+                double slant = site.slantRange(d, az, grid.ground[c], grid.layerMid[l]);
+                if (!Double.isNaN(slant)
+                        && sensor.computePd(slant, rcs, weather, ewCondition) >= pdThreshold) {
+                    covered[n++] = c * layers + l;
+                }
+            }
+        }
+        int[] mask = Arrays.copyOf(covered, n);
+        synchronized (this) {
+            maskCache.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Run tasks, concurrently when the parallelism allows, and return their
+     * results in task order.
+     */
+    <T> List<T> runTasks(List<Callable<T>> tasks) {
+        int threads = Math.min(parallelism, tasks.size());
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            if (threads <= 1) {
+                for (Callable<T> task : tasks) results.add(task.call());
+                return results;
+            }
+            ExecutorService pool = executor != null ? executor : Executors.newFixedThreadPool(threads);
+            try {
+                for (Future<T> future : pool.invokeAll(tasks)) results.add(future.get());
+            } finally {
+                if (pool != executor) pool.shutdownNow();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Coverage computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Coverage computation failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Coverage computation failed: " + e.getMessage(), e);
+        }
+    }
+
+    // ── Internal types ──────────────────────────────────────────────────
+
+    /**
+     * Voxels of a protected circle: cells of the engine's cell size whose
+     * centre lies within the radius, times the altitude layers. Voxel
+     * {@code v} is cell {@code v / layers} in layer {@code v % layers}.
+     */
+    static final class VoxelGrid {
+        final GeoPosition centre;
+        final double radiusM;
+        final double[] lat, lon, ground;    // per cell
+        final double[] layerMid;            // metres AGL
+        final double[] volumeKm3;           // per voxel
+        final boolean terrain;
+
+        VoxelGrid(GeoPosition centre, double radiusM, List<double[]> cells, double[] layerBounds,
+                  boolean terrain) {
+            this.centre = centre;
+            this.radiusM = radiusM;
+            this.terrain = terrain;
+            int layers = layerBounds.length - 1;
+            lat = new double[cells.size()];
+            lon = new double[cells.size()];
+            ground = new double[cells.size()];
+            layerMid = new double[layers];
+            volumeKm3 = new double[cells.size() * layers];
+            for (int l = 0; l < layers; l++) layerMid[l] = (layerBounds[l] + layerBounds[l + 1]) / 2;
+            for (int c = 0; c < cells.size(); c++) {
+                double[] cell = cells.get(c);
+                lat[c] = cell[0];
+                lon[c] = cell[1];
+                ground[c] = cell[2];
+                for (int l = 0; l < layers; l++) {
+                    volumeKm3[c * layers + l] = cell[3] * (layerBounds[l + 1] - layerBounds[l]) / 1000.0;
+                }
+            }
+        }
+
+        int size()                  { return volumeKm3.length; }
+
+        double totalVolumeKm3() {
+            double sum = 0;
+            for (double v : volumeKm3) sum += v;
+            return sum;
+        }
+    }
+
+    /** Grid origin (south-west corner) and cell size in degrees. */
+    private record Grid(double south, double west, double cellLat, double cellLon, int nx, int ny) {}
+
+    /** Partial areas of one tile, index (class × layers + layer) × folds + k. */
+    private static final class TileResult {
+        final double[] area;
+        double footprint;
+        double covered;
+
+        TileResult(double[] area) { this.area = area; }
+    }
+
+    /**
+     * Geometry, limits and terrain horizon of one node's sensor.
+     */
+    private static final class Site {
+        final CuasSensor sensor;
+        final double lat, lon;
+        final double kx;                 // metres per degree longitude at the site
+        final double dLat, dLon;         // half-extent of the range disc in degrees
+        final double minRange, maxRange;
+        final double azStart, azCoverage;
+        final double minAgl, maxAgl;
+        final double maxElevation;       // degrees above the horizon
+        final double antennaMsl;
+
+        // Terrain horizon: running maximum line-of-sight angle per azimuth and range sample
+        final float[][] horizon;
+        final double horizonStep;
+
+        Site(CuasSensor sensor, GeoPosition pos, DtedReader dted, double cellSizeM) {
+            this.sensor = sensor;
+            lat = pos.getLatitude();
+            lon = pos.getLongitude();
+            kx = M_PER_DEG * Math.cos(Math.toRadians(lat));
+            minRange = Math.max(0, sensor.getMinRangeM());
+            maxRange = Math.max(0, sensor.getMaxRangeM());
+            dLat = maxRange / M_PER_DEG;
+            double edgeLat = Math.min(89.9, Math.abs(lat) + dLat);
+            dLon = Math.min(180, maxRange / (M_PER_DEG * Math.cos(Math.toRadians(edgeLat))));
+            azStart = sensor.getAzimuthStartDeg();
+            double cov = sensor.getAzimuthCoverageDeg();
+            azCoverage = cov > 0 && cov < 360 ? cov : 360;
+            minAgl = sensor.getMinAltitudeM();
+            maxAgl = sensor.getMaxAltitudeM() > 0 ? sensor.getMaxAltitudeM() : Double.POSITIVE_INFINITY;
+            double elev = sensor.getElevationCoverageDeg();
+            maxElevation = elev > 0 && elev < 90 ? elev : 90;
+
+            // Position altitude is the antenna height above the local ground
+            double ground = 0;
+            if (dted != null) {
+                double e = dted.getElevation(lat, lon);
+                if (e != DtedReader.NO_DATA) ground = e;
+            }
+            antennaMsl = ground + pos.getAltitudeMsl();
+
+            TerrainMaskCalculator.TerrainMask mask = null;
+            int samples = (int) Math.min(MAX_HORIZON_SAMPLES, Math.ceil(2 * maxRange / cellSizeM));
+            if (dted != null && maxRange > 0 && samples > 0) {
+                mask = new TerrainMaskCalculator(dted).computeTerrainMask(
+                        pos, antennaMsl, maxRange, HORIZON_AZIMUTHS, samples);
+            }
+            if (mask != null) {
+                horizon = new float[HORIZON_AZIMUTHS][];
+                for (int a = 0; a < HORIZON_AZIMUTHS; a++) {
+                    double[] los = mask.getProfiles().get(a).getLosAngles();
+                    float[] running = new float[los.length];
+                    double max = -90;
+                    for (int s = 0; s < los.length; s++) {
+                        max = Math.max(max, los[s]);
+                        running[s] = (float) max;
+                    }
+                    horizon[a] = running;
+                }
+                horizonStep = maxRange / samples;
+            } else {
+                horizon = null;
+                horizonStep = 0;
+            }
+        }
+
+        boolean inSector(double azimuthDeg, double distance) {
+            if (azCoverage >= 360 || distance == 0) return true;
+            double offset = (azimuthDeg - azStart) % 360;
+            if (offset < 0) offset += 360;
+            return offset <= azCoverage;
+        }
+
+        /**
+         * Slant range to a voxel inside the range disc and sector, or NaN when
+         * the range limits, elevation coverage, altitude envelope or terrain
+         * exclude it.
+         *
+         * @param distance   ground distance in metres
+         * @param azimuthDeg bearing from the sensor
+         * @param ground     ground elevation under the voxel in metres MSL
+         * @param agl        voxel altitude above ground
+         */
+        double slantRange(double distance, double azimuthDeg, double ground, double agl) {
+            if (agl < minAgl || agl > maxAgl) return Double.NaN;
+            double dz = ground + agl - antennaMsl;
+            double slant = Math.sqrt(distance * distance + dz * dz);
+            if (slant < minRange || slant > maxRange) return Double.NaN;
+            double elevation = Math.toDegrees(Math.atan2(dz - distance * distance / (2 * EARTH_RADIUS), distance));
+            if (elevation > maxElevation || !visible(azimuthDeg, distance, elevation)) return Double.NaN;
+            return slant;
+        }
+
+        /**
+         * Whether a voxel at a ground distance and elevation angle clears the
+         * terrain between it and the sensor.
+         */
+        boolean visible(double azimuthDeg, double distance, double elevationDeg) {
+            if (horizon == null) return true;
+            int a = (int) Math.round((azimuthDeg < 0 ? azimuthDeg + 360 : azimuthDeg)
+                    * HORIZON_AZIMUTHS / 360.0) % HORIZON_AZIMUTHS;
+            // Range samples strictly closer than the voxel
+            float[] running = horizon[a];
+            int s = Math.min((int) Math.ceil(distance / horizonStep) - 2, running.length - 1);
+            return s < 0 || elevationDeg > running[s];
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.gcng54.cuaseval.dti;
 
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
 import io.github.gcng54.cuaseval.model.*;
 import io.github.gcng54.cuaseval.model.CuasSensor;
 import org.slf4j.Logger;
@@ -35,8 +36,56 @@ public class DetectionSystem {
     /** False alarm probability per scan */
     private double falseAlarmProbability = 0.02;
 
+    /** How detection is decided over the scenario timeline */
+    private DetectionMode detectionMode = DetectionMode.SNAPSHOT;
+
+    /** Optional receiver of the per-scan plot stream (TIME_STEPPED only; shared by copies) */
+    private ScanDetectionEngine.PlotListener plotListener;
+
+    /** Default seed of the simulation random stream */
+    public static final long DEFAULT_SEED = 42;
+
+    /** Seed of this instance's random stream */
+    private final long seed;
+
     /** Random generator for simulation */
-    private final Random rng = new Random(42);
+    private final Random rng;
+
+    /**
+     * Detection decision model.
+     */
+    public enum DetectionMode {
+        /** One look per target at scenario start from its initial position */
+        SNAPSHOT,
+        /** Every sensor scans at its update rate while targets fly their plans */
+        TIME_STEPPED
+    }
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public DetectionSystem() {
+        this(DEFAULT_SEED);
+    }
+
+    public DetectionSystem(long seed) {
+        this.seed = seed;
+        this.rng = new Random(seed);
+    }
+
+    /**
+     * Create an independent copy with the same configuration and a fresh
+     * random stream. Used to give each evaluation its own isolated state.
+     */
+    public DetectionSystem copy(long seed) {
+        DetectionSystem c = new DetectionSystem(seed);
+        c.basePd = this.basePd;
+        c.latencyStdDev = this.latencyStdDev;
+        c.positionNoiseM = this.positionNoiseM;
+        c.falseAlarmProbability = this.falseAlarmProbability;
+        c.detectionMode = this.detectionMode;
+        c.plotListener = this.plotListener;
+        return c;
+    }
 
     // ── Configuration ───────────────────────────────────────────────────
 
@@ -44,45 +93,132 @@ public class DetectionSystem {
     public void setLatencyStdDev(double latencyStdDev)          { this.latencyStdDev = latencyStdDev; }
     public void setPositionNoiseM(double positionNoiseM)        { this.positionNoiseM = positionNoiseM; }
     public void setFalseAlarmProbability(double pfa)             { this.falseAlarmProbability = pfa; }
+    public void setDetectionMode(DetectionMode mode)            { this.detectionMode = mode; }
+    public void setPlotListener(ScanDetectionEngine.PlotListener l) { this.plotListener = l; }
 
     public double getBasePd()               { return basePd; }
     public double getLatencyStdDev()        { return latencyStdDev; }
     public double getPositionNoiseM()       { return positionNoiseM; }
     public double getFalseAlarmProbability() { return falseAlarmProbability; }
+    public DetectionMode getDetectionMode() { return detectionMode; }
+    public ScanDetectionEngine.PlotListener getPlotListener() { return plotListener; }
+    public long getSeed()                   { return seed; }
 
     // ── Detection Processing ────────────────────────────────────────────
 
     /**
      * Process all targets in a scenario and produce detection results.
-     * Each target is evaluated against each sensor in the environment.
+     * Each target is evaluated against each sensor in the environment, either
+     * once at scenario start or scan by scan along its flight plan depending
+     * on the {@link DetectionMode}.
      *
      * @param scenario the test scenario
      * @return list of DetectionResult objects
      */
     public List<DetectionResult> processDetections(TestScenario scenario) {
+        return processDetections(CompiledScenario.compile(scenario));
+    }
+
+    /**
+     * Process all targets of a compiled scenario and produce detection results.
+     *
+     * @param scenario the compiled test scenario
+     * @return list of DetectionResult objects, one per target followed by false alarms
+     */
+    public List<DetectionResult> processDetections(CompiledScenario scenario) {
+        return processDetections(scenario, null);
+    }
+
+    /**
+     * Process all targets, recording per-target latencies into {@code profile} (may be null).
+     */
+    List<DetectionResult> processDetections(CompiledScenario scenario, PipelineProfile profile) {
         List<DetectionResult> results = new ArrayList<>();
-        TestEnvironment env = scenario.getEnvironment();
-        Instant now = scenario.getStartTime() != null ? scenario.getStartTime() : Instant.now();
+        Instant now = startTime(scenario);
+        ScanDetectionEngine.Outcome outcome = scanOutcome(scenario);
+
+        for (int t = 0; t < scenario.getTargetCount(); t++) {
+            long t0 = System.nanoTime();
+            results.add(detectTarget(scenario, t, now, outcome, rng));
+            if (profile != null) {
+                profile.recordTarget(PipelineProfile.Phase.DETECTION, System.nanoTime() - t0);
+            }
+        }
 
-        for (UasTarget target : scenario.getTargets()) {
-            DetectionResult result = evaluateDetection(target, env, now);
-            results.add(result);
-            log.info("Detection: {}", result);
+        PipelineEventBus events = PipelineEventBus.getDefault();
+        if (events != null) {
+            for (int t = 0; t < results.size(); t++) {
+                events.detection(scenario.getScenarioId(), t, results.get(t));
+            }
         }
 
         // Simulate false alarms (FR15 — bird immunity evaluation)
-        int falseAlarms = generateFalseAlarms(env);
+        for (DetectionResult fa : generateFalseAlarms(scenario, now, rng)) {
+            results.add(fa);
+            if (events != null) events.detection(scenario.getScenarioId(), -1, fa);
+        }
+
+        return results;
+    }
+
+    // ── Per-target steps (shared with the per-target pipeline mode) ─────
+
+    /**
+     * Reference time of detection results: the scenario start, or now.
+     */
+    Instant startTime(CompiledScenario scenario) {
+        return scenario.getStartTime() != null ? scenario.getStartTime() : Instant.now();
+    }
+
+    /**
+     * Run the sensor scans of a time-stepped evaluation for all targets.
+     *
+     * @return first-detection outcome, or null in snapshot mode / without sensors
+     */
+    ScanDetectionEngine.Outcome scanOutcome(CompiledScenario scenario) {
+        if (detectionMode != DetectionMode.TIME_STEPPED || scenario.getSensorCount() == 0) {
+            return null;
+        }
+        long t0 = System.nanoTime();
+        ScanDetectionEngine.Outcome outcome = new ScanDetectionEngine(this, seed)
+                .run(scenario, plotListener);
+        log.debug("Time-stepped detection: {} scans, {} looks in {} ms",
+                outcome.getScans(), outcome.getLooks(), (System.nanoTime() - t0) / 1_000_000);
+        return outcome;
+    }
+
+    /**
+     * Detection result of one target.
+     *
+     * @param scenario compiled scenario
+     * @param index    target index
+     * @param baseTime reference time ({@link #startTime})
+     * @param outcome  time-stepped outcome ({@link #scanOutcome}), or null for a snapshot look
+     * @param rng      random stream to draw from
+     */
+    DetectionResult detectTarget(CompiledScenario scenario, int index, Instant baseTime,
+                                 ScanDetectionEngine.Outcome outcome, Random rng) {
+        return outcome != null
+                ? timeSteppedResult(scenario, index, outcome, baseTime, rng)
+                : evaluateDetection(scenario.getTarget(index), scenario, baseTime, rng);
+    }
+
+    /**
+     * Simulated false alarms of one run (FR15), drawn after all targets.
+     */
+    List<DetectionResult> generateFalseAlarms(CompiledScenario scenario, Instant baseTime, Random rng) {
+        int falseAlarms = generateFalseAlarms(scenario, rng);
+        List<DetectionResult> results = new ArrayList<>(falseAlarms);
         for (int i = 0; i < falseAlarms; i++) {
             DetectionResult fa = new DetectionResult();
             fa.setTargetUid("FALSE_ALARM_" + (i + 1));
             fa.setDetected(true);
+            fa.setFalseAlarm(true);
             fa.setCorrectClassification(false); // false alarm
-            fa.setDetectionTime(now.plusMillis(rng.nextInt(10000)));
+            fa.setDetectionTime(baseTime.plusMillis(rng.nextInt(10000)));
             fa.setSensorType("UNKNOWN");
             results.add(fa);
-            log.warn("False alarm generated: {}", fa.getTargetUid());
         }
-
         return results;
     }
 
@@ -92,8 +228,10 @@ public class DetectionSystem {
      * Falls back to generic basePd model when no sensor template is attached.
      */
     private DetectionResult evaluateDetection(UasTarget target,
-                                               TestEnvironment env,
-                                               Instant baseTime) {
+                                               CompiledScenario scenario,
+                                               Instant baseTime,
+                                               Random rng) {
+        TestEnvironment env = scenario.getEnvironment();
         DetectionResult result = new DetectionResult();
         result.setTargetUid(target.getUid());
         result.setGroundTruthTime(baseTime);
@@ -104,33 +242,37 @@ public class DetectionSystem {
         String bestSensor = "NONE";
         double bestLatency = latencyStdDev;
         double bestNoise = positionNoiseM;
-
-        for (TestEnvironment.SensorSite sensor : env.getSensorSites()) {
+        double bestRange = 0;
+
+        // Only sensors whose coverage (range disc, azimuth sector) contains the target
+        SensorCoverageIndex coverage = scenario.getCoverage();
+        double lat = target.getPosition().getLatitude();
+        double lon = target.getPosition().getLongitude();
+        int cell = coverage.cellOf(lat, lon);
+        for (int k = coverage.cellStart(cell); k < coverage.cellEnd(cell); k++) {
+            int s = coverage.cellSensor(k);
+            if (!coverage.covers(s, lat, lon)) continue;
+            TestEnvironment.SensorSite sensor = scenario.getSensor(s);
             double range = sensor.getPosition().distanceTo(target.getPosition());
 
-            if (sensor.getSensorTemplate() != null) {
-                // Use sensor-specific model from CuasSensor template
+            // Same single-look model as the scans, including EW degradation
+            double pd = sitePd(sensor, range, target.getRcsSqm(), env);
+            if (pd > bestPd) {
+                bestPd = pd;
+                bestRange = range;
                 CuasSensor tmpl = sensor.getSensorTemplate();
-                double pd = tmpl.computePd(range, target.getRcsSqm(), env.getWeather());
-                if (pd > bestPd) {
-                    bestPd = pd;
+                if (tmpl != null) {
                     bestSensor = tmpl.getSensorId() + " (" + tmpl.getSensorType().getDisplayName() + ")";
                     bestLatency = tmpl.getDetectionLatencyS();
                     bestNoise = tmpl.getPositionAccuracyM();
-                }
-            } else {
-                // Fallback: generic detection model
-                double pd = computePd(range, sensor.getMaxRangeM(),
-                                      target.getRcsSqm(), env.getWeather());
-                if (pd > bestPd) {
-                    bestPd = pd;
+                } else {
                     bestSensor = sensor.getSensorType();
                 }
             }
         }
 
         // If no sensors, use base Pd (standalone evaluation)
-        if (env.getSensorSites().isEmpty()) {
+        if (scenario.getSensorCount() == 0) {
             bestPd = basePd;
             bestSensor = "SIMULATED";
         }
@@ -141,6 +283,8 @@ public class DetectionSystem {
         result.setSensorType(bestSensor);
 
         if (detected) {
+            result.setDetectionRangeM(bestRange);
+
             // Compute latency (TP_D01)
             double latency = Math.abs(rng.nextGaussian() * bestLatency * 0.3) + 0.1;
             result.setLatencySeconds(latency);
@@ -150,7 +294,7 @@ public class DetectionSystem {
             result.setDisplayLatencySeconds(latency + 0.2 + rng.nextDouble() * 0.3);
 
             // Reported position with noise (uses sensor-specific noise)
-            GeoPosition reported = addPositionNoise(target.getPosition(), bestNoise);
+            GeoPosition reported = addPositionNoise(target.getPosition(), bestNoise, rng);
             result.setReportedPosition(reported);
             result.computePositionError();
 
@@ -161,6 +305,65 @@ public class DetectionSystem {
         return result;
     }
 
+    /**
+     * Time-stepped result of one target: its first detection over all sensor
+     * scans (TP_D01 time, FR01 range).
+     */
+    private DetectionResult timeSteppedResult(CompiledScenario scenario, int t,
+                                              ScanDetectionEngine.Outcome outcome,
+                                              Instant baseTime, Random rng) {
+        UasTarget target = scenario.getTarget(t);
+        DetectionResult result = new DetectionResult();
+        result.setTargetUid(target.getUid());
+
+        if (!outcome.isDetected(t)) {
+            result.setDetected(false);
+            result.setGroundTruthTime(baseTime);
+            result.setTruthPosition(target.getPosition());
+            result.setSensorType("NONE");
+        } else {
+            TestEnvironment.SensorSite site = scenario.getSensor(outcome.getFirstSensor(t));
+            CuasSensor tmpl = site.getSensorTemplate();
+            double sensorLatency = tmpl != null ? tmpl.getDetectionLatencyS() : latencyStdDev;
+            double sensorNoise = tmpl != null ? tmpl.getPositionAccuracyM() : positionNoiseM;
+
+            Instant seen = baseTime.plusMillis((long) (outcome.getFirstTimeS(t) * 1000));
+            GeoPosition truth = outcome.getFirstPosition(t);
+            result.setDetected(true);
+            result.setSensorType(tmpl != null
+                    ? tmpl.getSensorId() + " (" + tmpl.getSensorType().getDisplayName() + ")"
+                    : site.getSensorType());
+            result.setGroundTruthTime(seen);
+            result.setTruthPosition(truth);
+            result.setTimeToFirstDetectionS(outcome.getFirstTimeS(t));
+            result.setDetectionRangeM(outcome.getFirstRangeM(t));
+
+            // Processing latency after the detecting scan (TP_D01)
+            double latency = Math.abs(rng.nextGaussian() * sensorLatency * 0.3) + 0.1;
+            result.setLatencySeconds(latency);
+            result.setDetectionTime(seen.plusMillis((long) (latency * 1000)));
+            result.setDisplayLatencySeconds(latency + 0.2 + rng.nextDouble() * 0.3);
+
+            result.setReportedPosition(addPositionNoise(truth, sensorNoise, rng));
+            result.computePositionError();
+            result.setCorrectClassification(true);
+        }
+        return result;
+    }
+
+    /**
+     * Single-look Pd of one sensor site against a target at the given range.
+     * Uses the CuasSensor template (with EW degradation) when attached,
+     * otherwise the generic model.
+     */
+    double sitePd(TestEnvironment.SensorSite site, double rangeM, double rcsSqm, TestEnvironment env) {
+        CuasSensor tmpl = site.getSensorTemplate();
+        if (tmpl != null) {
+            return tmpl.computePd(rangeM, rcsSqm, env.getWeather(), env.getEwCondition());
+        }
+        return computePd(rangeM, site.getMaxRangeM(), rcsSqm, env.getWeather());
+    }
+
     /**
      * Compute probability of detection considering range, RCS, and weather.
      * Uses a simplified Swerling-I-like model.
@@ -188,12 +391,12 @@ public class DetectionSystem {
     }
 
     /**
-     * Generate false alarm count for the environment.
+     * Generate false alarm count for the scenario's sensor sites.
      * Uses sensor-specific FAR when CuasSensor templates are available.
      */
-    private int generateFalseAlarms(TestEnvironment env) {
+    private int generateFalseAlarms(CompiledScenario scenario, Random rng) {
         double totalFar = 0;
-        for (TestEnvironment.SensorSite sensor : env.getSensorSites()) {
+        for (TestEnvironment.SensorSite sensor : scenario.getSensors()) {
             if (sensor.getSensorTemplate() != null) {
                 totalFar += sensor.getSensorTemplate().getFalseAlarmRate();
             } else {
@@ -201,13 +404,13 @@ public class DetectionSystem {
             }
         }
         double lambda = totalFar * 10;
-        return poissonSample(lambda);
+        return poissonSample(lambda, rng);
     }
 
     /**
      * Add Gaussian noise to a position.
      */
-    private GeoPosition addPositionNoise(GeoPosition truth, double noiseM) {
+    private GeoPosition addPositionNoise(GeoPosition truth, double noiseM, Random rng) {
         // Convert metre noise to degree offset (approximate)
         double latNoise = rng.nextGaussian() * noiseM / 111_320.0;
         double lonNoise = rng.nextGaussian() * noiseM
@@ -224,7 +427,7 @@ public class DetectionSystem {
     /**
      * Simple Poisson random sample.
      */
-    private int poissonSample(double lambda) {
+    private int poissonSample(double lambda, Random rng) {
         double l = Math.exp(-lambda);
         int k = 0;
         double p = 1;
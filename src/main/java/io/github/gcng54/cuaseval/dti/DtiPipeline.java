@@ -1,10 +1,20 @@
 package io.github.gcng54.cuaseval.dti;
 
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
 import io.github.gcng54.cuaseval.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Main DTI (Detection–Tracking–Identification) pipeline orchestrator.
@@ -34,6 +44,15 @@ import java.util.List;
  * </pre>
  * Requirement links: FR13 (simultaneous / data fusion), architecture pipeline.
  * </p>
+ * <p>
+ * In {@link ExecutionMode#PER_TARGET} mode the three phases are chained per
+ * target instead: every target runs detection → tracking → identification on
+ * its own, concurrently with the others, and the results are joined in target
+ * order. Each target then draws from its own random streams
+ * ({@code RandomStreams.derive(subsystemSeed, targetIndex)}), so the result is
+ * reproducible and independent of the executor and thread count, but differs
+ * from the {@link ExecutionMode#PHASED} draw of the same seed.
+ * </p>
  */
 public class DtiPipeline {
 
@@ -43,6 +62,28 @@ public class DtiPipeline {
     private final TrackingSystem trackingSystem;
     private final IdentificationSystem identificationSystem;
 
+    /** Targets evaluated sequentially by one PER_TARGET task */
+    private static final int TARGETS_PER_TASK = 16;
+
+    /** Random stream id of the false alarms in PER_TARGET mode (outside the target indexes) */
+    private static final long FALSE_ALARM_STREAM = -1;
+
+    /** How targets are scheduled through the three phases */
+    private ExecutionMode executionMode = ExecutionMode.PHASED;
+
+    /** Executor of PER_TARGET tasks (null = one virtual thread per task; shared by forks) */
+    private ExecutorService targetExecutor;
+
+    /**
+     * Scheduling of targets through the detection, tracking and identification phases.
+     */
+    public enum ExecutionMode {
+        /** Each phase runs over all targets before the next; one random stream per subsystem */
+        PHASED,
+        /** Each target runs D→T→I independently and concurrently; per-target random streams */
+        PER_TARGET
+    }
+
     // ── Constructors ────────────────────────────────────────────────────
 
     public DtiPipeline() {
@@ -62,6 +103,57 @@ public class DtiPipeline {
     public DetectionSystem getDetectionSystem()              { return detectionSystem; }
     public TrackingSystem getTrackingSystem()                { return trackingSystem; }
     public IdentificationSystem getIdentificationSystem()    { return identificationSystem; }
+    public ExecutionMode getExecutionMode()                  { return executionMode; }
+    public ExecutorService getTargetExecutor()               { return targetExecutor; }
+
+    public void setExecutionMode(ExecutionMode mode)         { this.executionMode = mode; }
+
+    /**
+     * Executor for PER_TARGET runs, e.g. a bounded pool. By default each run
+     * starts one virtual thread per task. The executor is not shut down by the
+     * pipeline; it must not be a pool whose threads themselves call
+     * {@link #execute} (they would wait on their own tasks).
+     */
+    public void setTargetExecutor(ExecutorService executor)  { this.targetExecutor = executor; }
+
+    /**
+     * Every setting that affects the results of this pipeline (subsystem
+     * parameters and execution mode), but not its seeds or executor.
+     * Pipelines with equal descriptions produce equal results from equal seeds.
+     */
+    public String describeConfiguration() {
+        DetectionSystem det = detectionSystem;
+        TrackingSystem trk = trackingSystem;
+        IdentificationSystem id = identificationSystem;
+        return String.format(Locale.ENGLISH,
+                "det[%s pd=%s lat=%s noise=%s pfa=%s] trk[dt=%s pm=%s noise=%s] "
+                        + "id[pi=%s iff=%s payload=%s bird=%s lat=%s] mode=%s",
+                det.getDetectionMode(), det.getBasePd(), det.getLatencyStdDev(),
+                det.getPositionNoiseM(), det.getFalseAlarmProbability(),
+                trk.getUpdateIntervalS(), trk.getTrackMaintenanceProbability(), trk.getTrackingNoiseM(),
+                id.getBasePi(), id.getIffAccuracy(), id.getPayloadDetectionProbability(),
+                id.getBirdRejectionProbability(), id.getIdentificationLatencyMeanS(),
+                executionMode);
+    }
+
+    /**
+     * Create an isolated copy of this pipeline for one independent evaluation.
+     * Subsystem configuration is copied; each subsystem gets its own random
+     * stream derived from {@code seed}, so the fork shares no mutable state
+     * with this pipeline or with other forks.
+     *
+     * @param seed seed of the fork (see {@link RandomStreams#derive(long, long)})
+     * @return a new pipeline with identical configuration
+     */
+    public DtiPipeline fork(long seed) {
+        DtiPipeline fork = new DtiPipeline(
+                detectionSystem.copy(RandomStreams.derive(seed, 0)),
+                trackingSystem.copy(RandomStreams.derive(seed, 1)),
+                identificationSystem.copy(RandomStreams.derive(seed, 2)));
+        fork.executionMode = this.executionMode;
+        fork.targetExecutor = this.targetExecutor;
+        return fork;
+    }
 
     // ── Pipeline Execution ──────────────────────────────────────────────
 
@@ -73,113 +165,242 @@ public class DtiPipeline {
      * @return aggregated evaluation result
      */
     public EvaluationResult execute(TestScenario scenario) {
-        log.info("═══ DTI Pipeline START: {} ═══", scenario.getName());
+        return execute(CompiledScenario.compile(scenario));
+    }
 
+    /**
+     * Run the full DTI pipeline on a compiled scenario. The compiled form is
+     * shared by all three subsystems, so it is built once per run.
+     *
+     * @param scenario the compiled scenario to evaluate
+     * @return aggregated evaluation result
+     */
+    public EvaluationResult execute(CompiledScenario scenario) {
+        PipelineEventBus events = PipelineEventBus.getDefault();
+        if (events != null) events.runStarted(scenario.getScenarioId(), scenario.getTargetCount());
+        log.debug("═══ DTI Pipeline START: {} ({}) ═══", scenario.getName(), executionMode);
+
+        long start = System.nanoTime();
+        PipelineProfile profile = new PipelineProfile();
+        EvaluationResult result = executionMode == ExecutionMode.PER_TARGET
+                ? executePerTarget(scenario, events, profile)
+                : executePhased(scenario, profile);
+        profile.setElapsedNanos(System.nanoTime() - start);
+        result.setProfile(profile);
+
+        if (events != null) events.runCompleted(scenario.getScenarioId(), result);
+        log.debug("═══ DTI Pipeline COMPLETE: {} ═══", result);
+        return result;
+    }
+
+    /**
+     * Phase by phase: all detections, then all tracks, then all identifications.
+     */
+    private EvaluationResult executePhased(CompiledScenario scenario, PipelineProfile profile) {
         // Step 1: Detection
-        log.info("── Phase 1: Detection ──");
-        List<DetectionResult> detections = detectionSystem.processDetections(scenario);
+        log.debug("── Phase 1: Detection ──");
+        PipelineProfile.Probe probe = PipelineProfile.Probe.now();
+        List<DetectionResult> detections = detectionSystem.processDetections(scenario, profile);
+        profile.record(PipelineProfile.Phase.DETECTION, probe);
 
         // Step 2: Tracking (only for detected targets)
-        log.info("── Phase 2: Tracking ──");
-        List<TrackingResult> tracks = trackingSystem.processTracks(scenario, detections);
+        log.debug("── Phase 2: Tracking ──");
+        probe = PipelineProfile.Probe.now();
+        List<TrackingResult> tracks = trackingSystem.processTracks(scenario, detections, profile);
+        profile.record(PipelineProfile.Phase.TRACKING, probe);
 
         // Step 3: Identification (only for tracked targets)
-        log.info("── Phase 3: Identification ──");
+        log.debug("── Phase 3: Identification ──");
+        probe = PipelineProfile.Probe.now();
         List<IdentificationResult> identifications =
-                identificationSystem.processIdentifications(scenario, tracks);
+                identificationSystem.processIdentifications(scenario, tracks, profile);
+        profile.record(PipelineProfile.Phase.IDENTIFICATION, probe);
 
         // Step 4: Aggregate results
-        EvaluationResult result = aggregateResults(
-                scenario, detections, tracks, identifications);
+        probe = PipelineProfile.Probe.now();
+        EvaluationResult result = aggregateResults(scenario, detections, tracks, identifications);
+        profile.record(PipelineProfile.Phase.AGGREGATION, probe);
+        return result;
+    }
+
+    /**
+     * Target by target: D→T→I chains in blocks of {@link #TARGETS_PER_TASK}
+     * on the target executor, joined in target order.
+     * <p>
+     * Per-target steps are timed with the wall clock and the thread allocation
+     * counter only (a thread CPU-time read costs more than a short step), so
+     * the D/T/I phases report CPU time as unavailable in this mode.
+     * </p>
+     */
+    private EvaluationResult executePerTarget(CompiledScenario scenario, PipelineEventBus events,
+                                              PipelineProfile profile) {
+        int n = scenario.getTargetCount();
+        PipelineProfile.Probe probe = PipelineProfile.Probe.now();
+        Instant now = detectionSystem.startTime(scenario);
+        ScanDetectionEngine.Outcome outcome = detectionSystem.scanOutcome(scenario);
+        profile.record(PipelineProfile.Phase.DETECTION, probe);
 
-        log.info("═══ DTI Pipeline COMPLETE: {} ═══", result);
+        DetectionResult[] detected = new DetectionResult[n];
+        TrackingResult[] tracked = new TrackingResult[n];
+        IdentificationResult[] identified = new IdentificationResult[n];
+        StepTimes times = new StepTimes(n);
+
+        List<Callable<Void>> tasks = new ArrayList<>((n + TARGETS_PER_TASK - 1) / TARGETS_PER_TASK);
+        for (int from = 0; from < n; from += TARGETS_PER_TASK) {
+            int start = from, end = Math.min(n, from + TARGETS_PER_TASK);
+            tasks.add(() -> {
+                for (int i = start; i < end; i++) {
+                    processTarget(scenario, i, now, outcome, events, detected, tracked, identified, times);
+                }
+                return null;
+            });
+        }
+        runTasks(tasks);
+        times.addTo(profile);
+
+        // Deterministic join in target order, false alarms last (as in PHASED)
+        probe = PipelineProfile.Probe.now();
+        List<DetectionResult> detections = new ArrayList<>(List.of(detected));
+        List<TrackingResult> tracks = new ArrayList<>(n);
+        List<IdentificationResult> identifications = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (tracked[i] != null) tracks.add(tracked[i]);
+            if (identified[i] != null) identifications.add(identified[i]);
+        }
+        Random faRng = new Random(RandomStreams.derive(detectionSystem.getSeed(), FALSE_ALARM_STREAM));
+        for (DetectionResult fa : detectionSystem.generateFalseAlarms(scenario, now, faRng)) {
+            detections.add(fa);
+            if (events != null) events.detection(scenario.getScenarioId(), -1, fa);
+        }
+
+        EvaluationResult result = aggregateResults(scenario, detections, tracks, identifications);
+        profile.record(PipelineProfile.Phase.AGGREGATION, probe);
         return result;
     }
 
+    /**
+     * Detection → tracking → identification of one target on its own streams.
+     */
+    private void processTarget(CompiledScenario scenario, int i, Instant now,
+                               ScanDetectionEngine.Outcome outcome, PipelineEventBus events,
+                               DetectionResult[] detected, TrackingResult[] tracked,
+                               IdentificationResult[] identified, StepTimes times) {
+        String id = scenario.getScenarioId();
+        long t0 = System.nanoTime(), a0 = PipelineProfile.threadAllocatedBytes();
+        DetectionResult det = detectionSystem.detectTarget(scenario, i, now, outcome,
+                targetStream(detectionSystem.getSeed(), i));
+        detected[i] = det;
+        long t1 = System.nanoTime(), a1 = PipelineProfile.threadAllocatedBytes();
+        times.set(0, i, t1 - t0, a0, a1);
+        if (events != null) events.detection(id, i, det);
+        if (!det.isDetected()) return;
+
+        t0 = System.nanoTime();
+        a0 = PipelineProfile.threadAllocatedBytes();
+        TrackingResult track = trackingSystem.evaluateTracking(i, scenario,
+                scenario.getTruth().newCursor(i), events, targetStream(trackingSystem.getSeed(), i));
+        tracked[i] = track;
+        t1 = System.nanoTime();
+        a1 = PipelineProfile.threadAllocatedBytes();
+        times.set(1, i, t1 - t0, a0, a1);
+        if (events != null) events.track(id, i, track);
+
+        t0 = System.nanoTime();
+        a0 = PipelineProfile.threadAllocatedBytes();
+        IdentificationResult ident = identificationSystem.evaluateIdentification(i, scenario,
+                targetStream(identificationSystem.getSeed(), i));
+        identified[i] = ident;
+        t1 = System.nanoTime();
+        a1 = PipelineProfile.threadAllocatedBytes();
+        times.set(2, i, t1 - t0, a0, a1);
+        if (events != null) events.identification(id, i, ident);
+    }
+
+    /**
+     * Per-target step timings of a PER_TARGET run, written by the workers
+     * (each target by exactly one) and folded into the profile after the join.
+     */
+    private static final class StepTimes {
+        private static final PipelineProfile.Phase[] PHASES = {
+                PipelineProfile.Phase.DETECTION,
+                PipelineProfile.Phase.TRACKING,
+                PipelineProfile.Phase.IDENTIFICATION
+        };
+
+        private final int n;
+        private final long[] wallNanos;
+        private final long[] allocatedBytes;
+        private final boolean[] done;
+
+        StepTimes(int n) {
+            this.n = n;
+            wallNanos = new long[PHASES.length * n];
+            allocatedBytes = new long[PHASES.length * n];
+            done = new boolean[PHASES.length * n];
+        }
+
+        void set(int step, int target, long wall, long alloc0, long alloc1) {
+            int k = step * n + target;
+            wallNanos[k] = wall;
+            allocatedBytes[k] = alloc0 < 0 || alloc1 < 0 ? -1 : alloc1 - alloc0;
+            done[k] = true;
+        }
+
+        void addTo(PipelineProfile profile) {
+            for (int step = 0; step < PHASES.length; step++) {
+                for (int t = 0; t < n; t++) {
+                    int k = step * n + t;
+                    if (!done[k]) continue;
+                    profile.add(PHASES[step], wallNanos[k], -1, allocatedBytes[k]);
+                    profile.recordTarget(PHASES[step], wallNanos[k]);
+                }
+            }
+        }
+    }
+
+    private static Random targetStream(long subsystemSeed, int targetIndex) {
+        return new Random(RandomStreams.derive(subsystemSeed, targetIndex));
+    }
+
+    /**
+     * Run all tasks and wait for them; a single task runs on the calling thread.
+     */
+    private void runTasks(List<Callable<Void>> tasks) {
+        try {
+            if (tasks.size() == 1) {
+                tasks.get(0).call();
+                return;
+            }
+            ExecutorService executor = targetExecutor != null
+                    ? targetExecutor : Executors.newVirtualThreadPerTaskExecutor();
+            try {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } finally {
+                if (executor != targetExecutor) executor.shutdown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Per-target evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Per-target evaluation failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Per-target evaluation failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Aggregate individual DTI results into a comprehensive evaluation.
      */
-    private EvaluationResult aggregateResults(TestScenario scenario,
+    private EvaluationResult aggregateResults(CompiledScenario scenario,
                                                List<DetectionResult> detections,
                                                List<TrackingResult> tracks,
                                                List<IdentificationResult> identifications) {
-        EvaluationResult eval = new EvaluationResult(scenario.getScenarioId());
-        eval.setDetectionResults(detections);
-        eval.setTrackingResults(tracks);
-        eval.setIdentificationResults(identifications);
-
-        // ── Detection metrics ───────────────────────────────────────
-        long totalTargets = scenario.getTargets().size();
-        long realDetections = detections.stream()
-                .filter(d -> !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .count();
-        long trueDetections = detections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .count();
-        long falseAlarms = detections.stream()
-                .filter(d -> d.getTargetUid().startsWith("FALSE_ALARM"))
-                .count();
-
-        double pd = realDetections > 0 ? (double) trueDetections / realDetections : 0;
-        eval.setProbabilityOfDetection(pd);
-        eval.setFalseAlarmRate(totalTargets > 0 ? (double) falseAlarms / totalTargets : 0);
-
-        double meanDetLatency = detections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .mapToDouble(DetectionResult::getLatencySeconds)
-                .average().orElse(0);
-        eval.setMeanDetectionLatencyS(meanDetLatency);
-
-        double meanDetError = detections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .mapToDouble(DetectionResult::getPositionErrorMetres)
-                .average().orElse(0);
-        eval.setMeanDetectionErrorM(meanDetError);
-
-        // ── Tracking metrics ────────────────────────────────────────
-        long trackedCount = tracks.stream().filter(TrackingResult::isTrackMaintained).count();
-        double continuity = tracks.isEmpty() ? 0 : (double) trackedCount / tracks.size();
-        eval.setTrackContinuity(continuity);
-
-        double meanTrackErr = tracks.stream()
-                .mapToDouble(TrackingResult::getMeanPositionErrorMetres)
-                .average().orElse(0);
-        eval.setMeanTrackErrorM(meanTrackErr);
-
-        double meanUpdateRate = tracks.stream()
-                .mapToDouble(TrackingResult::getUpdateRateHz)
-                .average().orElse(0);
-        eval.setTrackUpdateRateHz(meanUpdateRate);
-
-        int totalDrops = tracks.stream().mapToInt(TrackingResult::getTrackDropCount).sum();
-        eval.setTotalTrackDrops(totalDrops);
-
-        // ── Identification metrics ──────────────────────────────────
-        long identifiedCount = identifications.stream()
-                .filter(IdentificationResult::isIdentified).count();
-        double pi = identifications.isEmpty()
-                ? 0 : (double) identifiedCount / identifications.size();
-        eval.setProbabilityOfIdentification(pi);
-
-        long iffCorrect = identifications.stream()
-                .filter(id -> id.getIffResult() != null
-                        && id.getIffResult() == id.isTruthFriendly())
-                .count();
-        double iffAcc = identifications.isEmpty()
-                ? 0 : (double) iffCorrect / identifications.size();
-        eval.setIffAccuracy(iffAcc);
-
-        double meanIdLatency = identifications.stream()
-                .filter(IdentificationResult::isIdentified)
-                .mapToDouble(IdentificationResult::getLatencySeconds)
-                .average().orElse(0);
-        eval.setMeanIdentificationLatencyS(meanIdLatency);
-
-        // ── Overall score (weighted) ────────────────────────────────
-        double score = pd * 40 + continuity * 30 + pi * 30; // 0–100
-        eval.setOverallScore(score);
-        eval.setPassed(score >= 60 && pd >= 0.7);
-
-        return eval;
+        return ResultAggregator.aggregate(scenario.getScenarioId(), scenario.getTargetCount(),
+                detections, tracks, identifications);
     }
 }
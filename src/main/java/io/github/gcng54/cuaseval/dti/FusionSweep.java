@@ -0,0 +1,157 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.CompiledScenario;
+import io.github.gcng54.cuaseval.model.DetectionResult;
+import io.github.gcng54.cuaseval.model.EvaluationResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fused detection outcome of every fusion strategy on one set of node results.
+ * <p>
+ * The node detections are traversed once, reducing each target to two counts:
+ * node reports and detecting reports. Every strategy's decision depends only
+ * on these counts, so OR, AND, best-sensor and k-of-n voting for every k are
+ * all evaluated from a histogram of detecting reports instead of re-running the
+ * system per option. Decisions and false alarm counts are those of
+ * {@link MultiDtiSystem#execute}: the point of the system's configured
+ * strategy equals its fused Pd and FAR.
+ * </p>
+ * <p>
+ * The operating points form a ROC (Pd against false alarm rate) of the
+ * fusion layer for the scenario.
+ * </p>
+ */
+public final class FusionSweep {
+
+    /**
+     * Fused detection outcome of one strategy.
+     *
+     * @param strategy    fusion strategy
+     * @param k           voting threshold (VOTING), otherwise 0
+     * @param detected    targets detected after fusion
+     * @param targets     ground-truth targets
+     * @param falseAlarms fused false alarms
+     */
+    public record OperatingPoint(MultiDtiSystem.FusionStrategy strategy, int k,
+                                 int detected, int targets, int falseAlarms) {
+
+        /** Probability of detection (FR01). */
+        public double pd()  { return targets > 0 ? (double) detected / targets : 0; }
+
+        /** False alarms per target, as {@link EvaluationResult#getFalseAlarmRate()} (FR15). */
+        public double far() { return targets > 0 ? (double) falseAlarms / targets : 0; }
+
+        /** Short display label, e.g. {@code VOTING 2-of-5}. */
+        public String label(int nodeCount) {
+            return strategy == MultiDtiSystem.FusionStrategy.VOTING
+                    ? String.format(Locale.ENGLISH, "VOTING %d-of-%d", k, nodeCount)
+                    : strategy.name();
+        }
+    }
+
+    private final String scenarioId;
+    private final int nodeCount;
+    private final int targetCount;
+    private final List<OperatingPoint> points;
+
+    private FusionSweep(String scenarioId, int nodeCount, int targetCount, List<OperatingPoint> points) {
+        this.scenarioId = scenarioId;
+        this.nodeCount = nodeCount;
+        this.targetCount = targetCount;
+        this.points = Collections.unmodifiableList(points);
+    }
+
+    /**
+     * Sweep all strategies over the node results of one scenario.
+     *
+     * @param scenario    compiled scenario the nodes evaluated
+     * @param nodeResults per-node results (one per node)
+     * @return operating points: OR, VOTING for k = 1..nodes, AND, BEST_SENSOR
+     */
+    static FusionSweep of(CompiledScenario scenario, List<EvaluationResult> nodeResults) {
+        int n = scenario.getTargetCount();
+        int nodeCount = nodeResults.size();
+        int[] reports = new int[n];
+        int[] detections = new int[n];
+        Set<String> faIds = new HashSet<>();
+
+        // Single pass over all node detections
+        for (EvaluationResult nr : nodeResults) {
+            for (DetectionResult d : nr.getDetectionResults()) {
+                if (d.isFalseAlarm()) {
+                    faIds.add(d.getTargetUid());
+                    continue;
+                }
+                int i = scenario.indexOf(d.getTargetUid());
+                if (i < 0) continue;
+                reports[i]++;
+                if (d.isDetected()) detections[i]++;
+            }
+        }
+
+        // Histogram of detecting reports over reported targets; unanimous targets
+        int[] votes = new int[nodeCount + 2];
+        int unanimous = 0;
+        for (int i = 0; i < n; i++) {
+            if (reports[i] == 0) continue;
+            votes[Math.min(detections[i], nodeCount + 1)]++;
+            if (detections[i] == reports[i]) unanimous++;
+        }
+        // atLeast[c] = reported targets with ≥ c detecting reports
+        int[] atLeast = new int[nodeCount + 3];
+        for (int c = nodeCount + 1; c >= 0; c--) atLeast[c] = atLeast[c + 1] + votes[c];
+
+        List<OperatingPoint> points = new ArrayList<>(nodeCount + 3);
+        points.add(point(MultiDtiSystem.FusionStrategy.OR_LOGIC, 0, atLeast[1], n, faIds.size(), nodeCount));
+        for (int k = 1; k <= nodeCount; k++) {
+            points.add(point(MultiDtiSystem.FusionStrategy.VOTING, k, atLeast[k], n, faIds.size(), nodeCount));
+        }
+        points.add(point(MultiDtiSystem.FusionStrategy.AND_LOGIC, 0, unanimous, n, faIds.size(), nodeCount));
+        points.add(point(MultiDtiSystem.FusionStrategy.BEST_SENSOR, 0, atLeast[1], n, faIds.size(), nodeCount));
+
+        return new FusionSweep(scenario.getScenarioId(), nodeCount, n, points);
+    }
+
+    private static OperatingPoint point(MultiDtiSystem.FusionStrategy strategy, int k, int detected,
+                                        int targets, int distinctFalseAlarms, int nodeCount) {
+        return new OperatingPoint(strategy, k, detected, targets,
+                MultiDtiSystem.fusedFalseAlarmCount(strategy, distinctFalseAlarms, nodeCount));
+    }
+
+    // ── Accessors ───────────────────────────────────────────────────────
+
+    public String getScenarioId()                { return scenarioId; }
+    public int getNodeCount()                    { return nodeCount; }
+    public int getTargetCount()                  { return targetCount; }
+    public List<OperatingPoint> getPoints()      { return points; }
+
+    /**
+     * Operating point of a strategy (for VOTING, threshold {@code k} capped
+     * at the node count as in {@link MultiDtiSystem}), or null.
+     */
+    public OperatingPoint get(MultiDtiSystem.FusionStrategy strategy, int k) {
+        int kk = strategy == MultiDtiSystem.FusionStrategy.VOTING
+                ? Math.max(1, Math.min(k, nodeCount)) : 0;
+        for (OperatingPoint p : points) {
+            if (p.strategy() == strategy && p.k() == kk) return p;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FusionSweep[" + scenarioId + " nodes=" + nodeCount
+                + " targets=" + targetCount);
+        for (OperatingPoint p : points) {
+            sb.append(String.format(Locale.ENGLISH, " %s=(Pd=%.3f FAR=%.3f)",
+                    p.label(nodeCount), p.pd(), p.far()));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -1,8 +1,7 @@
 package io.github.gcng54.cuaseval.dti;
 
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
 import io.github.gcng54.cuaseval.model.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,8 +17,6 @@ import java.util.Random;
  */
 public class IdentificationSystem {
 
-    private static final Logger log = LoggerFactory.getLogger(IdentificationSystem.class);
-
     /** Base probability of correct identification */
     private double basePi = 0.85;
 
@@ -35,8 +32,38 @@ public class IdentificationSystem {
     /** Identification latency mean in seconds */
     private double identificationLatencyMeanS = 2.0;
 
+    /** Default seed of the identification random stream */
+    public static final long DEFAULT_SEED = 44;
+
+    /** Seed of this instance's random stream */
+    private final long seed;
+
     /** Random generator */
-    private final Random rng = new Random(44);
+    private final Random rng;
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public IdentificationSystem() {
+        this(DEFAULT_SEED);
+    }
+
+    public IdentificationSystem(long seed) {
+        this.seed = seed;
+        this.rng = new Random(seed);
+    }
+
+    /**
+     * Create an independent copy with the same configuration and a fresh random stream.
+     */
+    public IdentificationSystem copy(long seed) {
+        IdentificationSystem c = new IdentificationSystem(seed);
+        c.basePi = this.basePi;
+        c.iffAccuracy = this.iffAccuracy;
+        c.payloadDetectionProbability = this.payloadDetectionProbability;
+        c.birdRejectionProbability = this.birdRejectionProbability;
+        c.identificationLatencyMeanS = this.identificationLatencyMeanS;
+        return c;
+    }
 
     // ── Configuration ───────────────────────────────────────────────────
 
@@ -51,6 +78,7 @@ public class IdentificationSystem {
     public double getPayloadDetectionProbability()  { return payloadDetectionProbability; }
     public double getBirdRejectionProbability()      { return birdRejectionProbability; }
     public double getIdentificationLatencyMeanS()   { return identificationLatencyMeanS; }
+    public long getSeed()                           { return seed; }
 
     // ── Identification Processing ───────────────────────────────────────
 
@@ -63,16 +91,42 @@ public class IdentificationSystem {
      */
     public List<IdentificationResult> processIdentifications(
             TestScenario scenario, List<TrackingResult> tracks) {
+        return processIdentifications(CompiledScenario.compile(scenario), tracks);
+    }
+
+    /**
+     * Process identification for all tracked targets of a compiled scenario.
+     * Targets are resolved by UID index in O(1).
+     *
+     * @param scenario the compiled test scenario
+     * @param tracks   tracking results
+     * @return list of IdentificationResult objects
+     */
+    public List<IdentificationResult> processIdentifications(
+            CompiledScenario scenario, List<TrackingResult> tracks) {
+        return processIdentifications(scenario, tracks, null);
+    }
+
+    /**
+     * Process identification, recording per-target latencies into {@code profile} (may be null).
+     */
+    List<IdentificationResult> processIdentifications(
+            CompiledScenario scenario, List<TrackingResult> tracks, PipelineProfile profile) {
 
         List<IdentificationResult> results = new ArrayList<>();
+        PipelineEventBus events = PipelineEventBus.getDefault();
 
         for (TrackingResult track : tracks) {
-            UasTarget target = findTarget(scenario, track.getTargetUid());
-            if (target == null) continue;
+            int index = scenario.indexOf(track.getTargetUid());
+            if (index < 0) continue;
 
-            IdentificationResult result = evaluateIdentification(target, scenario);
+            long t0 = System.nanoTime();
+            IdentificationResult result = evaluateIdentification(index, scenario, rng);
+            if (profile != null) {
+                profile.recordTarget(PipelineProfile.Phase.IDENTIFICATION, System.nanoTime() - t0);
+            }
             results.add(result);
-            log.info("Identification: {}", result);
+            if (events != null) events.identification(scenario.getScenarioId(), index, result);
         }
 
         return results;
@@ -81,9 +135,11 @@ public class IdentificationSystem {
     /**
      * Evaluate identification of a single target.
      * Considers UAS class, weather, and target properties.
+     *
+     * @param rng random stream to draw from
      */
-    private IdentificationResult evaluateIdentification(UasTarget target,
-                                                         TestScenario scenario) {
+    IdentificationResult evaluateIdentification(int index, CompiledScenario scenario, Random rng) {
+        UasTarget target = scenario.getTarget(index);
         IdentificationResult result = new IdentificationResult();
         result.setTargetUid(target.getUid());
         result.setTruthClassification(target.getUasClass().name());
@@ -126,6 +182,9 @@ public class IdentificationSystem {
             // Latency
             double latency = identificationLatencyMeanS + rng.nextGaussian() * 0.5;
             result.setLatencySeconds(Math.max(0.5, latency));
+
+            // Ground truth at declaration time (tracking starts at scenario start)
+            result.setTruthPosition(scenario.getTruth().positionAt(index, result.getLatencySeconds()));
         } else {
             result.setConfidence(0);
             result.setReportedClassification("NOT_IDENTIFIED");
@@ -149,11 +208,4 @@ public class IdentificationSystem {
         };
         return basePi * weatherFactor;
     }
-
-    /** Find target by UID in scenario. */
-    private UasTarget findTarget(TestScenario scenario, String uid) {
-        return scenario.getTargets().stream()
-                .filter(t -> t.getUid().equals(uid))
-                .findFirst().orElse(null);
-    }
 }
@@ -4,7 +4,14 @@ import io.github.gcng54.cuaseval.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -36,23 +43,57 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li>Multiple sensor nodes at different locations</li>
  *   <li>Detection fusion (OR-logic, k-of-n voting)</li>
- *   <li>Track fusion (best track selection, weighted average)</li>
+ *   <li>Track fusion (time-aligned, covariance-weighted)</li>
  *   <li>Identification fusion (consensus voting)</li>
- *   <li>System-of-systems metrics and coverage analysis</li>
+ *   <li>System-of-systems metrics and 3D raster coverage analysis</li>
  * </ul>
+ *
+ * <p>Nodes are independent until fusion, so their pipelines run concurrently.
+ * Each node executes on a fork of its pipeline seeded with
+ * {@code RandomStreams.derive(seed, nodeIndex)}; the fused result therefore
+ * does not depend on the parallelism, the executor or the thread schedule.</p>
+ *
+ * <p>Node results are kept in a {@link NodeResultCache} keyed by scenario
+ * content, node configuration and node seed. Fusion settings are not part of
+ * the key: after changing the fusion strategy or voting threshold, executing
+ * the same scenario again only re-fuses the cached node results. Cached nodes
+ * publish no pipeline events and add nothing to the run's profile. A scenario
+ * that is executed repeatedly can be {@link #prepare prepared} once, so that it
+ * is compiled and digested only once.</p>
  */
 public class MultiDtiSystem {
 
     private static final Logger log = LoggerFactory.getLogger(MultiDtiSystem.class);
 
-    /** Named DTI nodes in this system */
-    private final List<DtiNode> nodes = new ArrayList<>();
+    /**
+     * Named DTI nodes in this system. Runs work on a snapshot, so nodes and
+     * settings may be changed on another thread while a run executes.
+     */
+    private final List<DtiNode> nodes = new CopyOnWriteArrayList<>();
 
     /** Fusion strategy for detection */
-    private FusionStrategy detectionFusion = FusionStrategy.OR_LOGIC;
+    private volatile FusionStrategy detectionFusion = FusionStrategy.OR_LOGIC;
 
     /** Voting threshold (k) for k-of-n detection fusion */
-    private int votingThreshold = 2;
+    private volatile int votingThreshold = 2;
+
+    /** Base seed from which each node's random stream is derived */
+    private volatile long seed = 42;
+
+    /** Maximum number of nodes evaluated at once (1 = sequential on the calling thread) */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Executor of node tasks (null = a fixed pool of {@code parallelism} threads per run) */
+    private ExecutorService nodeExecutor;
+
+    /** Per-node results of earlier runs */
+    private final NodeResultCache nodeCache = new NodeResultCache();
+
+    /** Fused tracks of the last run, published together with the node results they were fused from */
+    private volatile FusedTracks lastFusedTracks;
+
+    /** Raster coverage of the node layout */
+    private final CoverageEngine coverageEngine = new CoverageEngine();
 
     // ── DTI Node ────────────────────────────────────────────────────────
 
@@ -87,6 +128,29 @@ public class MultiDtiSystem {
         }
     }
 
+    /**
+     * A scenario compiled and digested once for repeated execution, e.g.
+     * re-fusion after fusion settings change. The scenario must not be
+     * modified afterwards; prepare it again instead.
+     */
+    public static final class PreparedScenario {
+        private final CompiledScenario compiled;
+        private final String digest;
+
+        private PreparedScenario(CompiledScenario compiled, String digest) {
+            this.compiled = compiled;
+            this.digest = digest;
+        }
+
+        public TestScenario getScenario()   { return compiled.getSource(); }
+
+        /** Content digest of the scenario ({@link NodeResultCache#scenarioDigest}). */
+        public String getDigest()           { return digest; }
+    }
+
+    /** Immutable fused tracks with the node result keys they were fused from. */
+    private record FusedTracks(List<NodeResultCache.Key> keys, List<TrackingResult> tracks) {}
+
     /** Fusion strategy for combining multi-sensor detections. */
     public enum FusionStrategy {
         /** Any sensor detection counts (highest sensitivity, highest FAR) */
@@ -146,12 +210,71 @@ public class MultiDtiSystem {
     public FusionStrategy getDetectionFusion()              { return detectionFusion; }
     public void setVotingThreshold(int k)                   { this.votingThreshold = k; }
     public int getVotingThreshold()                         { return votingThreshold; }
+    public void setSeed(long seed)                          { this.seed = seed; }
+    public long getSeed()                                   { return seed; }
+    public int getParallelism()                             { return parallelism; }
+
+    /** Threads used for node pipelines and coverage tiles. */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        coverageEngine.setParallelism(this.parallelism);
+    }
+
+    /**
+     * Executor on which node pipelines and coverage tiles run. It is not shut down by this
+     * system; null creates a fixed pool of {@link #getParallelism()} threads
+     * for each run.
+     */
+    public void setNodeExecutor(ExecutorService executor) {
+        this.nodeExecutor = executor;
+        coverageEngine.setExecutor(executor);
+    }
+
+    public ExecutorService getNodeExecutor()                { return nodeExecutor; }
+
+    /** Cache of node results; {@code getNodeCache().clear()} forces full re-evaluation. */
+    public NodeResultCache getNodeCache()                   { return nodeCache; }
+
+    /** Coverage engine; its settings (cells, layers, Pd threshold, terrain) drive {@link #computeCoverage()}. */
+    public CoverageEngine getCoverageEngine()               { return coverageEngine; }
+
+    /**
+     * Whether every node's result for a scenario is cached, i.e. executing it
+     * only re-runs the fusion.
+     */
+    public boolean isCached(TestScenario scenario) {
+        return isCached(NodeResultCache.scenarioDigest(scenario));
+    }
+
+    /** {@link #isCached(TestScenario)} for a prepared scenario, without digesting it again. */
+    public boolean isCached(PreparedScenario scenario) {
+        return isCached(scenario.getDigest());
+    }
+
+    private boolean isCached(String scenarioDigest) {
+        List<DtiNode> nodes = List.copyOf(this.nodes);
+        if (nodes.isEmpty()) return false;
+        for (NodeResultCache.Key key : cacheKeys(nodes, scenarioDigest, seed)) {
+            if (!nodeCache.contains(key)) return false;
+        }
+        return true;
+    }
 
     // ── System Execution ────────────────────────────────────────────────
 
+    /**
+     * Compile and digest a scenario once, for {@link #execute(PreparedScenario)}
+     * and {@link #isCached(PreparedScenario)}.
+     */
+    public static PreparedScenario prepare(TestScenario scenario) {
+        return new PreparedScenario(CompiledScenario.compile(scenario),
+                NodeResultCache.scenarioDigest(scenario));
+    }
+
     /**
      * Execute the multi-DTI system on a test scenario.
-     * Each node evaluates independently, then results are fused.
+     * Each node evaluates independently (concurrently, see
+     * {@link #setParallelism(int)}), then results are fused.
      *
      * @param scenario the test scenario
      * @return fused system-level evaluation result
@@ -161,168 +284,217 @@ public class MultiDtiSystem {
             log.warn("No DTI nodes configured — running single pipeline fallback");
             return new DtiPipeline().execute(scenario);
         }
+        return execute(prepare(scenario));
+    }
+
+    /**
+     * {@link #execute(TestScenario)} for a prepared scenario, without compiling
+     * or digesting it again.
+     *
+     * @param prepared the prepared test scenario
+     * @return fused system-level evaluation result
+     */
+    public EvaluationResult execute(PreparedScenario prepared) {
+        TestScenario scenario = prepared.getScenario();
+        List<DtiNode> nodes = List.copyOf(this.nodes);
+        if (nodes.isEmpty()) {
+            log.warn("No DTI nodes configured — running single pipeline fallback");
+            return new DtiPipeline().execute(scenario);
+        }
 
         log.info("╔═══════════════════════════════════════════════════╗");
         log.info("║ MULTI-DTI SYSTEM EXECUTION: {} nodes              ║", nodes.size());
         log.info("╚═══════════════════════════════════════════════════╝");
 
-        // Step 1: Create per-node scenarios with sensor-specific environments
+        long runStart = System.nanoTime();
+        CompiledScenario compiled = prepared.compiled;
+        PipelineProfile profile = new PipelineProfile();
+
+        // Step 1: Evaluate every node on its own sensor-specific scenario
+        List<NodeResultCache.Key> keys = cacheKeys(nodes, prepared.getDigest(), seed);
+        boolean[] cached = new boolean[nodes.size()];
+        List<EvaluationResult> results = executeNodes(nodes, compiled, keys, true, cached);
         Map<DtiNode, EvaluationResult> nodeResults = new LinkedHashMap<>();
-        for (DtiNode node : nodes) {
-            log.info("── Evaluating node: {} ──", node.getNodeId());
-            TestScenario nodeScenario = createNodeScenario(scenario, node);
-            EvaluationResult result = node.getPipeline().execute(nodeScenario);
+        int cachedCount = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            DtiNode node = nodes.get(i);
+            EvaluationResult result = results.get(i);
             nodeResults.put(node, result);
-            log.info("  Node {} → Pd={:.3f} cont={:.3f} Pi={:.3f} score={:.1f}",
+            if (cached[i]) cachedCount++;
+            else if (result.getProfile() != null) profile.merge(result.getProfile());
+            log.info(String.format(Locale.ENGLISH, "  Node %s → Pd=%.3f cont=%.3f Pi=%.3f score=%.1f%s",
                     node.getNodeId(),
                     result.getProbabilityOfDetection(),
                     result.getTrackContinuity(),
                     result.getProbabilityOfIdentification(),
-                    result.getOverallScore());
+                    result.getOverallScore(),
+                    cached[i] ? " (cached)" : ""));
+        }
+        if (cachedCount > 0) {
+            log.info("  {} of {} node results reused from cache", cachedCount, nodes.size());
         }
 
         // Step 2: Fuse results
-        EvaluationResult fusedResult = fuseResults(scenario, nodeResults);
+        PipelineProfile.Probe fusion = PipelineProfile.Probe.now();
+        EvaluationResult fusedResult = fuseResults(compiled, keys, nodeResults);
+        profile.record(PipelineProfile.Phase.AGGREGATION, fusion);
+        profile.setElapsedNanos(System.nanoTime() - runStart);
+        fusedResult.setProfile(profile);
 
-        log.info("═══ FUSED RESULT: Pd={:.3f} cont={:.3f} Pi={:.3f} score={:.1f} ═══",
+        log.info(String.format(Locale.ENGLISH, "═══ FUSED RESULT: Pd=%.3f cont=%.3f Pi=%.3f score=%.1f ═══",
                 fusedResult.getProbabilityOfDetection(),
                 fusedResult.getTrackContinuity(),
                 fusedResult.getProbabilityOfIdentification(),
-                fusedResult.getOverallScore());
+                fusedResult.getOverallScore()));
 
         return fusedResult;
     }
 
     /**
-     * Create a modified scenario for a specific DTI node,
-     * using the node's sensor as the only sensor in the environment.
+     * Evaluate every fusion strategy (OR, k-of-n voting for every k, AND,
+     * best sensor) on one set of node results, without fusing tracks or
+     * identifications. Node results are taken from, and added to, the node
+     * cache as in {@link #execute}.
+     *
+     * @param scenario the test scenario
+     * @return fused detection outcome per strategy
      */
-    private TestScenario createNodeScenario(TestScenario original, DtiNode node) {
-        // Clone the environment with just this node's sensor
-        TestEnvironment origEnv = original.getEnvironment();
-        TestEnvironment nodeEnv = new TestEnvironment(
-                origEnv.getName() + " [" + node.getNodeId() + "]",
-                origEnv.getCentrePosition(),
-                origEnv.getObservationRadiusM());
-        nodeEnv.setWeather(origEnv.getWeather());
-        nodeEnv.setTimeOfDay(origEnv.getTimeOfDay());
-        nodeEnv.setTerrainType(origEnv.getTerrainType());
-        nodeEnv.getParameters().putAll(origEnv.getParameters());
-        nodeEnv.getObstacles().addAll(origEnv.getObstacles());
-
-        // Add just this node's sensor
-        TestEnvironment.SensorSite site = new TestEnvironment.SensorSite(
-                node.getSensor(), node.getPosition());
-        nodeEnv.getSensorSites().add(site);
-
-        // Create scenario copy with the node environment
-        TestScenario nodeScenario = new TestScenario(
-                original.getScenarioId() + "-" + node.getNodeId(),
-                original.getName() + " [" + node.getNodeId() + "]",
-                nodeEnv);
-        nodeScenario.setDescription(original.getDescription());
-        nodeScenario.setDurationSeconds(original.getDurationSeconds());
-        nodeScenario.getRequirementIds().addAll(original.getRequirementIds());
-
-        // Copy targets and flight plans
-        for (int i = 0; i < original.getTargets().size(); i++) {
-            UasTarget target = original.getTargets().get(i);
-            TestScenario.FlightPlan plan = i < original.getFlightPlans().size()
-                    ? original.getFlightPlans().get(i) : null;
-            nodeScenario.addTarget(target, plan);
-        }
-
-        return nodeScenario;
+    public FusionSweep sweepFusion(TestScenario scenario) {
+        return sweepFusion(scenario, seed);
     }
 
     /**
-     * Fuse results from all DTI nodes into a unified evaluation.
+     * Fusion sweep of one stochastic replication: nodes are seeded from
+     * {@code replicationSeed} instead of the system seed (e.g.
+     * {@code RandomStreams.derive(baseSeed, replication)}). Cached node results
+     * are reused, but only results of the system seed are cached.
+     *
+     * @param scenario        the test scenario
+     * @param replicationSeed base seed of the node streams
+     * @return fused detection outcome per strategy
      */
-    private EvaluationResult fuseResults(TestScenario scenario,
-                                          Map<DtiNode, EvaluationResult> nodeResults) {
-        EvaluationResult fused = new EvaluationResult(scenario.getScenarioId() + "-FUSED");
-
-        // ── Detection Fusion ────────────────────────────────────────
-        List<DetectionResult> fusedDetections = fuseDetections(scenario, nodeResults);
-        fused.setDetectionResults(fusedDetections);
-
-        long totalTargets = scenario.getTargets().size();
-        long trueDetections = fusedDetections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .count();
-        long falseAlarms = fusedDetections.stream()
-                .filter(d -> d.getTargetUid().startsWith("FALSE_ALARM"))
-                .count();
-
-        double pd = totalTargets > 0 ? (double) trueDetections / totalTargets : 0;
-        fused.setProbabilityOfDetection(Math.min(1.0, pd));
-        fused.setFalseAlarmRate(totalTargets > 0 ? (double) falseAlarms / totalTargets : 0);
-
-        // Mean detection latency (best across nodes)
-        double meanLat = fusedDetections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .mapToDouble(DetectionResult::getLatencySeconds)
-                .average().orElse(0);
-        fused.setMeanDetectionLatencyS(meanLat);
-
-        double meanErr = fusedDetections.stream()
-                .filter(d -> d.isDetected() && !d.getTargetUid().startsWith("FALSE_ALARM"))
-                .mapToDouble(DetectionResult::getPositionErrorMetres)
-                .average().orElse(0);
-        fused.setMeanDetectionErrorM(meanErr);
+    public FusionSweep sweepFusion(TestScenario scenario, long replicationSeed) {
+        List<DtiNode> nodes = List.copyOf(this.nodes);
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("Fusion sweep needs at least one DTI node");
+        }
+        CompiledScenario compiled = CompiledScenario.compile(scenario);
+        List<NodeResultCache.Key> keys = cacheKeys(nodes, NodeResultCache.scenarioDigest(scenario), replicationSeed);
+        List<EvaluationResult> results = executeNodes(nodes, compiled, keys, replicationSeed == seed,
+                new boolean[nodes.size()]);
+        return FusionSweep.of(compiled, results);
+    }
 
-        // ── Tracking Fusion ─────────────────────────────────────────
-        // Take best tracking results per target across all nodes
-        List<TrackingResult> fusedTracks = fuseTracks(nodeResults);
-        fused.setTrackingResults(fusedTracks);
+    /**
+     * Return every node's result on its node scenario, in node order. Cached
+     * results are reused; the other nodes run on pipeline forks seeded with
+     * their key's node seed.
+     *
+     * @param store  whether to cache the results of nodes that had to run
+     * @param cached receives, per node, whether its result came from the cache
+     */
+    private List<EvaluationResult> executeNodes(List<DtiNode> nodes, CompiledScenario scenario,
+                                                List<NodeResultCache.Key> keys, boolean store, boolean[] cached) {
+        EvaluationResult[] results = new EvaluationResult[nodes.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<Callable<EvaluationResult>> tasks = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            results[i] = nodeCache.get(keys.get(i));
+            cached[i] = results[i] != null;
+            if (cached[i]) continue;
+
+            DtiNode node = nodes.get(i);
+            DtiPipeline fork = node.getPipeline().fork(keys.get(i).nodeSeed());
+            pending.add(i);
+            tasks.add(() -> {
+                log.debug("── Evaluating node: {} ──", node.getNodeId());
+                return fork.execute(nodeView(scenario, node));
+            });
+        }
 
-        long trackedCount = fusedTracks.stream()
-                .filter(TrackingResult::isTrackMaintained).count();
-        fused.setTrackContinuity(fusedTracks.isEmpty() ? 0
-                : (double) trackedCount / fusedTracks.size());
+        List<EvaluationResult> evaluated = runNodeTasks(tasks);
+        for (int t = 0; t < evaluated.size(); t++) {
+            int i = pending.get(t);
+            results[i] = evaluated.get(t);
+            if (store) nodeCache.put(keys.get(i), results[i]);
+        }
+        return Arrays.asList(results);
+    }
 
-        double meanTrackErr = fusedTracks.stream()
-                .mapToDouble(TrackingResult::getMeanPositionErrorMetres)
-                .average().orElse(0);
-        fused.setMeanTrackErrorM(meanTrackErr);
+    /** Cache keys of all nodes on a scenario, node {@code i} seeded with {@code derive(seed, i)}. */
+    private static List<NodeResultCache.Key> cacheKeys(List<DtiNode> nodes, String scenarioDigest, long seed) {
+        List<NodeResultCache.Key> keys = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            keys.add(new NodeResultCache.Key(scenarioDigest,
+                    NodeResultCache.nodeDigest(nodes.get(i)), RandomStreams.derive(seed, i)));
+        }
+        return keys;
+    }
 
-        double meanUpdateRate = fusedTracks.stream()
-                .mapToDouble(TrackingResult::getUpdateRateHz)
-                .average().orElse(0);
-        fused.setTrackUpdateRateHz(meanUpdateRate);
+    /**
+     * Run node tasks, concurrently when the parallelism allows, and return
+     * their results in task order.
+     */
+    private List<EvaluationResult> runNodeTasks(List<Callable<EvaluationResult>> tasks) {
+        int threads = Math.min(parallelism, tasks.size());
+        try {
+            List<EvaluationResult> results = new ArrayList<>(tasks.size());
+            if (threads <= 1) {
+                for (Callable<EvaluationResult> task : tasks) results.add(task.call());
+                return results;
+            }
+            ExecutorService executor = nodeExecutor != null
+                    ? nodeExecutor : Executors.newFixedThreadPool(threads);
+            try {
+                for (Future<EvaluationResult> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } finally {
+                if (executor != nodeExecutor) executor.shutdownNow();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Multi-DTI evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Node evaluation failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Node evaluation failed: " + e.getMessage(), e);
+        }
+    }
 
-        int totalDrops = fusedTracks.stream()
-                .mapToInt(TrackingResult::getTrackDropCount).sum();
-        fused.setTotalTrackDrops(totalDrops);
+    /**
+     * View of the scenario seen by a single DTI node: the node's sensor is the
+     * only sensor site; targets, flight plans, ground truth and environment
+     * are shared with the system scenario rather than copied.
+     */
+    private CompiledScenario nodeView(CompiledScenario scenario, DtiNode node) {
+        return scenario.withSensors(
+                scenario.getScenarioId() + "-" + node.getNodeId(),
+                scenario.getName() + " [" + node.getNodeId() + "]",
+                List.of(new TestEnvironment.SensorSite(node.getSensor(), node.getPosition())));
+    }
 
-        // ── Identification Fusion ───────────────────────────────────
+    /**
+     * Fuse results from all DTI nodes into a unified evaluation. Track fusion
+     * does not depend on the fusion settings, so the fused tracks of the
+     * previous run are reused when it fused the same node results.
+     */
+    private EvaluationResult fuseResults(CompiledScenario scenario, List<NodeResultCache.Key> keys,
+                                          Map<DtiNode, EvaluationResult> nodeResults) {
+        List<DetectionResult> fusedDetections = fuseDetections(scenario, nodeResults);
+        FusedTracks tracks = lastFusedTracks;
+        if (tracks == null || !keys.equals(tracks.keys())) {
+            tracks = new FusedTracks(List.copyOf(keys), List.copyOf(fuseTracks(scenario, nodeResults)));
+            lastFusedTracks = tracks;
+        }
         List<IdentificationResult> fusedIds = fuseIdentifications(nodeResults);
-        fused.setIdentificationResults(fusedIds);
-
-        long idCount = fusedIds.stream()
-                .filter(IdentificationResult::isIdentified).count();
-        double pi = fusedIds.isEmpty() ? 0 : (double) idCount / fusedIds.size();
-        fused.setProbabilityOfIdentification(pi);
-
-        long iffCorrect = fusedIds.stream()
-                .filter(id -> id.getIffResult() != null
-                        && id.getIffResult() == id.isTruthFriendly())
-                .count();
-        fused.setIffAccuracy(fusedIds.isEmpty() ? 0
-                : (double) iffCorrect / fusedIds.size());
-
-        double meanIdLat = fusedIds.stream()
-                .filter(IdentificationResult::isIdentified)
-                .mapToDouble(IdentificationResult::getLatencySeconds)
-                .average().orElse(0);
-        fused.setMeanIdentificationLatencyS(meanIdLat);
 
-        // ── Overall Score ───────────────────────────────────────────
-        double score = pd * 40 + fused.getTrackContinuity() * 30 + pi * 30;
-        fused.setOverallScore(score);
-        fused.setPassed(score >= 60 && pd >= 0.7);
-
-        return fused;
+        return ResultAggregator.aggregate(scenario.getScenarioId() + "-FUSED",
+                scenario.getTargetCount(), fusedDetections, tracks.tracks(), fusedIds);
     }
 
     // ── Fusion Algorithms ───────────────────────────────────────────────
@@ -330,22 +502,27 @@ public class MultiDtiSystem {
     /**
      * Fuse detection results from all nodes per target.
      */
-    private List<DetectionResult> fuseDetections(TestScenario scenario,
+    private List<DetectionResult> fuseDetections(CompiledScenario scenario,
                                                   Map<DtiNode, EvaluationResult> nodeResults) {
         List<DetectionResult> fused = new ArrayList<>();
-
-        for (UasTarget target : scenario.getTargets()) {
-            // Collect detections for this target from all nodes
-            List<DetectionResult> perNode = new ArrayList<>();
-            for (EvaluationResult nr : nodeResults.values()) {
-                for (DetectionResult d : nr.getDetectionResults()) {
-                    if (target.getUid().equals(d.getTargetUid())) {
-                        perNode.add(d);
-                    }
-                }
+        FusionStrategy strategy = detectionFusion;
+        int k = votingThreshold;
+        int nodeCount = nodeResults.size();
+
+        // Bucket every node's detections by target index in one pass
+        int n = scenario.getTargetCount();
+        List<List<DetectionResult>> perTarget = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) perTarget.add(new ArrayList<>(nodeResults.size()));
+        for (EvaluationResult nr : nodeResults.values()) {
+            for (DetectionResult d : nr.getDetectionResults()) {
+                int i = scenario.indexOf(d.getTargetUid());
+                if (i >= 0) perTarget.get(i).add(d);
             }
+        }
 
-            DetectionResult fusedDet = applyDetectionFusion(target, perNode);
+        for (int i = 0; i < n; i++) {
+            DetectionResult fusedDet = applyDetectionFusion(strategy, k, nodeCount,
+                    scenario.getTarget(i), perTarget.get(i));
             fused.add(fusedDet);
         }
 
@@ -353,19 +530,15 @@ public class MultiDtiSystem {
         Set<String> faIds = new HashSet<>();
         for (EvaluationResult nr : nodeResults.values()) {
             for (DetectionResult d : nr.getDetectionResults()) {
-                if (d.getTargetUid().startsWith("FALSE_ALARM")) {
-                    if (detectionFusion == FusionStrategy.OR_LOGIC) {
-                        faIds.add(d.getTargetUid());
-                    }
-                }
+                if (d.isFalseAlarm()) faIds.add(d.getTargetUid());
             }
         }
-        // Reduce false alarms with multi-sensor confirmation
-        int fusedFaCount = Math.max(0, faIds.size() / Math.max(1, nodes.size() / 2));
+        int fusedFaCount = fusedFalseAlarmCount(strategy, faIds.size(), nodeCount);
         for (int i = 0; i < fusedFaCount; i++) {
             DetectionResult fa = new DetectionResult();
             fa.setTargetUid("FALSE_ALARM_FUSED_" + (i + 1));
             fa.setDetected(true);
+            fa.setFalseAlarm(true);
             fa.setCorrectClassification(false);
             fa.setSensorType("FUSED");
             fused.add(fa);
@@ -377,8 +550,9 @@ public class MultiDtiSystem {
     /**
      * Apply detection fusion strategy for a single target.
      */
-    private DetectionResult applyDetectionFusion(UasTarget target,
-                                                  List<DetectionResult> nodeDetections) {
+    private static DetectionResult applyDetectionFusion(FusionStrategy strategy, int k, int nodeCount,
+                                                         UasTarget target,
+                                                         List<DetectionResult> nodeDetections) {
         DetectionResult best = new DetectionResult();
         best.setTargetUid(target.getUid());
         best.setTruthPosition(target.getPosition());
@@ -389,15 +563,11 @@ public class MultiDtiSystem {
             return best;
         }
 
-        long detectedCount = nodeDetections.stream()
+        int detectedCount = (int) nodeDetections.stream()
                 .filter(DetectionResult::isDetected).count();
 
-        boolean fusedDetected = switch (detectionFusion) {
-            case OR_LOGIC -> detectedCount > 0;
-            case VOTING -> detectedCount >= Math.min(votingThreshold, nodes.size());
-            case AND_LOGIC -> detectedCount == nodeDetections.size();
-            case BEST_SENSOR -> detectedCount > 0;
-        };
+        boolean fusedDetected = fusedDetected(strategy, k, nodeCount,
+                detectedCount, nodeDetections.size());
 
         best.setDetected(fusedDetected);
         best.setSensorType("FUSED(" + detectedCount + "/" + nodeDetections.size() + ")");
@@ -421,31 +591,88 @@ public class MultiDtiSystem {
     }
 
     /**
-     * Fuse tracking results — take best track per target across nodes.
+     * Fused detection decision for one target.
+     *
+     * @param strategy   fusion strategy
+     * @param k          voting threshold (VOTING only)
+     * @param nodeCount  number of nodes in the system
+     * @param detections node reports of the target that detected it
+     * @param reports    node reports of the target
      */
-    private List<TrackingResult> fuseTracks(Map<DtiNode, EvaluationResult> nodeResults) {
-        // Group all track results by target UID
-        Map<String, List<TrackingResult>> byTarget = new LinkedHashMap<>();
-        for (EvaluationResult nr : nodeResults.values()) {
-            for (TrackingResult tr : nr.getTrackingResults()) {
-                byTarget.computeIfAbsent(tr.getTargetUid(), k -> new ArrayList<>())
-                        .add(tr);
+    static boolean fusedDetected(FusionStrategy strategy, int k, int nodeCount,
+                                 int detections, int reports) {
+        if (reports == 0) return false;
+        return switch (strategy) {
+            case OR_LOGIC, BEST_SENSOR -> detections > 0;
+            case VOTING -> detections >= Math.min(k, nodeCount);
+            case AND_LOGIC -> detections == reports;
+        };
+    }
+
+    /**
+     * Number of fused false alarms. Only OR logic passes node false alarms
+     * on, reduced by multi-sensor confirmation; the other strategies
+     * suppress uncorrelated single-node false alarms.
+     *
+     * @param distinctFalseAlarms distinct false alarm IDs over all nodes
+     */
+    static int fusedFalseAlarmCount(FusionStrategy strategy, int distinctFalseAlarms, int nodeCount) {
+        if (strategy != FusionStrategy.OR_LOGIC) return 0;
+        return Math.max(0, distinctFalseAlarms / Math.max(1, nodeCount / 2));
+    }
+
+    /**
+     * Fuse the node tracks of each target into one time-aligned track
+     * ({@link TrackFusionEngine}). Node points are weighted by the node
+     * sensor's position accuracy at the reported range combined with the
+     * node tracker's noise; points within half the shortest track update
+     * interval are associated.
+     */
+    private List<TrackingResult> fuseTracks(CompiledScenario scenario,
+                                            Map<DtiNode, EvaluationResult> nodeResults) {
+        // Bucket every node's tracks by target index in one pass
+        int n = scenario.getTargetCount();
+        List<List<TrackFusionEngine.Source>> perTarget = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) perTarget.add(null);
+        double minIntervalS = Double.POSITIVE_INFINITY;
+        for (Map.Entry<DtiNode, EvaluationResult> entry : nodeResults.entrySet()) {
+            DtiNode node = entry.getKey();
+            TrackingSystem tracker = node.getPipeline().getTrackingSystem();
+            minIntervalS = Math.min(minIntervalS, tracker.getUpdateIntervalS());
+            TrackFusionEngine.SigmaModel sigma = trackSigma(node, tracker.getTrackingNoiseM());
+            for (TrackingResult tr : entry.getValue().getTrackingResults()) {
+                int i = scenario.indexOf(tr.getTargetUid());
+                if (i < 0) continue;
+                if (perTarget.get(i) == null) perTarget.set(i, new ArrayList<>(nodeResults.size()));
+                perTarget.get(i).add(TrackFusionEngine.Source.of(tr, sigma));
             }
         }
 
-        // For each target, select best track (highest continuity)
+        TrackFusionEngine engine = new TrackFusionEngine(
+                Duration.ofNanos((long) (minIntervalS * 0.5e9)));
         List<TrackingResult> fused = new ArrayList<>();
-        for (Map.Entry<String, List<TrackingResult>> entry : byTarget.entrySet()) {
-            TrackingResult best = entry.getValue().stream()
-                    .filter(TrackingResult::isTrackMaintained)
-                    .min(Comparator.comparingDouble(TrackingResult::getMeanPositionErrorMetres))
-                    .orElse(entry.getValue().get(0));
-            fused.add(best);
+        for (int i = 0; i < n; i++) {
+            List<TrackFusionEngine.Source> sources = perTarget.get(i);
+            if (sources != null) fused.add(engine.fuse(scenario.getTarget(i).getUid(), sources));
         }
-
         return fused;
     }
 
+    /**
+     * Position uncertainty of a node's track points: the sensor's accuracy at
+     * the point's range, combined in quadrature with the tracker noise.
+     */
+    private static TrackFusionEngine.SigmaModel trackSigma(DtiNode node, double trackingNoiseM) {
+        CuasSensor sensor = node.getSensor();
+        GeoPosition site = node.getPosition();
+        return point -> {
+            double accuracy = sensor != null && site != null
+                    ? sensor.computePositionAccuracy(site.distanceTo(point.getReportedPosition()))
+                    : 0;
+            return Math.sqrt(accuracy * accuracy + trackingNoiseM * trackingNoiseM);
+        };
+    }
+
     /**
      * Fuse identification results — consensus voting.
      */
@@ -474,24 +701,46 @@ public class MultiDtiSystem {
 
     // ── Coverage Analysis ───────────────────────────────────────────────
 
+    /**
+     * Rasterised 3D coverage of the node layout per UAS class and altitude
+     * layer: union, k-fold overlap and gaps (see {@link CoverageEngine}).
+     */
+    public CoverageReport computeCoverage() {
+        return coverageEngine.compute(nodes);
+    }
+
     /**
      * Compute system coverage statistics.
+     * <p>
+     * {@code totalCoverageAreaKm2} is the true union of the rasterised
+     * coverage (each point counted once, any class and layer), while
+     * {@code sectorAreaSumKm2} adds up the nominal sectors. Per UAS class,
+     * {@code unionVolumeKm3.<class>}, {@code overlapVolumeKm3.<class>} (two
+     * or more sensors) and {@code gapVolumeKm3.<class>} give the covered,
+     * redundantly covered and uncovered volumes of the analysis region.
+     * </p>
      * @return map of coverage metrics
      */
     public Map<String, Double> computeCoverageMetrics() {
+        List<DtiNode> nodes = List.copyOf(this.nodes);
+        return computeCoverageMetrics(nodes, nodes.isEmpty() ? null : coverageEngine.compute(nodes));
+    }
+
+    private static Map<String, Double> computeCoverageMetrics(List<DtiNode> nodes, CoverageReport coverage) {
         Map<String, Double> metrics = new LinkedHashMap<>();
         metrics.put("nodeCount", (double) nodes.size());
 
         if (nodes.isEmpty()) return metrics;
 
-        // Total coverage area (union of all sensor ranges)
-        double totalAreaKm2 = 0;
-        for (DtiNode node : nodes) {
-            double r = node.getSensor().getMaxRangeM() / 1000.0;
-            double az = node.getSensor().getAzimuthCoverageDeg();
-            totalAreaKm2 += Math.PI * r * r * (az / 360.0);
+        // Coverage area and volumes (raster union of all sensors)
+        metrics.put("totalCoverageAreaKm2", coverage.getCoveredAreaKm2());
+        metrics.put("footprintAreaKm2", coverage.getFootprintAreaKm2());
+        metrics.put("sectorAreaSumKm2", coverage.getSectorAreaSumKm2());
+        for (UasClass cls : coverage.getUasClasses()) {
+            metrics.put("unionVolumeKm3." + cls, coverage.getUnionVolumeKm3(cls));
+            metrics.put("overlapVolumeKm3." + cls, coverage.getOverlapVolumeKm3(cls));
+            metrics.put("gapVolumeKm3." + cls, coverage.getGapVolumeKm3(cls));
         }
-        metrics.put("totalCoverageAreaKm2", totalAreaKm2);
 
         // Average sensor range
         double avgRange = nodes.stream()
@@ -529,9 +778,13 @@ public class MultiDtiSystem {
     }
 
     /**
-     * Get a summary of the multi-DTI system configuration.
+     * Get a summary of the multi-DTI system configuration. Computes the
+     * raster coverage (once), so it can take a while for large layouts; call
+     * it off the UI thread.
      */
     public String getSummary() {
+        List<DtiNode> nodes = List.copyOf(this.nodes);
+        CoverageReport coverage = nodes.isEmpty() ? null : coverageEngine.compute(nodes);
         StringBuilder sb = new StringBuilder();
         sb.append(String.format(Locale.ENGLISH,
                 "Multi-DTI System — %d nodes, fusion=%s\n", nodes.size(), detectionFusion));
@@ -546,7 +799,7 @@ public class MultiDtiSystem {
                     node.getSensor().getMaxRangeM()));
         }
 
-        Map<String, Double> cov = computeCoverageMetrics();
+        Map<String, Double> cov = computeCoverageMetrics(nodes, coverage);
         sb.append(String.format(Locale.ENGLISH,
                 "\nCoverage: %.1f km² | Est. Pd: %.3f | Est. FAR: %.5f\n",
                 cov.getOrDefault("totalCoverageAreaKm2", 0.0),
@@ -557,6 +810,14 @@ public class MultiDtiSystem {
                 cov.getOrDefault("totalPowerW", 0.0),
                 cov.getOrDefault("totalWeightKg", 0.0)));
 
+        for (UasClass cls : coverage != null ? coverage.getUasClasses() : List.<UasClass>of()) {
+            sb.append(String.format(Locale.ENGLISH,
+                    "  %s: covered %.2f km³ | overlap %.2f km³ | gaps %.2f km³\n", cls,
+                    coverage.getUnionVolumeKm3(cls),
+                    coverage.getOverlapVolumeKm3(cls),
+                    coverage.getGapVolumeKm3(cls)));
+        }
+
         return sb.toString();
     }
 }
@@ -0,0 +1,185 @@
+package io.github.gcng54.cuaseval.dti;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gcng54.cuaseval.model.EvaluationResult;
+import io.github.gcng54.cuaseval.model.TestScenario;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of per-node {@link EvaluationResult}s of a
+ * {@link MultiDtiSystem}.
+ * <p>
+ * A node result depends only on the scenario content, the node's sensor,
+ * position and pipeline configuration, and the node's random seed — not on
+ * the fusion settings. Entries are keyed by exactly these, so changing the
+ * detection fusion strategy or voting threshold re-fuses cached node results
+ * without re-running any pipeline, while any change to the scenario or to a
+ * node misses the cache.
+ * </p>
+ * <p>
+ * Scenario and node content are identified by SHA-256 digests of their JSON
+ * form (properties and map keys sorted), so two equal scenarios built
+ * independently share entries and a scenario mutated in place does not.
+ * </p>
+ * <p>
+ * Cached results are shared, not copied, and must not be modified. All
+ * methods are thread-safe.
+ * </p>
+ */
+public class NodeResultCache {
+
+    /** Default number of node results kept */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    /**
+     * Identity of one node result.
+     *
+     * @param scenarioDigest digest of the scenario content ({@link #scenarioDigest})
+     * @param nodeDigest     digest of the node configuration ({@link #nodeDigest})
+     * @param nodeSeed       seed of the node's pipeline fork
+     */
+    public record Key(String scenarioDigest, String nodeDigest, long nodeSeed) {}
+
+    private final Map<Key, EvaluationResult> entries;
+    private int capacity;
+    private long hits;
+    private long misses;
+
+    public NodeResultCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of node results kept (0 disables caching)
+     */
+    public NodeResultCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, EvaluationResult> eldest) {
+                return size() > NodeResultCache.this.capacity;
+            }
+        };
+    }
+
+    // ── Lookup ──────────────────────────────────────────────────────────
+
+    /** Cached result for a key, or null. */
+    public synchronized EvaluationResult get(Key key) {
+        EvaluationResult result = entries.get(key);
+        if (result != null) hits++;
+        else misses++;
+        return result;
+    }
+
+    /** Whether a result is cached, without touching LRU order or statistics. */
+    public synchronized boolean contains(Key key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(Key key, EvaluationResult result) {
+        if (capacity > 0) entries.put(key, result);
+    }
+
+    /** Drop every entry. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // ── Configuration / statistics ──────────────────────────────────────
+
+    public synchronized int size()               { return entries.size(); }
+    public synchronized int getCapacity()        { return capacity; }
+    public synchronized long getHits()           { return hits; }
+    public synchronized long getMisses()         { return misses; }
+
+    /**
+     * Change the capacity, evicting the least recently used entries if it shrinks.
+     */
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        var it = entries.entrySet().iterator();
+        while (entries.size() > this.capacity && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // ── Digests ─────────────────────────────────────────────────────────
+
+    /**
+     * Digest of a scenario's content: ID, environment, targets, flight plans,
+     * duration, start time and requirements.
+     */
+    public static String scenarioDigest(TestScenario scenario) {
+        MessageDigest md = sha256();
+        write(md, scenario);
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * Digest of a node's configuration: sensor, position and pipeline
+     * settings. The node ID and name do not affect the result and are left out.
+     */
+    public static String nodeDigest(MultiDtiSystem.DtiNode node) {
+        MessageDigest md = sha256();
+        write(md, node.getSensor());
+        write(md, node.getPosition());
+        md.update(node.getPipeline().describeConfiguration().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * Digest of the JSON form of a sequence of values, for cache keys of
+     * other derived results.
+     */
+    static String contentDigest(Object... values) {
+        MessageDigest md = sha256();
+        for (Object value : values) write(md, value);
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static void write(MessageDigest md, Object value) {
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+            MAPPER.writeValue(out, value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot digest " + value.getClass().getSimpleName()
+                    + ": " + e.getMessage(), e);
+        }
+        md.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "NodeResultCache[" + entries.size() + "/" + capacity
+                + " hits=" + hits + " misses=" + misses + "]";
+    }
+}
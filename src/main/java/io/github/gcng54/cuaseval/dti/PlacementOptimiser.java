@@ -0,0 +1,507 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.CuasSensor;
+import io.github.gcng54.cuaseval.model.GeoPosition;
+import io.github.gcng54.cuaseval.model.UasClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Sensor placement optimiser: assigns a sensor mix to candidate sites so
+ * that the covered volume of a protected area is maximised within a budget
+ * of node count, power and weight.
+ * <p>
+ * Every (site, sensor type) pair is rasterised once into a voxel mask of the
+ * protected circle by the {@link CoverageEngine} (concurrently, and cached by
+ * the engine across runs). A layout is then scored by counting, per voxel,
+ * the sensors covering it, and a move changes the score incrementally by the
+ * voxels of the sensors it moves — no coverage is recomputed during the
+ * search.
+ * </p>
+ * <p>
+ * The search starts from a greedy layout (largest marginal volume first)
+ * and refines it with independent simulated-annealing chains (place,
+ * remove, relocate and replace moves) that run in parallel. Chain {@code i}
+ * draws from {@code RandomStreams.derive(seed, i)}, so the result does not
+ * depend on the parallelism or the thread schedule.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ *   PlacementOptimiser opt = new PlacementOptimiser(multiDti);
+ *   opt.setCandidateSites(sites);
+ *   opt.setSensorMix(List.of(radar, radar, camera, rfDetector));
+ *   opt.setProtectedArea(centre, 5000);
+ *   opt.setMaxPowerW(1500);
+ *   List&lt;PlacementOptimiser.Layout&gt; ranked = opt.optimise();
+ *   ranked.get(0).applyTo(multiDti);
+ * </pre>
+ * </p>
+ */
+public class PlacementOptimiser {
+
+    private static final Logger log = LoggerFactory.getLogger(PlacementOptimiser.class);
+
+    /** Final temperature of the annealing schedule relative to the initial one */
+    private static final double COOLING_RATIO = 1e-3;
+
+    private final CoverageEngine engine;
+
+    // ── Problem ─────────────────────────────────────────────────────────
+
+    private List<GeoPosition> candidateSites = new ArrayList<>();
+    private List<CuasSensor> sensorMix = new ArrayList<>();
+    private GeoPosition protectedCentre;
+    private double protectedRadiusM;
+    private UasClass uasClass = UasClass.C2;
+
+    // ── Budget (≤ 0 = unlimited) ────────────────────────────────────────
+
+    private int maxNodes;
+    private double maxPowerW;
+    private double maxWeightKg;
+
+    // ── Search ──────────────────────────────────────────────────────────
+
+    private int chains = 8;
+    private int iterations = 5000;
+    private int maxLayouts = 5;
+    private long seed = 42;
+
+    /**
+     * Optimiser using the coverage settings (cells, layers, Pd threshold,
+     * terrain, parallelism) of a system's coverage engine.
+     */
+    public PlacementOptimiser(MultiDtiSystem system) {
+        this(system.getCoverageEngine());
+    }
+
+    public PlacementOptimiser(CoverageEngine engine) {
+        this.engine = engine;
+    }
+
+    // ── Placement and layout ────────────────────────────────────────────
+
+    /**
+     * One sensor placed at a candidate site.
+     *
+     * @param siteIndex index into the candidate sites
+     * @param position  site position (altitude = antenna height above ground)
+     * @param sensor    sensor template from the mix
+     */
+    public record Placement(int siteIndex, GeoPosition position, CuasSensor sensor) {}
+
+    /**
+     * A ranked sensor layout.
+     */
+    public static final class Layout {
+        private final List<Placement> placements;
+        private final double coveredVolumeKm3;
+        private final double protectedVolumeKm3;
+        private final double totalPowerW;
+        private final double totalWeightKg;
+
+        Layout(List<Placement> placements, double coveredVolumeKm3, double protectedVolumeKm3) {
+            this.placements = Collections.unmodifiableList(placements);
+            this.coveredVolumeKm3 = coveredVolumeKm3;
+            this.protectedVolumeKm3 = protectedVolumeKm3;
+            this.totalPowerW = placements.stream().mapToDouble(p -> p.sensor().getPowerConsumptionW()).sum();
+            this.totalWeightKg = placements.stream().mapToDouble(p -> p.sensor().getWeightKg()).sum();
+        }
+
+        public List<Placement> getPlacements()     { return placements; }
+        public int getNodeCount()                  { return placements.size(); }
+        public double getCoveredVolumeKm3()        { return coveredVolumeKm3; }
+        public double getProtectedVolumeKm3()      { return protectedVolumeKm3; }
+        public double getTotalPowerW()             { return totalPowerW; }
+        public double getTotalWeightKg()           { return totalWeightKg; }
+
+        /** Covered fraction of the protected volume (0–1). */
+        public double getCoverageFraction() {
+            return protectedVolumeKm3 > 0 ? coveredVolumeKm3 / protectedVolumeKm3 : 0;
+        }
+
+        /**
+         * Replace the nodes of a system with this layout. Each node gets a
+         * copy of its sensor template.
+         */
+        public void applyTo(MultiDtiSystem system) {
+            system.clearNodes();
+            int i = 1;
+            for (Placement p : placements) {
+                GeoPosition pos = p.position();
+                system.addNode(String.format(Locale.ENGLISH, "N%02d", i++), p.sensor().getName(),
+                        new GeoPosition(pos.getLatitude(), pos.getLongitude(), pos.getAltitudeMsl()),
+                        p.sensor().copy());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "Layout[nodes=%d covered=%.2f km³ (%.1f%%) power=%.0f W weight=%.0f kg]",
+                    placements.size(), coveredVolumeKm3, 100 * getCoverageFraction(), totalPowerW, totalWeightKg);
+        }
+    }
+
+    // ── Configuration ───────────────────────────────────────────────────
+
+    public CoverageEngine getEngine()                    { return engine; }
+    public List<GeoPosition> getCandidateSites()         { return candidateSites; }
+    public List<CuasSensor> getSensorMix()               { return sensorMix; }
+    public GeoPosition getProtectedCentre()              { return protectedCentre; }
+    public double getProtectedRadiusM()                  { return protectedRadiusM; }
+    public UasClass getUasClass()                        { return uasClass; }
+    public int getMaxNodes()                             { return maxNodes; }
+    public double getMaxPowerW()                         { return maxPowerW; }
+    public double getMaxWeightKg()                       { return maxWeightKg; }
+    public int getChains()                               { return chains; }
+    public int getIterations()                           { return iterations; }
+    public int getMaxLayouts()                           { return maxLayouts; }
+    public long getSeed()                                { return seed; }
+
+    /** Candidate positions; the altitude is the antenna height above ground. */
+    public void setCandidateSites(List<GeoPosition> sites)   { this.candidateSites = new ArrayList<>(sites); }
+
+    /**
+     * Sensor units available for placement, typically templates from
+     * {@code SensorLibrary}; each entry is placed at most once, so a type
+     * listed twice may occupy two sites.
+     */
+    public void setSensorMix(List<CuasSensor> mix)           { this.sensorMix = new ArrayList<>(mix); }
+    public void setUasClass(UasClass uasClass)               { this.uasClass = uasClass; }
+    public void setMaxNodes(int maxNodes)                    { this.maxNodes = maxNodes; }
+    public void setMaxPowerW(double maxPowerW)               { this.maxPowerW = maxPowerW; }
+    public void setMaxWeightKg(double maxWeightKg)           { this.maxWeightKg = maxWeightKg; }
+    public void setChains(int chains)                        { this.chains = Math.max(0, chains); }
+    public void setIterations(int iterations)                { this.iterations = Math.max(0, iterations); }
+    public void setMaxLayouts(int maxLayouts)                { this.maxLayouts = Math.max(1, maxLayouts); }
+    public void setSeed(long seed)                           { this.seed = seed; }
+
+    /** Circle whose volume (over the engine's altitude layers) is to be covered. */
+    public void setProtectedArea(GeoPosition centre, double radiusM) {
+        if (!(radiusM > 0)) {
+            throw new IllegalArgumentException("Protected radius must be positive: " + radiusM);
+        }
+        this.protectedCentre = centre;
+        this.protectedRadiusM = radiusM;
+    }
+
+    // ── Optimisation ────────────────────────────────────────────────────
+
+    /**
+     * Search for the best layouts.
+     *
+     * @return distinct layouts, best first (largest covered volume, then
+     *         lowest power and fewest nodes)
+     */
+    public List<Layout> optimise() {
+        if (protectedCentre == null) {
+            throw new IllegalStateException("No protected area set");
+        }
+        if (candidateSites.isEmpty() || sensorMix.isEmpty()) {
+            throw new IllegalStateException("Placement needs candidate sites and a sensor mix");
+        }
+        long start = System.nanoTime();
+
+        // Sensor types of the mix and the units of each
+        Map<String, Integer> typeIds = new LinkedHashMap<>();
+        List<CuasSensor> types = new ArrayList<>();
+        int[] unitType = new int[sensorMix.size()];
+        for (int u = 0; u < unitType.length; u++) {
+            CuasSensor sensor = sensorMix.get(u);
+            String id = sensor.getSensorId() != null
+                    ? sensor.getSensorId() : "#" + System.identityHashCode(sensor);
+            unitType[u] = typeIds.computeIfAbsent(id, k -> {
+                types.add(sensor);
+                return types.size() - 1;
+            });
+        }
+
+        // Voxel masks of every (site, type) pair
+        CoverageEngine.VoxelGrid grid = engine.voxelGrid(protectedCentre, protectedRadiusM);
+        int siteCount = candidateSites.size(), typeCount = types.size();
+        List<Callable<int[]>> maskTasks = new ArrayList<>(siteCount * typeCount);
+        for (GeoPosition site : candidateSites) {
+            for (CuasSensor type : types) {
+                maskTasks.add(() -> engine.coveredVoxels(grid, type, site, uasClass));
+            }
+        }
+        List<int[]> masks = engine.runTasks(maskTasks);
+        Problem problem = new Problem(grid.volumeKm3, masks, siteCount, unitType, types);
+
+        // Greedy construction, then independent annealing chains
+        State greedy = greedy(problem);
+        List<Callable<List<State>>> chainTasks = new ArrayList<>(chains);
+        for (int i = 0; i < chains; i++) {
+            long chainSeed = RandomStreams.derive(seed, i);
+            chainTasks.add(() -> anneal(problem, greedy.copy(), new Random(chainSeed)));
+        }
+        List<State> candidates = new ArrayList<>();
+        candidates.add(greedy);
+        for (List<State> best : engine.runTasks(chainTasks)) candidates.addAll(best);
+
+        // Rank distinct layouts
+        Map<String, Layout> distinct = new LinkedHashMap<>();
+        for (State state : candidates) {
+            distinct.computeIfAbsent(state.key(), k -> toLayout(problem, state, grid.totalVolumeKm3()));
+        }
+        List<Layout> ranked = new ArrayList<>(distinct.values());
+        ranked.sort(Comparator.comparingDouble(Layout::getCoveredVolumeKm3).reversed()
+                .thenComparingDouble(Layout::getTotalPowerW)
+                .thenComparingInt(Layout::getNodeCount));
+        if (ranked.size() > maxLayouts) ranked = new ArrayList<>(ranked.subList(0, maxLayouts));
+
+        log.info("Placement: {} sites × {} types, {} voxels, {} chains × {} iterations in {} ms — best {}",
+                siteCount, typeCount, grid.size(), chains, iterations,
+                (System.nanoTime() - start) / 1_000_000, ranked.get(0));
+        return ranked;
+    }
+
+    /**
+     * Repeatedly place the unit with the largest marginal volume (ties:
+     * lower power) until nothing within the budget adds coverage.
+     */
+    private State greedy(Problem problem) {
+        State state = new State(problem);
+        while (true) {
+            int bestUnit = -1, bestSite = -1;
+            double bestGain = 1e-12;
+            boolean[] typeTried = new boolean[problem.types.size()];
+            for (int u = 0; u < problem.unitType.length; u++) {
+                int t = problem.unitType[u];
+                if (state.unitSite[u] >= 0 || typeTried[t]) continue;
+                typeTried[t] = true;        // units of a type are interchangeable
+                if (!state.fits(u, -1)) continue;
+                for (int s = 0; s < problem.siteCount; s++) {
+                    if (state.siteUnit[s] >= 0) continue;
+                    double gain = state.gain(problem.mask(s, t));
+                    if (gain > bestGain || (gain == bestGain && bestUnit >= 0
+                            && problem.power(u) < problem.power(bestUnit))) {
+                        bestGain = gain;
+                        bestUnit = u;
+                        bestSite = s;
+                    }
+                }
+            }
+            if (bestUnit < 0) return state;
+            state.place(bestUnit, bestSite);
+        }
+    }
+
+    /**
+     * One simulated-annealing chain from a start layout.
+     *
+     * @return the best distinct layouts visited, at most {@link #getMaxLayouts()}
+     */
+    private List<State> anneal(Problem problem, State state, Random rng) {
+        int units = problem.unitType.length, sites = problem.siteCount;
+        double t0 = Math.max(1e-9, 0.02 * Math.max(state.score, problem.meanMaskVolume));
+        Elite elite = new Elite(maxLayouts);
+        elite.offer(state);
+
+        for (int it = 0; it < iterations; it++) {
+            double temperature = t0 * Math.pow(COOLING_RATIO, (double) it / iterations);
+            double before = state.score;
+            int u = rng.nextInt(units);
+            int from = state.unitSite[u];
+            int site = rng.nextInt(sites);
+
+            // Propose: place / relocate u at a free site, remove u, or replace u by an unused unit
+            int move = rng.nextInt(4);
+            int v = -1;
+            if (move == 2 && from >= 0) {
+                if (!state.fits(-1, u)) continue;
+                state.unplace(u);
+            } else if (move == 3 && from >= 0) {
+                v = rng.nextInt(units);
+                if (state.unitSite[v] >= 0 || problem.unitType[v] == problem.unitType[u]
+                        || !state.fits(v, u)) continue;
+                state.unplace(u);
+                state.place(v, from);
+            } else {
+                if (state.siteUnit[site] >= 0 || !state.fits(from < 0 ? u : -1, -1)) continue;
+                if (from >= 0) state.unplace(u);
+                state.place(u, site);
+            }
+
+            double delta = state.score - before;
+            if (delta >= 0 || rng.nextDouble() < Math.exp(delta / temperature)) {
+                elite.offer(state);
+                continue;
+            }
+
+            // Undo
+            if (v >= 0) {
+                state.unplace(v);
+                state.place(u, from);
+            } else {
+                if (state.unitSite[u] >= 0) state.unplace(u);
+                if (from >= 0) state.place(u, from);
+            }
+        }
+        return elite.states;
+    }
+
+    private Layout toLayout(Problem problem, State state, double protectedVolumeKm3) {
+        List<Placement> placements = new ArrayList<>();
+        int[] count = new int[problem.volume.length];
+        double covered = 0;
+        for (int s = 0; s < problem.siteCount; s++) {
+            int u = state.siteUnit[s];
+            if (u < 0) continue;
+            placements.add(new Placement(s, candidateSites.get(s), problem.types.get(problem.unitType[u])));
+            for (int voxel : problem.mask(s, problem.unitType[u])) {
+                if (count[voxel]++ == 0) covered += problem.volume[voxel];
+            }
+        }
+        return new Layout(placements, covered, protectedVolumeKm3);
+    }
+
+    // ── Search state ────────────────────────────────────────────────────
+
+    /** Immutable inputs shared by all chains. */
+    private static final class Problem {
+        final double[] volume;
+        final List<int[]> masks;        // index site × types + type
+        final int siteCount;
+        final int[] unitType;
+        final List<CuasSensor> types;
+        final double meanMaskVolume;
+
+        Problem(double[] volume, List<int[]> masks, int siteCount, int[] unitType, List<CuasSensor> types) {
+            this.volume = volume;
+            this.masks = masks;
+            this.siteCount = siteCount;
+            this.unitType = unitType;
+            this.types = types;
+            double sum = 0;
+            for (int[] mask : masks) {
+                for (int voxel : mask) sum += volume[voxel];
+            }
+            this.meanMaskVolume = masks.isEmpty() ? 0 : sum / masks.size();
+        }
+
+        int[] mask(int site, int type)   { return masks.get(site * types.size() + type); }
+        double power(int unit)           { return types.get(unitType[unit]).getPowerConsumptionW(); }
+        double weight(int unit)          { return types.get(unitType[unit]).getWeightKg(); }
+    }
+
+    /** A layout with per-voxel cover counts and its incremental score. */
+    private final class State {
+        final Problem problem;
+        final int[] unitSite;
+        final int[] siteUnit;
+        final int[] count;
+        double score;
+        int nodes;
+        double power;
+        double weight;
+
+        State(Problem problem) {
+            this.problem = problem;
+            unitSite = new int[problem.unitType.length];
+            siteUnit = new int[problem.siteCount];
+            count = new int[problem.volume.length];
+            Arrays.fill(unitSite, -1);
+            Arrays.fill(siteUnit, -1);
+        }
+
+        private State(State other) {
+            problem = other.problem;
+            unitSite = other.unitSite.clone();
+            siteUnit = other.siteUnit.clone();
+            count = other.count.clone();
+            score = other.score;
+            nodes = other.nodes;
+            power = other.power;
+            weight = other.weight;
+        }
+
+        State copy()                     { return new State(this); }
+
+        /** Whether the budget still holds after adding unit {@code add} and removing {@code remove} (-1 = none). */
+        boolean fits(int add, int remove) {
+            int n = nodes;
+            double p = power, w = weight;
+            if (add >= 0) { n++; p += problem.power(add); w += problem.weight(add); }
+            if (remove >= 0) { n--; p -= problem.power(remove); w -= problem.weight(remove); }
+            return (maxNodes <= 0 || n <= maxNodes)
+                    && (maxPowerW <= 0 || p <= maxPowerW + 1e-9)
+                    && (maxWeightKg <= 0 || w <= maxWeightKg + 1e-9);
+        }
+
+        /** Volume a mask would add. */
+        double gain(int[] mask) {
+            double gain = 0;
+            for (int voxel : mask) {
+                if (count[voxel] == 0) gain += problem.volume[voxel];
+            }
+            return gain;
+        }
+
+        void place(int unit, int site) {
+            unitSite[unit] = site;
+            siteUnit[site] = unit;
+            nodes++;
+            power += problem.power(unit);
+            weight += problem.weight(unit);
+            for (int voxel : problem.mask(site, problem.unitType[unit])) {
+                if (count[voxel]++ == 0) score += problem.volume[voxel];
+            }
+        }
+
+        void unplace(int unit) {
+            int site = unitSite[unit];
+            unitSite[unit] = -1;
+            siteUnit[site] = -1;
+            nodes--;
+            power -= problem.power(unit);
+            weight -= problem.weight(unit);
+            for (int voxel : problem.mask(site, problem.unitType[unit])) {
+                if (--count[voxel] == 0) score -= problem.volume[voxel];
+            }
+        }
+
+        /** Layout identity: sensor type per site (units of a type are interchangeable). */
+        String key() {
+            StringBuilder sb = new StringBuilder();
+            for (int s = 0; s < siteUnit.length; s++) {
+                if (siteUnit[s] >= 0) sb.append(s).append(':').append(problem.unitType[siteUnit[s]]).append(' ');
+            }
+            return sb.toString();
+        }
+    }
+
+    /** Best distinct states seen by a chain, best first. */
+    private static final class Elite {
+        final int capacity;
+        final List<State> states = new ArrayList<>();
+        final Map<String, State> byKey = new HashMap<>();
+
+        Elite(int capacity) { this.capacity = capacity; }
+
+        void offer(State state) {
+            if (states.size() == capacity && state.score <= states.get(states.size() - 1).score) return;
+            String key = state.key();
+            if (byKey.containsKey(key)) return;
+            State snapshot = state.copy();
+            int i = 0;
+            while (i < states.size() && states.get(i).score >= snapshot.score) i++;
+            states.add(i, snapshot);
+            byKey.put(key, snapshot);
+            if (states.size() > capacity) byKey.remove(states.remove(states.size() - 1).key());
+        }
+    }
+}
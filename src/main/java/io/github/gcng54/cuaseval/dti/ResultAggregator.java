@@ -0,0 +1,109 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.*;
+
+import java.util.List;
+
+/**
+ * Single-pass aggregation of DTI results into an {@link EvaluationResult}.
+ * <p>
+ * Shared by {@link DtiPipeline} (one node) and {@link MultiDtiSystem} (fused
+ * nodes). Each result list is traversed exactly once; all counts and sums are
+ * accumulated in primitive locals and false alarms are recognised by the typed
+ * {@link DetectionResult#isFalseAlarm()} flag.
+ * </p>
+ * <p>
+ * Metrics: Pd and FAR (FR01, FR15), detection latency and error (TP_D01, TP_D03),
+ * track continuity, error, update rate and drops (FR04, FR18), Pi, IFF accuracy
+ * and identification latency (FR06), and the weighted overall score.
+ * </p>
+ */
+public final class ResultAggregator {
+
+    /** Minimum overall score for a PASS verdict */
+    public static final double PASS_SCORE = 60;
+
+    /** Minimum Pd for a PASS verdict */
+    public static final double PASS_PD = 0.7;
+
+    private ResultAggregator() {}
+
+    /**
+     * Aggregate detection, tracking and identification results.
+     *
+     * @param evaluationId    ID of the resulting evaluation
+     * @param totalTargets    number of ground-truth targets (FAR denominator)
+     * @param detections      per-target detections plus false alarms
+     * @param tracks          tracking results
+     * @param identifications identification results
+     * @return evaluation with all aggregate metrics, score and verdict set
+     */
+    public static EvaluationResult aggregate(String evaluationId, int totalTargets,
+                                             List<DetectionResult> detections,
+                                             List<TrackingResult> tracks,
+                                             List<IdentificationResult> identifications) {
+        EvaluationResult eval = new EvaluationResult(evaluationId);
+        eval.setDetectionResults(detections);
+        eval.setTrackingResults(tracks);
+        eval.setIdentificationResults(identifications);
+
+        // ── Detection metrics ───────────────────────────────────────
+        int realDetections = 0, trueDetections = 0, falseAlarms = 0;
+        double latencySum = 0, errorSum = 0;
+        for (DetectionResult d : detections) {
+            if (d.isFalseAlarm()) {
+                falseAlarms++;
+                continue;
+            }
+            realDetections++;
+            if (d.isDetected()) {
+                trueDetections++;
+                latencySum += d.getLatencySeconds();
+                errorSum += d.getPositionErrorMetres();
+            }
+        }
+        double pd = realDetections > 0 ? (double) trueDetections / realDetections : 0;
+        eval.setProbabilityOfDetection(pd);
+        eval.setFalseAlarmRate(totalTargets > 0 ? (double) falseAlarms / totalTargets : 0);
+        eval.setMeanDetectionLatencyS(trueDetections > 0 ? latencySum / trueDetections : 0);
+        eval.setMeanDetectionErrorM(trueDetections > 0 ? errorSum / trueDetections : 0);
+
+        // ── Tracking metrics ────────────────────────────────────────
+        int trackCount = tracks.size(), maintained = 0, drops = 0;
+        double trackErrSum = 0, updateRateSum = 0;
+        for (TrackingResult t : tracks) {
+            if (t.isTrackMaintained()) maintained++;
+            trackErrSum += t.getMeanPositionErrorMetres();
+            updateRateSum += t.getUpdateRateHz();
+            drops += t.getTrackDropCount();
+        }
+        double continuity = trackCount > 0 ? (double) maintained / trackCount : 0;
+        eval.setTrackContinuity(continuity);
+        eval.setMeanTrackErrorM(trackCount > 0 ? trackErrSum / trackCount : 0);
+        eval.setTrackUpdateRateHz(trackCount > 0 ? updateRateSum / trackCount : 0);
+        eval.setTotalTrackDrops(drops);
+
+        // ── Identification metrics ──────────────────────────────────
+        int idCount = identifications.size(), identified = 0, iffCorrect = 0;
+        double idLatencySum = 0;
+        for (IdentificationResult id : identifications) {
+            if (id.isIdentified()) {
+                identified++;
+                idLatencySum += id.getLatencySeconds();
+            }
+            Boolean iff = id.getIffResult();
+            if (iff != null && iff == id.isTruthFriendly()) iffCorrect++;
+        }
+        double pi = idCount > 0 ? (double) identified / idCount : 0;
+        eval.setProbabilityOfIdentification(pi);
+        eval.setIffAccuracy(idCount > 0 ? (double) iffCorrect / idCount : 0);
+        eval.setMeanIdentificationLatencyS(identified > 0 ? idLatencySum / identified : 0);
+
+        // ── Overall score (weighted) ────────────────────────────────
+        double score = pd * 40 + continuity * 30 + pi * 30; // 0–100
+        eval.setOverallScore(score);
+        eval.setPassed(score >= PASS_SCORE && pd >= PASS_PD);
+
+        return eval;
+    }
+}
@@ -0,0 +1,335 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.*;
+
+import java.util.Arrays;
+
+/**
+ * Time-stepped detection engine.
+ * <p>
+ * Instead of a single look at scenario start, every sensor scans the whole
+ * target set at its own revisit period ({@code 1 / CuasSensor.getUpdateRateHz()})
+ * for the full scenario duration, and every target is moved along its
+ * {@link TestScenario.FlightPlan} between scans. Scans of all sensors are
+ * processed in time order, which yields a per-scan plot stream and meaningful
+ * time-to-first-detection and detection range (TP_D01, FR01).
+ * </p>
+ * <p>
+ * The inner loop is built for large campaigns (1000 targets × 10 sensors ×
+ * 1 h): targets are moved with a monotonic {@link TruthOracle.Cursor} over
+ * the scenario's compiled trajectories, ranges use a local equirectangular
+ * approximation with a squared-range gate before any Pd evaluation, and the
+ * detection draw of look (sensor, target, scan) is a counter-based hash
+ * ({@link RandomStreams#uniform}). The outcome therefore does not depend on
+ * which looks are skipped: once a target has been detected it is dropped
+ * from further scans unless a {@link PlotListener} wants the full stream.
+ * </p>
+ */
+public final class ScanDetectionEngine {
+
+    /** Metres per degree of latitude on the spherical earth used by {@link GeoPosition#distanceTo} */
+    private static final double M_PER_DEG = 6_371_000.0 * Math.PI / 180.0;
+
+    /** Revisit rate assumed for sensor sites without a CuasSensor template */
+    private static final double DEFAULT_UPDATE_RATE_HZ = 1.0;
+
+    /**
+     * Receives the plot stream of a time-stepped run.
+     * <p>
+     * Callbacks arrive on the evaluating thread in scan-time order and carry
+     * only primitives so that listeners can be attached to large runs without
+     * per-plot allocation.
+     * </p>
+     */
+    public interface PlotListener {
+
+        /**
+         * A sensor detected a target during a scan.
+         *
+         * @param sensorIndex index into the environment's sensor sites
+         * @param targetIndex index into the scenario's targets
+         * @param timeS       scan time from scenario start in seconds
+         * @param latitude    truth latitude of the target at scan time
+         * @param longitude   truth longitude of the target at scan time
+         * @param altitudeMsl truth altitude of the target at scan time
+         * @param rangeM      ground range from sensor to target in metres
+         * @param pd          single-look probability of detection
+         */
+        void onPlot(int sensorIndex, int targetIndex, double timeS,
+                    double latitude, double longitude, double altitudeMsl,
+                    double rangeM, double pd);
+
+        /**
+         * A sensor finished a scan. Default: ignored.
+         */
+        default void onScanComplete(int sensorIndex, long scanIndex, double timeS) {}
+    }
+
+    /**
+     * First-detection outcome per target, indexed like the scenario's targets.
+     * Undetected targets have {@code NaN} time.
+     */
+    public static final class Outcome {
+        private final double[] firstTimeS;
+        private final int[] firstSensor;
+        private final double[] firstRangeM;
+        private final double[] firstLat, firstLon, firstAlt;
+        private long scans;
+        private long looks;
+
+        Outcome(int targetCount) {
+            firstTimeS = new double[targetCount];
+            Arrays.fill(firstTimeS, Double.NaN);
+            firstSensor = new int[targetCount];
+            Arrays.fill(firstSensor, -1);
+            firstRangeM = new double[targetCount];
+            firstLat = new double[targetCount];
+            firstLon = new double[targetCount];
+            firstAlt = new double[targetCount];
+        }
+
+        public boolean isDetected(int t)          { return firstSensor[t] >= 0; }
+        public double getFirstTimeS(int t)        { return firstTimeS[t]; }
+        public int getFirstSensor(int t)          { return firstSensor[t]; }
+        public double getFirstRangeM(int t)       { return firstRangeM[t]; }
+        public GeoPosition getFirstPosition(int t){ return new GeoPosition(firstLat[t], firstLon[t], firstAlt[t]); }
+
+        /** Total sensor scans executed. */
+        public long getScans()                    { return scans; }
+
+        /** Sensor × target looks that reached the Pd model (inside the range gate). */
+        public long getLooks()                    { return looks; }
+    }
+
+    private final DetectionSystem detection;
+    private final long seed;
+
+    ScanDetectionEngine(DetectionSystem detection, long seed) {
+        this.detection = detection;
+        this.seed = seed;
+    }
+
+    /**
+     * Run all sensor scans over the scenario duration.
+     *
+     * @param scenario compiled scenario with targets, flight plans and sensor sites
+     * @param listener optional plot listener (may be null)
+     * @return first-detection outcome per target
+     */
+    public Outcome run(CompiledScenario scenario, PlotListener listener) {
+        TestEnvironment env = scenario.getEnvironment();
+        int nSensors = scenario.getSensorCount();
+        int nTargets = scenario.getTargetCount();
+        Outcome out = new Outcome(nTargets);
+        if (nSensors == 0 || nTargets == 0) return out;
+
+        double duration = scenario.getDurationSeconds() > 0
+                ? scenario.getDurationSeconds() : TruthOracle.DEFAULT_DURATION_S;
+
+        // ── Sensors ─────────────────────────────────────────────────────
+        double[] sLat = new double[nSensors];
+        double[] sLon = new double[nSensors];
+        double[] sKx = new double[nSensors];          // metres per degree longitude
+        double[] sMaxRange2 = new double[nSensors];
+        double[] sPeriod = new double[nSensors];
+        long[] sScanCount = new long[nSensors];
+        for (int s = 0; s < nSensors; s++) {
+            TestEnvironment.SensorSite site = scenario.getSensor(s);
+            CuasSensor tmpl = site.getSensorTemplate();
+            sLat[s] = site.getPosition().getLatitude();
+            sLon[s] = site.getPosition().getLongitude();
+            sKx[s] = M_PER_DEG * Math.cos(Math.toRadians(sLat[s]));
+            double maxRange = tmpl != null ? tmpl.getMaxRangeM() : site.getMaxRangeM();
+            sMaxRange2[s] = maxRange * maxRange;
+            double rate = tmpl != null && tmpl.getUpdateRateHz() > 0
+                    ? tmpl.getUpdateRateHz() : DEFAULT_UPDATE_RATE_HZ;
+            sPeriod[s] = 1.0 / rate;
+            sScanCount[s] = (long) Math.floor(duration * rate + 1e-9) + 1;
+        }
+
+        // ── Trajectories ────────────────────────────────────────────────
+        TruthOracle.Cursor cursor = scenario.getTruth().newCursor();
+        double[] rcs = new double[nTargets];
+        for (int t = 0; t < nTargets; t++) {
+            rcs[t] = scenario.getTarget(t).getRcsSqm();
+        }
+
+        // ── Candidate targets per sensor ────────────────────────────────
+        // A target can only be seen by sensors whose coverage intersects the
+        // bounding box of its whole trajectory; each sensor scans just those.
+        SensorCoverageIndex coverage = scenario.getCoverage();
+        TruthOracle truth = scenario.getTruth();
+        int[] candStart = new int[nSensors + 1];
+        int[] found = new int[nSensors];
+        boolean[] seen = new boolean[nSensors];
+        double[] box = new double[4 * nTargets];
+        for (int t = 0; t < nTargets; t++) {
+            trajectoryBox(truth, t, box, 4 * t);
+            int n = coverage.sensorsInBox(box[4 * t], box[4 * t + 1], box[4 * t + 2], box[4 * t + 3],
+                    found, seen);
+            for (int k = 0; k < n; k++) candStart[found[k] + 1]++;
+        }
+        for (int i = 0; i < nSensors; i++) candStart[i + 1] += candStart[i];
+        int[] cand = new int[candStart[nSensors]];
+        int[] candEnd = Arrays.copyOf(candStart, nSensors);
+        int[] visible = new int[nTargets];   // candidate sensors per target
+        for (int t = 0; t < nTargets; t++) {
+            int n = coverage.sensorsInBox(box[4 * t], box[4 * t + 1], box[4 * t + 2], box[4 * t + 3],
+                    found, seen);
+            for (int k = 0; k < n; k++) cand[candEnd[found[k]]++] = t;
+            visible[t] = n;
+        }
+
+        // Targets that some sensor may still detect
+        int activeCount = 0;
+        for (int t = 0; t < nTargets; t++) if (visible[t] > 0) activeCount++;
+        boolean stopAtFirst = listener == null;
+        boolean[] done = new boolean[nTargets];
+
+        // Sensors without candidates never detect; skip their scans unless plots are streamed
+        if (stopAtFirst) {
+            for (int i = 0; i < nSensors; i++) if (candEnd[i] == candStart[i]) sScanCount[i] = 0;
+        }
+
+        // ── Time-ordered merge of sensor scans ──────────────────────────
+        // Sensors are queued by the time of their next scan, so picking the
+        // next scan costs O(log sensors) however many sensors the run has
+        long[] nextScan = new long[nSensors];
+        ScanQueue queue = new ScanQueue(nSensors);
+        for (int i = 0; i < nSensors; i++) {
+            if (sScanCount[i] > 0) queue.add(i, 0.0);
+        }
+        while (activeCount > 0 && !queue.isEmpty()) {
+            double time = queue.peekTime();
+            int s = queue.poll();
+            long scan = nextScan[s]++;
+            out.scans++;
+
+            double lat0 = sLat[s], lon0 = sLon[s], kx = sKx[s], gate = sMaxRange2[s];
+            boolean sectored = coverage.isSectored(s);
+            int kept = candStart[s];
+            for (int k = candStart[s], end = candEnd[s]; k < end; k++) {
+                int t = cand[k];
+                if (done[t]) continue;          // detected by another sensor
+
+                cursor.advance(t, time);
+                double lat = cursor.latitude();
+                double lon = cursor.longitude();
+
+                double dy = (lat - lat0) * M_PER_DEG;
+                double dx = (lon - lon0) * kx;
+                double r2 = dx * dx + dy * dy;
+                boolean detected = false;
+                if (r2 <= gate && (!sectored || coverage.inSector(s, lat, lon))) {
+                    out.looks++;
+                    double range = Math.sqrt(r2);
+                    double pd = detection.sitePd(scenario.getSensor(s), range, rcs[t], env);
+                    if (pd > 0 && RandomStreams.uniform(seed, s, t, scan) < pd) {
+                        detected = true;
+                        double alt = cursor.altitude();
+                        if (out.firstSensor[t] < 0) {
+                            out.firstSensor[t] = s;
+                            out.firstTimeS[t] = time;
+                            out.firstRangeM[t] = range;
+                            out.firstLat[t] = lat;
+                            out.firstLon[t] = lon;
+                            out.firstAlt[t] = alt;
+                        }
+                        if (listener != null) {
+                            listener.onPlot(s, t, time, lat, lon, alt, range, pd);
+                        }
+                    }
+                }
+                if (detected && stopAtFirst) {
+                    done[t] = true;
+                    activeCount--;
+                } else {
+                    cand[kept++] = t;
+                }
+            }
+            candEnd[s] = kept;
+            if (stopAtFirst && kept == candStart[s]) sScanCount[s] = 0;   // nothing left to see
+            if (nextScan[s] < sScanCount[s]) queue.add(s, nextScan[s] * sPeriod[s]);
+            if (listener != null) listener.onScanComplete(s, scan, time);
+        }
+        return out;
+    }
+
+    /**
+     * Binary min-heap of sensor indices keyed by their next scan time. Equal
+     * times are ordered by sensor index, so the scan order is deterministic.
+     */
+    private static final class ScanQueue {
+        private final int[] sensors;
+        private final double[] times;
+        private int size;
+
+        ScanQueue(int capacity) {
+            sensors = new int[capacity];
+            times = new double[capacity];
+        }
+
+        boolean isEmpty()  { return size == 0; }
+        double peekTime()  { return times[0]; }
+
+        void add(int sensor, double time) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(time, sensor, times[parent], sensors[parent])) break;
+                sensors[i] = sensors[parent];
+                times[i] = times[parent];
+                i = parent;
+            }
+            sensors[i] = sensor;
+            times[i] = time;
+        }
+
+        /** Remove and return the sensor with the earliest next scan. */
+        int poll() {
+            int head = sensors[0];
+            int sensor = sensors[--size];
+            double time = times[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(times[child + 1], sensors[child + 1], times[child], sensors[child])) {
+                    child++;
+                }
+                if (!before(times[child], sensors[child], time, sensor)) break;
+                sensors[i] = sensors[child];
+                times[i] = times[child];
+                i = child;
+            }
+            sensors[i] = sensor;
+            times[i] = time;
+            return head;
+        }
+
+        private static boolean before(double timeA, int sensorA, double timeB, int sensorB) {
+            return timeA < timeB || (timeA == timeB && sensorA < sensorB);
+        }
+    }
+
+    /**
+     * Lat/lon bounding box {south, west, north, east} of a target's trajectory.
+     * Interpolated positions never leave the box of the samples.
+     */
+    private static void trajectoryBox(TruthOracle truth, int t, double[] box, int offset) {
+        double south = Double.POSITIVE_INFINITY, north = Double.NEGATIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY, east = Double.NEGATIVE_INFINITY;
+        for (int i = 0, n = truth.getSampleCount(t); i < n; i++) {
+            double lat = truth.getSampleLatitude(t, i);
+            double lon = truth.getSampleLongitude(t, i);
+            south = Math.min(south, lat);
+            north = Math.max(north, lat);
+            west = Math.min(west, lon);
+            east = Math.max(east, lon);
+        }
+        box[offset] = south;
+        box[offset + 1] = west;
+        box[offset + 2] = north;
+        box[offset + 3] = east;
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.gcng54.cuaseval.dti;
+
+import io.github.gcng54.cuaseval.model.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Time-aligned fusion of the tracks several DTI nodes report for one target.
+ * <p>
+ * Each node's track is consumed as a time-ordered stream of
+ * {@link TrackingResult.TrackPoint}s. The streams are k-way merged through a
+ * priority queue holding one head point per node, and consecutive points that
+ * fall within the association window (at most one per node) form a fusion
+ * epoch. Every epoch yields one fused point at the time of its earliest
+ * point: each node position is first extrapolated to that time along the
+ * node's reported speed and heading, then the inverse-variance
+ * (covariance-weighted) mean of the positions, speeds and headings is taken.
+ * </p>
+ * <p>
+ * The merge state is bounded by the number of nodes — the merge never
+ * concatenates or sorts the node tracks. Only the fused track grows with the
+ * track length; total memory also depends on the sources, which may be lazy
+ * iterators. {@link MultiDtiSystem} passes the node tracks it already holds
+ * as lists ({@link Source#of}).
+ * </p>
+ * <p>
+ * The fused track is lost only when every node has lost the target: a gap of
+ * more than {@value #DROP_GAP_FACTOR} update intervals between fused points
+ * counts as a drop (FR18).
+ * </p>
+ */
+public final class TrackFusionEngine {
+
+    /** Metres per degree of latitude (local equirectangular approximation) */
+    private static final double M_PER_DEG = 111_320.0;
+
+    /** Gap between fused points, in update intervals, that counts as a track drop */
+    static final double DROP_GAP_FACTOR = 1.5;
+
+    /** Position standard deviation assumed when a source reports none (metres) */
+    private static final double DEFAULT_SIGMA_M = 10.0;
+
+    /**
+     * Position standard deviation (metres) a source attaches to one of its points.
+     */
+    @FunctionalInterface
+    public interface SigmaModel {
+        double sigmaM(TrackingResult.TrackPoint point);
+    }
+
+    /**
+     * One node's track of the target.
+     *
+     * @param track  the node's tracking result (flags, duration, update rate)
+     * @param points the node's points in time order (e.g. {@code track.getTrackPoints().iterator()})
+     * @param sigma  position uncertainty of the node's points
+     */
+    public record Source(TrackingResult track, Iterator<TrackingResult.TrackPoint> points,
+                         SigmaModel sigma) {
+
+        /** Source over the points of a tracking result. */
+        public static Source of(TrackingResult track, SigmaModel sigma) {
+            return new Source(track, track.getTrackPoints().iterator(), sigma);
+        }
+    }
+
+    private final long windowNanos;
+
+    /**
+     * @param associationWindow points of different nodes at most this far apart
+     *                          are fused into one epoch (typically half the
+     *                          track update interval)
+     */
+    public TrackFusionEngine(Duration associationWindow) {
+        this.windowNanos = Math.max(0, associationWindow.toNanos());
+    }
+
+    public Duration getAssociationWindow() { return Duration.ofNanos(windowNanos); }
+
+    /**
+     * Fuse the node tracks of one target.
+     *
+     * @param targetUid target UID
+     * @param sources   node tracks (at least one)
+     * @return fused track with ID {@code TRK-FUSED-<uid>}
+     */
+    public TrackingResult fuse(String targetUid, List<Source> sources) {
+        int k = sources.size();
+        TrackingResult fused = new TrackingResult(targetUid, "TRK-FUSED-" + targetUid);
+
+        double updateRateHz = 0;
+        double durationS = 0;
+        boolean uidPreserved = false;
+        for (Source s : sources) {
+            updateRateHz = Math.max(updateRateHz, s.track().getUpdateRateHz());
+            durationS = Math.max(durationS, s.track().getTrackDurationSeconds());
+            uidPreserved |= s.track().isUidPreserved();
+        }
+        long dropGapNanos = updateRateHz > 0
+                ? (long) (DROP_GAP_FACTOR * 1e9 / updateRateHz) : Long.MAX_VALUE;
+
+        // k-way merge: one head per source, ordered by time then source index
+        PriorityQueue<Head> queue = new PriorityQueue<>(Math.max(1, k));
+        for (int i = 0; i < k; i++) {
+            Head h = new Head(i, sources.get(i));
+            if (h.advance()) queue.add(h);
+        }
+
+        Epoch epoch = new Epoch(k);
+        Instant lastFused = null;
+        int drops = 0;
+        while (!queue.isEmpty()) {
+            Head h = queue.poll();
+            if (!epoch.accepts(h, windowNanos)) {
+                lastFused = emit(epoch, fused, lastFused);
+                if (epoch.gapBefore > dropGapNanos) drops++;
+                epoch.clear();
+            }
+            epoch.add(h);
+            if (h.advance()) queue.add(h);
+        }
+        if (!epoch.isEmpty()) {
+            emit(epoch, fused, lastFused);
+            if (epoch.gapBefore > dropGapNanos) drops++;
+        }
+
+        fused.setTrackDropCount(drops);
+        fused.setTrackMaintained(drops == 0 && !fused.getTrackPoints().isEmpty());
+        fused.setUidPreserved(uidPreserved);
+        fused.setTrackDurationSeconds(durationS);
+        fused.setUpdateRateHz(updateRateHz);
+        return fused;
+    }
+
+    /**
+     * Append the fused point of an epoch and record the gap to the previous one.
+     *
+     * @return timestamp of the appended point
+     */
+    private static Instant emit(Epoch epoch, TrackingResult fused, Instant lastFused) {
+        TrackingResult.TrackPoint p = epoch.fuse();
+        epoch.gapBefore = lastFused != null
+                ? Duration.between(lastFused, p.getTimestamp()).toNanos() : 0;
+        fused.addTrackPoint(p);
+        return p.getTimestamp();
+    }
+
+    // ── Merge state ─────────────────────────────────────────────────────
+
+    /**
+     * Current point of one source in the merge.
+     */
+    private static final class Head implements Comparable<Head> {
+        final int index;
+        final Source source;
+        TrackingResult.TrackPoint point;
+        long timeNanos;
+
+        Head(int index, Source source) {
+            this.index = index;
+            this.source = source;
+        }
+
+        /** Move to the source's next point; false when exhausted. */
+        boolean advance() {
+            while (source.points().hasNext()) {
+                point = source.points().next();
+                if (point.getTimestamp() == null || point.getReportedPosition() == null) continue;
+                timeNanos = point.getTimestamp().getEpochSecond() * 1_000_000_000L
+                        + point.getTimestamp().getNano();
+                return true;
+            }
+            point = null;
+            return false;
+        }
+
+        @Override
+        public int compareTo(Head o) {
+            int c = Long.compare(timeNanos, o.timeNanos);
+            return c != 0 ? c : Integer.compare(index, o.index);
+        }
+    }
+
+    /**
+     * Points associated into one fused update: at most one per source,
+     * all within the association window of the first.
+     */
+    private static final class Epoch {
+        final TrackingResult.TrackPoint[] points;
+        final double[] weights;
+        final long[] timesNanos;
+        final boolean[] present;
+        TrackingResult.TrackPoint anchor;     // first point added; sets time and origin
+        int size;
+        long startNanos;
+        long gapBefore;
+
+        Epoch(int sources) {
+            points = new TrackingResult.TrackPoint[sources];
+            weights = new double[sources];
+            timesNanos = new long[sources];
+            present = new boolean[sources];
+        }
+
+        boolean isEmpty()   { return size == 0; }
+
+        boolean accepts(Head h, long window) {
+            return size == 0 || (!present[h.index] && h.timeNanos - startNanos <= window);
+        }
+
+        void add(Head h) {
+            if (size == 0) {
+                startNanos = h.timeNanos;
+                anchor = h.point;
+            }
+            double sigma = h.source.sigma() != null ? h.source.sigma().sigmaM(h.point) : DEFAULT_SIGMA_M;
+            if (!(sigma > 0)) sigma = DEFAULT_SIGMA_M;
+            points[h.index] = h.point;
+            weights[h.index] = 1.0 / (sigma * sigma);
+            timesNanos[h.index] = h.timeNanos;
+            present[h.index] = true;
+            size++;
+        }
+
+        void clear() {
+            for (int i = 0; i < points.length; i++) {
+                points[i] = null;
+                present[i] = false;
+            }
+            anchor = null;
+            size = 0;
+        }
+
+        /**
+         * Inverse-variance weighted mean of the epoch's points at the anchor
+         * time. Each position is moved back to the anchor time along its speed
+         * and heading, then averaged as a local offset from the anchor point;
+         * headings are averaged as unit vectors.
+         */
+        TrackingResult.TrackPoint fuse() {
+            GeoPosition r0 = anchor.getReportedPosition();
+            double kx = M_PER_DEG * Math.cos(Math.toRadians(r0.getLatitude()));
+            double wSum = 0, north = 0, east = 0, up = 0, speed = 0, hx = 0, hy = 0;
+            for (int i = 0; i < points.length; i++) {
+                if (!present[i]) continue;
+                TrackingResult.TrackPoint p = points[i];
+                GeoPosition r = p.getReportedPosition();
+                double w = weights[i];
+                double h = Math.toRadians(p.getHeadingDeg());
+                double dtS = (startNanos - timesNanos[i]) / 1e9;   // ≤ 0: back to the anchor time
+                wSum += w;
+                north += w * ((r.getLatitude() - r0.getLatitude()) * M_PER_DEG
+                        + p.getSpeedMs() * Math.cos(h) * dtS);
+                east += w * ((r.getLongitude() - r0.getLongitude()) * kx
+                        + p.getSpeedMs() * Math.sin(h) * dtS);
+                up += w * (r.getAltitudeMsl() - r0.getAltitudeMsl());
+                speed += w * p.getSpeedMs();
+                hx += w * Math.sin(h);
+                hy += w * Math.cos(h);
+            }
+            GeoPosition position = new GeoPosition(
+                    r0.getLatitude() + north / wSum / M_PER_DEG,
+                    r0.getLongitude() + east / wSum / kx,
+                    r0.getAltitudeMsl() + up / wSum);
+            double heading = Math.toDegrees(Math.atan2(hx, hy));
+            if (heading < 0) heading += 360;
+            return new TrackingResult.TrackPoint(anchor.getTimestamp(), position,
+                    anchor.getTruthPosition(), speed / wSum, heading);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package io.github.gcng54.cuaseval.dti;
 
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
 import io.github.gcng54.cuaseval.model.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -19,8 +18,6 @@ import java.util.Random;
  */
 public class TrackingSystem {
 
-    private static final Logger log = LoggerFactory.getLogger(TrackingSystem.class);
-
     /** Track update interval in seconds */
     private double updateIntervalS = 1.0;
 
@@ -30,8 +27,36 @@ public class TrackingSystem {
     /** Position tracking noise std-dev in metres */
     private double trackingNoiseM = 3.0;
 
+    /** Default seed of the tracking random stream */
+    public static final long DEFAULT_SEED = 43;
+
+    /** Seed of this instance's random stream */
+    private final long seed;
+
     /** Random generator */
-    private final Random rng = new Random(43);
+    private final Random rng;
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public TrackingSystem() {
+        this(DEFAULT_SEED);
+    }
+
+    public TrackingSystem(long seed) {
+        this.seed = seed;
+        this.rng = new Random(seed);
+    }
+
+    /**
+     * Create an independent copy with the same configuration and a fresh random stream.
+     */
+    public TrackingSystem copy(long seed) {
+        TrackingSystem c = new TrackingSystem(seed);
+        c.updateIntervalS = this.updateIntervalS;
+        c.trackMaintenanceProbability = this.trackMaintenanceProbability;
+        c.trackingNoiseM = this.trackingNoiseM;
+        return c;
+    }
 
     // ── Configuration ───────────────────────────────────────────────────
 
@@ -42,6 +67,7 @@ public class TrackingSystem {
     public double getUpdateIntervalS()              { return updateIntervalS; }
     public double getTrackMaintenanceProbability()   { return trackMaintenanceProbability; }
     public double getTrackingNoiseM()               { return trackingNoiseM; }
+    public long getSeed()                           { return seed; }
 
     // ── Tracking Processing ─────────────────────────────────────────────
 
@@ -55,20 +81,45 @@ public class TrackingSystem {
      */
     public List<TrackingResult> processTracks(TestScenario scenario,
                                                List<DetectionResult> detected) {
+        return processTracks(CompiledScenario.compile(scenario), detected);
+    }
+
+    /**
+     * Process tracking for all detected targets of a compiled scenario.
+     * Targets and flight plans are resolved by UID index in O(1).
+     *
+     * @param scenario  the compiled test scenario
+     * @param detected  detection results
+     * @return list of TrackingResult objects
+     */
+    public List<TrackingResult> processTracks(CompiledScenario scenario,
+                                               List<DetectionResult> detected) {
+        return processTracks(scenario, detected, null);
+    }
+
+    /**
+     * Process tracking, recording per-target latencies into {@code profile} (may be null).
+     */
+    List<TrackingResult> processTracks(CompiledScenario scenario, List<DetectionResult> detected,
+                                       PipelineProfile profile) {
         List<TrackingResult> results = new ArrayList<>();
+        TruthOracle.Cursor truth = scenario.getTruth().newCursor();
+        PipelineEventBus events = PipelineEventBus.getDefault();
 
         for (DetectionResult det : detected) {
             if (!det.isDetected()) continue; // skip undetected targets
-            if (det.getTargetUid().startsWith("FALSE_ALARM")) continue;
-
-            // Find matching target and flight plan
-            UasTarget target = findTarget(scenario, det.getTargetUid());
-            TestScenario.FlightPlan plan = findFlightPlan(scenario, det.getTargetUid());
-            if (target == null) continue;
-
-            TrackingResult trackResult = evaluateTracking(target, plan, scenario);
+            if (det.isFalseAlarm()) continue;
+
+            // Find matching target
+            int index = scenario.indexOf(det.getTargetUid());
+            if (index < 0) continue;
+            long t0 = System.nanoTime();
+            TrackingResult trackResult = evaluateTracking(index, scenario, truth, events, rng);
+            if (profile != null) {
+                profile.recordTarget(PipelineProfile.Phase.TRACKING, System.nanoTime() - t0);
+            }
             results.add(trackResult);
-            log.info("Tracking: {}", trackResult);
+            if (events != null) events.track(scenario.getScenarioId(), index, trackResult);
         }
 
         return results;
@@ -76,10 +127,16 @@ public class TrackingSystem {
 
     /**
      * Evaluate tracking of a single target along its flight plan.
+     * Ground truth is read from the scenario's truth oracle with a cursor,
+     * so each tick costs O(1) regardless of the number of waypoints.
+     *
+     * @param truth  cursor valid for {@code index}
+     * @param events bus for track-drop events, or null
+     * @param rng    random stream to draw from
      */
-    private TrackingResult evaluateTracking(UasTarget target,
-                                             TestScenario.FlightPlan plan,
-                                             TestScenario scenario) {
+    TrackingResult evaluateTracking(int index, CompiledScenario scenario, TruthOracle.Cursor truth,
+                                    PipelineEventBus events, Random rng) {
+        UasTarget target = scenario.getTarget(index);
         String systemTrackId = "TRK-" + target.getUid();
         TrackingResult result = new TrackingResult(target.getUid(), systemTrackId);
 
@@ -99,14 +156,13 @@ public class TrackingSystem {
             double timeOffset = i * updateIntervalS;
             Instant timestamp = startTime.plusMillis((long) (timeOffset * 1000));
 
-            // Compute ground truth position by interpolating flight plan
-            GeoPosition truthPos = interpolatePosition(target, plan, timeOffset, duration);
-
             // Stochastic track loss check (FR18)
             if (currentlyTracking && rng.nextDouble() > trackMaintenanceProbability) {
                 currentlyTracking = false;
                 drops++;
-                log.debug("Track drop for {} at t={:.1f}s", target.getUid(), timeOffset);
+                if (events != null) {
+                    events.trackDrop(scenario.getScenarioId(), index, target.getUid(), timeOffset);
+                }
                 continue;
             }
             // Re-acquisition after loss
@@ -122,8 +178,9 @@ public class TrackingSystem {
                 }
             }
 
-            // Add position noise
-            GeoPosition reportedPos = addTrackingNoise(truthPos);
+            // Ground truth from the flight plan, then add position noise
+            GeoPosition truthPos = truth.advance(index, timeOffset).toGeoPosition();
+            GeoPosition reportedPos = addTrackingNoise(truthPos, rng);
             double speed = target.getSpeedMs() + rng.nextGaussian() * 0.5;
             double heading = target.getHeadingDeg() + rng.nextGaussian() * 2;
 
@@ -141,52 +198,10 @@ public class TrackingSystem {
         return result;
     }
 
-    /**
-     * Interpolate target position along flight plan at given time offset.
-     * If no flight plan, uses simple linear extrapolation from start position.
-     */
-    private GeoPosition interpolatePosition(UasTarget target,
-                                             TestScenario.FlightPlan plan,
-                                             double timeOffset,
-                                             double totalDuration) {
-        if (plan == null || plan.getWaypoints().isEmpty()) {
-            // Simple linear motion from start position
-            double distM = target.getSpeedMs() * timeOffset;
-            double headingRad = Math.toRadians(target.getHeadingDeg());
-            double dLat = (distM * Math.cos(headingRad)) / 111_320.0;
-            double dLon = (distM * Math.sin(headingRad))
-                    / (111_320.0 * Math.cos(Math.toRadians(target.getPosition().getLatitude())));
-            return new GeoPosition(
-                    target.getPosition().getLatitude() + dLat,
-                    target.getPosition().getLongitude() + dLon,
-                    target.getPosition().getAltitudeMsl()
-            );
-        }
-
-        // Interpolate between waypoints
-        List<TestScenario.Waypoint> wps = plan.getWaypoints();
-        for (int i = 0; i < wps.size() - 1; i++) {
-            double t0 = wps.get(i).getTimeOffsetSeconds();
-            double t1 = wps.get(i + 1).getTimeOffsetSeconds();
-            if (timeOffset >= t0 && timeOffset <= t1) {
-                double frac = (timeOffset - t0) / (t1 - t0);
-                GeoPosition p0 = wps.get(i).getPosition();
-                GeoPosition p1 = wps.get(i + 1).getPosition();
-                return new GeoPosition(
-                        p0.getLatitude() + frac * (p1.getLatitude() - p0.getLatitude()),
-                        p0.getLongitude() + frac * (p1.getLongitude() - p0.getLongitude()),
-                        p0.getAltitudeMsl() + frac * (p1.getAltitudeMsl() - p0.getAltitudeMsl())
-                );
-            }
-        }
-        // Beyond last waypoint — hold position
-        return wps.get(wps.size() - 1).getPosition();
-    }
-
     /**
      * Add Gaussian noise to a tracked position.
      */
-    private GeoPosition addTrackingNoise(GeoPosition truth) {
+    private GeoPosition addTrackingNoise(GeoPosition truth, Random rng) {
         double latNoise = rng.nextGaussian() * trackingNoiseM / 111_320.0;
         double lonNoise = rng.nextGaussian() * trackingNoiseM
                 / (111_320.0 * Math.cos(Math.toRadians(truth.getLatitude())));
@@ -196,18 +211,4 @@ public class TrackingSystem {
                 truth.getAltitudeMsl() + rng.nextGaussian() * trackingNoiseM * 0.5
         );
     }
-
-    /** Find target by UID in scenario. */
-    private UasTarget findTarget(TestScenario scenario, String uid) {
-        return scenario.getTargets().stream()
-                .filter(t -> t.getUid().equals(uid))
-                .findFirst().orElse(null);
-    }
-
-    /** Find flight plan by target UID. */
-    private TestScenario.FlightPlan findFlightPlan(TestScenario scenario, String uid) {
-        return scenario.getFlightPlans().stream()
-                .filter(fp -> uid.equals(fp.getTargetUid()))
-                .findFirst().orElse(null);
-    }
 }
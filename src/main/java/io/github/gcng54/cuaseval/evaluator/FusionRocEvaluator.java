@@ -0,0 +1,170 @@
+package io.github.gcng54.cuaseval.evaluator;
+
+import io.github.gcng54.cuaseval.dti.FusionSweep;
+import io.github.gcng54.cuaseval.dti.MultiDtiSystem;
+import io.github.gcng54.cuaseval.dti.RandomStreams;
+import io.github.gcng54.cuaseval.model.FusionRocResult;
+import io.github.gcng54.cuaseval.model.MonteCarloResult;
+import io.github.gcng54.cuaseval.model.TestScenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pd-versus-FAR ROC of the detection fusion strategies of a
+ * {@link MultiDtiSystem}.
+ * <p>
+ * Each replication evaluates the nodes once and sweeps every fusion option
+ * over their detections ({@link MultiDtiSystem#sweepFusion}), so comparing
+ * OR, AND, best-sensor and k-of-n voting for every k costs one system run
+ * instead of one per option. Replication {@code i} seeds the nodes with
+ * {@code RandomStreams.derive(baseSeed, i)}; Pd is pooled over all target
+ * trials with confidence intervals and the FAR is summarised across
+ * replications, as in {@link MonteCarloEvaluator}.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ *   FusionRocEvaluator roc = new FusionRocEvaluator(multiDti);
+ *   FusionRocResult single = roc.evaluate(scenario);      // one run, system seed
+ *   FusionRocResult mc = roc.run(scenario, 200);          // 200 replications
+ * </pre>
+ * </p>
+ */
+public class FusionRocEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(FusionRocEvaluator.class);
+
+    private final MultiDtiSystem system;
+    private final MetricsCalculator metricsCalc = new MetricsCalculator();
+
+    /** Base seed of the replication streams */
+    private long baseSeed = 42;
+
+    /** Confidence level of the reported intervals */
+    private double confidenceLevel = 0.95;
+
+    public FusionRocEvaluator(MultiDtiSystem system) {
+        this.system = system;
+    }
+
+    // ── Configuration ───────────────────────────────────────────────────
+
+    public MultiDtiSystem getSystem()             { return system; }
+    public long getBaseSeed()                     { return baseSeed; }
+    public double getConfidenceLevel()            { return confidenceLevel; }
+
+    public void setBaseSeed(long seed)            { this.baseSeed = seed; }
+    public void setConfidenceLevel(double level)  { this.confidenceLevel = level; }
+
+    // ── Execution ───────────────────────────────────────────────────────
+
+    /**
+     * ROC of a single system run with the system's own seed. Node results
+     * cached by {@link MultiDtiSystem#execute} are reused, and the point of
+     * the configured strategy matches that run's fused Pd and FAR.
+     */
+    public FusionRocResult evaluate(TestScenario scenario) {
+        long start = System.nanoTime();
+        Accumulator acc = new Accumulator();
+        acc.add(system.sweepFusion(scenario));
+        FusionRocResult result = summarise(scenario, 1, system.getSeed(), acc);
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Fusion ROC: {}", result);
+        return result;
+    }
+
+    /**
+     * ROC pooled over Monte Carlo replications.
+     *
+     * @param scenario     scenario to replicate (read-only)
+     * @param replications number of independent replications
+     */
+    public FusionRocResult run(TestScenario scenario, int replications) {
+        if (replications <= 0) {
+            throw new IllegalArgumentException("Replication count must be positive: " + replications);
+        }
+        log.info("Fusion ROC: {} × {} over {} nodes, seed={}",
+                scenario.getName(), replications, system.getNodeCount(), baseSeed);
+        long start = System.nanoTime();
+
+        Accumulator acc = new Accumulator();
+        for (int i = 0; i < replications; i++) {
+            acc.add(system.sweepFusion(scenario, RandomStreams.derive(baseSeed, i)));
+        }
+
+        FusionRocResult result = summarise(scenario, replications, baseSeed, acc);
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Fusion ROC complete in {} ms: {}", result.getElapsedMillis(), result);
+        return result;
+    }
+
+    /**
+     * ROC of every scenario of a suite: single runs for one replication,
+     * otherwise Monte Carlo.
+     */
+    public List<FusionRocResult> runSuite(List<TestScenario> scenarios, int replications) {
+        List<FusionRocResult> results = new ArrayList<>(scenarios.size());
+        for (TestScenario scenario : scenarios) {
+            results.add(replications <= 1 ? evaluate(scenario) : run(scenario, replications));
+        }
+        return results;
+    }
+
+    private FusionRocResult summarise(TestScenario scenario, int replications, long seed, Accumulator acc) {
+        FusionRocResult roc = new FusionRocResult(scenario.getScenarioId(), scenario.getName(),
+                acc.nodeCount, acc.targetCount, replications, seed, confidenceLevel);
+        for (int i = 0; i < acc.template.size(); i++) {
+            FusionSweep.OperatingPoint p = acc.template.get(i);
+            MonteCarloEvaluator.RunningStat far = acc.far[i];
+            roc.getPoints().add(new FusionRocResult.RocPoint(
+                    p.label(acc.nodeCount), p.strategy().name(), p.k(),
+                    proportion(acc.detected[i], acc.trials[i]),
+                    new MonteCarloResult.MetricSummary(far.n, far.mean, far.stdDev(),
+                            far.n > 0 ? far.min : 0, far.n > 0 ? far.max : 0)));
+        }
+        return roc;
+    }
+
+    private MonteCarloResult.ProportionEstimate proportion(long successes, long trials) {
+        return new MonteCarloResult.ProportionEstimate(successes, trials,
+                metricsCalc.wilsonInterval(successes, trials, confidenceLevel),
+                metricsCalc.clopperPearsonInterval(successes, trials, confidenceLevel));
+    }
+
+    // ── Accumulator ─────────────────────────────────────────────────────
+
+    /**
+     * Running totals per operating point; points are in sweep order, which is
+     * the same for every replication of one system.
+     */
+    private static final class Accumulator {
+        List<FusionSweep.OperatingPoint> template;
+        long[] detected;
+        long[] trials;
+        MonteCarloEvaluator.RunningStat[] far;
+        int nodeCount;
+        int targetCount;
+
+        void add(FusionSweep sweep) {
+            List<FusionSweep.OperatingPoint> points = sweep.getPoints();
+            if (template == null) {
+                template = points;
+                nodeCount = sweep.getNodeCount();
+                targetCount = sweep.getTargetCount();
+                detected = new long[points.size()];
+                trials = new long[points.size()];
+                far = new MonteCarloEvaluator.RunningStat[points.size()];
+                for (int i = 0; i < far.length; i++) far[i] = new MonteCarloEvaluator.RunningStat();
+            }
+            for (int i = 0; i < points.size(); i++) {
+                FusionSweep.OperatingPoint p = points.get(i);
+                detected[i] += p.detected();
+                trials[i] += p.targets();
+                far[i].add(p.far());
+            }
+        }
+    }
+}
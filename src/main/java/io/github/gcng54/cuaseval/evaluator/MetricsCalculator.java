@@ -1,6 +1,8 @@
 package io.github.gcng54.cuaseval.evaluator;
 
 import io.github.gcng54.cuaseval.model.*;
+import org.apache.commons.math3.distribution.BetaDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +41,7 @@ public class MetricsCalculator {
             DescriptiveStatistics latencyStats = new DescriptiveStatistics();
             DescriptiveStatistics errorStats = new DescriptiveStatistics();
             for (DetectionResult det : result.getDetectionResults()) {
-                if (det.isDetected() && !det.getTargetUid().startsWith("FALSE_ALARM")) {
+                if (det.isDetected() && !det.isFalseAlarm()) {
                     latencyStats.addValue(det.getLatencySeconds());
                     errorStats.addValue(det.getPositionErrorMetres());
                 }
@@ -124,4 +126,48 @@ public class MetricsCalculator {
         positionErrors.forEach(stats::addValue);
         return stats.getPercentile(90);
     }
+
+    // ── Binomial Confidence Intervals ───────────────────────────────────
+
+    /**
+     * Wilson score interval for a binomial proportion.
+     * Well-behaved for small trial counts and for proportions close to 0 or 1.
+     *
+     * @param successes  number of successes
+     * @param trials     number of trials
+     * @param confidence confidence level (e.g. 0.95)
+     * @return {lower, upper}; {0, 1} when there are no trials
+     */
+    public double[] wilsonInterval(long successes, long trials, double confidence) {
+        if (trials <= 0) return new double[]{0, 1};
+        double z = new NormalDistribution().inverseCumulativeProbability(1 - (1 - confidence) / 2);
+        double n = trials;
+        double p = successes / n;
+        double z2 = z * z;
+        double denom = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denom;
+        double half = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denom;
+        return new double[]{Math.max(0, centre - half), Math.min(1, centre + half)};
+    }
+
+    /**
+     * Clopper-Pearson ("exact") interval for a binomial proportion,
+     * computed from Beta distribution quantiles. Conservative by construction.
+     *
+     * @param successes  number of successes
+     * @param trials     number of trials
+     * @param confidence confidence level (e.g. 0.95)
+     * @return {lower, upper}; {0, 1} when there are no trials
+     */
+    public double[] clopperPearsonInterval(long successes, long trials, double confidence) {
+        if (trials <= 0) return new double[]{0, 1};
+        double alpha = 1 - confidence;
+        double lower = successes == 0 ? 0
+                : new BetaDistribution(successes, trials - successes + 1)
+                        .inverseCumulativeProbability(alpha / 2);
+        double upper = successes == trials ? 1
+                : new BetaDistribution(successes + 1, trials - successes)
+                        .inverseCumulativeProbability(1 - alpha / 2);
+        return new double[]{lower, upper};
+    }
 }
@@ -0,0 +1,299 @@
+package io.github.gcng54.cuaseval.evaluator;
+
+import io.github.gcng54.cuaseval.dti.RandomStreams;
+import io.github.gcng54.cuaseval.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo replication engine for a single test scenario.
+ * <p>
+ * A single {@link io.github.gcng54.cuaseval.dti.DtiPipeline} run is one stochastic
+ * draw; with a handful of targets its Pd and Pi vary widely. This engine replicates
+ * the scenario N times, each replication on an isolated pipeline fork seeded with
+ * {@code RandomStreams.derive(baseSeed, i)}, and aggregates the results into a
+ * {@link MonteCarloResult}.
+ * </p>
+ * <p>
+ * Replications are split over a fork/join pool in fixed-size leaves. Each leaf
+ * folds its results into a small accumulator and discards them, so memory stays
+ * constant in N. Because the split tree depends only on N, the aggregate is
+ * bit-identical for any pool size.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ *   MonteCarloEvaluator mc = new MonteCarloEvaluator(new TestEvaluator());
+ *   MonteCarloResult r = mc.run(scenario, 10_000);
+ *   double pdLow = r.getDetection().getWilsonLower();
+ * </pre>
+ * </p>
+ */
+public class MonteCarloEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloEvaluator.class);
+
+    /** Replications evaluated sequentially by one fork/join leaf task */
+    private static final int LEAF_SIZE = 16;
+
+    /** Continuous metrics summarised across replications (same labels as MetricsCalculator) */
+    private static final String[] METRIC_NAMES = {
+            "Pd (Probability of Detection)",
+            "Pfa (False Alarm Rate)",
+            "Mean Detection Latency (s)",
+            "Mean Detection Error (m)",
+            "Track Continuity Ratio",
+            "Mean Track Error (m)",
+            "Pi (Probability of Identification)",
+            "IFF Accuracy",
+            "Mean Identification Latency (s)",
+            "Overall Score (0-100)"
+    };
+
+    private final TestEvaluator evaluator;
+    private final MetricsCalculator metricsCalc = new MetricsCalculator();
+
+    /** Base seed of the replication streams */
+    private long baseSeed = 42;
+
+    /** Confidence level of the reported intervals */
+    private double confidenceLevel = 0.95;
+
+    /** Fork/join pool size */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public MonteCarloEvaluator() {
+        this(new TestEvaluator());
+    }
+
+    public MonteCarloEvaluator(TestEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    // ── Configuration ───────────────────────────────────────────────────
+
+    public long getBaseSeed()                     { return baseSeed; }
+    public double getConfidenceLevel()            { return confidenceLevel; }
+    public int getParallelism()                   { return parallelism; }
+    public TestEvaluator getEvaluator()           { return evaluator; }
+
+    public void setBaseSeed(long seed)            { this.baseSeed = seed; }
+    public void setConfidenceLevel(double level)  { this.confidenceLevel = level; }
+    public void setParallelism(int parallelism)   { this.parallelism = Math.max(1, parallelism); }
+
+    // ── Execution ───────────────────────────────────────────────────────
+
+    /**
+     * Replicate a scenario and aggregate the results.
+     *
+     * @param scenario     scenario to replicate (read-only, shared by all replications)
+     * @param replications number of independent replications (N)
+     * @return aggregated Monte Carlo result
+     */
+    public MonteCarloResult run(TestScenario scenario, int replications) {
+        if (replications <= 0) {
+            throw new IllegalArgumentException("Replication count must be positive: " + replications);
+        }
+        List<String> reqIds = new ArrayList<>(new LinkedHashSet<>(scenario.getRequirementIds()));
+
+        log.info("Monte Carlo: {} × {} on {} thread(s), seed={}",
+                scenario.getName(), replications, parallelism, baseSeed);
+        long start = System.nanoTime();
+
+        CompiledScenario compiled = CompiledScenario.compile(scenario);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Accumulator acc;
+        try {
+            acc = pool.invoke(new ReplicationTask(compiled, reqIds, 0, replications));
+        } finally {
+            pool.shutdown();
+        }
+
+        MonteCarloResult result = summarise(scenario, reqIds, replications, acc);
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Monte Carlo complete in {} ms: {}", result.getElapsedMillis(), result);
+        return result;
+    }
+
+    private MonteCarloResult summarise(TestScenario scenario, List<String> reqIds,
+                                       int replications, Accumulator acc) {
+        MonteCarloResult mc = new MonteCarloResult(
+                scenario.getScenarioId(), replications, baseSeed, confidenceLevel);
+
+        Map<String, MonteCarloResult.MetricSummary> metrics = new LinkedHashMap<>();
+        for (int m = 0; m < METRIC_NAMES.length; m++) {
+            RunningStat s = acc.metrics[m];
+            metrics.put(METRIC_NAMES[m], new MonteCarloResult.MetricSummary(
+                    s.n, s.mean, s.stdDev(), s.n > 0 ? s.min : 0, s.n > 0 ? s.max : 0));
+        }
+        mc.setMetrics(metrics);
+
+        mc.setDetection(proportion(acc.detSuccesses, acc.detTrials));
+        mc.setIdentification(proportion(acc.idSuccesses, acc.idTrials));
+        mc.setTrackContinuity(proportion(acc.trkSuccesses, acc.trkTrials));
+        mc.setPassProbability(proportion(acc.passes, acc.runs));
+
+        for (int r = 0; r < reqIds.size(); r++) {
+            mc.getRequirementPassProbability().put(reqIds.get(r),
+                    proportion(acc.reqPasses[r], acc.runs));
+        }
+        return mc;
+    }
+
+    private MonteCarloResult.ProportionEstimate proportion(long successes, long trials) {
+        return new MonteCarloResult.ProportionEstimate(successes, trials,
+                metricsCalc.wilsonInterval(successes, trials, confidenceLevel),
+                metricsCalc.clopperPearsonInterval(successes, trials, confidenceLevel));
+    }
+
+    // ── Fork/Join Task ──────────────────────────────────────────────────
+
+    /**
+     * Evaluates replications [from, to) by recursive halving down to {@link #LEAF_SIZE}.
+     */
+    private class ReplicationTask extends RecursiveTask<Accumulator> {
+        private final CompiledScenario scenario;
+        private final List<String> reqIds;
+        private final int from, to;
+
+        ReplicationTask(CompiledScenario scenario, List<String> reqIds, int from, int to) {
+            this.scenario = scenario;
+            this.reqIds = reqIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                Accumulator acc = new Accumulator(reqIds.size());
+                for (int i = from; i < to; i++) {
+                    EvaluationResult r = evaluator.evaluateReplication(
+                            scenario, RandomStreams.derive(baseSeed, i));
+                    acc.add(r, reqIds);
+                }
+                return acc;
+            }
+            int mid = (from + to) >>> 1;
+            ReplicationTask left = new ReplicationTask(scenario, reqIds, from, mid);
+            ReplicationTask right = new ReplicationTask(scenario, reqIds, mid, to);
+            left.fork();
+            Accumulator rightAcc = right.compute();
+            return left.join().merge(rightAcc);
+        }
+    }
+
+    // ── Accumulators ────────────────────────────────────────────────────
+
+    /**
+     * Mergeable running totals over a block of replications.
+     */
+    private static final class Accumulator {
+        final RunningStat[] metrics = new RunningStat[METRIC_NAMES.length];
+        final long[] reqPasses;
+        long detSuccesses, detTrials;
+        long idSuccesses, idTrials;
+        long trkSuccesses, trkTrials;
+        long passes, runs;
+
+        Accumulator(int requirementCount) {
+            for (int m = 0; m < metrics.length; m++) metrics[m] = new RunningStat();
+            reqPasses = new long[requirementCount];
+        }
+
+        void add(EvaluationResult r, List<String> reqIds) {
+            metrics[0].add(r.getProbabilityOfDetection());
+            metrics[1].add(r.getFalseAlarmRate());
+            metrics[2].add(r.getMeanDetectionLatencyS());
+            metrics[3].add(r.getMeanDetectionErrorM());
+            metrics[4].add(r.getTrackContinuity());
+            metrics[5].add(r.getMeanTrackErrorM());
+            metrics[6].add(r.getProbabilityOfIdentification());
+            metrics[7].add(r.getIffAccuracy());
+            metrics[8].add(r.getMeanIdentificationLatencyS());
+            metrics[9].add(r.getOverallScore());
+
+            for (DetectionResult d : r.getDetectionResults()) {
+                if (d.isFalseAlarm()) continue;
+                detTrials++;
+                if (d.isDetected()) detSuccesses++;
+            }
+            for (TrackingResult t : r.getTrackingResults()) {
+                trkTrials++;
+                if (t.isTrackMaintained()) trkSuccesses++;
+            }
+            for (IdentificationResult id : r.getIdentificationResults()) {
+                idTrials++;
+                if (id.isIdentified()) idSuccesses++;
+            }
+
+            runs++;
+            if (r.isPassed()) passes++;
+            for (int i = 0; i < reqPasses.length; i++) {
+                if (r.getPassedRequirements().contains(reqIds.get(i))) reqPasses[i]++;
+            }
+        }
+
+        Accumulator merge(Accumulator o) {
+            for (int m = 0; m < metrics.length; m++) metrics[m].merge(o.metrics[m]);
+            for (int i = 0; i < reqPasses.length; i++) reqPasses[i] += o.reqPasses[i];
+            detSuccesses += o.detSuccesses;
+            detTrials += o.detTrials;
+            idSuccesses += o.idSuccesses;
+            idTrials += o.idTrials;
+            trkSuccesses += o.trkSuccesses;
+            trkTrials += o.trkTrials;
+            passes += o.passes;
+            runs += o.runs;
+            return this;
+        }
+    }
+
+    /**
+     * Welford running mean/variance with Chan's parallel merge.
+     */
+    static final class RunningStat {
+        long n;
+        double mean, m2;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double x) {
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+            if (x < min) min = x;
+            if (x > max) max = x;
+        }
+
+        void merge(RunningStat o) {
+            if (o.n == 0) return;
+            if (n == 0) {
+                n = o.n; mean = o.mean; m2 = o.m2; min = o.min; max = o.max;
+                return;
+            }
+            long total = n + o.n;
+            double delta = o.mean - mean;
+            mean += delta * o.n / total;
+            m2 += o.m2 + delta * delta * n * o.n / total;
+            n = total;
+            min = Math.min(min, o.min);
+            max = Math.max(max, o.max);
+        }
+
+        double stdDev() {
+            return n > 1 ? Math.sqrt(m2 / (n - 1)) : 0;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package io.github.gcng54.cuaseval.evaluator;
 
 import io.github.gcng54.cuaseval.dti.DtiPipeline;
+import io.github.gcng54.cuaseval.dti.RandomStreams;
 import io.github.gcng54.cuaseval.model.*;
 import io.github.gcng54.cuaseval.requirements.RequirementsManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Top-level test evaluator orchestrating the full CWA 18150 evaluation pipeline.
@@ -31,6 +39,9 @@ public class TestEvaluator {
     private final MetricsCalculator metricsCalc;
     private final RequirementsManager reqManager;
 
+    /** Base seed from which each suite scenario's random stream is derived */
+    private long suiteSeed = 42;
+
     // ── Constructors ────────────────────────────────────────────────────
 
     public TestEvaluator() {
@@ -53,6 +64,8 @@ public class TestEvaluator {
     public EvaluationCriteria getCriteria()     { return criteria; }
     public MetricsCalculator getMetricsCalc()   { return metricsCalc; }
     public RequirementsManager getReqManager()  { return reqManager; }
+    public long getSuiteSeed()                  { return suiteSeed; }
+    public void setSuiteSeed(long suiteSeed)    { this.suiteSeed = suiteSeed; }
 
     // ── Evaluation ──────────────────────────────────────────────────────
 
@@ -69,45 +82,131 @@ public class TestEvaluator {
      * @return evaluation result with all metrics and compliance data
      */
     public EvaluationResult evaluate(TestScenario scenario) {
+        return evaluate(scenario, pipeline);
+    }
+
+    /**
+     * Execute the evaluation on a scenario using the given pipeline instance.
+     */
+    private EvaluationResult evaluate(TestScenario scenario, DtiPipeline dti) {
         log.info("╔══════════════════════════════════════════════╗");
         log.info("║ EVALUATING: {} ", scenario.getName());
         log.info("╚══════════════════════════════════════════════╝");
 
         // 1. Execute DTI pipeline
-        EvaluationResult result = pipeline.execute(scenario);
+        EvaluationResult result = dti.execute(scenario);
+
+        // 2–3. Check linked requirements and determine overall pass/fail
+        applyCriteria(scenario, result);
+        for (String reqId : result.getPassedRequirements()) {
+            log.info("  Requirement {} — PASS", reqId);
+        }
+        for (String reqId : result.getFailedRequirements()) {
+            log.info("  Requirement {} — FAIL", reqId);
+        }
+
+        log.info(String.format(Locale.ENGLISH, "RESULT: %s (score=%.1f, compliance=%.1f%%)",
+                result.isPassed() ? "PASS" : "FAIL",
+                result.getOverallScore(),
+                result.getCompliancePercent()));
 
-        // 2. Check each linked requirement against criteria
+        return result;
+    }
+
+    /**
+     * Evaluate one independent replication of a scenario on a pipeline fork
+     * seeded with {@code seed}. Used by {@link MonteCarloEvaluator}; unlike
+     * {@link #evaluate(TestScenario)} it does not log per-requirement results.
+     * The compiled scenario is shared read-only by all replications.
+     */
+    EvaluationResult evaluateReplication(CompiledScenario scenario, long seed) {
+        EvaluationResult result = pipeline.fork(seed).execute(scenario);
+        applyCriteria(scenario.getSource(), result);
+        return result;
+    }
+
+    /**
+     * Check each linked requirement against the criteria thresholds and set
+     * the overall verdict (all requirements passed and score ≥ 60).
+     */
+    private void applyCriteria(TestScenario scenario, EvaluationResult result) {
+        PipelineProfile.Probe start = PipelineProfile.Probe.now();
         for (String reqId : scenario.getRequirementIds()) {
-            boolean passed = criteria.evaluateRequirement(reqId, result);
-            if (passed) {
+            if (criteria.evaluateRequirement(reqId, result)) {
                 result.getPassedRequirements().add(reqId);
             } else {
                 result.getFailedRequirements().add(reqId);
             }
-            log.info("  Requirement {} — {}", reqId, passed ? "PASS" : "FAIL");
         }
+        result.setPassed(result.getFailedRequirements().isEmpty()
+                && result.getOverallScore() >= 60);
+        if (result.getProfile() != null) {
+            result.getProfile().record(PipelineProfile.Phase.CRITERIA, start);
+        }
+    }
 
-        // 3. Determine overall pass/fail
-        boolean overallPass = result.getFailedRequirements().isEmpty()
-                && result.getOverallScore() >= 60;
-        result.setPassed(overallPass);
-
-        log.info("RESULT: {} (score={:.1f}, compliance={:.1f}%)",
-                overallPass ? "PASS" : "FAIL",
-                result.getOverallScore(),
-                result.getCompliancePercent());
+    /**
+     * Evaluate an entire test suite (list of scenarios) sequentially.
+     * <p>
+     * Each scenario runs on its own fork of the pipeline, seeded from
+     * {@link #getSuiteSeed()} and the scenario's index in the suite, so the
+     * results are identical to {@link #evaluateSuiteParallel(List)}.
+     * </p>
+     */
+    public List<EvaluationResult> evaluateSuite(List<TestScenario> scenarios) {
+        return evaluateSuite(scenarios, 1);
+    }
 
-        return result;
+    /**
+     * Evaluate an entire test suite using all available processor cores.
+     */
+    public List<EvaluationResult> evaluateSuiteParallel(List<TestScenario> scenarios) {
+        return evaluateSuite(scenarios, Runtime.getRuntime().availableProcessors());
     }
 
     /**
-     * Evaluate an entire test suite (list of scenarios).
+     * Evaluate an entire test suite with the given degree of parallelism.
+     * Results are returned in suite order and do not depend on the thread count.
+     *
+     * @param scenarios   scenarios to evaluate
+     * @param parallelism number of worker threads (1 = run on the calling thread)
+     * @return one evaluation result per scenario, in input order
      */
-    public List<EvaluationResult> evaluateSuite(List<TestScenario> scenarios) {
-        log.info("Evaluating test suite: {} scenarios", scenarios.size());
-        return scenarios.stream()
-                .map(this::evaluate)
-                .toList();
+    public List<EvaluationResult> evaluateSuite(List<TestScenario> scenarios, int parallelism) {
+        int threads = Math.max(1, Math.min(parallelism, scenarios.size()));
+        log.info("Evaluating test suite: {} scenarios on {} thread(s)", scenarios.size(), threads);
+
+        if (threads == 1) {
+            List<EvaluationResult> results = new ArrayList<>(scenarios.size());
+            for (int i = 0; i < scenarios.size(); i++) {
+                results.add(evaluate(scenarios.get(i), pipeline.fork(RandomStreams.derive(suiteSeed, i))));
+            }
+            return results;
+        }
+
+        List<Callable<EvaluationResult>> tasks = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            TestScenario scenario = scenarios.get(i);
+            DtiPipeline fork = pipeline.fork(RandomStreams.derive(suiteSeed, i));
+            tasks.add(() -> evaluate(scenario, fork));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<EvaluationResult> results = new ArrayList<>(tasks.size());
+            for (Future<EvaluationResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Suite evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Suite evaluation failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -0,0 +1,120 @@
+package io.github.gcng54.cuaseval.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every pipeline event as one JSON object per line (JSON Lines).
+ * <p>
+ * Runs on the bus thread with a streaming Jackson generator and flushes at
+ * the end of each batch, so the file is written in large chunks. Inapplicable
+ * fields ({@code NaN} / {@code null}) are omitted.
+ * </p>
+ * <pre>
+ *   {"seq":12,"time":1760000000000,"type":"DETECTION","scenario":"SC-01","target":3,
+ *    "uid":"...","detected":true,"sensor":"RD-03 (Radar)","latencyS":0.31,"errorM":4.2,"rangeM":1830.0}
+ * </pre>
+ */
+public class JsonLinesEventWriter implements PipelineEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonLinesEventWriter.class);
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final JsonGenerator json;
+
+    /**
+     * Open (append to) a JSON Lines file, creating parent directories.
+     */
+    public JsonLinesEventWriter(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.json = new JsonFactory().createGenerator(writer);
+        json.setRootValueSeparator(null);
+        log.info("Writing pipeline events to {}", file.toAbsolutePath());
+    }
+
+    public Path getFile() { return file; }
+
+    @Override
+    public void onEvent(PipelineEvent e, boolean endOfBatch) {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("seq", e.getSequence());
+            json.writeNumberField("time", e.getWallTimeMillis());
+            json.writeStringField("type", e.getType().name());
+            writeString("scenario", e.getScenarioId());
+            if (e.getTargetIndex() >= 0) json.writeNumberField("target", e.getTargetIndex());
+            writeString("uid", e.getTargetUid());
+
+            switch (e.getType()) {
+                case RUN_STARTED -> json.writeNumberField("targets", e.getCount());
+                case RUN_COMPLETED -> {
+                    json.writeBooleanField("passed", e.isSuccess());
+                    writeNumber("score", e.getValue());
+                }
+                case DETECTION -> {
+                    json.writeBooleanField("detected", e.isSuccess());
+                    writeString("sensor", e.getLabel());
+                    writeNumber("latencyS", e.getLatencyS());
+                    writeNumber("errorM", e.getErrorM());
+                    writeNumber("rangeM", e.getRangeM());
+                    writeNumber("firstDetectionS", e.getTimeS());
+                }
+                case FALSE_ALARM -> writeString("sensor", e.getLabel());
+                case TRACK -> {
+                    json.writeBooleanField("maintained", e.isSuccess());
+                    json.writeNumberField("drops", e.getCount());
+                    writeNumber("meanErrorM", e.getErrorM());
+                }
+                case TRACK_DROP -> writeNumber("timeS", e.getTimeS());
+                case IDENTIFICATION -> {
+                    json.writeBooleanField("identified", e.isSuccess());
+                    writeString("classification", e.getLabel());
+                    writeNumber("confidence", e.getValue());
+                    writeNumber("latencyS", e.getLatencyS());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (endOfBatch) json.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            json.close();
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close event file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) json.writeStringField(name, value);
+    }
+
+    private void writeNumber(String name, double value) throws IOException {
+        if (!Double.isNaN(value)) json.writeNumberField(name, value);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonLinesEventWriter[" + file + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.gcng54.cuaseval.event;
+
+import java.util.Locale;
+
+/**
+ * One slot of the {@link PipelineEventBus} ring buffer.
+ * <p>
+ * Slots are preallocated and overwritten in place, so publishing an event
+ * only copies primitives and existing string references. Consumers must copy
+ * whatever they need before returning from
+ * {@link PipelineEventConsumer#onEvent}; the slot is reused afterwards.
+ * </p>
+ * <p>
+ * Fields that do not apply to an event type are {@code NaN} (doubles) or
+ * {@code null} (strings). See {@link Type} for the field usage per type.
+ * </p>
+ */
+public final class PipelineEvent {
+
+    /**
+     * Event types published by the DTI subsystems.
+     */
+    public enum Type {
+        /** Pipeline run started. {@code count} = target count */
+        RUN_STARTED,
+        /** Pipeline run finished. {@code success} = passed, {@code value} = overall score */
+        RUN_COMPLETED,
+        /**
+         * Target detection decided. {@code label} = sensor, {@code success} = detected,
+         * {@code latencyS}, {@code errorM}, {@code rangeM}, {@code timeS} = time to first detection
+         */
+        DETECTION,
+        /** False alarm generated (FR15). {@code label} = sensor */
+        FALSE_ALARM,
+        /**
+         * Target track evaluated. {@code success} = maintained, {@code errorM} = mean error,
+         * {@code count} = track drops
+         */
+        TRACK,
+        /** Track lost during an update (FR18). {@code timeS} = time offset of the drop */
+        TRACK_DROP,
+        /**
+         * Target identification decided. {@code label} = reported class,
+         * {@code success} = identified, {@code value} = confidence, {@code latencyS}
+         */
+        IDENTIFICATION;
+
+        /** Run-level events, as opposed to per-target events. */
+        public boolean isRunEvent() {
+            return this == RUN_STARTED || this == RUN_COMPLETED;
+        }
+    }
+
+    private Type type;
+    private long sequence;
+    private long wallTimeMillis;
+    private String scenarioId;
+    private int targetIndex;
+    private String targetUid;
+    private String label;
+    private boolean success;
+    private int count;
+    private double timeS;
+    private double rangeM;
+    private double errorM;
+    private double latencyS;
+    private double value;
+
+    PipelineEvent() {}
+
+    /**
+     * Overwrite every field with the common header and neutral values.
+     */
+    void reset(Type type, long sequence, String scenarioId, int targetIndex, String targetUid) {
+        this.type = type;
+        this.sequence = sequence;
+        this.wallTimeMillis = System.currentTimeMillis();
+        this.scenarioId = scenarioId;
+        this.targetIndex = targetIndex;
+        this.targetUid = targetUid;
+        this.label = null;
+        this.success = false;
+        this.count = 0;
+        this.timeS = Double.NaN;
+        this.rangeM = Double.NaN;
+        this.errorM = Double.NaN;
+        this.latencyS = Double.NaN;
+        this.value = Double.NaN;
+    }
+
+    // ── Package-private setters (publisher side) ────────────────────────
+
+    void setLabel(String label)         { this.label = label; }
+    void setSuccess(boolean success)    { this.success = success; }
+    void setCount(int count)            { this.count = count; }
+    void setTimeS(double timeS)         { this.timeS = timeS; }
+    void setRangeM(double rangeM)       { this.rangeM = rangeM; }
+    void setErrorM(double errorM)       { this.errorM = errorM; }
+    void setLatencyS(double latencyS)   { this.latencyS = latencyS; }
+    void setValue(double value)         { this.value = value; }
+
+    // ── Getters ─────────────────────────────────────────────────────────
+
+    public Type getType()               { return type; }
+    public long getSequence()           { return sequence; }
+    public long getWallTimeMillis()     { return wallTimeMillis; }
+    public String getScenarioId()       { return scenarioId; }
+    /** Target index in the compiled scenario, or -1 (run events, false alarms). */
+    public int getTargetIndex()         { return targetIndex; }
+    public String getTargetUid()        { return targetUid; }
+    public String getLabel()            { return label; }
+    public boolean isSuccess()          { return success; }
+    public int getCount()               { return count; }
+    public double getTimeS()            { return timeS; }
+    public double getRangeM()           { return rangeM; }
+    public double getErrorM()           { return errorM; }
+    public double getLatencyS()         { return latencyS; }
+    public double getValue()            { return value; }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case RUN_STARTED -> String.format(Locale.ENGLISH, "#%d RUN_STARTED %s targets=%d",
+                    sequence, scenarioId, count);
+            case RUN_COMPLETED -> String.format(Locale.ENGLISH, "#%d RUN_COMPLETED %s score=%.1f %s",
+                    sequence, scenarioId, value, success ? "PASS" : "FAIL");
+            case DETECTION -> success
+                    ? String.format(Locale.ENGLISH,
+                            "#%d DET[%s] detected=true sensor=%s latency=%.2fs error=%.1fm range=%.0fm",
+                            sequence, targetUid, label, latencyS, errorM, rangeM)
+                    : String.format(Locale.ENGLISH, "#%d DET[%s] detected=false sensor=%s",
+                            sequence, targetUid, label);
+            case FALSE_ALARM -> String.format(Locale.ENGLISH, "#%d FALSE_ALARM[%s] %s",
+                    sequence, targetUid, scenarioId);
+            case TRACK -> String.format(Locale.ENGLISH,
+                    "#%d TRK[%s] maintained=%b drops=%d meanErr=%.1fm",
+                    sequence, targetUid, success, count, errorM);
+            case TRACK_DROP -> String.format(Locale.ENGLISH, "#%d TRACK_DROP[%s] t=%.1fs",
+                    sequence, targetUid, timeS);
+            case IDENTIFICATION -> String.format(Locale.ENGLISH,
+                    "#%d ID[%s] identified=%b class=%s conf=%.2f",
+                    sequence, targetUid, success, label, value);
+        };
+    }
+}
@@ -0,0 +1,323 @@
+package io.github.gcng54.cuaseval.event;
+
+import io.github.gcng54.cuaseval.model.DetectionResult;
+import io.github.gcng54.cuaseval.model.EvaluationResult;
+import io.github.gcng54.cuaseval.model.IdentificationResult;
+import io.github.gcng54.cuaseval.model.TrackingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, bounded event bus for DTI pipeline results.
+ * <p>
+ * The detection, tracking and identification subsystems publish one typed
+ * event per target result instead of formatting log lines on the evaluating
+ * thread. Events are copied into a preallocated ring buffer of
+ * {@link PipelineEvent} slots (multi-producer, single-consumer) and handed to
+ * the registered {@link PipelineEventConsumer}s on one background thread.
+ * </p>
+ * <p>
+ * Publishing never allocates and never blocks: when the ring is full the event
+ * is dropped and counted ({@link #getDroppedCount()}), so evaluation
+ * throughput does not depend on how fast consumers write. Events published
+ * before {@link #start()} or after {@link #close()} are ignored.
+ * </p>
+ * <p>
+ * The application installs one bus with {@link #setDefault}; the subsystems
+ * publish to whatever bus is installed at the time, or to none.
+ * </p>
+ * <pre>
+ *   PipelineEventBus bus = new PipelineEventBus(PipelineEventBus.DEFAULT_CAPACITY);
+ *   bus.addConsumer(new JsonLinesEventWriter(Path.of("logs/cuas-eval-events.jsonl")));
+ *   bus.addConsumer(SampledLogConsumer.toLogger(100));
+ *   bus.start();
+ *   PipelineEventBus.setDefault(bus);
+ * </pre>
+ */
+public final class PipelineEventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineEventBus.class);
+
+    /** Default ring size (slots) */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /** Busy-spin iterations before the consumer parks until the next publish */
+    private static final int IDLE_SPINS = 100;
+
+    private static volatile PipelineEventBus defaultBus;
+
+    private final PipelineEvent[] ring;
+    private final int mask;
+
+    /** Sequence published in each slot (-1 = never) */
+    private final AtomicLongArray published;
+
+    /** Next sequence to hand to a producer */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /** Next sequence the consumer thread will process */
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /** Replaced on change so that dispatch iterates a plain array */
+    private volatile PipelineEventConsumer[] consumers = new PipelineEventConsumer[0];
+
+    private volatile boolean running;
+
+    /** Set while the consumer thread is parked, so that producers unpark it */
+    private volatile boolean waiting;
+
+    private volatile Thread worker;
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    /**
+     * @param capacity ring size; rounded up to a power of two
+     */
+    public PipelineEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        ring = new PipelineEvent[size];
+        for (int i = 0; i < size; i++) ring[i] = new PipelineEvent();
+        mask = size - 1;
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) published.set(i, -1);
+    }
+
+    public PipelineEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // ── Default instance ────────────────────────────────────────────────
+
+    /** Bus the DTI subsystems publish to, or null. */
+    public static PipelineEventBus getDefault()            { return defaultBus; }
+
+    /** Install (or clear with null) the bus the DTI subsystems publish to. */
+    public static void setDefault(PipelineEventBus bus)    { defaultBus = bus; }
+
+    // ── Lifecycle ───────────────────────────────────────────────────────
+
+    /**
+     * Register a consumer. May be called before or after {@link #start()}.
+     */
+    public synchronized void addConsumer(PipelineEventConsumer consumer) {
+        PipelineEventConsumer[] next = Arrays.copyOf(consumers, consumers.length + 1);
+        next[consumers.length] = consumer;
+        consumers = next;
+    }
+
+    /**
+     * Unregister a consumer. Its {@link PipelineEventConsumer#close()} is not called.
+     */
+    public synchronized void removeConsumer(PipelineEventConsumer consumer) {
+        consumers = Arrays.stream(consumers)
+                .filter(c -> c != consumer)
+                .toArray(PipelineEventConsumer[]::new);
+    }
+
+    /** Start the consumer thread. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        worker = new Thread(this::drain, "pipeline-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop accepting events, deliver everything already published, then
+     * close all consumers. Waits up to 5 s; if consumers are still busy
+     * then, the consumer thread closes them once it has delivered the rest.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Pipeline event consumers still busy after 5 s; they are closed when delivery completes");
+        }
+        if (dropped.sum() > 0) {
+            log.warn("Pipeline event bus closed: {} events delivered, {} dropped (ring full)",
+                    consumed.get(), dropped.sum());
+        }
+    }
+
+    public boolean isRunning()                  { return running; }
+    public int getCapacity()                    { return ring.length; }
+
+    /** Events accepted into the ring so far. */
+    public long getPublishedCount()             { return claimed.get(); }
+
+    /** Events discarded because the ring was full. */
+    public long getDroppedCount()               { return dropped.sum(); }
+
+    // ── Publishing (allocation-free) ────────────────────────────────────
+
+    public void runStarted(String scenarioId, int targetCount) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        e.reset(PipelineEvent.Type.RUN_STARTED, seq, scenarioId, -1, null);
+        e.setCount(targetCount);
+        publish(seq);
+    }
+
+    public void runCompleted(String scenarioId, EvaluationResult result) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        e.reset(PipelineEvent.Type.RUN_COMPLETED, seq, scenarioId, -1, null);
+        e.setSuccess(result.isPassed());
+        e.setValue(result.getOverallScore());
+        publish(seq);
+    }
+
+    /**
+     * Publish a detection result; false alarms become {@link PipelineEvent.Type#FALSE_ALARM}.
+     */
+    public void detection(String scenarioId, int targetIndex, DetectionResult result) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        if (result.isFalseAlarm()) {
+            e.reset(PipelineEvent.Type.FALSE_ALARM, seq, scenarioId, -1, result.getTargetUid());
+            e.setLabel(result.getSensorType());
+            e.setSuccess(true);
+        } else {
+            e.reset(PipelineEvent.Type.DETECTION, seq, scenarioId, targetIndex, result.getTargetUid());
+            e.setLabel(result.getSensorType());
+            e.setSuccess(result.isDetected());
+            if (result.isDetected()) {
+                e.setLatencyS(result.getLatencySeconds());
+                e.setErrorM(result.getPositionErrorMetres());
+                e.setRangeM(result.getDetectionRangeM());
+                e.setTimeS(result.getTimeToFirstDetectionS());
+            }
+        }
+        publish(seq);
+    }
+
+    public void track(String scenarioId, int targetIndex, TrackingResult result) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        e.reset(PipelineEvent.Type.TRACK, seq, scenarioId, targetIndex, result.getTargetUid());
+        e.setSuccess(result.isTrackMaintained());
+        e.setCount(result.getTrackDropCount());
+        e.setErrorM(result.getMeanPositionErrorMetres());
+        publish(seq);
+    }
+
+    public void trackDrop(String scenarioId, int targetIndex, String targetUid, double timeS) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        e.reset(PipelineEvent.Type.TRACK_DROP, seq, scenarioId, targetIndex, targetUid);
+        e.setTimeS(timeS);
+        publish(seq);
+    }
+
+    public void identification(String scenarioId, int targetIndex, IdentificationResult result) {
+        long seq = claim();
+        if (seq < 0) return;
+        PipelineEvent e = ring[(int) (seq & mask)];
+        e.reset(PipelineEvent.Type.IDENTIFICATION, seq, scenarioId, targetIndex, result.getTargetUid());
+        e.setLabel(result.getReportedClassification());
+        e.setSuccess(result.isIdentified());
+        e.setValue(result.getConfidence());
+        if (result.isIdentified()) e.setLatencyS(result.getLatencySeconds());
+        publish(seq);
+    }
+
+    // ── Ring buffer ─────────────────────────────────────────────────────
+
+    /**
+     * Reserve the next sequence, or return -1 (and count a drop) when the
+     * slot it maps to has not been consumed yet.
+     */
+    private long claim() {
+        if (!running) return -1;
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed.get() >= ring.length) {
+                dropped.increment();
+                return -1;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+        return seq;
+    }
+
+    private void publish(long seq) {
+        // Volatile write then volatile read: either the parked consumer sees
+        // the slot on its re-check or this producer sees it waiting
+        published.set((int) (seq & mask), seq);
+        if (waiting) LockSupport.unpark(worker);
+    }
+
+    /**
+     * Consumer thread: deliver slots in sequence order until closed and
+     * drained, then close the consumers. When the ring stays empty it spins
+     * briefly and then parks until the next publish or {@link #close()}.
+     */
+    private void drain() {
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            int slot = (int) (next & mask);
+            if (published.getAcquire(slot) == next) {
+                boolean endOfBatch = published.getAcquire((int) ((next + 1) & mask)) != next + 1;
+                dispatch(ring[slot], endOfBatch);
+                consumed.setRelease(++next);
+                idle = 0;
+            } else if (!running && claimed.get() == next) {
+                break;
+            } else if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                waiting = true;
+                if (published.get(slot) != next && running) LockSupport.park(this);
+                waiting = false;
+            }
+        }
+        closeConsumers();
+    }
+
+    private void closeConsumers() {
+        for (PipelineEventConsumer c : consumers) {
+            try {
+                c.close();
+            } catch (RuntimeException e) {
+                log.warn("Event consumer {} failed to close: {}", c, e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(PipelineEvent event, boolean endOfBatch) {
+        for (PipelineEventConsumer c : consumers) {
+            try {
+                c.onEvent(event, endOfBatch);
+            } catch (RuntimeException e) {
+                log.warn("Event consumer {} failed on event #{}: {}",
+                        c, event.getSequence(), e.getMessage());
+            }
+        }
+    }
+}
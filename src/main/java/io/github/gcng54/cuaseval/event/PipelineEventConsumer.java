@@ -0,0 +1,26 @@
+package io.github.gcng54.cuaseval.event;
+
+/**
+ * Receives events from a {@link PipelineEventBus}.
+ * <p>
+ * All callbacks run on the bus's single consumer thread, in sequence order,
+ * never on an evaluating thread. The event is a reused ring-buffer slot and is
+ * only valid for the duration of the call.
+ * </p>
+ */
+public interface PipelineEventConsumer {
+
+    /**
+     * Handle one event.
+     *
+     * @param event      the event (valid only during this call)
+     * @param endOfBatch true when no further event is currently available;
+     *                   a good point to flush buffered output
+     */
+    void onEvent(PipelineEvent event, boolean endOfBatch);
+
+    /**
+     * Called once when the bus shuts down, after the last event. Default: no-op.
+     */
+    default void close() {}
+}
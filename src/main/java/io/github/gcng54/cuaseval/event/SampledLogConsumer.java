@@ -0,0 +1,55 @@
+package io.github.gcng54.cuaseval.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * Forwards a sample of pipeline events as text lines (console log, UI log).
+ * <p>
+ * Run events are always forwarded; per-target events only every
+ * {@code sampleEvery}-th of each type, so a 10 000-target run produces a
+ * readable trickle instead of tens of thousands of lines. Formatting happens
+ * on the bus thread, never on an evaluating thread.
+ * </p>
+ */
+public class SampledLogConsumer implements PipelineEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(SampledLogConsumer.class);
+
+    private final int sampleEvery;
+    private final Consumer<String> sink;
+    private final long[] seen = new long[PipelineEvent.Type.values().length];
+
+    /**
+     * @param sampleEvery forward one in this many per-target events of each type (1 = all)
+     * @param sink        receiver of the formatted lines (called on the bus thread)
+     */
+    public SampledLogConsumer(int sampleEvery, Consumer<String> sink) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.sink = sink;
+    }
+
+    /**
+     * Sampled consumer that logs through SLF4J at INFO level.
+     */
+    public static SampledLogConsumer toLogger(int sampleEvery) {
+        return new SampledLogConsumer(sampleEvery, log::info);
+    }
+
+    public int getSampleEvery() { return sampleEvery; }
+
+    @Override
+    public void onEvent(PipelineEvent event, boolean endOfBatch) {
+        PipelineEvent.Type type = event.getType();
+        if (type.isRunEvent() || seen[type.ordinal()]++ % sampleEvery == 0) {
+            sink.accept(event.toString());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SampledLogConsumer[1/" + sampleEvery + "]";
+    }
+}
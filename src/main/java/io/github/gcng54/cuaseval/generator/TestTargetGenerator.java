@@ -34,7 +34,7 @@ public class TestTargetGenerator {
         target.setMaxSpeedMs(speedMs * 1.5);
         target.setHeadingDeg(headingDeg);
         target.getPosition().setAltitudeMsl(altitudeMsl);
-        target.setRcsSqm(rcsForClass(uasClass));
+        target.setRcsSqm(uasClass.getTypicalRcsSqm());
         log.info("Generated target: {}", target);
         return target;
     }
@@ -144,17 +144,4 @@ public class TestTargetGenerator {
             case UNKNOWN -> 1000;
         };
     }
-
-    /** Typical radar cross section in m² for a UAS class. */
-    private double rcsForClass(UasClass cls) {
-        return switch (cls) {
-            case C0 -> 0.001;
-            case C1 -> 0.005;
-            case C2 -> 0.02;
-            case C3 -> 0.1;
-            case C4 -> 0.12;
-            case SPECIFIC -> 0.5;
-            case UNKNOWN -> 0.01;
-        };
-    }
 }
@@ -0,0 +1,215 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, index-addressed form of a {@link TestScenario} for evaluation.
+ * <p>
+ * A scenario stores targets and flight plans as parallel lists that are only
+ * searchable by UID with a linear scan. Compiling it once per run resolves
+ * every target's flight plan up front and builds a UID → index map, so the
+ * DTI subsystems look targets, plans and sensors up in O(1) and can address
+ * per-target state by a dense index. The flight plans are also compiled into
+ * a shared {@link TruthOracle} for allocation-free ground-truth queries, and
+ * the sensor sites into a {@link SensorCoverageIndex}.
+ * </p>
+ * <p>
+ * The compiled form captures the structure of the scenario at compile time;
+ * the referenced model objects themselves are shared, not copied, and must not
+ * be modified while an evaluation is running.
+ * </p>
+ * <p>
+ * {@link #withSensors} derives a view with a different sensor set (e.g. one
+ * DTI node of a multi-sensor system) that shares the targets, flight plans,
+ * index and ground truth with the original, so node views cost O(sensors).
+ * </p>
+ */
+public final class CompiledScenario {
+
+    /** Scenario this form was compiled from */
+    private final TestScenario source;
+
+    /** Scenario ID and name (differ from the source's for sensor views) */
+    private final String scenarioId;
+    private final String name;
+
+    /** Environment (weather, EW, sensor sites) */
+    private final TestEnvironment environment;
+
+    /** Targets by index */
+    private final UasTarget[] targets;
+
+    /** Flight plan of each target by index (null when the target has none) */
+    private final TestScenario.FlightPlan[] flightPlans;
+
+    /** Sensor sites by index */
+    private final TestEnvironment.SensorSite[] sensors;
+
+    /** Target UID → index (first occurrence wins) */
+    private final Map<String, Integer> targetIndex;
+
+    /** Compiled ground-truth trajectories of all targets */
+    private final TruthOracle truth;
+
+    /** Spatial index of the sensor sites' coverage */
+    private final SensorCoverageIndex coverage;
+
+    // ── Construction ────────────────────────────────────────────────────
+
+    private CompiledScenario(TestScenario source, TestEnvironment environment,
+                             UasTarget[] targets, TestScenario.FlightPlan[] flightPlans,
+                             TestEnvironment.SensorSite[] sensors,
+                             Map<String, Integer> targetIndex) {
+        this.source = source;
+        this.scenarioId = source.getScenarioId();
+        this.name = source.getName();
+        this.environment = environment;
+        this.targets = targets;
+        this.flightPlans = flightPlans;
+        this.sensors = sensors;
+        this.targetIndex = targetIndex;
+        this.truth = TruthOracle.build(this);
+        this.coverage = SensorCoverageIndex.build(sensors);
+    }
+
+    /** Sensor view of {@code base}: everything but the ID, name and sensors is shared. */
+    private CompiledScenario(CompiledScenario base, String scenarioId, String name,
+                             TestEnvironment.SensorSite[] sensors) {
+        this.source = base.source;
+        this.scenarioId = scenarioId;
+        this.name = name;
+        this.environment = base.environment;
+        this.targets = base.targets;
+        this.flightPlans = base.flightPlans;
+        this.sensors = sensors;
+        this.targetIndex = base.targetIndex;
+        this.truth = base.truth;
+        this.coverage = SensorCoverageIndex.build(sensors);
+    }
+
+    /**
+     * Compile a scenario. Runs in O(targets + plans + sensors).
+     *
+     * @param scenario scenario to compile
+     * @return compiled scenario
+     */
+    public static CompiledScenario compile(TestScenario scenario) {
+        List<UasTarget> targetList = scenario.getTargets();
+        UasTarget[] targets = targetList.toArray(new UasTarget[0]);
+
+        Map<String, Integer> index = new HashMap<>(targets.length * 2);
+        for (int i = 0; i < targets.length; i++) {
+            index.putIfAbsent(targets[i].getUid(), i);
+        }
+
+        // Resolve plans by UID (first plan per UID, matching the former linear search)
+        TestScenario.FlightPlan[] plans = new TestScenario.FlightPlan[targets.length];
+        for (TestScenario.FlightPlan plan : scenario.getFlightPlans()) {
+            if (plan == null || plan.getTargetUid() == null) continue;
+            Integer i = index.get(plan.getTargetUid());
+            if (i != null && plans[i] == null) plans[i] = plan;
+        }
+
+        TestEnvironment env = scenario.getEnvironment();
+        TestEnvironment.SensorSite[] sensors = env != null
+                ? env.getSensorSites().toArray(new TestEnvironment.SensorSite[0])
+                : new TestEnvironment.SensorSite[0];
+
+        return new CompiledScenario(scenario, env, targets, plans, sensors, index);
+    }
+
+    /**
+     * View of this scenario seen by a different set of sensor sites.
+     * <p>
+     * Targets, flight plans, the UID index and the ground truth are shared
+     * with this scenario; only the sensor array and its coverage index are
+     * new. The environment (weather, obstacles, parameters) is shared as
+     * well — its own sensor site list is ignored by the evaluation, which reads
+     * {@link #getSensors()}.
+     * </p>
+     *
+     * @param scenarioId ID of the view (e.g. the scenario ID plus a node suffix)
+     * @param name       display name of the view
+     * @param sensors    sensor sites of the view
+     * @return sensor view sharing this scenario's data
+     */
+    public CompiledScenario withSensors(String scenarioId, String name,
+                                        List<TestEnvironment.SensorSite> sensors) {
+        return new CompiledScenario(this, scenarioId, name,
+                sensors.toArray(new TestEnvironment.SensorSite[0]));
+    }
+
+    // ── Scenario properties ─────────────────────────────────────────────
+
+    /** Scenario this form was compiled from (for a sensor view: the original scenario). */
+    public TestScenario getSource()              { return source; }
+    public String getScenarioId()                { return scenarioId; }
+    public String getName()                      { return name; }
+    public TestEnvironment getEnvironment()      { return environment; }
+    public double getDurationSeconds()           { return source.getDurationSeconds(); }
+    public Instant getStartTime()                { return source.getStartTime(); }
+    public List<String> getRequirementIds()      { return source.getRequirementIds(); }
+
+    // ── Targets and plans ───────────────────────────────────────────────
+
+    public int getTargetCount()                  { return targets.length; }
+    public UasTarget getTarget(int index)        { return targets[index]; }
+
+    /** Flight plan of target {@code index}, or null. */
+    public TestScenario.FlightPlan getFlightPlan(int index) { return flightPlans[index]; }
+
+    /** Unmodifiable view of the targets in index order. */
+    public List<UasTarget> getTargets() {
+        return Collections.unmodifiableList(Arrays.asList(targets));
+    }
+
+    /**
+     * Index of a target by UID.
+     *
+     * @return target index, or -1 if the UID is unknown
+     */
+    public int indexOf(String uid) {
+        if (uid == null) return -1;
+        Integer i = targetIndex.get(uid);
+        return i != null ? i : -1;
+    }
+
+    /** Target by UID, or null. */
+    public UasTarget findTarget(String uid) {
+        int i = indexOf(uid);
+        return i >= 0 ? targets[i] : null;
+    }
+
+    /** Ground-truth trajectories, indexed like the targets. */
+    public TruthOracle getTruth()                { return truth; }
+
+    /** Flight plan by target UID, or null. */
+    public TestScenario.FlightPlan findFlightPlan(String uid) {
+        int i = indexOf(uid);
+        return i >= 0 ? flightPlans[i] : null;
+    }
+
+    // ── Sensors ─────────────────────────────────────────────────────────
+
+    public int getSensorCount()                  { return sensors.length; }
+    public TestEnvironment.SensorSite getSensor(int index) { return sensors[index]; }
+
+    /** Coverage index of the sensor sites (sensor indices match {@link #getSensor}). */
+    public SensorCoverageIndex getCoverage()     { return coverage; }
+
+    /** Unmodifiable view of the sensor sites in index order. */
+    public List<TestEnvironment.SensorSite> getSensors() {
+        return Collections.unmodifiableList(Arrays.asList(sensors));
+    }
+
+    @Override
+    public String toString() {
+        return "Compiled[" + scenarioId + "] " + name + " targets=" + targets.length
+                + " sensors=" + sensors.length;
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Three-dimensional detection coverage of a multi-sensor layout.
+ * <p>
+ * The analysis region is the union of the sensors' nominal range sectors
+ * (the {@link #getFootprintAreaKm2() footprint}), divided into lat/lon cells
+ * and altitude layers above ground. For every UAS class and layer a
+ * {@link LayerCoverage} records how much of the region is seen by exactly
+ * k sensors: k = 0 is a coverage gap, k ≥ 1 the true union coverage (each
+ * point counted once however many sensors see it) and k ≥ 2 the overlap.
+ * Volumes are layer areas times layer thickness.
+ * </p>
+ */
+public class CoverageReport {
+
+    /** Number of sensor nodes analysed */
+    private int nodeCount;
+
+    /** Horizontal cell edge in metres */
+    private double cellSizeM;
+
+    /** Minimum Pd for a sensor to cover a voxel */
+    private double pdThreshold;
+
+    /** Weather condition of the Pd model */
+    private String weather;
+
+    /** Whether terrain line of sight was applied */
+    private boolean terrainApplied;
+
+    /** Grid cells along longitude and latitude */
+    private int gridCols;
+    private int gridRows;
+
+    /** Area of the union of the nominal range sectors in km² */
+    private double footprintAreaKm2;
+
+    /** Footprint area covered for at least one class and layer in km² */
+    private double coveredAreaKm2;
+
+    /** Sum of the nominal sector areas in km² (overlaps counted repeatedly) */
+    private double sectorAreaSumKm2;
+
+    /** Wall-clock duration of the rasterisation in milliseconds */
+    private long elapsedMillis;
+
+    /** Per class and altitude layer, classes in order then layers bottom-up */
+    private List<LayerCoverage> layers = new ArrayList<>();
+
+    // ── Inner types ─────────────────────────────────────────────────────
+
+    /**
+     * Coverage of one altitude layer for one UAS class.
+     */
+    public static class LayerCoverage {
+        private final UasClass uasClass;
+        private final double minAglM;
+        private final double maxAglM;
+        private final double[] kFoldAreaKm2;
+
+        /**
+         * @param uasClass     UAS class (target RCS) evaluated
+         * @param minAglM      layer floor in metres above ground
+         * @param maxAglM      layer ceiling in metres above ground
+         * @param kFoldAreaKm2 area seen by exactly k sensors, index k = 0..nodes
+         */
+        public LayerCoverage(UasClass uasClass, double minAglM, double maxAglM, double[] kFoldAreaKm2) {
+            this.uasClass = uasClass;
+            this.minAglM = minAglM;
+            this.maxAglM = maxAglM;
+            this.kFoldAreaKm2 = kFoldAreaKm2;
+        }
+
+        public UasClass getUasClass()          { return uasClass; }
+        public double getMinAglM()             { return minAglM; }
+        public double getMaxAglM()             { return maxAglM; }
+        public double getThicknessKm()         { return (maxAglM - minAglM) / 1000.0; }
+
+        /** Area seen by exactly {@code k} sensors in km² (0 beyond the node count). */
+        public double getKFoldAreaKm2(int k) {
+            return k >= 0 && k < kFoldAreaKm2.length ? kFoldAreaKm2[k] : 0;
+        }
+
+        /** Area seen by at least {@code k} sensors in km². */
+        public double getAreaAtLeastKm2(int k) {
+            double sum = 0;
+            for (int i = Math.max(0, k); i < kFoldAreaKm2.length; i++) sum += kFoldAreaKm2[i];
+            return sum;
+        }
+
+        public int getMaxFold()                { return kFoldAreaKm2.length - 1; }
+        public double getRegionAreaKm2()       { return getAreaAtLeastKm2(0); }
+        public double getUnionAreaKm2()        { return getAreaAtLeastKm2(1); }
+        public double getOverlapAreaKm2()      { return getAreaAtLeastKm2(2); }
+        public double getGapAreaKm2()          { return getKFoldAreaKm2(0); }
+        public double getUnionVolumeKm3()      { return getUnionAreaKm2() * getThicknessKm(); }
+        public double getOverlapVolumeKm3()    { return getOverlapAreaKm2() * getThicknessKm(); }
+        public double getGapVolumeKm3()        { return getGapAreaKm2() * getThicknessKm(); }
+
+        /** Covered fraction of the analysis region (0–1). */
+        public double getCoverageFraction() {
+            double region = getRegionAreaKm2();
+            return region > 0 ? getUnionAreaKm2() / region : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%s %.0f–%.0f m: union=%.2f km² overlap=%.2f km² gap=%.2f km²",
+                    uasClass, minAglM, maxAglM, getUnionAreaKm2(), getOverlapAreaKm2(), getGapAreaKm2());
+        }
+    }
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public CoverageReport() {}
+
+    public CoverageReport(int nodeCount, double cellSizeM, double pdThreshold,
+                          String weather, boolean terrainApplied) {
+        this.nodeCount = nodeCount;
+        this.cellSizeM = cellSizeM;
+        this.pdThreshold = pdThreshold;
+        this.weather = weather;
+        this.terrainApplied = terrainApplied;
+    }
+
+    // ── Per-class totals ────────────────────────────────────────────────
+
+    /** Layers of one UAS class, bottom-up. */
+    public List<LayerCoverage> getLayers(UasClass uasClass) {
+        List<LayerCoverage> result = new ArrayList<>();
+        for (LayerCoverage layer : layers) {
+            if (layer.getUasClass() == uasClass) result.add(layer);
+        }
+        return result;
+    }
+
+    /** Volume seen by at least one sensor, summed over all layers, in km³. */
+    public double getUnionVolumeKm3(UasClass uasClass) {
+        return getLayers(uasClass).stream().mapToDouble(LayerCoverage::getUnionVolumeKm3).sum();
+    }
+
+    /** Volume seen by at least two sensors in km³. */
+    public double getOverlapVolumeKm3(UasClass uasClass) {
+        return getLayers(uasClass).stream().mapToDouble(LayerCoverage::getOverlapVolumeKm3).sum();
+    }
+
+    /** Volume of the analysis region seen by no sensor in km³. */
+    public double getGapVolumeKm3(UasClass uasClass) {
+        return getLayers(uasClass).stream().mapToDouble(LayerCoverage::getGapVolumeKm3).sum();
+    }
+
+    /** UAS classes present in the report, in order. */
+    public List<UasClass> getUasClasses() {
+        List<UasClass> classes = new ArrayList<>();
+        for (LayerCoverage layer : layers) {
+            if (!classes.contains(layer.getUasClass())) classes.add(layer.getUasClass());
+        }
+        return classes;
+    }
+
+    // ── Accessors ───────────────────────────────────────────────────────
+
+    public int getNodeCount()                            { return nodeCount; }
+    public double getCellSizeM()                         { return cellSizeM; }
+    public double getPdThreshold()                       { return pdThreshold; }
+    public String getWeather()                           { return weather; }
+    public boolean isTerrainApplied()                    { return terrainApplied; }
+    public int getGridCols()                             { return gridCols; }
+    public int getGridRows()                             { return gridRows; }
+    public double getFootprintAreaKm2()                  { return footprintAreaKm2; }
+    public double getCoveredAreaKm2()                    { return coveredAreaKm2; }
+    public double getSectorAreaSumKm2()                  { return sectorAreaSumKm2; }
+    public long getElapsedMillis()                       { return elapsedMillis; }
+    public List<LayerCoverage> getLayers()               { return layers; }
+
+    public void setNodeCount(int nodeCount)                       { this.nodeCount = nodeCount; }
+    public void setCellSizeM(double cellSizeM)                    { this.cellSizeM = cellSizeM; }
+    public void setPdThreshold(double pdThreshold)                { this.pdThreshold = pdThreshold; }
+    public void setWeather(String weather)                        { this.weather = weather; }
+    public void setTerrainApplied(boolean terrainApplied)         { this.terrainApplied = terrainApplied; }
+    public void setGridCols(int gridCols)                         { this.gridCols = gridCols; }
+    public void setGridRows(int gridRows)                         { this.gridRows = gridRows; }
+    public void setFootprintAreaKm2(double footprintAreaKm2)      { this.footprintAreaKm2 = footprintAreaKm2; }
+    public void setCoveredAreaKm2(double coveredAreaKm2)          { this.coveredAreaKm2 = coveredAreaKm2; }
+    public void setSectorAreaSumKm2(double sectorAreaSumKm2)      { this.sectorAreaSumKm2 = sectorAreaSumKm2; }
+    public void setElapsedMillis(long elapsedMillis)              { this.elapsedMillis = elapsedMillis; }
+    public void setLayers(List<LayerCoverage> layers)             { this.layers = layers; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "CoverageReport[nodes=%d cell=%.0fm grid=%dx%d footprint=%.2f km² covered=%.2f km²%s layers=%d]",
+                nodeCount, cellSizeM, gridCols, gridRows, footprintAreaKm2, coveredAreaKm2,
+                terrainApplied ? " terrain" : "", layers.size());
+    }
+}
@@ -18,6 +18,9 @@ public class DetectionResult {
     /** Whether detection was successful */
     private boolean detected;
 
+    /** Whether this is a false alarm (no ground-truth target — FR15) */
+    private boolean falseAlarm;
+
     /** System-reported detection timestamp */
     private Instant detectionTime;
 
@@ -48,6 +51,12 @@ public class DetectionResult {
     /** The sensor/technology that produced this detection */
     private String sensorType;
 
+    /** Ground range from the detecting sensor to the target at detection, in metres */
+    private double detectionRangeM;
+
+    /** Time from scenario start to the first detecting scan, in seconds */
+    private double timeToFirstDetectionS;
+
     // ── Constructors ────────────────────────────────────────────────────
 
     public DetectionResult() {}
@@ -68,6 +77,7 @@ public class DetectionResult {
 
     public String getTargetUid()                { return targetUid; }
     public boolean isDetected()                 { return detected; }
+    public boolean isFalseAlarm()               { return falseAlarm; }
     public Instant getDetectionTime()           { return detectionTime; }
     public Instant getGroundTruthTime()         { return groundTruthTime; }
     public double getLatencySeconds()           { return latencySeconds; }
@@ -78,9 +88,12 @@ public class DetectionResult {
     public boolean isCorrectClassification()    { return correctClassification; }
     public double getSnrDb()                    { return snrDb; }
     public String getSensorType()               { return sensorType; }
+    public double getDetectionRangeM()          { return detectionRangeM; }
+    public double getTimeToFirstDetectionS()    { return timeToFirstDetectionS; }
 
     public void setTargetUid(String targetUid)                       { this.targetUid = targetUid; }
     public void setDetected(boolean detected)                        { this.detected = detected; }
+    public void setFalseAlarm(boolean falseAlarm)                    { this.falseAlarm = falseAlarm; }
     public void setDetectionTime(Instant detectionTime)              { this.detectionTime = detectionTime; }
     public void setGroundTruthTime(Instant groundTruthTime)          { this.groundTruthTime = groundTruthTime; }
     public void setLatencySeconds(double latencySeconds)             { this.latencySeconds = latencySeconds; }
@@ -91,6 +104,8 @@ public class DetectionResult {
     public void setCorrectClassification(boolean correctClassification){ this.correctClassification = correctClassification; }
     public void setSnrDb(double snrDb)                                { this.snrDb = snrDb; }
     public void setSensorType(String sensorType)                      { this.sensorType = sensorType; }
+    public void setDetectionRangeM(double detectionRangeM)            { this.detectionRangeM = detectionRangeM; }
+    public void setTimeToFirstDetectionS(double t)                    { this.timeToFirstDetectionS = t; }
 
     /** Compute position error from reported and truth positions. */
     public void computePositionError() {
@@ -76,6 +76,11 @@ public class EvaluationResult {
     /** Individual identification results */
     private List<IdentificationResult> identificationResults = new ArrayList<>();
 
+    // ── Self-profile ────────────────────────────────────────────────────
+
+    /** Per-phase timing and allocation of the evaluation itself (null if not profiled) */
+    private PipelineProfile profile;
+
     // ── Constructors ────────────────────────────────────────────────────
 
     public EvaluationResult() {}
@@ -110,6 +115,7 @@ public class EvaluationResult {
     public List<DetectionResult> getDetectionResults()             { return detectionResults; }
     public List<TrackingResult> getTrackingResults()               { return trackingResults; }
     public List<IdentificationResult> getIdentificationResults()   { return identificationResults; }
+    public PipelineProfile getProfile()                            { return profile; }
 
     public void setScenarioId(String scenarioId)                                  { this.scenarioId = scenarioId; }
     public void setPassed(boolean passed)                                          { this.passed = passed; }
@@ -131,6 +137,7 @@ public class EvaluationResult {
     public void setDetectionResults(List<DetectionResult> detectionResults)                     { this.detectionResults = detectionResults; }
     public void setTrackingResults(List<TrackingResult> trackingResults)                        { this.trackingResults = trackingResults; }
     public void setIdentificationResults(List<IdentificationResult> identificationResults)     { this.identificationResults = identificationResults; }
+    public void setProfile(PipelineProfile profile)                                             { this.profile = profile; }
 
     /**
      * Compute compliance percentage — ratio of passed requirements to total.
@@ -0,0 +1,134 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pd-versus-false-alarm-rate ROC of the fusion strategies of a multi-DTI
+ * system on one scenario.
+ * <p>
+ * Each {@link RocPoint} is one detection fusion option (OR, k-of-n voting,
+ * AND, best sensor). Over several Monte Carlo replications Pd is pooled over
+ * all target trials with Wilson and Clopper-Pearson intervals, and the false
+ * alarm rate is summarised across replications. A single replication is the
+ * ROC of one system run.
+ * </p>
+ */
+public class FusionRocResult {
+
+    /** Scenario the system was evaluated on */
+    private String scenarioId;
+
+    /** Scenario display name */
+    private String scenarioName;
+
+    /** Number of DTI nodes fused */
+    private int nodeCount;
+
+    /** Ground-truth targets per replication */
+    private int targetCount;
+
+    /** Number of replications pooled */
+    private int replications;
+
+    /** Base seed of the replication streams */
+    private long baseSeed;
+
+    /** Confidence level of the Pd intervals (e.g. 0.95) */
+    private double confidenceLevel;
+
+    /** Wall-clock duration of the sweep in milliseconds */
+    private long elapsedMillis;
+
+    /** Operating points in sweep order */
+    private List<RocPoint> points = new ArrayList<>();
+
+    // ── Inner types ─────────────────────────────────────────────────────
+
+    /**
+     * One fusion option's operating point.
+     */
+    public static class RocPoint {
+        private final String label;
+        private final String strategy;
+        private final int k;
+        private final MonteCarloResult.ProportionEstimate detection;
+        private final MonteCarloResult.MetricSummary falseAlarmRate;
+
+        /**
+         * @param label          display label, e.g. {@code VOTING 2-of-5}
+         * @param strategy       fusion strategy name
+         * @param k              voting threshold (VOTING), otherwise 0
+         * @param detection      pooled Pd over all target trials
+         * @param falseAlarmRate false alarms per target across replications
+         */
+        public RocPoint(String label, String strategy, int k,
+                        MonteCarloResult.ProportionEstimate detection,
+                        MonteCarloResult.MetricSummary falseAlarmRate) {
+            this.label = label;
+            this.strategy = strategy;
+            this.k = k;
+            this.detection = detection;
+            this.falseAlarmRate = falseAlarmRate;
+        }
+
+        public String getLabel()                                   { return label; }
+        public String getStrategy()                                { return strategy; }
+        public int getK()                                          { return k; }
+        public MonteCarloResult.ProportionEstimate getDetection()  { return detection; }
+        public MonteCarloResult.MetricSummary getFalseAlarmRate()  { return falseAlarmRate; }
+        public double getPd()                                      { return detection.getEstimate(); }
+        public double getFar()                                     { return falseAlarmRate.getMean(); }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%s Pd=%.3f FAR=%.3f", label, getPd(), getFar());
+        }
+    }
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public FusionRocResult() {}
+
+    public FusionRocResult(String scenarioId, String scenarioName, int nodeCount, int targetCount,
+                           int replications, long baseSeed, double confidenceLevel) {
+        this.scenarioId = scenarioId;
+        this.scenarioName = scenarioName;
+        this.nodeCount = nodeCount;
+        this.targetCount = targetCount;
+        this.replications = replications;
+        this.baseSeed = baseSeed;
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    // ── Accessors ───────────────────────────────────────────────────────
+
+    public String getScenarioId()                        { return scenarioId; }
+    public String getScenarioName()                      { return scenarioName; }
+    public int getNodeCount()                            { return nodeCount; }
+    public int getTargetCount()                          { return targetCount; }
+    public int getReplications()                         { return replications; }
+    public long getBaseSeed()                            { return baseSeed; }
+    public double getConfidenceLevel()                   { return confidenceLevel; }
+    public long getElapsedMillis()                       { return elapsedMillis; }
+    public List<RocPoint> getPoints()                    { return points; }
+
+    public void setScenarioId(String scenarioId)                  { this.scenarioId = scenarioId; }
+    public void setScenarioName(String scenarioName)              { this.scenarioName = scenarioName; }
+    public void setNodeCount(int nodeCount)                       { this.nodeCount = nodeCount; }
+    public void setTargetCount(int targetCount)                   { this.targetCount = targetCount; }
+    public void setReplications(int replications)                 { this.replications = replications; }
+    public void setBaseSeed(long baseSeed)                        { this.baseSeed = baseSeed; }
+    public void setConfidenceLevel(double confidenceLevel)        { this.confidenceLevel = confidenceLevel; }
+    public void setElapsedMillis(long elapsedMillis)              { this.elapsedMillis = elapsedMillis; }
+    public void setPoints(List<RocPoint> points)                  { this.points = points; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ENGLISH,
+                "FusionRoc[%s] nodes=%d n=%d", scenarioId, nodeCount, replications));
+        for (RocPoint p : points) sb.append(" {").append(p).append('}');
+        return sb.append(']').toString();
+    }
+}
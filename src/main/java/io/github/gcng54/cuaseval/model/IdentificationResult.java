@@ -47,6 +47,9 @@ public class IdentificationResult {
     /** Identification latency in seconds */
     private double latencySeconds;
 
+    /** Ground truth position when the identification was declared */
+    private GeoPosition truthPosition;
+
     // ── Constructors ────────────────────────────────────────────────────
 
     public IdentificationResult() {}
@@ -70,6 +73,7 @@ public class IdentificationResult {
     public double getEstimatedSizeCm2()       { return estimatedSizeCm2; }
     public double getConfidence()             { return confidence; }
     public double getLatencySeconds()         { return latencySeconds; }
+    public GeoPosition getTruthPosition()     { return truthPosition; }
 
     public void setTargetUid(String targetUid)                         { this.targetUid = targetUid; }
     public void setIdentified(boolean identified)                       { this.identified = identified; }
@@ -83,6 +87,7 @@ public class IdentificationResult {
     public void setEstimatedSizeCm2(double estimatedSizeCm2)            { this.estimatedSizeCm2 = estimatedSizeCm2; }
     public void setConfidence(double confidence)                        { this.confidence = confidence; }
     public void setLatencySeconds(double latencySeconds)                { this.latencySeconds = latencySeconds; }
+    public void setTruthPosition(GeoPosition truthPosition)             { this.truthPosition = truthPosition; }
 
     @Override
     public String toString() {
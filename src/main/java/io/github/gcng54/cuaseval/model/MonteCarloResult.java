@@ -0,0 +1,182 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregated outcome of a Monte Carlo campaign: one {@link TestScenario}
+ * replicated N times with independent random streams.
+ * <p>
+ * Continuous metrics are summarised by mean / std-dev / min / max across
+ * replications. Binomial metrics (Pd, Pi, track continuity, pass verdicts)
+ * are pooled over all trials and reported with Wilson and Clopper-Pearson
+ * confidence intervals.
+ * </p>
+ */
+public class MonteCarloResult {
+
+    /** Scenario that was replicated */
+    private String scenarioId;
+
+    /** Number of replications executed */
+    private int replications;
+
+    /** Base seed of the replication streams */
+    private long baseSeed;
+
+    /** Confidence level of all intervals (e.g. 0.95) */
+    private double confidenceLevel;
+
+    /** Wall-clock duration of the campaign in milliseconds */
+    private long elapsedMillis;
+
+    // ── Per-replication metric summaries ────────────────────────────────
+
+    /** Summaries keyed by metric name (e.g. "Pd", "Overall Score") */
+    private Map<String, MetricSummary> metrics = new LinkedHashMap<>();
+
+    // ── Pooled binomial estimates ───────────────────────────────────────
+
+    /** Pooled Pd over all target detection trials — FR01 */
+    private ProportionEstimate detection;
+
+    /** Pooled Pi over all identification trials — FR06 */
+    private ProportionEstimate identification;
+
+    /** Pooled track continuity over all track trials — FR04 */
+    private ProportionEstimate trackContinuity;
+
+    /** Probability that a replication passes overall */
+    private ProportionEstimate passProbability;
+
+    /** Per-requirement pass probability, keyed by requirement ID */
+    private Map<String, ProportionEstimate> requirementPassProbability = new LinkedHashMap<>();
+
+    // ── Inner types ─────────────────────────────────────────────────────
+
+    /**
+     * Distribution summary of a continuous metric across replications.
+     */
+    public static class MetricSummary {
+        private final long count;
+        private final double mean;
+        private final double stdDev;
+        private final double min;
+        private final double max;
+
+        public MetricSummary(long count, double mean, double stdDev, double min, double max) {
+            this.count = count;
+            this.mean = mean;
+            this.stdDev = stdDev;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long getCount()     { return count; }
+        public double getMean()    { return mean; }
+        public double getStdDev()  { return stdDev; }
+        public double getMin()     { return min; }
+        public double getMax()     { return max; }
+
+        /** Standard error of the mean. */
+        public double getStdError() {
+            return count > 0 ? stdDev / Math.sqrt(count) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%.4f ± %.4f [%.4f, %.4f]",
+                    mean, stdDev, min, max);
+        }
+    }
+
+    /**
+     * Pooled binomial proportion with Wilson and Clopper-Pearson intervals.
+     */
+    public static class ProportionEstimate {
+        private final long successes;
+        private final long trials;
+        private final double wilsonLower;
+        private final double wilsonUpper;
+        private final double clopperPearsonLower;
+        private final double clopperPearsonUpper;
+
+        public ProportionEstimate(long successes, long trials,
+                                  double[] wilson, double[] clopperPearson) {
+            this.successes = successes;
+            this.trials = trials;
+            this.wilsonLower = wilson[0];
+            this.wilsonUpper = wilson[1];
+            this.clopperPearsonLower = clopperPearson[0];
+            this.clopperPearsonUpper = clopperPearson[1];
+        }
+
+        public long getSuccesses()              { return successes; }
+        public long getTrials()                 { return trials; }
+        public double getWilsonLower()          { return wilsonLower; }
+        public double getWilsonUpper()          { return wilsonUpper; }
+        public double getClopperPearsonLower()  { return clopperPearsonLower; }
+        public double getClopperPearsonUpper()  { return clopperPearsonUpper; }
+
+        /** Point estimate successes / trials. */
+        public double getEstimate() {
+            return trials > 0 ? (double) successes / trials : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%.4f (%d/%d) Wilson[%.4f, %.4f] CP[%.4f, %.4f]",
+                    getEstimate(), successes, trials,
+                    wilsonLower, wilsonUpper, clopperPearsonLower, clopperPearsonUpper);
+        }
+    }
+
+    // ── Constructors ────────────────────────────────────────────────────
+
+    public MonteCarloResult() {}
+
+    public MonteCarloResult(String scenarioId, int replications,
+                            long baseSeed, double confidenceLevel) {
+        this.scenarioId = scenarioId;
+        this.replications = replications;
+        this.baseSeed = baseSeed;
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    // ── Accessors ───────────────────────────────────────────────────────
+
+    public String getScenarioId()                        { return scenarioId; }
+    public int getReplications()                         { return replications; }
+    public long getBaseSeed()                            { return baseSeed; }
+    public double getConfidenceLevel()                   { return confidenceLevel; }
+    public long getElapsedMillis()                       { return elapsedMillis; }
+    public Map<String, MetricSummary> getMetrics()       { return metrics; }
+    public ProportionEstimate getDetection()             { return detection; }
+    public ProportionEstimate getIdentification()        { return identification; }
+    public ProportionEstimate getTrackContinuity()       { return trackContinuity; }
+    public ProportionEstimate getPassProbability()       { return passProbability; }
+    public Map<String, ProportionEstimate> getRequirementPassProbability() { return requirementPassProbability; }
+
+    public void setScenarioId(String scenarioId)                       { this.scenarioId = scenarioId; }
+    public void setReplications(int replications)                      { this.replications = replications; }
+    public void setBaseSeed(long baseSeed)                             { this.baseSeed = baseSeed; }
+    public void setConfidenceLevel(double confidenceLevel)             { this.confidenceLevel = confidenceLevel; }
+    public void setElapsedMillis(long elapsedMillis)                   { this.elapsedMillis = elapsedMillis; }
+    public void setMetrics(Map<String, MetricSummary> metrics)         { this.metrics = metrics; }
+    public void setDetection(ProportionEstimate detection)             { this.detection = detection; }
+    public void setIdentification(ProportionEstimate identification)   { this.identification = identification; }
+    public void setTrackContinuity(ProportionEstimate trackContinuity) { this.trackContinuity = trackContinuity; }
+    public void setPassProbability(ProportionEstimate passProbability) { this.passProbability = passProbability; }
+    public void setRequirementPassProbability(Map<String, ProportionEstimate> m) { this.requirementPassProbability = m; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "MonteCarlo[%s] n=%d Pd=%.3f Pi=%.3f cont=%.3f P(pass)=%.3f",
+                scenarioId, replications,
+                detection != null ? detection.getEstimate() : 0,
+                identification != null ? identification.getEstimate() : 0,
+                trackContinuity != null ? trackContinuity.getEstimate() : 0,
+                passProbability != null ? passProbability.getEstimate() : 0);
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Self-profile of one evaluation: where the time went inside the DTI pipeline.
+ * <p>
+ * For each {@link Phase} the profile holds wall time, CPU time and allocated
+ * bytes of the measuring thread, plus a histogram of per-target latencies.
+ * CPU time and allocation are read from the JVM's {@link ThreadMXBean}; they
+ * are reported as unavailable ({@code -1}) when the JVM cannot measure them,
+ * e.g. for work done on virtual threads.
+ * </p>
+ * <p>
+ * In the per-target pipeline mode the phase totals are summed over all worker
+ * threads and can exceed the elapsed time of the run
+ * ({@link #getElapsedNanos()}).
+ * </p>
+ */
+public class PipelineProfile {
+
+    /**
+     * Profiled evaluation phases.
+     */
+    public enum Phase {
+        DETECTION("Detection"),
+        TRACKING("Tracking"),
+        IDENTIFICATION("Identification"),
+        AGGREGATION("Aggregation / Fusion"),
+        CRITERIA("Criteria");
+
+        private final String displayName;
+
+        Phase(String displayName) { this.displayName = displayName; }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+            THREADS instanceof com.sun.management.ThreadMXBean t ? t : null;
+
+    /** Stats per phase, in phase order */
+    private final Map<Phase, PhaseStats> phases = new EnumMap<>(Phase.class);
+
+    /** Wall-clock duration of the whole evaluation in nanoseconds */
+    private long elapsedNanos;
+
+    public PipelineProfile() {
+        for (Phase p : Phase.values()) phases.put(p, new PhaseStats());
+    }
+
+    // ── Accessors ───────────────────────────────────────────────────────
+
+    public PhaseStats get(Phase phase)               { return phases.get(phase); }
+    public long getElapsedNanos()                    { return elapsedNanos; }
+    public double getElapsedMillis()                 { return elapsedNanos / 1e6; }
+    public void setElapsedNanos(long elapsedNanos)   { this.elapsedNanos = elapsedNanos; }
+    public void addElapsedNanos(long nanos)          { this.elapsedNanos += nanos; }
+
+    /** Sum of the CPU time of all phases, or -1 if any phase is unavailable. */
+    public long getTotalCpuNanos() {
+        long sum = 0;
+        for (PhaseStats s : phases.values()) {
+            if (s.count == 0) continue;
+            if (s.cpuNanos < 0) return -1;
+            sum += s.cpuNanos;
+        }
+        return sum;
+    }
+
+    /** Sum of the allocated bytes of all phases, or -1 if any phase is unavailable. */
+    public long getTotalAllocatedBytes() {
+        long sum = 0;
+        for (PhaseStats s : phases.values()) {
+            if (s.count == 0) continue;
+            if (s.allocatedBytes < 0) return -1;
+            sum += s.allocatedBytes;
+        }
+        return sum;
+    }
+
+    // ── Recording ───────────────────────────────────────────────────────
+
+    /**
+     * Add the wall time, CPU time and allocation of the current thread since
+     * {@code start} to a phase.
+     */
+    public void record(Phase phase, Probe start) {
+        Probe end = Probe.now();
+        phases.get(phase).add(end.wallNanos - start.wallNanos,
+                delta(start.cpuNanos, end.cpuNanos),
+                delta(start.allocatedBytes, end.allocatedBytes));
+    }
+
+    /**
+     * Add work measured elsewhere (e.g. on a worker thread) to a phase.
+     * Negative CPU / allocation values mark the measurement as unavailable.
+     */
+    public void add(Phase phase, long wallNanos, long cpuNanos, long allocatedBytes) {
+        phases.get(phase).add(wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    /** Record the latency of one target in a phase's histogram. */
+    public void recordTarget(Phase phase, long nanos) {
+        phases.get(phase).perTarget.record(nanos);
+    }
+
+    /**
+     * Fold another profile into this one (e.g. the nodes of a multi-DTI run).
+     * Elapsed times are added.
+     */
+    public void merge(PipelineProfile other) {
+        for (Phase p : Phase.values()) phases.get(p).merge(other.phases.get(p));
+        elapsedNanos += other.elapsedNanos;
+    }
+
+    private static long delta(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    // ── Inner types ─────────────────────────────────────────────────────
+
+    /**
+     * Snapshot of the current thread's clocks, taken at the start of a phase.
+     */
+    public static final class Probe {
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        private Probe(long wallNanos, long cpuNanos, long allocatedBytes) {
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /** Read wall clock, thread CPU time and thread allocation counter. */
+        public static Probe now() {
+            return new Probe(System.nanoTime(), threadCpuNanos(), threadAllocatedBytes());
+        }
+    }
+
+    /**
+     * Current thread's CPU time in nanoseconds, or -1 if unavailable.
+     */
+    public static long threadCpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if unavailable.
+     * Cheap enough to call per target (unlike {@link #threadCpuNanos()}).
+     */
+    public static long threadAllocatedBytes() {
+        return HOTSPOT_THREADS != null ? HOTSPOT_THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Totals of one phase.
+     */
+    public static class PhaseStats {
+        private long count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private final LatencyHistogram perTarget = new LatencyHistogram();
+
+        void add(long wall, long cpu, long alloc) {
+            count++;
+            wallNanos += wall;
+            cpuNanos = cpuNanos < 0 || cpu < 0 ? -1 : cpuNanos + cpu;
+            allocatedBytes = allocatedBytes < 0 || alloc < 0 ? -1 : allocatedBytes + alloc;
+        }
+
+        void merge(PhaseStats o) {
+            if (o.count == 0 && o.perTarget.getCount() == 0) return;
+            if (count == 0) {
+                cpuNanos = o.cpuNanos;
+                allocatedBytes = o.allocatedBytes;
+            } else {
+                cpuNanos = cpuNanos < 0 || o.cpuNanos < 0 ? -1 : cpuNanos + o.cpuNanos;
+                allocatedBytes = allocatedBytes < 0 || o.allocatedBytes < 0 ? -1 : allocatedBytes + o.allocatedBytes;
+            }
+            count += o.count;
+            wallNanos += o.wallNanos;
+            perTarget.merge(o.perTarget);
+        }
+
+        /** Number of measurements added (0 = phase did not run). */
+        public long getCount()                   { return count; }
+        public long getWallNanos()               { return wallNanos; }
+        /** CPU time in nanoseconds, or -1 if unavailable. */
+        public long getCpuNanos()                { return cpuNanos; }
+        /** Allocated bytes, or -1 if unavailable. */
+        public long getAllocatedBytes()          { return allocatedBytes; }
+        public LatencyHistogram getPerTarget()   { return perTarget; }
+        public double getWallMillis()            { return wallNanos / 1e6; }
+        public double getCpuMillis()             { return cpuNanos < 0 ? -1 : cpuNanos / 1e6; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "wall=%.2fms cpu=%.2fms alloc=%d B targets=%d",
+                    getWallMillis(), getCpuMillis(), allocatedBytes, perTarget.getCount());
+        }
+    }
+
+    /**
+     * Log-linear latency histogram (nanoseconds) with 8 sub-buckets per power
+     * of two, i.e. percentiles within 12.5 % of the true value. Values below
+     * 16 ns are exact.
+     */
+    public static class LatencyHistogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+        /** Allocated on first use: most phases of a run record no targets */
+        private long[] counts;
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        public void record(long nanos) {
+            long v = Math.max(0, nanos);
+            if (counts == null) counts = new long[BUCKETS];
+            counts[index(v)]++;
+            count++;
+            sum += v;
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+
+        public void merge(LatencyHistogram o) {
+            if (o.count == 0) return;
+            if (counts == null) counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) counts[i] += o.counts[i];
+            count += o.count;
+            sum += o.sum;
+            min = Math.min(min, o.min);
+            max = Math.max(max, o.max);
+        }
+
+        public long getCount()      { return count; }
+        public long getMin()        { return count > 0 ? min : 0; }
+        public long getMax()        { return max; }
+        public double getMean()     { return count > 0 ? (double) sum / count : 0; }
+
+        /**
+         * Latency at a percentile: the upper bound of the bucket holding that
+         * rank, capped at the maximum.
+         *
+         * @param percentile 0–100
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), max);
+            }
+            return max;
+        }
+
+        private static int index(long v) {
+            if (v < SUB) return (int) v;
+            int msb = 63 - Long.numberOfLeadingZeros(v);
+            int shift = msb - SUB_BITS;
+            return (shift + 1) * SUB + (int) ((v >>> shift) & (SUB - 1));
+        }
+
+        private static long upperBound(int index) {
+            int bucket = index / SUB;
+            int sub = index % SUB;
+            if (bucket == 0) return sub;
+            long lower = (long) (SUB + sub) << (bucket - 1);
+            return lower + (1L << (bucket - 1)) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "n=%d p50=%dns p95=%dns p99=%dns max=%dns",
+                    count, getPercentile(50), getPercentile(95), getPercentile(99), max);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ENGLISH,
+                "Profile[elapsed=%.2fms", getElapsedMillis()));
+        for (Map.Entry<Phase, PhaseStats> e : phases.entrySet()) {
+            if (e.getValue().getCount() == 0) continue;
+            sb.append(' ').append(e.getKey()).append("={").append(e.getValue()).append('}');
+        }
+        return sb.append(']').toString();
+    }
+}
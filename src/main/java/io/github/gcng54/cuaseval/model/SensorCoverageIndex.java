@@ -0,0 +1,276 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid spatial index of the coverage of a scenario's sensor sites.
+ * <p>
+ * Every sensor covers a disc of its maximum range, optionally restricted to
+ * an azimuth sector ({@link CuasSensor#getAzimuthStartDeg()},
+ * {@link TestEnvironment.SensorSite#getAzimuthCoverageDeg()}). The bounding
+ * box of each disc is rasterised once into a lat/lon grid whose cell size
+ * follows the median sensor range, and each cell stores the (ascending)
+ * indices of the sensors that may reach into it. A position query then
+ * inspects only the sensors registered in one cell, so the cost of a look
+ * depends on the local sensor density instead of the size of the layout.
+ * </p>
+ * <p>
+ * The index is conservative on range: {@link #covers} tests a slightly
+ * enlarged disc with a local equirectangular approximation and leaves the
+ * exact range gate to the Pd models. The azimuth sector is exact: a sensor
+ * never sees a position outside its sector. Coverage of 360° (or unset, ≤ 0)
+ * means omnidirectional.
+ * </p>
+ * <p>
+ * Immutable and safe to share between threads.
+ * </p>
+ */
+public final class SensorCoverageIndex {
+
+    /** Metres per degree of latitude on the spherical earth used by {@link GeoPosition#distanceTo} */
+    private static final double M_PER_DEG = 6_371_000.0 * Math.PI / 180.0;
+
+    /** Disc enlargement covering the error of the equirectangular approximation */
+    private static final double RANGE_MARGIN = 1.01;
+
+    /** Smallest grid cell edge in metres */
+    private static final double MIN_CELL_M = 500;
+
+    /** Upper bound of grid cells along each axis */
+    private static final int MAX_CELLS_PER_AXIS = 512;
+
+    private final int sensorCount;
+
+    // Per sensor
+    private final double[] lat;
+    private final double[] lon;
+    private final double[] kx;             // metres per degree longitude at the sensor
+    private final double[] range2;         // squared (enlarged) coverage radius
+    private final double[] azStart;        // sector start, degrees clockwise from north
+    private final double[] azCoverage;     // sector width in degrees (≥ 360 = full circle)
+
+    // Grid: row-major cells, sensors of cell c in cellSensors[cellStart[c] .. cellStart[c + 1])
+    private final double minLat;
+    private final double minLon;
+    private final double cellLat;
+    private final double cellLon;
+    private final int nx;
+    private final int ny;
+    private final int[] cellStart;
+    private final int[] cellSensors;
+
+    // ── Construction ────────────────────────────────────────────────────
+
+    private SensorCoverageIndex(int sensorCount, double[] lat, double[] lon, double[] kx,
+                                double[] range2, double[] azStart, double[] azCoverage,
+                                double minLat, double minLon, double cellLat, double cellLon,
+                                int nx, int ny, int[] cellStart, int[] cellSensors) {
+        this.sensorCount = sensorCount;
+        this.lat = lat;
+        this.lon = lon;
+        this.kx = kx;
+        this.range2 = range2;
+        this.azStart = azStart;
+        this.azCoverage = azCoverage;
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.cellLat = cellLat;
+        this.cellLon = cellLon;
+        this.nx = nx;
+        this.ny = ny;
+        this.cellStart = cellStart;
+        this.cellSensors = cellSensors;
+    }
+
+    /**
+     * Index the coverage of a set of sensor sites. Runs in
+     * O(sensors + registered cells).
+     */
+    static SensorCoverageIndex build(TestEnvironment.SensorSite[] sites) {
+        int n = sites.length;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        double[] kx = new double[n];
+        double[] range = new double[n];
+        double[] range2 = new double[n];
+        double[] azStart = new double[n];
+        double[] azCoverage = new double[n];
+
+        // Disc bounding boxes in degrees
+        double[] dLat = new double[n];
+        double[] dLon = new double[n];
+        double south = Double.POSITIVE_INFINITY, north = Double.NEGATIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY, east = Double.NEGATIVE_INFINITY;
+        int indexed = 0;
+
+        for (int s = 0; s < n; s++) {
+            TestEnvironment.SensorSite site = sites[s];
+            CuasSensor tmpl = site.getSensorTemplate();
+            lat[s] = site.getPosition().getLatitude();
+            lon[s] = site.getPosition().getLongitude();
+            kx[s] = M_PER_DEG * Math.cos(Math.toRadians(lat[s]));
+            double maxRange = tmpl != null ? tmpl.getMaxRangeM() : site.getMaxRangeM();
+            range[s] = maxRange > 0 ? maxRange * RANGE_MARGIN : 0;
+            range2[s] = range[s] * range[s];
+            azStart[s] = tmpl != null ? tmpl.getAzimuthStartDeg() : 0;
+            double cov = site.getAzimuthCoverageDeg();
+            azCoverage[s] = cov > 0 && cov < 360 ? cov : 360;
+
+            if (range[s] <= 0) continue;
+            dLat[s] = range[s] / M_PER_DEG;
+            double edgeLat = Math.min(89.9, Math.abs(lat[s]) + dLat[s]);
+            dLon[s] = Math.min(180, range[s] / (M_PER_DEG * Math.cos(Math.toRadians(edgeLat))));
+            south = Math.min(south, lat[s] - dLat[s]);
+            north = Math.max(north, lat[s] + dLat[s]);
+            west = Math.min(west, lon[s] - dLon[s]);
+            east = Math.max(east, lon[s] + dLon[s]);
+            indexed++;
+        }
+
+        if (indexed == 0) {
+            return new SensorCoverageIndex(n, lat, lon, kx, range2, azStart, azCoverage,
+                    0, 0, 1, 1, 0, 0, new int[1], new int[0]);
+        }
+
+        // Cell edge ≈ median coverage radius, bounded by the grid size limit
+        double[] ranges = Arrays.stream(range).filter(r -> r > 0).sorted().toArray();
+        double cellM = Math.max(MIN_CELL_M, ranges[ranges.length / 2]);
+        double midLat = Math.min(89.9, Math.abs((south + north) / 2));
+        double cellLat = cellM / M_PER_DEG;
+        double cellLon = cellM / (M_PER_DEG * Math.cos(Math.toRadians(midLat)));
+        int ny = (int) Math.min(MAX_CELLS_PER_AXIS, Math.floor((north - south) / cellLat) + 1);
+        int nx = (int) Math.min(MAX_CELLS_PER_AXIS, Math.floor((east - west) / cellLon) + 1);
+        cellLat = Math.max(cellLat, (north - south) / ny);
+        cellLon = Math.max(cellLon, (east - west) / nx);
+
+        // Disc box of each sensor in cells
+        int[] y0 = new int[n], y1 = new int[n], x0 = new int[n], x1 = new int[n];
+        int[] cellStart = new int[nx * ny + 1];
+        for (int s = 0; s < n; s++) {
+            if (range[s] <= 0) continue;
+            y0[s] = clamp((int) ((lat[s] - dLat[s] - south) / cellLat), ny);
+            y1[s] = clamp((int) ((lat[s] + dLat[s] - south) / cellLat), ny);
+            x0[s] = clamp((int) ((lon[s] - dLon[s] - west) / cellLon), nx);
+            x1[s] = clamp((int) ((lon[s] + dLon[s] - west) / cellLon), nx);
+            for (int y = y0[s]; y <= y1[s]; y++) {
+                for (int x = x0[s]; x <= x1[s]; x++) cellStart[y * nx + x + 1]++;
+            }
+        }
+        for (int c = 0; c < nx * ny; c++) cellStart[c + 1] += cellStart[c];
+
+        // Fill in sensor order, so every cell list is ascending
+        int[] fill = Arrays.copyOf(cellStart, nx * ny);
+        int[] cellSensors = new int[cellStart[nx * ny]];
+        for (int s = 0; s < n; s++) {
+            if (range[s] <= 0) continue;
+            for (int y = y0[s]; y <= y1[s]; y++) {
+                for (int x = x0[s]; x <= x1[s]; x++) cellSensors[fill[y * nx + x]++] = s;
+            }
+        }
+
+        return new SensorCoverageIndex(n, lat, lon, kx, range2, azStart, azCoverage,
+                south, west, cellLat, cellLon, nx, ny, cellStart, cellSensors);
+    }
+
+    private static int clamp(int i, int size) {
+        return i < 0 ? 0 : Math.min(i, size - 1);
+    }
+
+    // ── Cell queries ────────────────────────────────────────────────────
+
+    public int getSensorCount()              { return sensorCount; }
+
+    /**
+     * Grid cell containing a position, or -1 when no sensor reaches it.
+     */
+    public int cellOf(double latitude, double longitude) {
+        if (nx == 0) return -1;
+        double fy = (latitude - minLat) / cellLat;
+        double fx = (longitude - minLon) / cellLon;
+        if (fy < 0 || fx < 0 || fy >= ny || fx >= nx) return -1;
+        return (int) fy * nx + (int) fx;
+    }
+
+    /** First slot of a cell's sensor list (see {@link #cellSensor(int)}). */
+    public int cellStart(int cell)           { return cell < 0 ? 0 : cellStart[cell]; }
+
+    /** End (exclusive) of a cell's sensor list. */
+    public int cellEnd(int cell)             { return cell < 0 ? 0 : cellStart[cell + 1]; }
+
+    /** Sensor index stored in a slot of the cell lists, ascending within a cell. */
+    public int cellSensor(int slot)          { return cellSensors[slot]; }
+
+    /**
+     * Sensors whose coverage may intersect a lat/lon box (e.g. the bounding
+     * box of a trajectory), ignoring azimuth sectors.
+     *
+     * @param out  receives the sensor indices in ascending order; length ≥ sensor count
+     * @param seen scratch flags of length ≥ sensor count, all false; left all false
+     * @return number of sensors written to {@code out}
+     */
+    public int sensorsInBox(double south, double west, double north, double east,
+                            int[] out, boolean[] seen) {
+        if (nx == 0 || north < minLat || east < minLon
+                || south >= minLat + ny * cellLat || west >= minLon + nx * cellLon) {
+            return 0;
+        }
+        int y0 = clamp((int) ((south - minLat) / cellLat), ny);
+        int y1 = clamp((int) ((north - minLat) / cellLat), ny);
+        int x0 = clamp((int) ((west - minLon) / cellLon), nx);
+        int x1 = clamp((int) ((east - minLon) / cellLon), nx);
+        int count = 0;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                int c = y * nx + x;
+                for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                    int s = cellSensors[k];
+                    if (!seen[s]) {
+                        seen[s] = true;
+                        out[count++] = s;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) seen[out[i]] = false;
+        Arrays.sort(out, 0, count);
+        return count;
+    }
+
+    // ── Sensor geometry ─────────────────────────────────────────────────
+
+    /**
+     * Whether a position lies inside a sensor's (slightly enlarged) range
+     * disc and its azimuth sector.
+     */
+    public boolean covers(int sensor, double latitude, double longitude) {
+        double dy = (latitude - lat[sensor]) * M_PER_DEG;
+        double dx = (longitude - lon[sensor]) * kx[sensor];
+        return dx * dx + dy * dy <= range2[sensor] && sectorContains(sensor, dx, dy);
+    }
+
+    /**
+     * Whether a position lies inside a sensor's azimuth sector (range ignored).
+     */
+    public boolean inSector(int sensor, double latitude, double longitude) {
+        if (azCoverage[sensor] >= 360) return true;
+        return sectorContains(sensor, (longitude - lon[sensor]) * kx[sensor],
+                (latitude - lat[sensor]) * M_PER_DEG);
+    }
+
+    /** True when a sensor has a restricted azimuth sector. */
+    public boolean isSectored(int sensor)    { return azCoverage[sensor] < 360; }
+
+    /** Sector test on local east/north offsets in metres. */
+    private boolean sectorContains(int sensor, double dx, double dy) {
+        if (azCoverage[sensor] >= 360 || (dx == 0 && dy == 0)) return true;
+        double offset = (Math.toDegrees(Math.atan2(dx, dy)) - azStart[sensor]) % 360;
+        if (offset < 0) offset += 360;
+        return offset <= azCoverage[sensor];
+    }
+
+    @Override
+    public String toString() {
+        return "SensorCoverageIndex[sensors=" + sensorCount + " grid=" + nx + "x" + ny
+                + " entries=" + cellSensors.length + "]";
+    }
+}
@@ -44,6 +44,10 @@ public class TrackingResult {
     /** Track update rate in Hz (TP_D16) */
     private double updateRateHz;
 
+    /** Running error sum and count behind the mean, kept by {@link #addTrackPoint} */
+    private double errorSum;
+    private int errorCount;
+
     // ── Inner class ─────────────────────────────────────────────────────
 
     /**
@@ -116,15 +120,30 @@ public class TrackingResult {
     public void setUidPreserved(boolean uidPreserved)                   { this.uidPreserved = uidPreserved; }
     public void setTrackDurationSeconds(double trackDurationSeconds)    { this.trackDurationSeconds = trackDurationSeconds; }
     public void setTrackDropCount(int trackDropCount)                   { this.trackDropCount = trackDropCount; }
-    public void setTrackPoints(List<TrackPoint> trackPoints)            { this.trackPoints = trackPoints; }
     public void setMeanPositionErrorMetres(double meanPositionErrorMetres){ this.meanPositionErrorMetres = meanPositionErrorMetres; }
     public void setMaxPositionErrorMetres(double maxPositionErrorMetres)  { this.maxPositionErrorMetres = maxPositionErrorMetres; }
     public void setUpdateRateHz(double updateRateHz)                      { this.updateRateHz = updateRateHz; }
 
-    /** Add a single track point and recompute error statistics. */
+    /** Replace the track points and recompute the error statistics from them. */
+    public void setTrackPoints(List<TrackPoint> trackPoints) {
+        this.trackPoints = trackPoints;
+        recomputeErrors();
+    }
+
+    /**
+     * Add a single track point and update the error statistics in O(1).
+     * After modifying {@link #getTrackPoints()} directly, call
+     * {@link #recomputeErrors()}.
+     */
     public void addTrackPoint(TrackPoint point) {
         trackPoints.add(point);
-        recomputeErrors();
+        double err = point.positionError();
+        if (!Double.isNaN(err)) {
+            errorSum += err;
+            errorCount++;
+            if (err > maxPositionErrorMetres) maxPositionErrorMetres = err;
+            meanPositionErrorMetres = errorSum / errorCount;
+        }
     }
 
     /** Recompute mean and max position errors from track points. */
@@ -140,6 +159,8 @@ public class TrackingResult {
                 count++;
             }
         }
+        this.errorSum = sumErr;
+        this.errorCount = count;
         this.meanPositionErrorMetres = count > 0 ? sumErr / count : 0;
         this.maxPositionErrorMetres = maxErr;
     }
@@ -0,0 +1,232 @@
+package io.github.gcng54.cuaseval.model;
+
+import java.util.Arrays;
+
+/**
+ * Ground-truth trajectory engine for all targets of a {@link CompiledScenario}.
+ * <p>
+ * Every target's {@link TestScenario.FlightPlan} is compiled into primitive
+ * time / latitude / longitude / altitude arrays, flattened across targets.
+ * Targets without a plan fly a straight line from their start position at
+ * their speed and heading. Positions are linearly interpolated between
+ * waypoints and hold at the first / last waypoint outside the plan's span.
+ * </p>
+ * <p>
+ * Queries do not allocate: random-access lookups use a binary search and write
+ * into a caller-supplied array, and a {@link Cursor} walks time-ordered
+ * queries in amortised O(1) per target. The oracle is immutable and can be
+ * shared by any number of threads; cursors are per-thread.
+ * </p>
+ */
+public final class TruthOracle {
+
+    /** Default scenario duration when none is set (matches the DTI subsystems) */
+    public static final double DEFAULT_DURATION_S = 60;
+
+    /** Target {@code t} owns samples {@code [start[t], start[t + 1])} */
+    private final int[] start;
+    private final double[] time;
+    private final double[] lat;
+    private final double[] lon;
+    private final double[] alt;
+
+    // ── Construction ────────────────────────────────────────────────────
+
+    private TruthOracle(int[] start, double[] time, double[] lat, double[] lon, double[] alt) {
+        this.start = start;
+        this.time = time;
+        this.lat = lat;
+        this.lon = lon;
+        this.alt = alt;
+    }
+
+    /**
+     * Compile the trajectories of all targets in a compiled scenario.
+     */
+    static TruthOracle build(CompiledScenario scenario) {
+        int n = scenario.getTargetCount();
+        double duration = scenario.getDurationSeconds() > 0
+                ? scenario.getDurationSeconds() : DEFAULT_DURATION_S;
+
+        int[] start = new int[n + 1];
+        int total = 0;
+        for (int t = 0; t < n; t++) {
+            start[t] = total;
+            TestScenario.FlightPlan plan = scenario.getFlightPlan(t);
+            total += plan != null && !plan.getWaypoints().isEmpty() ? plan.getWaypoints().size() : 2;
+        }
+        start[n] = total;
+
+        double[] time = new double[total];
+        double[] lat = new double[total];
+        double[] lon = new double[total];
+        double[] alt = new double[total];
+        for (int t = 0; t < n; t++) {
+            int i = start[t];
+            TestScenario.FlightPlan plan = scenario.getFlightPlan(t);
+            if (plan != null && !plan.getWaypoints().isEmpty()) {
+                for (TestScenario.Waypoint wp : plan.getWaypoints()) {
+                    time[i] = wp.getTimeOffsetSeconds();
+                    lat[i] = wp.getPosition().getLatitude();
+                    lon[i] = wp.getPosition().getLongitude();
+                    alt[i] = wp.getPosition().getAltitudeMsl();
+                    i++;
+                }
+            } else {
+                // No plan: constant speed and heading from the start position
+                UasTarget target = scenario.getTarget(t);
+                GeoPosition p = target.getPosition();
+                double distM = target.getSpeedMs() * duration;
+                double headingRad = Math.toRadians(target.getHeadingDeg());
+                time[i] = 0;
+                lat[i] = p.getLatitude();
+                lon[i] = p.getLongitude();
+                alt[i] = p.getAltitudeMsl();
+                time[i + 1] = duration;
+                lat[i + 1] = p.getLatitude() + distM * Math.cos(headingRad) / 111_320.0;
+                lon[i + 1] = p.getLongitude() + distM * Math.sin(headingRad)
+                        / (111_320.0 * Math.cos(Math.toRadians(p.getLatitude())));
+                alt[i + 1] = p.getAltitudeMsl();
+            }
+        }
+        return new TruthOracle(start, time, lat, lon, alt);
+    }
+
+    // ── Samples ─────────────────────────────────────────────────────────
+
+    public int getTargetCount()                         { return start.length - 1; }
+    public int getSampleCount(int target)               { return start[target + 1] - start[target]; }
+    public double getSampleTime(int target, int i)      { return time[start[target] + i]; }
+    public double getSampleLatitude(int target, int i)  { return lat[start[target] + i]; }
+    public double getSampleLongitude(int target, int i) { return lon[start[target] + i]; }
+    public double getSampleAltitude(int target, int i)  { return alt[start[target] + i]; }
+
+    /** Time of the first trajectory sample of a target, in seconds from scenario start. */
+    public double getStartTime(int target)              { return time[start[target]]; }
+
+    /** Time of the last trajectory sample of a target, in seconds from scenario start. */
+    public double getEndTime(int target)                { return time[start[target + 1] - 1]; }
+
+    // ── Random-access queries ───────────────────────────────────────────
+
+    /**
+     * Truth position of a target at a time offset, written into {@code out}
+     * as latitude, longitude, altitude MSL.
+     *
+     * @param target  target index
+     * @param timeS   seconds from scenario start
+     * @param out     destination array
+     * @param offset  index of the latitude slot in {@code out}
+     */
+    public void sample(int target, double timeS, double[] out, int offset) {
+        int c = locate(target, timeS);
+        interpolate(c, start[target + 1] - 1, timeS, out, offset);
+    }
+
+    /**
+     * Truth position of a target at a time offset (allocates; prefer
+     * {@link #sample} or a {@link Cursor} in hot loops).
+     */
+    public GeoPosition positionAt(int target, double timeS) {
+        double[] p = new double[3];
+        sample(target, timeS, p, 0);
+        return new GeoPosition(p[0], p[1], p[2]);
+    }
+
+    /**
+     * Absolute index of the segment start for {@code timeS}: the first sample
+     * {@code c} whose successor is not earlier than {@code timeS}, clamped to
+     * the target's samples.
+     */
+    private int locate(int target, double timeS) {
+        int lo = start[target];
+        int last = start[target + 1] - 1;
+        int hi = last;
+        // smallest c in [lo, last) with time[c + 1] >= timeS, else last
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (mid < last && time[mid + 1] < timeS) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void interpolate(int c, int last, double timeS, double[] out, int offset) {
+        if (c < last && timeS >= time[c]) {
+            double dt = time[c + 1] - time[c];
+            double frac = dt > 0 ? (timeS - time[c]) / dt : 0;
+            out[offset]     = lat[c] + frac * (lat[c + 1] - lat[c]);
+            out[offset + 1] = lon[c] + frac * (lon[c + 1] - lon[c]);
+            out[offset + 2] = alt[c] + frac * (alt[c + 1] - alt[c]);
+        } else if (c < last) {
+            // Before the first waypoint: hold the start position
+            out[offset]     = lat[c];
+            out[offset + 1] = lon[c];
+            out[offset + 2] = alt[c];
+        } else {
+            // Beyond the last waypoint: hold position
+            out[offset]     = lat[last];
+            out[offset + 1] = lon[last];
+            out[offset + 2] = alt[last];
+        }
+    }
+
+    // ── Sequential queries ──────────────────────────────────────────────
+
+    /** Create a cursor positioned at the start of every trajectory. */
+    public Cursor newCursor() {
+        return new Cursor(0, getTargetCount());
+    }
+
+    /**
+     * Create a cursor for a single target, costing O(1) instead of O(targets)
+     * to create. Advancing any other target fails.
+     */
+    public Cursor newCursor(int target) {
+        return new Cursor(target, target + 1);
+    }
+
+    /**
+     * Monotonic per-target cursor. Advancing a target forward in time costs
+     * amortised O(1); moving backwards falls back to a binary search.
+     * The last advanced position is read from {@link #latitude()},
+     * {@link #longitude()} and {@link #altitude()}.
+     */
+    public final class Cursor {
+        private final int first;
+        private final int[] segment;
+        private final double[] position = new double[3];
+
+        private Cursor(int first, int end) {
+            this.first = first;
+            segment = Arrays.copyOfRange(start, first, end);
+        }
+
+        /**
+         * Move a target's cursor to {@code timeS} and interpolate its position.
+         *
+         * @return this cursor, for chaining reads
+         */
+        public Cursor advance(int target, double timeS) {
+            int c = segment[target - first];
+            int last = start[target + 1] - 1;
+            if (c > start[target] && timeS <= time[c]) {
+                c = locate(target, timeS);
+            } else {
+                while (c < last && time[c + 1] < timeS) c++;
+            }
+            segment[target - first] = c;
+            interpolate(c, last, timeS, position, 0);
+            return this;
+        }
+
+        public double latitude()  { return position[0]; }
+        public double longitude() { return position[1]; }
+        public double altitude()  { return position[2]; }
+
+        /** Current position as a new GeoPosition (allocates). */
+        public GeoPosition toGeoPosition() {
+            return new GeoPosition(position[0], position[1], position[2]);
+        }
+    }
+}
@@ -5,17 +5,24 @@ package io.github.gcng54.cuaseval.model;
  */
 public enum UasClass {
     /** Open Category C0 — less than 250 g */
-    C0,
+    C0(0.001),
     /** Open Category C1 — less than 900 g */
-    C1,
+    C1(0.005),
     /** Open Category C2 — less than 4 kg */
-    C2,
+    C2(0.02),
     /** Open Category C3 — less than 25 kg */
-    C3,
+    C3(0.1),
     /** Open Category C4 — less than 25 kg (legacy) */
-    C4,
+    C4(0.12),
     /** Specific/Certified — heavier / special-purpose UAS */
-    SPECIFIC,
+    SPECIFIC(0.5),
     /** Unknown class */
-    UNKNOWN
+    UNKNOWN(0.01);
+
+    private final double typicalRcsSqm;
+
+    UasClass(double typicalRcsSqm) { this.typicalRcsSqm = typicalRcsSqm; }
+
+    /** Typical radar cross section in m² of a UAS of this class. */
+    public double getTypicalRcsSqm() { return typicalRcsSqm; }
 }
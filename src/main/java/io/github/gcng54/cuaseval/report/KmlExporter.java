@@ -140,19 +140,20 @@ public class KmlExporter {
         w.write("  <Folder>\n");
         w.write("    <name>Flight Paths (Ground Truth)</name>\n");
 
-        for (TestScenario.FlightPlan plan : scenario.getFlightPlans()) {
-            if (plan.getWaypoints().isEmpty()) continue;
-
+        // Ground truth from the compiled trajectories (includes targets without a plan)
+        CompiledScenario compiled = CompiledScenario.compile(scenario);
+        TruthOracle truth = compiled.getTruth();
+        for (int t = 0; t < compiled.getTargetCount(); t++) {
             w.write("    <Placemark>\n");
-            w.write("      <name>Path: " + escapeXml(plan.getTargetUid()) + "</name>\n");
+            w.write("      <name>Path: " + escapeXml(compiled.getTarget(t).getUid()) + "</name>\n");
             w.write("      <styleUrl>#flightpath</styleUrl>\n");
             w.write("      <LineString>\n");
             w.write("        <altitudeMode>absolute</altitudeMode>\n");
             w.write("        <coordinates>\n");
-            for (TestScenario.Waypoint wp : plan.getWaypoints()) {
-                GeoPosition p = wp.getPosition();
+            for (int i = 0; i < truth.getSampleCount(t); i++) {
                 w.write(String.format(Locale.ENGLISH, "          %.8f,%.8f,%.1f\n",
-                        p.getLongitude(), p.getLatitude(), p.getAltitudeMsl()));
+                        truth.getSampleLongitude(t, i), truth.getSampleLatitude(t, i),
+                        truth.getSampleAltitude(t, i)));
             }
             w.write("        </coordinates>\n");
             w.write("      </LineString>\n");
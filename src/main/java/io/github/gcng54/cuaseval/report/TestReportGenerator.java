@@ -10,6 +10,8 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -148,6 +150,11 @@ public class TestReportGenerator {
             }
             w.write("</table>\n</div>\n");
 
+            // Pipeline self-profile
+            if (result.getProfile() != null) {
+                writeProfileSection(w, result.getProfile());
+            }
+
             // Footer
             w.write("<div class=\"footer\">\n");
             w.write("<p>CUAS-Eval v1.0 | CWA 18150 COURAGEOUS | Generated by CUAS-Evaluator</p>\n");
@@ -186,15 +193,18 @@ public class TestReportGenerator {
             w.write("<div class=\"section\">\n");
             w.write("<h3>Suite Overview</h3>\n");
             w.write("<table>\n");
-            w.write("<tr><th>Scenario</th><th>Score</th><th>Pd</th><th>Continuity</th><th>Pi</th><th>Verdict</th></tr>\n");
+            w.write("<tr><th>Scenario</th><th>Score</th><th>Pd</th><th>Continuity</th><th>Pi</th><th>Verdict</th><th>Elapsed (ms)</th><th>Allocated (MB)</th></tr>\n");
             for (int i = 0; i < results.size(); i++) {
                 EvaluationResult r = results.get(i);
                 String sName = i < scenarios.size() ? scenarios.get(i).getName() : r.getScenarioId();
                 String cls = r.isPassed() ? "pass" : "fail";
-                w.write(String.format(Locale.ENGLISH, "<tr><td>%s</td><td>%.1f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td class=\"%s\">%s</td></tr>\n",
+                PipelineProfile p = r.getProfile();
+                w.write(String.format(Locale.ENGLISH, "<tr><td>%s</td><td>%.1f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td class=\"%s\">%s</td><td>%s</td><td>%s</td></tr>\n",
                         esc(sName), r.getOverallScore(), r.getProbabilityOfDetection(),
                         r.getTrackContinuity(), r.getProbabilityOfIdentification(),
-                        cls, r.isPassed() ? "PASS" : "FAIL"));
+                        cls, r.isPassed() ? "PASS" : "FAIL",
+                        p != null ? String.format(Locale.ENGLISH, "%.1f", p.getElapsedMillis()) : "—",
+                        p != null ? formatMegabytes(p.getTotalAllocatedBytes()) : "—"));
             }
             w.write("</table>\n</div>\n");
 
@@ -210,6 +220,203 @@ public class TestReportGenerator {
         }
     }
 
+    /**
+     * Generate a fusion strategy ROC report: per scenario a Pd-vs-FAR chart
+     * and table of every detection fusion option, single-run or pooled over
+     * Monte Carlo replications.
+     */
+    public void generateFusionRocReport(List<FusionRocResult> rocs, File outFile) {
+        try (Writer w = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(outFile), StandardCharsets.UTF_8))) {
+
+            w.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n");
+            w.write("<meta charset=\"UTF-8\">\n");
+            w.write("<title>CUAS-Eval Fusion ROC Report</title>\n");
+            writeCss(w);
+            w.write("</head>\n<body>\n");
+
+            w.write("<div class=\"header\">\n");
+            w.write("<h1>CUAS-Eval Fusion Strategy Report</h1>\n");
+            w.write("<h2>Multi-DTI detection fusion — Pd vs false alarm rate</h2>\n");
+            w.write("<p class=\"date\">Generated: " +
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) +
+                    "</p>\n");
+            w.write("</div>\n");
+
+            int section = 1;
+            for (FusionRocResult roc : rocs) {
+                w.write("<div class=\"section\">\n");
+                w.write(String.format(Locale.ENGLISH, "<h3>%d. %s</h3>\n", section++,
+                        esc(roc.getScenarioName() != null ? roc.getScenarioName() : roc.getScenarioId())));
+                w.write(String.format(Locale.ENGLISH,
+                        "<p class=\"note\">%d nodes, %d targets, %s, seed %d, %.1f s</p>\n",
+                        roc.getNodeCount(), roc.getTargetCount(),
+                        roc.getReplications() > 1 ? roc.getReplications() + " replications" : "single run",
+                        roc.getBaseSeed(), roc.getElapsedMillis() / 1000.0));
+                writeRocChart(w, roc);
+                int pct = (int) Math.round(roc.getConfidenceLevel() * 100);
+                w.write("<table>\n");
+                w.write("<tr><th>Fusion</th><th>Pd</th><th>Pd " + pct + "% CI (Wilson)</th>"
+                        + "<th>Detected / Trials</th><th>FAR</th><th>FAR Std Dev</th></tr>\n");
+                for (FusionRocResult.RocPoint p : roc.getPoints()) {
+                    MonteCarloResult.ProportionEstimate d = p.getDetection();
+                    w.write(String.format(Locale.ENGLISH,
+                            "<tr><td>%s</td><td>%.3f</td><td>[%.3f, %.3f]</td><td>%d / %d</td><td>%.4f</td><td>%.4f</td></tr>\n",
+                            esc(p.getLabel()), p.getPd(), d.getWilsonLower(), d.getWilsonUpper(),
+                            d.getSuccesses(), d.getTrials(), p.getFar(), p.getFalseAlarmRate().getStdDev()));
+                }
+                w.write("</table>\n</div>\n");
+            }
+
+            w.write("<div class=\"footer\">\n");
+            w.write("<p>CUAS-Eval v1.0 | CWA 18150 COURAGEOUS</p>\n");
+            w.write("</div>\n");
+            w.write("</body>\n</html>\n");
+
+            log.info("Fusion ROC report exported to: {}", outFile.getAbsolutePath());
+
+        } catch (IOException e) {
+            log.error("Failed to generate fusion ROC report: {}", e.getMessage(), e);
+        }
+    }
+
+    // ── Fusion ROC Chart ────────────────────────────────────────────────
+
+    /**
+     * Inline SVG scatter of the operating points (FAR on x, Pd on y) with
+     * Pd confidence bars, joined in order of increasing FAR.
+     */
+    private void writeRocChart(Writer w, FusionRocResult roc) throws IOException {
+        final int width = 560, height = 340, left = 50, right = 150, top = 15, bottom = 40;
+        int plotW = width - left - right, plotH = height - top - bottom;
+        double maxFar = 0;
+        for (FusionRocResult.RocPoint p : roc.getPoints()) maxFar = Math.max(maxFar, p.getFar());
+        double xMax = maxFar > 0 ? maxFar * 1.1 : 1.0;
+
+        w.write(String.format(Locale.ENGLISH,
+                "<svg width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\" font-size=\"10\">\n",
+                width, height, width, height));
+        w.write(String.format(Locale.ENGLISH,
+                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"#fafafa\" stroke=\"#999\"/>\n",
+                left, top, plotW, plotH));
+        for (int i = 0; i <= 4; i++) {
+            double frac = i / 4.0;
+            double y = top + plotH * (1 - frac);
+            double x = left + plotW * frac;
+            w.write(String.format(Locale.ENGLISH,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#e0e0e0\"/>"
+                            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%.2f</text>\n",
+                    left, y, left + plotW, y, left - 5, y + 3, frac));
+            w.write(String.format(Locale.ENGLISH,
+                    "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%.3f</text>\n",
+                    x, top + plotH + 14, frac * xMax));
+        }
+        w.write(String.format(Locale.ENGLISH,
+                "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">False alarm rate (per target)</text>\n",
+                left + plotW / 2, height - 5));
+        w.write(String.format(Locale.ENGLISH,
+                "<text x=\"12\" y=\"%d\" text-anchor=\"middle\" transform=\"rotate(-90 12 %d)\">Pd</text>\n",
+                top + plotH / 2, top + plotH / 2));
+
+        List<FusionRocResult.RocPoint> byFar = new ArrayList<>(roc.getPoints());
+        byFar.sort(Comparator.comparingDouble(FusionRocResult.RocPoint::getFar)
+                .thenComparingDouble(FusionRocResult.RocPoint::getPd));
+        StringBuilder path = new StringBuilder();
+        for (FusionRocResult.RocPoint p : byFar) {
+            path.append(String.format(Locale.ENGLISH, "%.1f,%.1f ",
+                    left + plotW * p.getFar() / xMax, top + plotH * (1 - p.getPd())));
+        }
+        w.write("<polyline points=\"" + path.toString().trim()
+                + "\" fill=\"none\" stroke=\"#9fa8da\" stroke-width=\"1.5\"/>\n");
+
+        for (FusionRocResult.RocPoint p : roc.getPoints()) {
+            String colour = rocColour(p.getStrategy());
+            double x = left + plotW * p.getFar() / xMax;
+            double y = top + plotH * (1 - p.getPd());
+            MonteCarloResult.ProportionEstimate d = p.getDetection();
+            w.write(String.format(Locale.ENGLISH,
+                    "<line x1=\"%.1f\" y1=\"%.1f\" x2=\"%.1f\" y2=\"%.1f\" stroke=\"%s\"/>"
+                            + "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"4\" fill=\"%s\"><title>%s: Pd=%.3f FAR=%.4f</title></circle>\n",
+                    x, top + plotH * (1 - d.getWilsonUpper()), x, top + plotH * (1 - d.getWilsonLower()), colour,
+                    x, y, colour, esc(p.getLabel()), p.getPd(), p.getFar()));
+            if (p.getK() > 0) {
+                w.write(String.format(Locale.ENGLISH, "<text x=\"%.1f\" y=\"%.1f\" fill=\"%s\">k=%d</text>\n",
+                        x + 6, y - 4, colour, p.getK()));
+            }
+        }
+
+        // Legend: one entry per strategy
+        String[][] legend = {
+                {"OR_LOGIC", "OR logic"}, {"VOTING", "k-of-" + roc.getNodeCount() + " voting"},
+                {"AND_LOGIC", "AND logic"}, {"BEST_SENSOR", "Best sensor"}};
+        for (int i = 0; i < legend.length; i++) {
+            int y = top + 12 + 16 * i;
+            w.write(String.format(Locale.ENGLISH,
+                    "<circle cx=\"%d\" cy=\"%d\" r=\"4\" fill=\"%s\"/><text x=\"%d\" y=\"%d\">%s</text>\n",
+                    left + plotW + 15, y - 3, rocColour(legend[i][0]), left + plotW + 24, y, legend[i][1]));
+        }
+        w.write("</svg>\n");
+    }
+
+    private static String rocColour(String strategy) {
+        return switch (strategy) {
+            case "OR_LOGIC" -> "#c62828";
+            case "VOTING" -> "#1a237e";
+            case "AND_LOGIC" -> "#2e7d32";
+            default -> "#ef6c00";
+        };
+    }
+
+    // ── Pipeline Profile ────────────────────────────────────────────────
+
+    /**
+     * Per-phase wall time, CPU time, allocation and per-target latency
+     * percentiles of the evaluation run.
+     */
+    private void writeProfileSection(Writer w, PipelineProfile profile) throws IOException {
+        w.write("<div class=\"section\">\n");
+        w.write("<h3>8. Pipeline Performance</h3>\n");
+        w.write("<table>\n");
+        w.write("<tr><th>Phase</th><th>Wall (ms)</th><th>CPU (ms)</th><th>Allocated (MB)</th>"
+                + "<th>Targets</th><th>p50 (µs)</th><th>p95 (µs)</th><th>p99 (µs)</th><th>Max (µs)</th></tr>\n");
+        for (PipelineProfile.Phase phase : PipelineProfile.Phase.values()) {
+            PipelineProfile.PhaseStats s = profile.get(phase);
+            if (s.getCount() == 0) continue;
+            PipelineProfile.LatencyHistogram h = s.getPerTarget();
+            String cpu = s.getCpuNanos() < 0 ? "n/a"
+                    : String.format(Locale.ENGLISH, "%.2f", s.getCpuMillis());
+            if (h.getCount() > 0) {
+                w.write(String.format(Locale.ENGLISH,
+                        "<tr><td>%s</td><td>%.2f</td><td>%s</td><td>%s</td><td>%d</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td></tr>\n",
+                        esc(phase.getDisplayName()), s.getWallMillis(), cpu,
+                        formatMegabytes(s.getAllocatedBytes()), h.getCount(),
+                        h.getPercentile(50) / 1e3, h.getPercentile(95) / 1e3,
+                        h.getPercentile(99) / 1e3, h.getMax() / 1e3));
+            } else {
+                w.write(String.format(Locale.ENGLISH,
+                        "<tr><td>%s</td><td>%.2f</td><td>%s</td><td>%s</td><td>—</td><td>—</td><td>—</td><td>—</td><td>—</td></tr>\n",
+                        esc(phase.getDisplayName()), s.getWallMillis(), cpu,
+                        formatMegabytes(s.getAllocatedBytes())));
+            }
+        }
+        long cpuTotal = profile.getTotalCpuNanos();
+        w.write(String.format(Locale.ENGLISH,
+                "<tr><td><strong>Total elapsed</strong></td><td><strong>%.2f</strong></td><td>%s</td><td>%s</td>"
+                        + "<td></td><td></td><td></td><td></td><td></td></tr>\n",
+                profile.getElapsedMillis(),
+                cpuTotal < 0 ? "n/a" : String.format(Locale.ENGLISH, "%.2f", cpuTotal / 1e6),
+                formatMegabytes(profile.getTotalAllocatedBytes())));
+        w.write("</table>\n");
+        w.write("<p class=\"note\">CPU time and allocation are measured on the evaluating thread; "
+                + "n/a where the JVM cannot measure them (e.g. virtual threads). "
+                + "Per-target latencies are wall-clock.</p>\n");
+        w.write("</div>\n");
+    }
+
+    private static String formatMegabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format(Locale.ENGLISH, "%.2f", bytes / (1024.0 * 1024.0));
+    }
+
     // ── CSS ─────────────────────────────────────────────────────────────
 
     private void writeCss(Writer w) throws IOException {
@@ -229,6 +436,7 @@ public class TestReportGenerator {
         w.write(".verdict { font-size: 2em; text-align: center; padding: 15px; border-radius: 8px; margin: 10px 0; }\n");
         w.write(".verdict.pass { background: #e8f5e9; color: #2e7d32; }\n");
         w.write(".verdict.fail { background: #ffebee; color: #c62828; }\n");
+        w.write(".note { color: #666; font-size: 0.85em; }\n");
         w.write(".footer { text-align: center; color: #666; margin-top: 30px; font-size: 0.9em; }\n");
         w.write("</style>\n");
     }
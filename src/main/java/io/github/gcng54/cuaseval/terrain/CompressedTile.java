@@ -0,0 +1,175 @@
+package io.github.gcng54.cuaseval.terrain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Tile stored as a compressed block of a v3 or v4 cache, decompressed on
+ * access.
+ * <p>
+ * Block encoding: the posts in column-major order are replaced by their
+ * 16-bit difference from the previous post, zigzag-mapped so that small
+ * steps of either sign become small unsigned values, written big-endian
+ * and Deflate-compressed. Neighbouring posts of real terrain differ by a
+ * few metres, so most high bytes are zero and the block typically shrinks
+ * to a fraction of the raw size.
+ * </p>
+ * <p>
+ * The compressed source is either a slice of a memory-mapped cache file
+ * or a heap copy, and is kept for the life of the tile. The first
+ * {@link #get} on any thread decompresses it once; afterwards the tile reads
+ * a heap array like {@link ElevationTile.HeapTile}. With a
+ * {@link DecodedTileBudget}, the decompressed posts are released again when
+ * the tile falls out of the budget and decompressed on its next access.
+ * </p>
+ */
+final class CompressedTile implements ElevationTile {
+
+    private static final Logger log = LoggerFactory.getLogger(CompressedTile.class);
+
+    private final int posts;
+    private final ByteBuffer block;
+    private final DecodedTileBudget budget;  // null: posts kept once decompressed
+    private volatile short[] data;           // null until accessed or after release
+    private volatile long lastUse;           // budget clock at the last access
+
+    CompressedTile(ByteBuffer block, int posts) {
+        this(block, posts, null);
+    }
+
+    CompressedTile(ByteBuffer block, int posts, DecodedTileBudget budget) {
+        this.block = block;
+        this.posts = posts;
+        this.budget = budget;
+    }
+
+    @Override public int getPosts() { return posts; }
+
+    @Override
+    public short get(int x, int y) {
+        return data()[x * posts + y];
+    }
+
+    /**
+     * Decompressed posts in column-major order, decompressing if needed. The
+     * array stays valid for the caller even if the tile releases it.
+     */
+    short[] data() {
+        short[] d = data;
+        if (d == null) return inflate();
+        if (budget != null) {
+            long now = budget.clock();
+            if (lastUse != now) lastUse = now;
+        }
+        return d;
+    }
+
+    private short[] inflate() {
+        short[] d;
+        synchronized (this) {
+            d = data;
+            if (d != null) return d;
+            d = decode(block, posts);
+            data = d;
+        }
+        if (budget != null) budget.decompressed(this);
+        return d;
+    }
+
+    // ── Budget ──────────────────────────────────────────────────────────
+
+    /** Heap bytes of the decompressed posts. */
+    long decodedBytes() {
+        return (long) posts * posts * Short.BYTES;
+    }
+
+    long lastUse() {
+        return lastUse;
+    }
+
+    void touch(long stamp) {
+        lastUse = stamp;
+    }
+
+    /** Drop the decompressed posts; the next access decompresses again. */
+    synchronized void release() {
+        data = null;
+    }
+
+    // ── Codec ───────────────────────────────────────────────────────────
+
+    /**
+     * Compress {@code posts × posts} elevations given as columns
+     * ({@code columns[x][y]}).
+     */
+    static byte[] encode(short[][] columns, int posts) {
+        ByteBuffer raw = ByteBuffer.allocate(posts * posts * Short.BYTES);
+        ShortBuffer out = raw.asShortBuffer();
+        short prev = 0;
+        for (int x = 0; x < posts; x++) {
+            short[] column = columns[x];
+            for (int y = 0; y < posts; y++) {
+                short delta = (short) (column[y] - prev);
+                out.put((short) ((delta << 1) ^ (delta >> 15)));
+                prev = column[y];
+            }
+        }
+
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.capacity() / 4);
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                compressed.write(chunk, 0, n);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress a block written by {@link #encode}. A corrupt block is
+     * logged and decoded as {@link DtedReader#NO_DATA}.
+     */
+    static short[] decode(ByteBuffer block, int posts) {
+        short[] result = new short[posts * posts];
+        ByteBuffer raw = ByteBuffer.allocate(result.length * Short.BYTES);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block.duplicate());
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("block truncated");
+                }
+            }
+            if (raw.hasRemaining()) throw new DataFormatException("block too short");
+        } catch (DataFormatException e) {
+            log.error("Corrupt compressed tile ({}) — treated as no data", e.getMessage());
+            Arrays.fill(result, DtedReader.NO_DATA);
+            return result;
+        } finally {
+            inflater.end();
+        }
+
+        ShortBuffer in = raw.flip().asShortBuffer();
+        short prev = 0;
+        for (int i = 0; i < result.length; i++) {
+            int zigzag = in.get(i) & 0xFFFF;
+            prev = (short) (prev + ((zigzag >>> 1) ^ -(zigzag & 1)));
+            result[i] = prev;
+        }
+        return result;
+    }
+}
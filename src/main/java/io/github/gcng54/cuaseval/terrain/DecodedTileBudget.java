@@ -0,0 +1,90 @@
+package io.github.gcng54.cuaseval.terrain;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte budget for the decompressed posts of the {@link CompressedTile}s of
+ * one loaded cache, with least-recently-used release.
+ * <p>
+ * A tile registers here after decompressing. When the decompressed total
+ * exceeds the budget, the least recently used other tiles release their
+ * posts and decompress again on their next access; their compressed blocks
+ * stay mapped or on the heap. A single tile larger than the budget is still
+ * kept until the next one decompresses.
+ * </p>
+ * <p>
+ * Recency is tracked cheaply: {@link #clock()} only advances when a tile
+ * decompresses, and a tile stamps itself with it on access, so tiles used
+ * since the last decompression all count as equally recent.
+ * </p>
+ */
+final class DecodedTileBudget {
+
+    /** Default byte budget, as for decoded HGT tiles */
+    static final long DEFAULT_BUDGET_BYTES = ElevationTileCache.DEFAULT_BUDGET_BYTES;
+
+    private final Set<CompressedTile> resident = ConcurrentHashMap.newKeySet();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final AtomicLong inflations = new AtomicLong();
+    private final AtomicLong releases = new AtomicLong();
+    private volatile long budgetBytes;
+
+    DecodedTileBudget(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+    }
+
+    /** Current recency stamp. */
+    long clock() {
+        return clock.get();
+    }
+
+    /**
+     * Account a tile that has just decompressed and release least recently
+     * used tiles until the budget holds again.
+     */
+    synchronized void decompressed(CompressedTile tile) {
+        tile.touch(clock.incrementAndGet());
+        inflations.incrementAndGet();
+        if (resident.add(tile)) residentBytes.addAndGet(tile.decodedBytes());
+        evict(tile);
+    }
+
+    /** Release least recently used tiles, except {@code keep}, until the budget holds. */
+    private synchronized void evict(CompressedTile keep) {
+        while (residentBytes.get() > budgetBytes) {
+            CompressedTile oldest = null;
+            for (CompressedTile candidate : resident) {
+                if (candidate == keep) continue;
+                if (oldest == null || candidate.lastUse() < oldest.lastUse()) oldest = candidate;
+            }
+            if (oldest == null) return;
+            resident.remove(oldest);
+            oldest.release();
+            residentBytes.addAndGet(-oldest.decodedBytes());
+            releases.incrementAndGet();
+        }
+    }
+
+    long getBudgetBytes()       { return budgetBytes; }
+    long getResidentBytes()     { return residentBytes.get(); }
+    long getInflations()        { return inflations.get(); }
+    long getReleases()          { return releases.get(); }
+
+    /** Change the budget, releasing least recently used tiles if it shrinks. */
+    void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        evict(null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "DecodedTileBudget[%d tiles, %.1f/%.1f MB inflations=%d releases=%d]",
+                resident.size(), residentBytes.get() / 1048576.0, budgetBytes / 1048576.0,
+                inflations.get(), releases.get());
+    }
+}
@@ -6,8 +6,21 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Reads DTED elevation data (.dt0 / .dt1 / .dt2) and SRTM HGT files,
@@ -23,8 +36,23 @@ import java.util.Locale;
  * File naming: {@code eXXX/nYY.dtN} or {@code N38E027.hgt}.
  * </p>
  * <p>
- * The cache format ({@code .dtcache}) stores all tiles in a flat binary file.
- * Cache version 2 stores the tile resolution (posts per side) in the header.
+ * The cache format ({@code .dtcache}) stores all tiles in a single binary file.
+ * Version 1 and 2 store raw tiles back to back; version 2 adds the tile
+ * resolution (posts per side) to the header. Version 3 adds a tile offset index and compresses each tile
+ * separately (see {@link CompressedTile}); a tile is decompressed when a
+ * query touches it, and the decompressed tiles are kept within a byte budget
+ * (see {@link #setDecodedBudgetBytes}). Version 4, written by {@link #buildCache}, also
+ * stores downsampled pyramid levels of every tile with the minimum, maximum
+ * and mean of each block (see {@link ElevationPyramid}), which
+ * {@link #getElevationGrid} uses for coarse sample spacings. All four
+ * versions are read. By default a cache
+ * is memory-mapped ({@link CacheMode#MAPPED}) in a few windows of at most
+ * 2 GB: opening it only reads the tile table or index, and the OS pages in
+ * the tiles queries touch.
+ * </p>
+ * <p>
+ * Elevation queries are thread-safe. Loading a cache publishes the complete
+ * new tile grid at once; queries in flight finish on the previous one.
  * </p>
  */
 public class DtedReader {
@@ -45,16 +73,55 @@ public class DtedReader {
     // ── Cache format constants ──────────────────────────────────────────
     private static final byte[] MAGIC_V1 = "DTCACHE1".getBytes();
     private static final byte[] MAGIC_V2 = "DTCACHE2".getBytes();
+    private static final byte[] MAGIC_V3 = "DTCACHE3".getBytes();
+    private static final byte[] MAGIC_V4 = "DTCACHE4".getBytes();
+
+    /** Index entry per block of an indexed (v3+) cache: block offset (long) + block length (int, 0 = absent) */
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
 
-    // ── In-memory cache ─────────────────────────────────────────────────
-    private int minLon, minLat, maxLon, maxLat;
-    private int gridCols, gridRows;
-    private int tilePosts;           // posts per side for cached tiles
-    private short[][][] elevations;  // [col][row][posts*posts]
-    private boolean loaded;
+    /**
+     * Start spacing of the mapped windows of a cache file. Each window is up
+     * to {@link Integer#MAX_VALUE} bytes long, so consecutive windows overlap
+     * by about 1 GB and any block up to that size lies within one window.
+     */
+    private static final long MAP_WINDOW_STRIDE = 1L << 30;
+
+    /** Block statistic of a pyramid level (see {@link #getElevation(double, double, int, PyramidStat)}). */
+    public enum PyramidStat {
+        MIN, MAX, MEAN
+    }
+
+    /** How {@link #loadCache} holds the tiles of a cache file. */
+    public enum CacheMode {
+        /** Copy every tile onto the heap (v3+: compressed, decompressed on first access) */
+        HEAP,
+        /** Map the tiles read-only from the file; the OS pages in what queries touch */
+        MAPPED
+    }
+
+    /** Progress of {@link #buildCache(File, File, int, CacheBuildProgress)}. */
+    @FunctionalInterface
+    public interface CacheBuildProgress {
+        /**
+         * Called after each tile has been written, from the building thread.
+         *
+         * @param tileName   source file name of the tile
+         * @param completed  tiles written so far
+         * @param totalTiles tiles to write
+         */
+        void onTile(String tileName, int completed, int totalTiles);
+    }
+
+    // ── Loaded cache ────────────────────────────────────────────────────
+    private volatile TileGrid grid;  // null until a cache is loaded
+    private volatile int revision;   // incremented whenever a cache is loaded
+    private CacheMode cacheMode = CacheMode.MAPPED;
+    private volatile long decodedBudgetBytes = DecodedTileBudget.DEFAULT_BUDGET_BYTES;
+    private volatile String buildError;  // reason the last buildCache failed
 
     // ── SRTM HGT directory for high-res queries ────────────────────────
-    private File srtmDir;
+    private final HgtTileLoader hgtLoader = new HgtTileLoader();
+    private final ElevationTileCache hgtCache = new ElevationTileCache(hgtLoader);
 
     // ── SRTM directory for high-res on-demand queries ─────────────────
 
@@ -63,11 +130,12 @@ public class DtedReader {
      * Files are expected as {@code NxxEyyy.hgt} in flat layout.
      */
     public void setSrtmDir(File dir) {
-        this.srtmDir = dir;
+        hgtLoader.dir = dir;
+        hgtCache.clear();
         log.info("SRTM directory set: {}", dir);
     }
 
-    public File getSrtmDir() { return srtmDir; }
+    public File getSrtmDir() { return hgtLoader.dir; }
 
     // ── Read DTED files (any level) ─────────────────────────────────────
 
@@ -170,15 +238,18 @@ public class DtedReader {
             return null;
         }
 
-        try (DataInputStream dis = new DataInputStream(
-                new BufferedInputStream(new FileInputStream(file)))) {
+        try {
+            // Whole file in one read (at most 26 MB), big-endian
+            ShortBuffer data = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).asShortBuffer();
 
             // HGT is row-major from NW corner. We need [col][row] with row 0 = south.
             short[][] grid = new short[posts][posts];
+            short[] row = new short[posts];
             for (int hgtRow = 0; hgtRow < posts; hgtRow++) {
                 int latRow = posts - 1 - hgtRow; // flip: HGT row 0 = north
+                data.get(row);
                 for (int col = 0; col < posts; col++) {
-                    short raw = dis.readShort();
+                    short raw = row[col];
                     grid[col][latRow] = (raw == -32768) ? NO_DATA : raw;
                 }
             }
@@ -192,51 +263,82 @@ public class DtedReader {
     }
 
     /**
-     * Get high-resolution elevation from SRTM HGT files (on-demand, not cached).
-     * Falls back to cached data if HGT file is not available.
+     * Read an SRTM HGT file into a heap tile, for the high-resolution cache.
+     *
+     * @param file .hgt file
+     * @return the tile, or null if the size is not SRTM1/SRTM3
+     * @throws IOException if the file cannot be read
      */
-    public double getHighResElevation(double lat, double lon) {
-        if (srtmDir != null) {
-            int tileLat = (int) Math.floor(lat);
-            int tileLon = (int) Math.floor(lon);
+    public ElevationTile readHgtTile(File file) throws IOException {
+        return decodeHgtTile(file);
+    }
+
+    private static ElevationTile decodeHgtTile(File file) throws IOException {
+        long fileSize = file.length();
+        int posts;
+        if (fileSize == (long) DTED2_POSTS * DTED2_POSTS * 2) {
+            posts = DTED2_POSTS;
+        } else if (fileSize == (long) DTED1_POSTS * DTED1_POSTS * 2) {
+            posts = DTED1_POSTS;
+        } else {
+            log.warn("Unknown HGT file size {} for {}", fileSize, file.getName());
+            return null;
+        }
+
+        ShortBuffer data = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).asShortBuffer();
+        // Column-major with row 0 = south; HGT row 0 = north
+        short[] tileData = new short[posts * posts];
+        short[] row = new short[posts];
+        for (int hgtRow = 0; hgtRow < posts; hgtRow++) {
+            int latRow = posts - 1 - hgtRow;
+            data.get(row);
+            for (int col = 0; col < posts; col++) {
+                short raw = row[col];
+                tileData[col * posts + latRow] = (raw == -32768) ? NO_DATA : raw;
+            }
+        }
+        return ElevationTile.of(tileData, posts);
+    }
+
+    /**
+     * Loads the HGT tile of one 1° cell from the SRTM directory, or null if
+     * absent. Holds the directory itself, so the tile cache does not capture
+     * the reader under construction.
+     */
+    private static final class HgtTileLoader implements ElevationTileCache.TileLoader {
+        volatile File dir;
+
+        @Override
+        public ElevationTile load(int tileLat, int tileLon) throws IOException {
+            File srtmDir = dir;
+            if (srtmDir == null) return null;
             String name = String.format(Locale.ENGLISH, "%s%02d%s%03d.hgt",
                     tileLat >= 0 ? "N" : "S", Math.abs(tileLat),
                     tileLon >= 0 ? "E" : "W", Math.abs(tileLon));
             File hgtFile = new File(srtmDir, name);
-            if (hgtFile.exists()) {
-                short[][] grid = readHgt(hgtFile);
-                if (grid != null) {
-                    int posts = grid.length;
-                    double fracLon = lon - tileLon;
-                    double fracLat = lat - tileLat;
-                    double gx = fracLon * (posts - 1);
-                    double gy = fracLat * (posts - 1);
-                    int x0 = (int) Math.floor(gx);
-                    int y0 = (int) Math.floor(gy);
-                    int x1 = Math.min(x0 + 1, posts - 1);
-                    int y1 = Math.min(y0 + 1, posts - 1);
-                    double fx = gx - x0;
-                    double fy = gy - y0;
-
-                    short e00 = grid[x0][y0], e10 = grid[x1][y0];
-                    short e01 = grid[x0][y1], e11 = grid[x1][y1];
-
-                    if (e00 == NO_DATA || e10 == NO_DATA || e01 == NO_DATA || e11 == NO_DATA) {
-                        if (e00 != NO_DATA) return e00;
-                        if (e10 != NO_DATA) return e10;
-                        if (e01 != NO_DATA) return e01;
-                        if (e11 != NO_DATA) return e11;
-                        return NO_DATA;
-                    }
-                    return e00 * (1 - fx) * (1 - fy) + e10 * fx * (1 - fy)
-                         + e01 * (1 - fx) * fy + e11 * fx * fy;
-                }
-            }
+            return hgtFile.exists() ? decodeHgtTile(hgtFile) : null;
+        }
+    }
+
+    /**
+     * Get high-resolution elevation from SRTM HGT files.
+     * Tiles are decoded once and kept in {@link #getHighResCache() an LRU cache}.
+     * Falls back to cached data if HGT file is not available.
+     */
+    public double getHighResElevation(double lat, double lon) {
+        if (hgtLoader.dir != null) {
+            int tileLat = (int) Math.floor(lat);
+            int tileLon = (int) Math.floor(lon);
+            ElevationTile tile = hgtCache.get(tileLat, tileLon);
+            if (tile != null) return interpolate(tile, lon - tileLon, lat - tileLat);
         }
         // Fall back to cached (lower-res) data
         return getElevation(lat, lon);
     }
 
+    /** Decoded HGT tiles behind {@link #getHighResElevation}; exposes budget and statistics. */
+    public ElevationTileCache getHighResCache() { return hgtCache; }
+
     // ── Detect DTED level ───────────────────────────────────────────────
 
     private int detectDtedPosts(File file) {
@@ -264,49 +366,68 @@ public class DtedReader {
      * </p>
      * <p>
      * Auto-detects the highest available DTED level. All tiles are stored
-     * at the detected resolution in cache v2 format.
+     * at the detected resolution in cache v4 format, compressed and with
+     * their pyramid levels, using one decoding thread per processor (see
+     * {@link #buildCache(File, File, int, CacheBuildProgress)}).
      * </p>
      *
      * @param dtedRoot  root directory containing DTED or HGT files
      * @param cacheFile output .dtcache file
+     * @return true if the cache was written; otherwise see {@link #getBuildError()}
      */
-    public void buildCache(File dtedRoot, File cacheFile) {
+    public boolean buildCache(File dtedRoot, File cacheFile) {
+        return buildCache(dtedRoot, cacheFile, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * Build a v4 .dtcache file, decoding, downsampling and compressing tiles
+     * concurrently.
+     * <p>
+     * Workers decode and compress tiles; the calling thread writes the
+     * compressed blocks in tile-table order, so the file is identical for
+     * any thread count. At most {@code 2 × threads} tiles are in flight.
+     * The index at the head of the file is written last. The cache is
+     * written to a temporary file and moved over {@code cacheFile} when
+     * complete. On POSIX systems a mapped earlier version stays intact while
+     * it is in use; Windows refuses to replace a mapped file, and the build
+     * then fails with a {@link #getBuildError() message} saying so. A tile
+     * that cannot be decoded is stored as present with {@link #NO_DATA}
+     * posts.
+     * </p>
+     *
+     * @param dtedRoot  root directory containing DTED or HGT files
+     * @param cacheFile output .dtcache file
+     * @param threads   number of decoding threads
+     * @param progress  called after each tile is written; may be null
+     * @return true if the cache was written
+     */
+    public boolean buildCache(File dtedRoot, File cacheFile, int threads, CacheBuildProgress progress) {
         log.info("Building DTED cache from {} → {}", dtedRoot, cacheFile);
+        long start = System.nanoTime();
+        buildError = null;
 
         // Detect available file format: prefer DT2 > DT1 > DT0 > HGT
         String dtExt = detectBestDtedExtension(dtedRoot);
         boolean isHgt = "hgt".equals(dtExt);
-        int posts = postsForExtension(dtExt);
-
-        log.info("Detected format: .{} ({} posts per tile)", dtExt, posts);
-
-        // First pass: determine bounds
-        int minLn = Integer.MAX_VALUE, maxLn = Integer.MIN_VALUE;
-        int minLt = Integer.MAX_VALUE, maxLt = Integer.MIN_VALUE;
-        int tileCount = 0;
 
+        // First pass: tile files by (lon, lat)
+        Map<Long, File> files = new HashMap<>();
         if (isHgt) {
             // HGT: flat directory of NxxEyyy.hgt files
             File[] hgtFiles = dtedRoot.listFiles(f ->
                     f.getName().matches("[NSns]\\d{2}[EWew]\\d{3}\\.hgt"));
             if (hgtFiles == null || hgtFiles.length == 0) {
-                log.error("No HGT files found in {}", dtedRoot);
-                return;
+                return buildFailed("No HGT files found in " + dtedRoot, null);
             }
             for (File f : hgtFiles) {
                 int[] coords = parseHgtName(f.getName());
-                minLt = Math.min(minLt, coords[0]);
-                maxLt = Math.max(maxLt, coords[0]);
-                minLn = Math.min(minLn, coords[1]);
-                maxLn = Math.max(maxLn, coords[1]);
-                tileCount++;
+                files.put(tileKey(coords[1], coords[0]), f);
             }
         } else {
             // DTED: eXXX/nYY.dtN layout
             File[] lonDirs = dtedRoot.listFiles(f -> f.isDirectory() && f.getName().matches("[ewEW]\\d+"));
             if (lonDirs == null || lonDirs.length == 0) {
-                log.error("No DTED directories found in {}", dtedRoot);
-                return;
+                return buildFailed("No DTED directories found in " + dtedRoot, null);
             }
             String pattern = "[nsNS]\\d+\\." + dtExt;
             for (File lonDir : lonDirs) {
@@ -314,147 +435,298 @@ public class DtedReader {
                 File[] dtFiles = lonDir.listFiles(f -> f.getName().matches(pattern));
                 if (dtFiles == null) continue;
                 for (File dtFile : dtFiles) {
-                    int lat = parseLatFile(dtFile.getName());
-                    minLn = Math.min(minLn, lon);
-                    maxLn = Math.max(maxLn, lon);
-                    minLt = Math.min(minLt, lat);
-                    maxLt = Math.max(maxLt, lat);
-                    tileCount++;
+                    files.put(tileKey(lon, parseLatFile(dtFile.getName())), dtFile);
                 }
             }
         }
+        if (files.isEmpty()) {
+            return buildFailed("No ." + dtExt + " tiles found in " + dtedRoot, null);
+        }
 
-        log.info("Found {} tiles, bounds: lon [{}, {}], lat [{}, {}]",
-                tileCount, minLn, maxLn, minLt, maxLt);
-
+        int minLn = Integer.MAX_VALUE, maxLn = Integer.MIN_VALUE;
+        int minLt = Integer.MAX_VALUE, maxLt = Integer.MIN_VALUE;
+        for (long key : files.keySet()) {
+            int lon = (int) (key >> 32), lat = (int) key;
+            minLn = Math.min(minLn, lon);
+            maxLn = Math.max(maxLn, lon);
+            minLt = Math.min(minLt, lat);
+            maxLt = Math.max(maxLt, lat);
+        }
+        // SRTM1 or SRTM3 from the file size; DTED from the level
+        int posts = isHgt ? detectDtedPosts(files.values().iterator().next()) : postsForExtension(dtExt);
+        if (posts <= 0) return buildFailed("Cannot detect the tile resolution in " + dtedRoot, null);
+        int tileCount = files.size();
         int cols = maxLn - minLn + 1;
         int rows = maxLt - minLt + 1;
 
-        // Second pass: read tiles and write cache (v2 with posts field)
-        try (DataOutputStream dos = new DataOutputStream(
-                new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
-
-            // Header v2: magic(8) + 7 ints (minLon, minLat, maxLon, maxLat, cols, rows, tilePosts)
-            dos.write(MAGIC_V2);
-            dos.writeInt(minLn);
-            dos.writeInt(minLt);
-            dos.writeInt(maxLn);
-            dos.writeInt(maxLt);
-            dos.writeInt(cols);
-            dos.writeInt(rows);
-            dos.writeInt(posts);
-
+        log.info("Detected format: .{} ({} posts per tile), {} tiles, bounds: lon [{}, {}], lat [{}, {}]",
+                dtExt, posts, tileCount, minLn, maxLn, minLt, maxLt);
+
+        // Second pass: compressed tile blocks after the header and index (v4 layout)
+        File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        int poolSize = Math.max(1, Math.min(threads, tileCount));
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        long rawBytes = (long) tileCount * posts * posts * Short.BYTES;
+
+        try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            // Header v4: magic(8) + 8 ints (minLon, minLat, maxLon, maxLat, cols, rows, tilePosts, levels)
+            int levels = ElevationPyramid.levelsFor(posts);
+            ByteBuffer header = ByteBuffer.allocate(8 + 8 * Integer.BYTES);
+            header.put(MAGIC_V4).putInt(minLn).putInt(minLt).putInt(maxLn).putInt(maxLt)
+                    .putInt(cols).putInt(rows).putInt(posts).putInt(levels).flip();
+            // Index: full-resolution slots, then per level the MIN, MAX and MEAN slots
+            ByteBuffer index = ByteBuffer.allocate(cols * rows * (1 + 3 * levels) * INDEX_ENTRY_BYTES);
+            long offset = header.capacity() + index.capacity();
+
+            // Slots in [lonCol][latRow] order; absent slots keep a zero index entry.
+            // Workers run ahead of the writer by at most 2 × poolSize tiles.
+            ArrayDeque<PendingBlock> pending = new ArrayDeque<>();
+            int written = 0;
             for (int c = 0; c < cols; c++) {
-                int lon = minLn + c;
                 for (int r = 0; r < rows; r++) {
-                    int lat = minLt + r;
-
-                    short[][] grid = null;
-
-                    if (isHgt) {
-                        String name = String.format(Locale.ENGLISH, "%s%02d%s%03d.hgt",
-                                lat >= 0 ? "N" : "S", Math.abs(lat),
-                                lon >= 0 ? "E" : "W", Math.abs(lon));
-                        File hgtFile = new File(dtedRoot, name);
-                        if (hgtFile.exists()) {
-                            grid = readHgt(hgtFile);
-                        }
-                    } else {
-                        String lonDirName = String.format(Locale.ENGLISH,
-                                "%s%03d", lon >= 0 ? "e" : "w", Math.abs(lon));
-                        String latFileName = String.format(Locale.ENGLISH,
-                                "%s%02d.%s", lat >= 0 ? "n" : "s", Math.abs(lat), dtExt);
-                        File dtFile = new File(dtedRoot, lonDirName + File.separator + latFileName);
-                        if (dtFile.exists()) {
-                            grid = readDtedFile(dtFile, posts);
-                        }
-                    }
-
-                    if (grid != null) {
-                        dos.writeBoolean(true);
-                        for (int lc = 0; lc < posts; lc++) {
-                            for (int lr = 0; lr < posts; lr++) {
-                                dos.writeShort(grid[lc][lr]);
-                            }
-                        }
-                    } else {
-                        dos.writeBoolean(false);
+                    File file = files.get(tileKey(minLn + c, minLt + r));
+                    if (file == null) continue;
+                    pending.add(new PendingBlock(c * rows + r, file.getName(),
+                            pool.submit(() -> encodeTile(file, isHgt, posts, levels))));
+                    if (pending.size() > 2 * poolSize) {
+                        PendingBlock block = pending.poll();
+                        offset = writeBlocks(channel, index, cols * rows, block, offset);
+                        if (progress != null) progress.onTile(block.name(), ++written, tileCount);
                     }
                 }
             }
+            while (!pending.isEmpty()) {
+                PendingBlock block = pending.poll();
+                offset = writeBlocks(channel, index, cols * rows, block, offset);
+                if (progress != null) progress.onTile(block.name(), ++written, tileCount);
+            }
 
-            log.info("DTED cache built: {} bytes ({} posts), {} tiles present",
-                    cacheFile.length(), posts, tileCount);
+            writeFully(channel, header, 0);
+            writeFully(channel, index.clear(), header.capacity());
+            log.info(String.format(Locale.ENGLISH, "DTED cache compressed %.1f MB → %.1f MB",
+                    rawBytes / 1048576.0, offset / 1048576.0));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tmpFile.delete();
+            return buildFailed("DTED cache build interrupted", null);
+        } catch (IOException | ExecutionException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            tmpFile.delete();
+            return buildFailed("Failed to build DTED cache: " + cause.getMessage(), cause);
+        } finally {
+            pool.shutdownNow();
+        }
 
+        try {
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (AccessDeniedException e) {
+            // Windows: the file is still memory-mapped by a loaded cache (ours or another process's)
+            tmpFile.delete();
+            return buildFailed("Cannot replace " + cacheFile.getName() + " while it is in use (a loaded cache "
+                    + "stays memory-mapped on Windows) — build it under another name, or restart and "
+                    + "rebuild before loading it", e);
         } catch (IOException e) {
-            log.error("Failed to build DTED cache: {}", e.getMessage(), e);
+            tmpFile.delete();
+            return buildFailed("Failed to replace DTED cache " + cacheFile + ": " + e.getMessage(), e);
+        }
+        // Masks persisted for the replaced file no longer match its terrain
+        TerrainMaskCache.purge(cacheFile);
+        log.info("DTED cache built: {} bytes ({} posts), {} tiles present, {} threads, {} ms",
+                cacheFile.length(), posts, tileCount, poolSize, (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /** Record and log why a cache build failed. */
+    private boolean buildFailed(String message, Throwable cause) {
+        buildError = message;
+        if (cause != null) log.error(message, cause);
+        else log.error(message);
+        return false;
+    }
+
+    /**
+     * Reason the last {@link #buildCache} call on this reader failed, or null
+     * if it succeeded or none was made.
+     */
+    public String getBuildError() {
+        return buildError;
+    }
+
+    /** Tile being encoded for index slot {@code slot} of a v4 cache. */
+    private record PendingBlock(int slot, String name, Future<byte[][]> blocks) {}
+
+    /**
+     * Decode one tile file and compress it and its pyramid levels into v4
+     * cache blocks: full resolution first, then MIN, MAX and MEAN per level.
+     */
+    private byte[][] encodeTile(File file, boolean isHgt, int posts, int levels) {
+        short[][] grid = isHgt ? readHgt(file) : readDtedFile(file, posts);
+        if (grid != null && grid.length != posts) {
+            log.warn("Tile {} has {} posts, expected {} — stored as no data", file.getName(), grid.length, posts);
+            grid = null;
+        } else if (grid == null) {
+            log.warn("Tile {} could not be decoded — stored as no data", file.getName());
         }
+        if (grid == null) {
+            grid = new short[posts][posts];
+            for (short[] column : grid) Arrays.fill(column, NO_DATA);
+        }
+        byte[][] blocks = new byte[1 + 3 * levels][];
+        blocks[0] = CompressedTile.encode(grid, posts);
+        for (int level = 1; level <= levels; level++) {
+            short[][][] stats = ElevationPyramid.build(grid, posts, level);
+            int levelPosts = ElevationPyramid.levelPosts(posts, level);
+            for (int stat = 0; stat < 3; stat++) {
+                blocks[1 + 3 * (level - 1) + stat] = CompressedTile.encode(stats[stat], levelPosts);
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Append the encoded blocks of one tile at {@code offset} and record them
+     * in the index, block {@code b} at entry {@code b * slots + slot}.
+     *
+     * @return offset after the blocks
+     */
+    private static long writeBlocks(FileChannel channel, ByteBuffer index, int slots, PendingBlock pending,
+                                    long offset) throws IOException, InterruptedException, ExecutionException {
+        byte[][] blocks = pending.blocks().get();
+        for (int b = 0; b < blocks.length; b++) {
+            writeFully(channel, ByteBuffer.wrap(blocks[b]), offset);
+            int entry = (b * slots + pending.slot()) * INDEX_ENTRY_BYTES;
+            index.putLong(entry, offset).putInt(entry + Long.BYTES, blocks[b].length);
+            offset += blocks[b].length;
+        }
+        return offset;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static long tileKey(int lon, int lat) {
+        return ((long) lon << 32) | (lat & 0xFFFFFFFFL);
     }
 
     // ── Load Cache ──────────────────────────────────────────────────────
 
     /**
-     * Load a .dtcache file into memory for fast elevation queries.
-     * Supports both v1 (DTCACHE1, always 121 posts) and v2 (DTCACHE2, variable posts).
+     * Load a .dtcache file for fast elevation queries, memory-mapped or onto
+     * the heap according to {@link #getCacheMode()}.
+     * Supports v1 (DTCACHE1, always 121 posts), v2 (DTCACHE2, variable posts),
+     * v3 (DTCACHE3, indexed compressed tiles, decompressed on access) and v4
+     * (DTCACHE4, v3 plus compressed pyramid levels).
      *
      * @param cacheFile the cache file
      * @return true if loaded successfully
      */
-    public boolean loadCache(File cacheFile) {
+    public synchronized boolean loadCache(File cacheFile) {
         if (!cacheFile.exists()) {
             log.warn("DTED cache not found: {}", cacheFile);
             return false;
         }
 
-        try (DataInputStream dis = new DataInputStream(
-                new BufferedInputStream(new FileInputStream(cacheFile)))) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
 
-            // Read magic
+            // Header: magic(8) + 6 ints (+ tilePosts in v2+, + pyramid levels in v4), big-endian
+            ByteBuffer header = ByteBuffer.allocate(8 + 8 * Integer.BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) { /* fill */ }
+            header.flip();
+            if (header.remaining() < 8 + 6 * Integer.BYTES) {
+                log.error("DTED cache truncated: {}", cacheFile);
+                return false;
+            }
             byte[] magic = new byte[8];
-            dis.readFully(magic);
-            String magicStr = new String(magic);
-
-            boolean isV2;
-            if ("DTCACHE2".equals(magicStr)) {
-                isV2 = true;
-            } else if ("DTCACHE1".equals(magicStr)) {
-                isV2 = false;
+            header.get(magic);
+
+            int version;
+            if (Arrays.equals(MAGIC_V4, magic)) {
+                version = 4;
+            } else if (Arrays.equals(MAGIC_V3, magic)) {
+                version = 3;
+            } else if (Arrays.equals(MAGIC_V2, magic)) {
+                version = 2;
+            } else if (Arrays.equals(MAGIC_V1, magic)) {
+                version = 1;
             } else {
-                log.error("Invalid DTED cache format: {}", magicStr);
+                log.error("Invalid DTED cache format: {}", new String(magic, StandardCharsets.US_ASCII));
                 return false;
             }
 
-            minLon = dis.readInt();
-            minLat = dis.readInt();
-            maxLon = dis.readInt();
-            maxLat = dis.readInt();
-            gridCols = dis.readInt();
-            gridRows = dis.readInt();
-
-            if (isV2) {
-                tilePosts = dis.readInt();
-            } else {
-                tilePosts = DTED0_POSTS; // v1 always 121
+            int minLon = header.getInt();
+            int minLat = header.getInt();
+            int maxLon = header.getInt();
+            int maxLat = header.getInt();
+            int cols = header.getInt();
+            int rows = header.getInt();
+            int posts = version >= 2 ? header.getInt() : DTED0_POSTS; // v1 always 121
+            int levels = version >= 4 ? header.getInt() : 0;
+            if (levels < 0 || levels > ElevationPyramid.MAX_LEVELS) {
+                log.error("Invalid DTED cache pyramid depth {}: {}", levels, cacheFile);
+                return false;
             }
-
-            elevations = new short[gridCols][gridRows][];
-
-            for (int c = 0; c < gridCols; c++) {
-                for (int r = 0; r < gridRows; r++) {
-                    boolean present = dis.readBoolean();
-                    if (present) {
-                        short[] data = new short[tilePosts * tilePosts];
-                        for (int i = 0; i < data.length; i++) {
-                            data[i] = dis.readShort();
+            long offset = 8 + (version >= 4 ? 8 : version >= 2 ? 7 : 6) * Integer.BYTES;
+            long size = channel.size();
+            ElevationTile[] tiles = new ElevationTile[cols * rows];
+            ElevationTile[][] pyramid = new ElevationTile[3 * levels][cols * rows];
+            int present = 0;
+            ByteBuffer[] windows = cacheMode == CacheMode.MAPPED ? mapWindows(channel, size) : null;
+            DecodedTileBudget budget = new DecodedTileBudget(decodedBudgetBytes);
+
+            if (version >= 3) {
+                // Index: (offset, length) per block, full resolution then MIN/MAX/MEAN per level
+                ByteBuffer index = ByteBuffer.allocate(cols * rows * (1 + 3 * levels) * INDEX_ENTRY_BYTES);
+                readFully(channel, index, offset);
+                index.flip();
+                for (int b = 0; b < 1 + 3 * levels; b++) {
+                    ElevationTile[] target = b == 0 ? tiles : pyramid[b - 1];
+                    int blockPosts = b == 0 ? posts : ElevationPyramid.levelPosts(posts, (b - 1) / 3 + 1);
+                    for (int slot = 0; slot < tiles.length; slot++) {
+                        long blockOffset = index.getLong();
+                        int blockLength = index.getInt();
+                        if (blockLength == 0) continue;
+                        if (blockOffset < 0 || blockOffset + blockLength > size) {
+                            throw new EOFException("Tile data truncated");
                         }
-                        elevations[c][r] = data;
+                        target[slot] = new CompressedTile(readBlock(channel, windows, blockOffset, blockLength),
+                                blockPosts, budget);
+                        if (b == 0) present++;
                     }
                 }
             }
 
-            loaded = true;
-            log.info("DTED cache loaded ({}): lon [{}, {}], lat [{}, {}], {}×{} grid, {} posts/tile",
-                    isV2 ? "v2" : "v1", minLon, maxLon, minLat, maxLat, gridCols, gridRows, tilePosts);
+            // v1/v2 tile table: presence flag followed by posts² shorts for each present tile
+            long tileBytes = (long) posts * posts * Short.BYTES;
+            ByteBuffer flag = ByteBuffer.allocate(1);
+            for (int c = 0; c < cols && version < 3; c++) {
+                for (int r = 0; r < rows; r++) {
+                    flag.clear();
+                    if (channel.read(flag, offset) != 1) throw new EOFException("Tile table truncated");
+                    offset++;
+                    if (flag.get(0) == 0) continue;
+                    if (offset + tileBytes > size) throw new EOFException("Tile data truncated");
+                    tiles[c * rows + r] = readTile(channel, windows, offset, tileBytes, posts);
+                    offset += tileBytes;
+                    present++;
+                }
+            }
+
+            String identity = cacheFile.getCanonicalPath() + "|" + size + "|" + cacheFile.lastModified();
+            grid = new TileGrid(minLon, minLat, maxLon, maxLat, cols, rows, posts, tiles, pyramid,
+                    cacheFile, identity, budget);
+            revision++;
+            log.info(String.format(Locale.ENGLISH,
+                    "DTED cache loaded (%s, %s): lon [%d, %d], lat [%d, %d], %d×%d grid, %d tiles, %d posts/tile, "
+                            + "%d pyramid levels in %d ms",
+                    "v" + version, cacheMode, minLon, maxLon, minLat, maxLat, cols, rows, present, posts, levels,
+                    (System.nanoTime() - start) / 1_000_000));
             return true;
 
         } catch (IOException e) {
@@ -463,6 +735,81 @@ public class DtedReader {
         }
     }
 
+    private ElevationTile readTile(FileChannel channel, ByteBuffer[] windows, long offset, long tileBytes,
+                                   int posts) throws IOException {
+        ByteBuffer bytes = readBlock(channel, windows, offset, tileBytes);
+        if (windows != null) {
+            return ElevationTile.of(bytes.asShortBuffer(), posts);
+        }
+        short[] data = new short[posts * posts];
+        bytes.asShortBuffer().get(data);
+        return ElevationTile.of(data, posts);
+    }
+
+    /**
+     * Map a whole cache file read-only as windows starting every
+     * {@link #MAP_WINDOW_STRIDE} bytes. The mappings stay valid after the
+     * channel is closed.
+     */
+    private static ByteBuffer[] mapWindows(FileChannel channel, long size) throws IOException {
+        ByteBuffer[] windows = new ByteBuffer[(int) Math.max(1, (size + MAP_WINDOW_STRIDE - 1) / MAP_WINDOW_STRIDE)];
+        for (int w = 0; w < windows.length; w++) {
+            long start = w * MAP_WINDOW_STRIDE;
+            long length = Math.min(Integer.MAX_VALUE, Math.max(0, size - start));
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        }
+        return windows;
+    }
+
+    /**
+     * Slice of the mapped windows, or heap copy when {@code windows} is null,
+     * of a cache file region.
+     */
+    private static ByteBuffer readBlock(FileChannel channel, ByteBuffer[] windows, long offset, long length)
+            throws IOException {
+        if (windows != null) {
+            int w = (int) (offset / MAP_WINDOW_STRIDE);
+            long position = offset - w * MAP_WINDOW_STRIDE;
+            if (w >= windows.length || position + length > windows[w].capacity()) {
+                throw new EOFException("Tile data truncated");
+            }
+            return windows[w].slice((int) position, (int) length);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) length);
+        readFully(channel, bytes, offset);
+        return bytes.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException("Tile data truncated");
+        }
+    }
+
+    public CacheMode getCacheMode()                 { return cacheMode; }
+
+    /** Storage of caches loaded from now on; a loaded cache keeps its mode. */
+    public void setCacheMode(CacheMode cacheMode)   { this.cacheMode = cacheMode; }
+
+    public long getDecodedBudgetBytes()             { return decodedBudgetBytes; }
+
+    /**
+     * Byte budget for the decompressed tiles of a v3/v4 cache. Least recently
+     * used tiles beyond it are released and decompressed again when a query
+     * next touches them. Applies to the loaded cache and those loaded later.
+     */
+    public void setDecodedBudgetBytes(long budgetBytes) {
+        this.decodedBudgetBytes = Math.max(0, budgetBytes);
+        TileGrid g = grid;
+        if (g != null) g.budget.setBudgetBytes(budgetBytes);
+    }
+
+    /** Bytes of decompressed tiles of the loaded cache currently held. */
+    public long getDecodedResidentBytes() {
+        TileGrid g = grid;
+        return g == null ? 0 : g.budget.getResidentBytes();
+    }
+
     // ── Elevation Query ─────────────────────────────────────────────────
 
     /**
@@ -473,25 +820,84 @@ public class DtedReader {
      * @return elevation in metres MSL, or NO_DATA if unavailable
      */
     public double getElevation(double lat, double lon) {
-        if (!loaded) return NO_DATA;
+        TileGrid g = grid;
+        if (g == null) return NO_DATA;
 
         // Determine which tile
         int tileLon = (int) Math.floor(lon);
         int tileLat = (int) Math.floor(lat);
 
-        int col = tileLon - minLon;
-        int row = tileLat - minLat;
+        ElevationTile tile = g.tile(tileLon - g.minLon, tileLat - g.minLat);
+        if (tile == null) return NO_DATA;
+        return interpolate(tile, lon - tileLon, lat - tileLat);
+    }
 
-        if (col < 0 || col >= gridCols || row < 0 || row >= gridRows) {
-            return NO_DATA;
-        }
+    /**
+     * Get elevation from a pyramid level of the loaded cache: the bilinear
+     * interpolation of the {@code stat} of the blocks around the position.
+     * Level 0 is {@link #getElevation(double, double)}; levels beyond
+     * {@link #getPyramidLevels()} use the coarsest level.
+     *
+     * @param level pyramid level, post spacing {@code 2^level} full-resolution posts
+     * @param stat  block statistic to interpolate
+     * @return elevation in metres MSL, or NO_DATA if unavailable
+     */
+    public double getElevation(double lat, double lon, int level, PyramidStat stat) {
+        TileGrid g = grid;
+        if (g == null) return NO_DATA;
+        return getElevation(g, lat, lon, Math.max(0, Math.min(level, g.levels())), stat);
+    }
 
-        short[] data = elevations[col][row];
-        if (data == null) return NO_DATA;
+    private static double getElevation(TileGrid g, double lat, double lon, int level, PyramidStat stat) {
+        int tileLon = (int) Math.floor(lon);
+        int tileLat = (int) Math.floor(lat);
+        ElevationTile tile = g.tile(tileLon - g.minLon, tileLat - g.minLat, level, stat);
+        if (tile == null) return NO_DATA;
+        return interpolate(tile, lon - tileLon, lat - tileLat);
+    }
 
-        // Position within the tile (0.0 to 1.0)
-        double fracLon = lon - tileLon;
-        double fracLat = lat - tileLat;
+    /**
+     * Number of downsampled pyramid levels in the loaded cache (0 for
+     * caches before v4 or when nothing is loaded).
+     */
+    public int getPyramidLevels() {
+        TileGrid g = grid;
+        return g == null ? 0 : g.levels();
+    }
+
+    /**
+     * Coarsest pyramid level whose post spacing does not exceed a sample
+     * spacing, so that samples taken at that spacing skip no level post.
+     *
+     * @param spacingDeg sample spacing in degrees
+     */
+    public int pyramidLevelFor(double spacingDeg) {
+        TileGrid g = grid;
+        return g == null ? 0 : pyramidLevelFor(g, spacingDeg);
+    }
+
+    private static int pyramidLevelFor(TileGrid g, double spacingDeg) {
+        double spacingPosts = spacingDeg * (g.posts - 1);
+        int level = 0;
+        while (level < g.levels() && (1 << (level + 1)) <= spacingPosts) level++;
+        return level;
+    }
+
+    /**
+     * Bilinear interpolation within a tile; where a neighbouring post is
+     * NO_DATA the nearest valid post is returned instead.
+     *
+     * @param fracLon position within the tile west → east (0.0 to 1.0)
+     * @param fracLat position within the tile south → north (0.0 to 1.0)
+     */
+    private static double interpolate(ElevationTile tile, double fracLon, double fracLat) {
+        short[] data = heapPosts(tile);
+        if (data != null) return interpolate(data, tile.getPosts(), fracLon, fracLat);
+        if (tile instanceof ElevationTile.BufferTile mapped) {
+            return interpolate(mapped.data(), tile.getPosts(), fracLon, fracLat);
+        }
+
+        int tilePosts = tile.getPosts();
 
         // Grid indices (0 to posts-1)
         double gx = fracLon * (tilePosts - 1);
@@ -506,12 +912,48 @@ public class DtedReader {
         double fy = gy - y0;
 
         // Bilinear interpolation
-        short e00 = data[x0 * tilePosts + y0];
-        short e10 = data[x1 * tilePosts + y0];
-        short e01 = data[x0 * tilePosts + y1];
-        short e11 = data[x1 * tilePosts + y1];
+        short e00 = tile.get(x0, y0);
+        short e10 = tile.get(x1, y0);
+        short e01 = tile.get(x0, y1);
+        short e11 = tile.get(x1, y1);
+
+        return bilinear(e00, e10, e01, e11, fx, fy);
+    }
 
-        if (e00 == NO_DATA || e10 == NO_DATA || e01 == NO_DATA || e11 == NO_DATA) {
+    /**
+     * {@link #interpolate(ElevationTile, double, double)} on column-major heap
+     * posts. Fractions are never negative, so truncation is the floor.
+     */
+    private static double interpolate(short[] data, int tilePosts, double fracLon, double fracLat) {
+        double gx = fracLon * (tilePosts - 1);
+        double gy = fracLat * (tilePosts - 1);
+
+        int x0 = (int) gx;
+        int y0 = (int) gy;
+        int x1 = Math.min(x0 + 1, tilePosts - 1);
+        int y1 = Math.min(y0 + 1, tilePosts - 1);
+
+        int col0 = x0 * tilePosts, col1 = x1 * tilePosts;
+        return bilinear(data[col0 + y0], data[col1 + y0], data[col0 + y1], data[col1 + y1], gx - x0, gy - y0);
+    }
+
+    /** As {@link #interpolate(short[], int, double, double)} on a mapped tile buffer. */
+    private static double interpolate(ShortBuffer data, int tilePosts, double fracLon, double fracLat) {
+        double gx = fracLon * (tilePosts - 1);
+        double gy = fracLat * (tilePosts - 1);
+
+        int x0 = (int) gx;
+        int y0 = (int) gy;
+        int x1 = Math.min(x0 + 1, tilePosts - 1);
+        int y1 = Math.min(y0 + 1, tilePosts - 1);
+
+        int col0 = x0 * tilePosts, col1 = x1 * tilePosts;
+        return bilinear(data.get(col0 + y0), data.get(col1 + y0), data.get(col0 + y1), data.get(col1 + y1),
+                gx - x0, gy - y0);
+    }
+
+    private static double bilinear(short e00, short e10, short e01, short e11, double fx, double fy) {
+        if ((e00 == NO_DATA) | (e10 == NO_DATA) | (e01 == NO_DATA) | (e11 == NO_DATA)) {
             // Return nearest valid value
             if (e00 != NO_DATA) return e00;
             if (e10 != NO_DATA) return e10;
@@ -528,8 +970,141 @@ public class DtedReader {
         return elev;
     }
 
+    /** Heap posts of a tile in column-major order, or null for buffer-backed tiles. */
+    private static short[] heapPosts(ElevationTile tile) {
+        if (tile instanceof ElevationTile.HeapTile heap) return heap.data();
+        if (tile instanceof CompressedTile compressed) return compressed.data();
+        return null;
+    }
+
+    // ── Batch Elevation Query ───────────────────────────────────────────
+
+    /**
+     * Elevations at arbitrary positions, as {@link #getElevation(double, double)}.
+     * Consecutive positions in the same tile share one tile lookup, so
+     * spatially ordered positions are fastest. Nothing is allocated.
+     *
+     * @param lats  latitudes in decimal degrees
+     * @param lons  longitudes in decimal degrees
+     * @param count number of positions, from index 0
+     * @param out   receives elevation in metres MSL or NO_DATA at {@code out[i]}
+     */
+    public void getElevations(double[] lats, double[] lons, int count, double[] out) {
+        checkBatch(count, lats.length, lons.length, out.length);
+        sampleRun(grid, 0, PyramidStat.MEAN, lats, lons, 0, 0, 0, 0, 0, count, out, null, 0);
+    }
+
+    /** {@link #getElevations(double[], double[], int, double[])} into a float buffer. */
+    public void getElevations(double[] lats, double[] lons, int count, float[] out) {
+        checkBatch(count, lats.length, lons.length, out.length);
+        sampleRun(grid, 0, PyramidStat.MEAN, lats, lons, 0, 0, 0, 0, 0, count, null, out, 0);
+    }
+
+    /**
+     * Elevations at {@code count} evenly spaced positions
+     * ({@code lat0 + i·dLat}, {@code lon0 + i·dLon}), e.g. a radial terrain
+     * profile. Nothing is allocated.
+     *
+     * @param out receives elevation in metres MSL or NO_DATA at {@code out[i]}
+     */
+    public void getElevationsAlongLine(double lat0, double lon0, double dLat, double dLon,
+                                       int count, double[] out) {
+        checkBatch(count, count, count, out.length);
+        sampleRun(grid, 0, PyramidStat.MEAN, null, null, lat0, lon0, dLat, dLon, 0, count, out, null, 0);
+    }
+
+    /** {@link #getElevationsAlongLine(double, double, double, double, int, double[])} into a float buffer. */
+    public void getElevationsAlongLine(double lat0, double lon0, double dLat, double dLon,
+                                       int count, float[] out) {
+        checkBatch(count, count, count, out.length);
+        sampleRun(grid, 0, PyramidStat.MEAN, null, null, lat0, lon0, dLat, dLon, 0, count, null, out, 0);
+    }
+
+    /**
+     * Elevations of a regular raster of {@code cols × rows} posts at
+     * ({@code lat0 + y·dLat}, {@code lon0 + x·dLon}), stored column-major
+     * in {@code out[x * rows + y]}. Nothing is allocated.
+     */
+    public void getElevationRaster(double lat0, double lon0, double dLat, double dLon,
+                                   int cols, int rows, double[] out) {
+        checkBatch(Math.multiplyExact(cols, rows), Integer.MAX_VALUE, Integer.MAX_VALUE, out.length);
+        TileGrid g = grid;
+        for (int x = 0; x < cols; x++) {
+            sampleRun(g, 0, PyramidStat.MEAN, null, null, lat0, lon0 + x * dLon, dLat, 0, 0, rows, out, null, x * rows);
+        }
+    }
+
+    /** {@link #getElevationRaster(double, double, double, double, int, int, double[])} into a float buffer. */
+    public void getElevationRaster(double lat0, double lon0, double dLat, double dLon,
+                                   int cols, int rows, float[] out) {
+        checkBatch(Math.multiplyExact(cols, rows), Integer.MAX_VALUE, Integer.MAX_VALUE, out.length);
+        TileGrid g = grid;
+        for (int x = 0; x < cols; x++) {
+            sampleRun(g, 0, PyramidStat.MEAN, null, null, lat0, lon0 + x * dLon, dLat, 0, 0, rows, null, out, x * rows);
+        }
+    }
+
+    private static void checkBatch(int count, int lats, int lons, int out) {
+        if (count < 0 || count > lats || count > lons || count > out) {
+            throw new IllegalArgumentException(String.format(Locale.ENGLISH,
+                    "Batch of %d positions does not fit coordinate (%d, %d) or output (%d) arrays",
+                    count, lats, lons, out));
+        }
+    }
+
+    /**
+     * Sample positions {@code from .. to - 1} into {@code out[outOffset + i]}
+     * (or {@code outF}). Positions come from {@code lats}/{@code lons} when
+     * given, otherwise from the line {@code (lat0 + i·dLat, lon0 + i·dLon)}.
+     * The tile and its heap posts are looked up again only when a position
+     * leaves the current tile.
+     */
+    private static void sampleRun(TileGrid g, int level, PyramidStat stat,
+                                  double[] lats, double[] lons,
+                                  double lat0, double lon0, double dLat, double dLon,
+                                  int from, int to, double[] out, float[] outF, int outOffset) {
+        int curLon = Integer.MIN_VALUE, curLat = Integer.MIN_VALUE;
+        ElevationTile tile = null;
+        short[] data = null;
+        ShortBuffer buffer = null;
+        int posts = 0;
+
+        for (int i = from; i < to; i++) {
+            double lat = lats != null ? lats[i] : lat0 + i * dLat;
+            double lon = lons != null ? lons[i] : lon0 + i * dLon;
+            int tileLon = (int) Math.floor(lon);
+            int tileLat = (int) Math.floor(lat);
+            if (tileLon != curLon || tileLat != curLat) {
+                curLon = tileLon;
+                curLat = tileLat;
+                tile = g == null ? null : g.tile(tileLon - g.minLon, tileLat - g.minLat, level, stat);
+                data = tile == null ? null : heapPosts(tile);
+                buffer = tile instanceof ElevationTile.BufferTile mapped ? mapped.data() : null;
+                posts = tile == null ? 0 : tile.getPosts();
+            }
+
+            double elev;
+            if (data != null) {
+                elev = interpolate(data, posts, lon - tileLon, lat - tileLat);
+            } else if (buffer != null) {
+                elev = interpolate(buffer, posts, lon - tileLon, lat - tileLat);
+            } else if (tile != null) {
+                elev = interpolate(tile, lon - tileLon, lat - tileLat);
+            } else {
+                elev = NO_DATA;
+            }
+            if (out != null) out[outOffset + i] = elev;
+            else outF[outOffset + i] = (float) elev;
+        }
+    }
+
     /**
      * Get elevation data within a circular boundary for rendering.
+     * <p>
+     * When the sample spacing spans several posts, samples are the block
+     * means of the matching {@link #pyramidLevelFor pyramid level}, which
+     * touches far less data than full resolution and does not alias.
+     * </p>
      *
      * @param centreLatDeg  centre latitude
      * @param centreLonDeg  centre longitude
@@ -554,25 +1129,31 @@ public class DtedReader {
         double elevMin = Double.MAX_VALUE;
         double elevMax = Double.MIN_VALUE;
 
+        TileGrid g = this.grid;
+        int level = g == null ? 0 : pyramidLevelFor(g, Math.min(stepLat, stepLon));
+
         for (int x = 0; x < resolution; x++) {
             double lon = lonMin + x * stepLon;
-            for (int y = 0; y < resolution; y++) {
-                double lat = latMin + y * stepLat;
-
-                // Check if within circular boundary
-                double dLat = lat - centreLatDeg;
-                double dLon = (lon - centreLonDeg) * Math.cos(Math.toRadians(centreLatDeg));
-                double distKm = Math.sqrt(dLat * dLat + dLon * dLon) * 111.32;
-
-                if (distKm <= radiusKm) {
-                    double elev = getElevation(lat, lon);
-                    grid[x][y] = elev;
+            double[] column = grid[x];
+            int y = 0;
+            while (y < resolution) {
+                // Next run of samples within the circular boundary, sampled in one batch
+                if (!withinRadius(latMin + y * stepLat, lon, centreLatDeg, centreLonDeg, radiusKm)) {
+                    column[y++] = NO_DATA;
+                    continue;
+                }
+                int runStart = y;
+                while (y < resolution && withinRadius(latMin + y * stepLat, lon, centreLatDeg, centreLonDeg, radiusKm)) {
+                    y++;
+                }
+                sampleRun(g, level, PyramidStat.MEAN, null, null, latMin, lon, stepLat, 0,
+                        runStart, y, column, null, 0);
+                for (int i = runStart; i < y; i++) {
+                    double elev = column[i];
                     if (elev != NO_DATA) {
                         if (elev < elevMin) elevMin = elev;
                         if (elev > elevMax) elevMax = elev;
                     }
-                } else {
-                    grid[x][y] = NO_DATA;
                 }
             }
         }
@@ -583,25 +1164,119 @@ public class DtedReader {
                 resolution);
     }
 
+    private static boolean withinRadius(double lat, double lon, double centreLatDeg, double centreLonDeg,
+                                        double radiusKm) {
+        double dLat = lat - centreLatDeg;
+        double dLon = (lon - centreLonDeg) * Math.cos(Math.toRadians(centreLatDeg));
+        return Math.sqrt(dLat * dLat + dLon * dLon) * 111.32 <= radiusKm;
+    }
+
     /**
      * Check if the cache is loaded and ready for queries.
      */
     public boolean isLoaded() {
-        return loaded;
+        return grid != null;
+    }
+
+    /**
+     * Number of caches loaded so far; changes whenever the elevation data
+     * returned by {@link #getElevation} may have changed.
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Cache file of the loaded elevation data, or null when nothing is loaded.
+     */
+    public File getCacheFile() {
+        TileGrid g = grid;
+        return g == null ? null : g.source;
+    }
+
+    /**
+     * Identity of the loaded elevation data — the cache file's path, size
+     * and modification time — stable across sessions and readers, or null
+     * when nothing is loaded. Results derived from the terrain may be
+     * cached under it.
+     */
+    public String getCacheIdentity() {
+        TileGrid g = grid;
+        return g == null ? null : g.identity;
     }
 
     /**
      * Get the geographic bounds of the loaded cache.
      */
     public double[] getBounds() {
-        return new double[]{minLon, minLat, maxLon + 1, maxLat + 1};
+        TileGrid g = grid;
+        return g == null ? new double[4] : new double[]{g.minLon, g.minLat, g.maxLon + 1, g.maxLat + 1};
     }
 
     /**
      * Get the number of elevation posts per tile side in the loaded cache.
      */
     public int getTilePosts() {
-        return tilePosts;
+        TileGrid g = grid;
+        return g == null ? 0 : g.posts;
+    }
+
+    /**
+     * Loaded tile covering the 1° cell whose south-west corner is
+     * ({@code lat}, {@code lon}), or null when absent or nothing is loaded.
+     */
+    public ElevationTile getTile(int lat, int lon) {
+        TileGrid g = grid;
+        return g == null ? null : g.tile(lon - g.minLon, lat - g.minLat);
+    }
+
+    // ── Loaded tile grid ────────────────────────────────────────────────
+
+    /**
+     * Immutable tile grid of a loaded cache, published as a whole.
+     */
+    private static final class TileGrid {
+        final int minLon, minLat, maxLon, maxLat;
+        final int cols, rows;
+        final int posts;                 // posts per side for cached tiles
+        final ElevationTile[] tiles;     // [col * rows + row], null = absent
+        final ElevationTile[][] pyramid; // [(level - 1) * 3 + stat][col * rows + row]
+        final File source;               // cache file the grid was loaded from
+        final String identity;           // source path, size and modification time
+        final DecodedTileBudget budget;  // decompressed compressed tiles of this grid
+
+        TileGrid(int minLon, int minLat, int maxLon, int maxLat, int cols, int rows, int posts,
+                 ElevationTile[] tiles, ElevationTile[][] pyramid, File source, String identity,
+                 DecodedTileBudget budget) {
+            this.minLon = minLon;
+            this.minLat = minLat;
+            this.maxLon = maxLon;
+            this.maxLat = maxLat;
+            this.cols = cols;
+            this.rows = rows;
+            this.posts = posts;
+            this.tiles = tiles;
+            this.pyramid = pyramid;
+            this.source = source;
+            this.identity = identity;
+            this.budget = budget;
+        }
+
+        int levels() {
+            return pyramid.length / 3;
+        }
+
+        ElevationTile tile(int col, int row) {
+            if (col < 0 || col >= cols || row < 0 || row >= rows) return null;
+            return tiles[col * rows + row];
+        }
+
+        /** Tile of {@code level} (0 = full resolution); {@code stat} is ignored at level 0. */
+        ElevationTile tile(int col, int row, int level, PyramidStat stat) {
+            if (level == 0) return tile(col, row);
+            if (col < 0 || col >= cols || row < 0 || row >= rows) return null;
+            return pyramid[(level - 1) * 3 + stat.ordinal()][col * rows + row];
+        }
     }
 
     // ── Elevation Grid Result ───────────────────────────────────────────
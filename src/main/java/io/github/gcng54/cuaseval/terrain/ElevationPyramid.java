@@ -0,0 +1,103 @@
+package io.github.gcng54.cuaseval.terrain;
+
+/**
+ * Downsampled levels of one elevation tile.
+ * <p>
+ * Level {@code k} keeps every {@code 2^k}-th post of the tile, so it still
+ * spans the tile edge to edge with {@code (posts - 1) / 2^k + 1} posts and
+ * can be interpolated like the full-resolution tile. Each level post
+ * summarises the block of full-resolution posts within {@code 2^(k-1)} posts
+ * of it, in both directions, as the minimum, maximum and mean of the valid
+ * posts. A block with no valid post is {@link DtedReader#NO_DATA}.
+ * </p>
+ */
+final class ElevationPyramid {
+
+    /** Coarsest level kept; level 6 samples every 64th post */
+    static final int MAX_LEVELS = 6;
+
+    /** Statistic channels of a level, in storage order */
+    static final int MIN = 0, MAX = 1, MEAN = 2;
+
+    private ElevationPyramid() {}
+
+    /**
+     * Number of levels for tiles of {@code posts} per side: each level must
+     * keep whole post spacings and at least 16 posts.
+     */
+    static int levelsFor(int posts) {
+        int levels = 0;
+        while (levels < MAX_LEVELS) {
+            int step = 1 << (levels + 1);
+            if ((posts - 1) % step != 0 || levelPosts(posts, levels + 1) < 16) break;
+            levels++;
+        }
+        return levels;
+    }
+
+    /** Posts per side at {@code level}. */
+    static int levelPosts(int posts, int level) {
+        return ((posts - 1) >> level) + 1;
+    }
+
+    /**
+     * Minimum, maximum and mean of level {@code level} ≥ 1, each as columns
+     * ({@code [x][y]}) of {@link #levelPosts} posts.
+     *
+     * @param columns full-resolution tile as {@code columns[x][y]}
+     */
+    static short[][][] build(short[][] columns, int posts, int level) {
+        int n = levelPosts(posts, level);
+        int step = 1 << level, half = step >> 1;
+
+        // Pass 1: along y within every full-resolution column
+        short[][] colMin = new short[posts][n], colMax = new short[posts][n];
+        int[][] colSum = new int[posts][n], colCount = new int[posts][n];
+        for (int x = 0; x < posts; x++) {
+            short[] column = columns[x];
+            for (int j = 0; j < n; j++) {
+                int lo = Math.max(0, j * step - half), hi = Math.min(posts - 1, j * step + half);
+                short min = Short.MAX_VALUE, max = Short.MIN_VALUE;
+                int sum = 0, count = 0;
+                for (int y = lo; y <= hi; y++) {
+                    short e = column[y];
+                    if (e == DtedReader.NO_DATA) continue;
+                    if (e < min) min = e;
+                    if (e > max) max = e;
+                    sum += e;
+                    count++;
+                }
+                colMin[x][j] = min;
+                colMax[x][j] = max;
+                colSum[x][j] = sum;
+                colCount[x][j] = count;
+            }
+        }
+
+        // Pass 2: across the columns of each block
+        short[][][] result = new short[3][n][n];
+        for (int i = 0; i < n; i++) {
+            int lo = Math.max(0, i * step - half), hi = Math.min(posts - 1, i * step + half);
+            for (int j = 0; j < n; j++) {
+                short min = Short.MAX_VALUE, max = Short.MIN_VALUE;
+                long sum = 0;
+                int count = 0;
+                for (int x = lo; x <= hi; x++) {
+                    if (colCount[x][j] == 0) continue;
+                    if (colMin[x][j] < min) min = colMin[x][j];
+                    if (colMax[x][j] > max) max = colMax[x][j];
+                    sum += colSum[x][j];
+                    count += colCount[x][j];
+                }
+                if (count == 0) {
+                    result[MIN][i][j] = result[MAX][i][j] = result[MEAN][i][j] = DtedReader.NO_DATA;
+                } else {
+                    result[MIN][i][j] = min;
+                    result[MAX][i][j] = max;
+                    result[MEAN][i][j] = (short) Math.round((double) sum / count);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.gcng54.cuaseval.terrain;
+
+import java.nio.ShortBuffer;
+
+/**
+ * Elevation posts of one 1° × 1° terrain tile.
+ * <p>
+ * Posts are addressed by longitude column {@code x} (west → east) and
+ * latitude row {@code y} (south → north), both {@code 0 .. posts - 1}, and
+ * hold metres MSL or {@link DtedReader#NO_DATA}. The backing store is either
+ * a heap array or a read-only view of a memory-mapped cache file; both are
+ * immutable and safe to read from any number of threads.
+ * </p>
+ */
+public interface ElevationTile {
+
+    /** Posts per tile side. */
+    int getPosts();
+
+    /** Elevation post at longitude column {@code x}, latitude row {@code y}. */
+    short get(int x, int y);
+
+    /**
+     * Tile backed by a heap array in column-major order
+     * ({@code data[x * posts + y]}).
+     */
+    static ElevationTile of(short[] data, int posts) {
+        return new HeapTile(data, posts);
+    }
+
+    /**
+     * Tile viewing a buffer in column-major order, typically a slice of a
+     * memory-mapped cache file. Only absolute reads are used, so the buffer
+     * may be shared between threads.
+     */
+    static ElevationTile of(ShortBuffer data, int posts) {
+        return new BufferTile(data, posts);
+    }
+
+    // ── Implementations ─────────────────────────────────────────────────
+
+    /** Heap-array tile. */
+    final class HeapTile implements ElevationTile {
+        private final short[] data;
+        private final int posts;
+
+        HeapTile(short[] data, int posts) {
+            if (data.length < posts * posts) {
+                throw new IllegalArgumentException("Tile data too short: " + data.length + " < " + posts * posts);
+            }
+            this.data = data;
+            this.posts = posts;
+        }
+
+        @Override public int getPosts()            { return posts; }
+        @Override public short get(int x, int y)   { return data[x * posts + y]; }
+
+        /** Backing array, for batch queries within the package. */
+        short[] data()                             { return data; }
+    }
+
+    /** Buffer-view tile (e.g. memory-mapped). */
+    final class BufferTile implements ElevationTile {
+        private final ShortBuffer data;
+        private final int posts;
+
+        BufferTile(ShortBuffer data, int posts) {
+            if (data.limit() < posts * posts) {
+                throw new IllegalArgumentException("Tile data too short: " + data.limit() + " < " + posts * posts);
+            }
+            this.data = data;
+            this.posts = posts;
+        }
+
+        @Override public int getPosts()            { return posts; }
+        @Override public short get(int x, int y)   { return data.get(x * posts + y); }
+
+        /** Backing buffer, for batch queries within the package. */
+        ShortBuffer data()                         { return data; }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.gcng54.cuaseval.terrain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of decoded {@link ElevationTile}s keyed by the 1° cell they
+ * cover, with a byte budget and least-recently-used eviction.
+ * <p>
+ * Lookups of resident tiles are lock-free and may run on any number of
+ * threads. A missing tile is loaded once: concurrent lookups of the same
+ * tile wait for the first one's load instead of decoding it again. Cells
+ * without data (loader returns null) are remembered as absent until
+ * {@link #clear()}. A failed load is not cached, so the next lookup retries.
+ * </p>
+ * <p>
+ * When a load pushes the resident size over the budget, the least recently
+ * used loaded tiles are evicted. A single tile larger than the budget is
+ * still kept until the next load.
+ * </p>
+ */
+public class ElevationTileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ElevationTileCache.class);
+
+    /** Default byte budget: about ten SRTM1 tiles */
+    public static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * Decodes the tile of one 1° cell.
+     */
+    @FunctionalInterface
+    public interface TileLoader {
+        /**
+         * @param lat south edge of the cell in degrees
+         * @param lon west edge of the cell in degrees
+         * @return the tile, or null when the cell has no data
+         */
+        ElevationTile load(int lat, int lon) throws IOException;
+    }
+
+    private static final class Entry {
+        final CompletableFuture<ElevationTile> tile = new CompletableFuture<>();
+        volatile long lastAccess;
+        volatile long bytes;
+    }
+
+    private final TileLoader loader;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private volatile long budgetBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ElevationTileCache(TileLoader loader) {
+        this(loader, DEFAULT_BUDGET_BYTES);
+    }
+
+    public ElevationTileCache(TileLoader loader, long budgetBytes) {
+        this.loader = loader;
+        this.budgetBytes = Math.max(0, budgetBytes);
+    }
+
+    // ── Lookup ──────────────────────────────────────────────────────────
+
+    /**
+     * Tile of the 1° cell with south-west corner ({@code lat}, {@code lon}),
+     * loading it if needed.
+     *
+     * @return the tile, or null when the cell has no data or its load failed
+     */
+    public ElevationTile get(int lat, int lon) {
+        long key = ((long) lon << 32) | (lat & 0xFFFFFFFFL);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry fresh = new Entry();
+            entry = entries.putIfAbsent(key, fresh);
+            if (entry == null) {
+                misses.incrementAndGet();
+                fresh.lastAccess = clock.incrementAndGet();
+                return load(key, fresh, lat, lon);
+            }
+        }
+        hits.incrementAndGet();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.tile.join();
+    }
+
+    private ElevationTile load(long key, Entry entry, int lat, int lon) {
+        ElevationTile tile;
+        try {
+            tile = loader.load(lat, lon);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load elevation tile ({}, {}): {}", lat, lon, e.getMessage());
+            entries.remove(key, entry);
+            entry.tile.complete(null);
+            return null;
+        }
+        if (tile != null) {
+            synchronized (this) {
+                // Not accounted if clear() dropped the entry while it loaded
+                if (entries.get(key) == entry) {
+                    entry.bytes = (long) tile.getPosts() * tile.getPosts() * Short.BYTES;
+                    residentBytes.addAndGet(entry.bytes);
+                }
+            }
+        }
+        entry.tile.complete(tile);
+        if (residentBytes.get() > budgetBytes) evict(entry);
+        return tile;
+    }
+
+    /**
+     * Evict least recently used loaded tiles, except {@code keep}, until the
+     * resident size fits the budget.
+     */
+    private synchronized void evict(Entry keep) {
+        while (residentBytes.get() > budgetBytes) {
+            Map.Entry<Long, Entry> oldest = null;
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                Entry candidate = e.getValue();
+                if (candidate == keep || candidate.bytes == 0 || !candidate.tile.isDone()) continue;
+                if (oldest == null || candidate.lastAccess < oldest.getValue().lastAccess) oldest = e;
+            }
+            if (oldest == null) return;
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                residentBytes.addAndGet(-oldest.getValue().bytes);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /** Drop every tile, including remembered absent cells. */
+    public synchronized void clear() {
+        entries.clear();
+        residentBytes.set(0);
+    }
+
+    // ── Configuration / statistics ──────────────────────────────────────
+
+    public long getBudgetBytes()      { return budgetBytes; }
+    public long getResidentBytes()    { return residentBytes.get(); }
+    public int size()                 { return entries.size(); }
+    public long getHits()             { return hits.get(); }
+    public long getMisses()           { return misses.get(); }
+    public long getEvictions()        { return evictions.get(); }
+
+    /** Change the byte budget, evicting least recently used tiles if it shrinks. */
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        if (residentBytes.get() > this.budgetBytes) evict(null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "ElevationTileCache[%d tiles, %.1f/%.1f MB hits=%d misses=%d evictions=%d]",
+                entries.size(), residentBytes.get() / 1048576.0, budgetBytes / 1048576.0,
+                hits.get(), misses.get(), evictions.get());
+    }
+}
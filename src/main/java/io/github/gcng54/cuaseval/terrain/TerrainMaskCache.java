@@ -0,0 +1,290 @@
+package io.github.gcng54.cuaseval.terrain;
+
+import io.github.gcng54.cuaseval.terrain.TerrainMaskCalculator.TerrainMask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of {@link TerrainMask}s computed by {@link TerrainMaskCalculator},
+ * with a byte budget and least-recently-used eviction.
+ * <p>
+ * A mask depends only on the sensor latitude and longitude, the antenna
+ * altitude, the range, the azimuth and sample resolution and the terrain, which is
+ * identified by {@link DtedReader#getCacheIdentity()} (cache file path,
+ * size and modification time). Entries are keyed by exactly these, so
+ * masks are shared between calculators and readers of the same terrain
+ * and a rebuilt cache file misses.
+ * </p>
+ * <p>
+ * A mask holds three {@code double} values per sample of every azimuth
+ * profile, so its size grows with the resolution: a 360 × 500 mask takes
+ * about 4 MB. Entries are accounted by these arrays; a mask larger than the
+ * whole budget is not kept.
+ * </p>
+ * <p>
+ * When {@link #setPersistent persistent}, computed masks are also written
+ * next to the terrain cache file, in a {@code <name>.dtcache.masks}
+ * directory with one file per mask holding its sampled elevations, and
+ * read back on a miss in a later session. The directory also records the
+ * terrain identity its masks belong to; masks of an earlier identity, left
+ * by a rebuilt or modified cache file, are deleted when the first mask of
+ * the new one is written, and {@link DtedReader#buildCache} deletes them
+ * when it replaces the file. Persistence failures are logged and otherwise
+ * ignored.
+ * </p>
+ * <p>
+ * Cached masks are shared, not copied, and must not be modified. All
+ * methods are thread-safe.
+ * </p>
+ */
+public class TerrainMaskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TerrainMaskCache.class);
+
+    /** Default byte budget: about 30 masks of 360 × 500 samples */
+    public static final long DEFAULT_BUDGET_BYTES = 128L * 1024 * 1024;
+
+    /** Approximate heap bytes of an array or object header */
+    private static final int OBJECT_OVERHEAD = 16;
+
+    /** Header of a persisted mask file */
+    private static final String FILE_MAGIC = "TMASK1";
+
+    /** File in the mask directory holding the terrain identity of its masks */
+    private static final String IDENTITY_FILE = "terrain.id";
+
+    /**
+     * Identity of one terrain mask.
+     *
+     * @param terrain     {@link DtedReader#getCacheIdentity()} of the terrain
+     * @param latitude    sensor latitude in degrees
+     * @param longitude   sensor longitude in degrees
+     * @param antennaMsl  antenna altitude in metres MSL used for line of sight
+     * @param maxRangeM   profile length in metres
+     * @param azimuths    number of azimuth profiles
+     * @param samples     samples per profile
+     */
+    public record Key(String terrain, double latitude, double longitude, double antennaMsl, double maxRangeM, int azimuths, int samples) {}
+
+    private final Map<Key, TerrainMask> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, Long> entryBytes = new HashMap<>();
+    private long budgetBytes;
+    private long residentBytes;
+    private boolean persistent;
+    private long hits;
+    private long misses;
+    private long diskHits;
+
+    public TerrainMaskCache() {
+        this(DEFAULT_BUDGET_BYTES);
+    }
+
+    /**
+     * @param budgetBytes bytes of masks kept in memory (0 disables the memory cache)
+     */
+    public TerrainMaskCache(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+    }
+
+    // ── Lookup ──────────────────────────────────────────────────────────
+
+    /** Cached mask for a key, or null. */
+    public synchronized TerrainMask get(Key key) {
+        TerrainMask mask = entries.get(key);
+        if (mask != null) hits++;
+        else misses++;
+        return mask;
+    }
+
+    public synchronized void put(Key key, TerrainMask mask) {
+        long bytes = maskBytes(mask);
+        if (bytes > budgetBytes) return;
+        entries.put(key, mask);
+        Long previous = entryBytes.put(key, bytes);
+        residentBytes += bytes - (previous != null ? previous : 0);
+        evict();
+    }
+
+    /** Drop every in-memory entry; persisted masks are kept. */
+    public synchronized void clear() {
+        entries.clear();
+        entryBytes.clear();
+        residentBytes = 0;
+    }
+
+    /** Evict least recently used entries until the resident size fits the budget. */
+    private void evict() {
+        var it = entries.keySet().iterator();
+        while (residentBytes > budgetBytes && it.hasNext()) {
+            Key eldest = it.next();
+            it.remove();
+            residentBytes -= entryBytes.remove(eldest);
+        }
+    }
+
+    /** Approximate heap bytes of a mask: its profile arrays and per-azimuth arrays. */
+    static long maskBytes(TerrainMask mask) {
+        long bytes = 2 * (OBJECT_OVERHEAD + (long) mask.getAzimuths().length * Double.BYTES);
+        for (TerrainMaskCalculator.TerrainProfile profile : mask.getProfiles()) {
+            bytes += 4 * OBJECT_OVERHEAD + (long) Double.BYTES * (profile.getDistances().length
+                    + profile.getElevations().length + profile.getLosAngles().length);
+        }
+        return bytes;
+    }
+
+    // ── Configuration / statistics ──────────────────────────────────────
+
+    public synchronized int size()                  { return entries.size(); }
+    public synchronized long getBudgetBytes()       { return budgetBytes; }
+    public synchronized long getResidentBytes()     { return residentBytes; }
+    public synchronized boolean isPersistent()      { return persistent; }
+    public synchronized long getHits()              { return hits; }
+    public synchronized long getMisses()            { return misses; }
+    /** Memory misses answered from a persisted mask file. */
+    public synchronized long getDiskHits()          { return diskHits; }
+
+    /** Persist computed masks next to the terrain cache file and read them back on a miss. */
+    public synchronized void setPersistent(boolean persistent) { this.persistent = persistent; }
+
+    /** Change the byte budget, evicting least recently used entries if it shrinks. */
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+        evict();
+    }
+
+    // ── Persistence ─────────────────────────────────────────────────────
+
+    /** Directory of the persisted masks of a terrain cache file. */
+    public static File maskDirectory(File terrainCacheFile) {
+        return new File(terrainCacheFile.getPath() + ".masks");
+    }
+
+    /**
+     * Sampled elevations ({@code [azimuth][sample]}) of a persisted mask, or
+     * null when none is stored for the key or it cannot be read.
+     */
+    double[][] readElevations(Key key, File terrainCacheFile) {
+        File file = maskFile(key, terrainCacheFile);
+        if (!file.isFile()) return null;
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (!FILE_MAGIC.equals(header.readUTF()) || !key.toString().equals(header.readUTF())) return null;
+            if (header.readInt() != key.azimuths() || header.readInt() != key.samples()) return null;
+
+            int offset = bytes.length - header.available();
+            if (header.available() != (long) key.azimuths() * key.samples() * Double.BYTES) {
+                throw new EOFException("truncated");
+            }
+            DoubleBuffer data = ByteBuffer.wrap(bytes, offset, header.available()).slice().asDoubleBuffer();
+            double[][] elevations = new double[key.azimuths()][key.samples()];
+            for (double[] profile : elevations) data.get(profile);
+            synchronized (this) {
+                diskHits++;
+            }
+            return elevations;
+        } catch (IOException e) {
+            log.warn("Failed to read terrain mask {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Persist the sampled elevations of a mask next to its terrain cache file. */
+    void writeElevations(Key key, File terrainCacheFile, double[][] elevations) {
+        File file = maskFile(key, terrainCacheFile);
+        Path tmpFile = null;
+        try {
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(headerBytes);
+            header.writeUTF(FILE_MAGIC);
+            header.writeUTF(key.toString());
+            header.writeInt(key.azimuths());
+            header.writeInt(key.samples());
+            header.flush();
+
+            ByteBuffer data = ByteBuffer.allocate(key.azimuths() * key.samples() * Double.BYTES);
+            DoubleBuffer values = data.asDoubleBuffer();
+            for (double[] profile : elevations) values.put(profile);
+
+            // Unique temporary file, so concurrent writers of one mask cannot interleave
+            Files.createDirectories(file.getParentFile().toPath());
+            claimDirectory(file.getParentFile(), key.terrain());
+            tmpFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {ByteBuffer.wrap(headerBytes.toByteArray()), data};
+                while (parts[1].hasRemaining()) channel.write(parts);
+            }
+            Files.move(tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to persist terrain mask {}: {}", file, e.getMessage());
+            if (tmpFile != null) tmpFile.toFile().delete();
+        }
+    }
+
+    /**
+     * Delete every persisted mask of a terrain cache file, for instance when
+     * the file is rebuilt.
+     */
+    public static synchronized void purge(File terrainCacheFile) {
+        File dir = maskDirectory(terrainCacheFile);
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        int deleted = 0;
+        for (File f : files) {
+            if (f.isFile() && f.delete()) deleted++;
+        }
+        if (deleted > 0) log.info("Deleted {} persisted terrain masks in {}", deleted, dir);
+    }
+
+    /**
+     * Make {@code dir} hold the masks of {@code terrain}, deleting masks of
+     * any other terrain identity recorded there.
+     */
+    private static synchronized void claimDirectory(File dir, String terrain) throws IOException {
+        Path idFile = new File(dir, IDENTITY_FILE).toPath();
+        if (Files.isRegularFile(idFile) && terrain.equals(Files.readString(idFile, StandardCharsets.UTF_8))) {
+            return;
+        }
+        File[] files = dir.listFiles();
+        if (files != null) {
+            int deleted = 0;
+            for (File f : files) {
+                if (f.isFile() && f.getName().endsWith(".mask") && f.delete()) deleted++;
+            }
+            if (deleted > 0) log.info("Deleted {} terrain masks of a previous terrain in {}", deleted, dir);
+        }
+        Files.writeString(idFile, terrain, StandardCharsets.UTF_8);
+    }
+
+    private static File maskFile(Key key, File terrainCacheFile) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return new File(maskDirectory(terrainCacheFile), HexFormat.of().formatHex(digest) + ".mask");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
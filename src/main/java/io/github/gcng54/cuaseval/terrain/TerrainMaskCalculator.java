@@ -4,9 +4,12 @@ import io.github.gcng54.cuaseval.model.GeoPosition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Calculates terrain masking and detection angles from sensor positions
@@ -16,18 +19,50 @@ import java.util.Locale;
  * radial profiles from a sensor location to determine which azimuth/elevation
  * combinations are masked by terrain.
  * </p>
+ * <p>
+ * Azimuth profiles are independent and computed in parallel on a
+ * fork/join pool. Masks of loaded cache terrain are cached in a
+ * {@link TerrainMaskCache}, by default one shared by all calculators and
+ * bounded by {@link TerrainMaskCache#DEFAULT_BUDGET_BYTES}, so recomputing
+ * the masks of an unchanged deployment is a lookup.
+ * </p>
  */
 public class TerrainMaskCalculator {
 
     private static final Logger log = LoggerFactory.getLogger(TerrainMaskCalculator.class);
     private static final double EARTH_RADIUS = 6_371_000.0; // metres
 
+    /** Azimuth profiles per fork/join leaf task */
+    private static final int AZIMUTHS_PER_TASK = 8;
+
+    /** Mask cache shared by calculators created without an explicit cache */
+    private static final TerrainMaskCache DEFAULT_CACHE = new TerrainMaskCache();
+
     private final DtedReader dtedReader;
+    private final TerrainMaskCache cache;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
 
     public TerrainMaskCalculator(DtedReader dtedReader) {
+        this(dtedReader, DEFAULT_CACHE);
+    }
+
+    /**
+     * @param cache mask cache to use, or null to always compute
+     */
+    public TerrainMaskCalculator(DtedReader dtedReader, TerrainMaskCache cache) {
         this.dtedReader = dtedReader;
+        this.cache = cache;
     }
 
+    /** Mask cache shared by calculators created with {@link #TerrainMaskCalculator(DtedReader)}. */
+    public static TerrainMaskCache getDefaultCache() { return DEFAULT_CACHE; }
+
+    public TerrainMaskCache getCache()               { return cache; }
+    public ForkJoinPool getPool()                    { return pool; }
+
+    /** Pool the azimuth profiles are computed on; null computes them on the calling thread. */
+    public void setPool(ForkJoinPool pool)           { this.pool = pool; }
+
     // ── Terrain Mask Profile ────────────────────────────────────────────
 
     /**
@@ -119,6 +154,12 @@ public class TerrainMaskCalculator {
 
     /**
      * Compute terrain masking for a sensor position.
+     * <p>
+     * Returns the cached mask when the same latitude and longitude, antenna
+     * altitude, range and resolution were computed before on the same
+     * terrain cache. The altitude of {@code sensorPos} does not affect the
+     * mask; a cached mask reports the sensor position it was computed for.
+     * </p>
      *
      * @param sensorPos     sensor geographic position (lat/lon)
      * @param sensorAltMsl  sensor antenna altitude in metres MSL
@@ -134,51 +175,132 @@ public class TerrainMaskCalculator {
             return null;
         }
 
-        List<TerrainProfile> profiles = new ArrayList<>();
+        // Terrain identity and file are read once, so a concurrent reload cannot mix terrains
+        String terrain = dtedReader.getCacheIdentity();
+        File terrainFile = dtedReader.getCacheFile();
+        TerrainMaskCache.Key key = cache == null || terrain == null ? null
+                : new TerrainMaskCache.Key(terrain, sensorPos.getLatitude(), sensorPos.getLongitude(),
+                        sensorAltMsl, maxRangeM, numAzimuths, numSamples);
+        if (key != null) {
+            TerrainMask cached = cache.get(key);
+            if (cached != null) return cached;
+            if (cache.isPersistent()) {
+                double[][] elevations = cache.readElevations(key, terrainFile);
+                if (elevations != null) {
+                    TerrainMask mask = buildMask(sensorPos, sensorAltMsl, maxRangeM, elevations);
+                    cache.put(key, mask);
+                    return mask;
+                }
+            }
+        }
 
-        for (int i = 0; i < numAzimuths; i++) {
-            double azimuth = 360.0 * i / numAzimuths;
-            TerrainProfile profile = computeRadialProfile(
-                    sensorPos, sensorAltMsl, azimuth, maxRangeM, numSamples);
-            profiles.add(profile);
+        // Terrain sampling, the costly part, runs per azimuth in parallel
+        double[][] elevations = new double[numAzimuths][numSamples];
+        ProfileTask task = new ProfileTask(sensorPos, maxRangeM, elevations, 0, numAzimuths);
+        if (pool != null && numAzimuths > AZIMUTHS_PER_TASK) {
+            pool.invoke(task);
+        } else {
+            task.compute();
         }
 
-        TerrainMask mask = new TerrainMask(sensorPos, sensorAltMsl, maxRangeM, profiles);
-        log.debug("Terrain mask computed: {} profiles, max mask angle = {:.1f}°",
-                profiles.size(), maxMaskAngle(profiles));
+        TerrainMask mask = buildMask(sensorPos, sensorAltMsl, maxRangeM, elevations);
+        if (key != null) {
+            cache.put(key, mask);
+            if (cache.isPersistent()) cache.writeElevations(key, terrainFile, elevations);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Locale.ENGLISH, "Terrain mask computed: %d profiles, max mask angle = %.1f°",
+                    mask.getProfiles().size(), maxMaskAngle(mask.getProfiles())));
+        }
         return mask;
     }
 
     /**
-     * Compute a single radial terrain profile from the sensor.
+     * Samples the terrain of azimuths {@code from .. to - 1}, splitting the
+     * range until it is small enough for one task.
+     */
+    private final class ProfileTask extends RecursiveAction {
+        private final GeoPosition sensorPos;
+        private final double maxRangeM;
+        private final double[][] elevations;
+        private final int from, to;
+
+        ProfileTask(GeoPosition sensorPos, double maxRangeM, double[][] elevations, int from, int to) {
+            this.sensorPos = sensorPos;
+            this.maxRangeM = maxRangeM;
+            this.elevations = elevations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= AZIMUTHS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    sampleRadialProfile(sensorPos, azimuthOf(i, elevations.length), maxRangeM, elevations[i]);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ProfileTask(sensorPos, maxRangeM, elevations, from, mid),
+                          new ProfileTask(sensorPos, maxRangeM, elevations, mid, to));
+            }
+        }
+    }
+
+    private static double azimuthOf(int index, int numAzimuths) {
+        return 360.0 * index / numAzimuths;
+    }
+
+    /**
+     * Sample terrain elevation along one radial from the sensor; NO_DATA is
+     * taken as sea level.
+     */
+    private void sampleRadialProfile(GeoPosition sensorPos, double azimuthDeg, double maxRangeM,
+                                     double[] elevations) {
+        int numSamples = elevations.length;
+        double stepM = maxRangeM / numSamples;
+        double azRad = Math.toRadians(azimuthDeg);
+
+        // Sample points lie on a line in lat/lon: fetch all elevations in one batch
+        double stepLat = stepM * Math.cos(azRad) / 111320.0;
+        double stepLon = stepM * Math.sin(azRad) / (111320.0 * Math.cos(Math.toRadians(sensorPos.getLatitude())));
+        dtedReader.getElevationsAlongLine(sensorPos.getLatitude() + stepLat, sensorPos.getLongitude() + stepLon,
+                stepLat, stepLon, numSamples, elevations);
+
+        for (int s = 0; s < numSamples; s++) {
+            if (elevations[s] == DtedReader.NO_DATA) {
+                elevations[s] = 0; // assume sea level
+            }
+        }
+    }
+
+    /** Mask from sampled elevations ({@code [azimuth][sample]}), which it takes over. */
+    private static TerrainMask buildMask(GeoPosition sensorPos, double sensorAltMsl, double maxRangeM,
+                                         double[][] elevations) {
+        TerrainProfile[] profiles = new TerrainProfile[elevations.length];
+        for (int i = 0; i < profiles.length; i++) {
+            profiles[i] = buildProfile(azimuthOf(i, profiles.length), sensorAltMsl, maxRangeM, elevations[i]);
+        }
+        return new TerrainMask(sensorPos, sensorAltMsl, maxRangeM, Arrays.asList(profiles));
+    }
+
+    /**
+     * Radial terrain profile from its sampled elevations.
      */
-    private TerrainProfile computeRadialProfile(GeoPosition sensorPos, double sensorAltMsl,
-                                                 double azimuthDeg, double maxRangeM,
-                                                 int numSamples) {
+    private static TerrainProfile buildProfile(double azimuthDeg, double sensorAltMsl, double maxRangeM,
+                                               double[] elevations) {
+        int numSamples = elevations.length;
         double[] distances = new double[numSamples];
-        double[] elevations = new double[numSamples];
         double[] losAngles = new double[numSamples];
         double maxMaskAngle = -90.0;
 
         double stepM = maxRangeM / numSamples;
-        double azRad = Math.toRadians(azimuthDeg);
 
         for (int s = 1; s <= numSamples; s++) {
             double distM = s * stepM;
             distances[s - 1] = distM;
 
-            // Compute target point position
-            double dLat = distM * Math.cos(azRad) / 111320.0;
-            double dLon = distM * Math.sin(azRad) / (111320.0 * Math.cos(Math.toRadians(sensorPos.getLatitude())));
-
-            double targetLat = sensorPos.getLatitude() + dLat;
-            double targetLon = sensorPos.getLongitude() + dLon;
-
-            double terrainElev = dtedReader.getElevation(targetLat, targetLon);
-            if (terrainElev == DtedReader.NO_DATA) {
-                terrainElev = 0; // assume sea level
-            }
-            elevations[s - 1] = terrainElev;
+            double terrainElev = elevations[s - 1];
 
             // Line of sight angle (elevation angle from sensor to terrain point)
             // Account for Earth curvature
@@ -8,6 +8,7 @@ import io.github.gcng54.cuaseval.model.GeoPosition;
 import io.github.gcng54.cuaseval.model.TestEnvironment;
 import io.github.gcng54.cuaseval.terrain.DtedReader;
 import io.github.gcng54.cuaseval.terrain.SrtmDownloader;
+import io.github.gcng54.cuaseval.terrain.TerrainMaskCalculator;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -50,6 +51,7 @@ public class DtedPanel extends VBox {
     private final TextField maskNumAzField;
     private final TextField maskSamplesField;
     private final TextField maskAntennaHtField;
+    private final CheckBox persistMasksCheck;
 
     // Obstacle generation (TR-01)
     private final Spinner<Integer> obstacleCountSpinner;
@@ -157,6 +159,12 @@ public class DtedPanel extends VBox {
         maskAntennaHtField = new TextField("10");
         maskAntennaHtField.setPromptText("Antenna height AGL (m)");
 
+        // Computed masks are kept next to the cache file and reused in later sessions
+        persistMasksCheck = new CheckBox("Keep Terrain Masks Between Sessions");
+        persistMasksCheck.setSelected(TerrainMaskCalculator.getDefaultCache().isPersistent());
+        persistMasksCheck.setOnAction(e ->
+                TerrainMaskCalculator.getDefaultCache().setPersistent(persistMasksCheck.isSelected()));
+
         Label maskInfo = new Label(
                 "Terrain Mask: Line-of-sight analysis from sensor\n"
               + "positions along radial profiles. Masked angles\n"
@@ -229,6 +237,7 @@ public class DtedPanel extends VBox {
                 label("Azimuths:"), maskNumAzField,
                 label("Samples/Profile:"), maskSamplesField,
                 label("Antenna Height AGL (m):"), maskAntennaHtField,
+                persistMasksCheck,
                 maskInfo,
                 new Separator(),
                 label("── Obstacle Generation ──"),
@@ -326,29 +335,36 @@ public class DtedPanel extends VBox {
         double radiusM = radius * 1000;
         double degPerM = 1.0 / 111_320.0;
 
+        double[] obsLats = new double[count];
+        double[] obsLons = new double[count];
+        double[] heights = new double[count];
+        double[] widths = new double[count];
+        double[] lengths = new double[count];
         for (int i = 0; i < count; i++) {
             double angle = rng.nextDouble() * 2 * Math.PI;
             double r = radiusM * Math.sqrt(rng.nextDouble());
             double dLat = r * Math.cos(angle) * degPerM;
             double dLon = r * Math.sin(angle) * degPerM / Math.cos(Math.toRadians(lat));
 
-            double obsLat = lat + dLat;
-            double obsLon = lon + dLon;
-            double height = 5 + rng.nextDouble() * (maxHeight - 5);
-            double width = 5 + rng.nextDouble() * 20;
-            double length = 5 + rng.nextDouble() * 20;
-
-            // Use terrain elevation if available
-            double elev = 0;
-            if (dtedReader != null && dtedReader.isLoaded()) {
-                double e = dtedReader.getElevation(obsLat, obsLon);
-                if (e != DtedReader.NO_DATA) elev = e;
-            }
+            obsLats[i] = lat + dLat;
+            obsLons[i] = lon + dLon;
+            heights[i] = 5 + rng.nextDouble() * (maxHeight - 5);
+            widths[i] = 5 + rng.nextDouble() * 20;
+            lengths[i] = 5 + rng.nextDouble() * 20;
+        }
 
+        // Use terrain elevation if available, queried in one batch
+        double[] elevs = new double[count];
+        if (dtedReader != null && dtedReader.isLoaded()) {
+            dtedReader.getElevations(obsLats, obsLons, count, elevs);
+        }
+
+        for (int i = 0; i < count; i++) {
+            double elev = elevs[i] != DtedReader.NO_DATA ? elevs[i] : 0;
             TestEnvironment.Obstacle obs = new TestEnvironment.Obstacle(
                     String.format("OBS-%s-%02d", type.name().substring(0, 3), i + 1),
-                    new GeoPosition(obsLat, obsLon, elev),
-                    width, height, length, type);
+                    new GeoPosition(obsLats[i], obsLons[i], elev),
+                    widths[i], heights[i], lengths[i], type);
             generatedObstacles.add(obs);
             obstacleListView.getItems().add(obs.toString());
         }
@@ -421,6 +437,7 @@ public class DtedPanel extends VBox {
         progressBar.setVisible(true);
         progressBar.setProgress(-1);
         buildCacheButton.setDisable(true);
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 
         String cacheName = cacheNameField.getText().trim();
         if (cacheName.isEmpty()) cacheName = "dted_all";
@@ -431,12 +448,23 @@ public class DtedPanel extends VBox {
             File cacheFile = new File(CACHE_DIR + "/" + finalCacheName + ".dtcache");
             cacheFile.getParentFile().mkdirs();
 
-            dtedReader.buildCache(srcDir, cacheFile);
+            boolean built = dtedReader.buildCache(srcDir, cacheFile, threads,
+                    (tileName, completed, totalTiles) -> Platform.runLater(() -> {
+                        progressBar.setProgress((double) completed / totalTiles);
+                        statusLabel.setText(String.format(Locale.ENGLISH,
+                                "Building elevation cache: %s (%d/%d)", tileName, completed, totalTiles));
+                    }));
+            String buildError = dtedReader.getBuildError();
 
             Platform.runLater(() -> {
                 progressBar.setProgress(1);
                 progressBar.setVisible(false);
                 buildCacheButton.setDisable(false);
+                if (!built) {
+                    statusLabel.setText("Cache build failed: "
+                            + (buildError != null ? buildError : "see log for details"));
+                    return;
+                }
                 statusLabel.setText(String.format(Locale.ENGLISH,
                         "Cache built: %s (%.1f MB)",
                         cacheFile.getName(), cacheFile.length() / (1024.0 * 1024.0)));
@@ -69,7 +69,10 @@ public class MainView extends BorderPane {
         scenarioPanel.setCallback(this::onScenarioEvaluated);
 
         // Wire up sensor panel callback for multi-DTI configuration
-        sensorPanel.setCallback(system -> scenarioPanel.setMultiDtiSystem(system));
+        sensorPanel.setCallback(system -> {
+            reportPanel.setMultiDtiSystem(system);
+            scenarioPanel.setMultiDtiSystem(system);
+        });
 
         // Wire up TerrainPanel callback (SRTM + obstacles)
         terrainPanel.setCallback(new TerrainPanel.TerrainCallback() {
@@ -79,6 +82,7 @@ public class MainView extends BorderPane {
                 DtedReader srtmReader = new DtedReader();
                 srtmReader.setSrtmDir(srtmDir);
                 mapView.setTerrainData(srtmReader, centreLon, centreLat, radiusKm);
+                sensorPanel.getMultiDtiSystem().getCoverageEngine().setTerrain(srtmReader);
 
                 // Compute terrain masks for all sensor sites in current scenario
                 if (scenario != null && scenario.getEnvironment() != null) {
@@ -49,6 +49,7 @@ public class MapView extends Pane {
     private final Canvas canvas;
     private TestEnvironment environment;
     private TestScenario scenario;
+    private TruthOracle truth;          // compiled ground-truth paths of the scenario
     private EvaluationResult result;
 
     // View parameters
@@ -267,6 +268,7 @@ public class MapView extends Pane {
      */
     public void setScenario(TestScenario scenario) {
         this.scenario = scenario;
+        this.truth = CompiledScenario.compile(scenario).getTruth();
         this.environment = scenario.getEnvironment();
         if (environment != null && environment.getCentrePosition() != null) {
             centreLat = environment.getCentrePosition().getLatitude();
@@ -662,14 +664,11 @@ public class MapView extends Pane {
         gc.setLineWidth(2);
         gc.setLineDashes(6, 4);
 
-        for (TestScenario.FlightPlan plan : scenario.getFlightPlans()) {
-            List<TestScenario.Waypoint> wps = plan.getWaypoints();
-            for (int i = 0; i < wps.size() - 1; i++) {
-                GeoPosition p1 = wps.get(i).getPosition();
-                GeoPosition p2 = wps.get(i + 1).getPosition();
+        for (int t = 0; t < truth.getTargetCount(); t++) {
+            for (int i = 0; i < truth.getSampleCount(t) - 1; i++) {
                 gc.strokeLine(
-                        lonToX(p1.getLongitude(), w), latToY(p1.getLatitude(), h),
-                        lonToX(p2.getLongitude(), w), latToY(p2.getLatitude(), h));
+                        lonToX(truth.getSampleLongitude(t, i), w), latToY(truth.getSampleLatitude(t, i), h),
+                        lonToX(truth.getSampleLongitude(t, i + 1), w), latToY(truth.getSampleLatitude(t, i + 1), h));
             }
         }
         gc.setLineDashes();
@@ -1,18 +1,26 @@
 package io.github.gcng54.cuaseval.ui;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import io.github.gcng54.cuaseval.dti.MultiDtiSystem;
+import io.github.gcng54.cuaseval.evaluator.FusionRocEvaluator;
 import io.github.gcng54.cuaseval.evaluator.MetricsCalculator;
 import io.github.gcng54.cuaseval.model.*;
 import io.github.gcng54.cuaseval.report.KmlExporter;
 import io.github.gcng54.cuaseval.report.TestReportGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Reports panel showing evaluation results and export options.
@@ -20,6 +28,8 @@ import java.util.Map;
  */
 public class ReportPanel extends VBox {
 
+    private static final Logger log = LoggerFactory.getLogger(ReportPanel.class);
+
     private final Label verdictLabel;
     private final Label scoreLabel;
     private final TableView<Map.Entry<String, Double>> metricsTable;
@@ -29,15 +39,28 @@ public class ReportPanel extends VBox {
     private final Button htmlButton;
     private final Button kmlButton;
     private final Button suiteButton;
+    private final Button rocButton;
+    private final Spinner<Integer> rocReplicationsSpinner;
     private final Label statusLabel;
 
     private TestScenario currentScenario;
     private EvaluationResult currentResult;
 
+    /** Multi-DTI system whose fusion strategies the ROC export sweeps */
+    private MultiDtiSystem multiDtiSystem;
+
     private final TestReportGenerator reportGen = new TestReportGenerator();
     private final KmlExporter kmlExporter = new KmlExporter();
     private final MetricsCalculator metricsCalc = new MetricsCalculator();
 
+    /** Runs fusion ROC evaluations, which may take minutes, off the FX thread */
+    private final ExecutorService rocThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "fusion-roc-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean rocRunning;   // FX thread only
+
     // ── Constructor ─────────────────────────────────────────────────────
 
     @SuppressWarnings("unchecked")
@@ -104,6 +127,16 @@ public class ReportPanel extends VBox {
         suiteButton.setMaxWidth(Double.MAX_VALUE);
         suiteButton.setDisable(true);
 
+        rocButton = new Button("Export Fusion ROC (Pd vs FAR)");
+        rocButton.setMaxWidth(Double.MAX_VALUE);
+        rocButton.setOnAction(e -> exportFusionRoc());
+        rocButton.setDisable(true);
+
+        rocReplicationsSpinner = new Spinner<>(1, 1000, 1);
+        rocReplicationsSpinner.setEditable(true);
+        rocReplicationsSpinner.setPrefWidth(90);
+        HBox rocRow = new HBox(8, new Label("ROC replications:"), rocReplicationsSpinner);
+
         statusLabel = new Label("Run an evaluation to see results.");
         statusLabel.setWrapText(true);
         statusLabel.setStyle("-fx-text-fill: #666; -fx-font-size: 11px;");
@@ -119,6 +152,7 @@ public class ReportPanel extends VBox {
                 new Separator(),
                 exportTitle,
                 htmlButton, kmlButton, suiteButton,
+                rocRow, rocButton,
                 new Separator(),
                 statusLabel
         );
@@ -135,9 +169,23 @@ public class ReportPanel extends VBox {
         updateResults(result);
         htmlButton.setDisable(false);
         kmlButton.setDisable(false);
+        updateRocButton();
         statusLabel.setText("Ready to export: " + scenario.getName());
     }
 
+    /**
+     * Set the multi-DTI system used for the fusion ROC export.
+     */
+    public void setMultiDtiSystem(MultiDtiSystem system) {
+        this.multiDtiSystem = system;
+        updateRocButton();
+    }
+
+    private void updateRocButton() {
+        rocButton.setDisable(rocRunning || currentScenario == null
+                || multiDtiSystem == null || multiDtiSystem.getNodeCount() == 0);
+    }
+
     /**
      * Update the results display with evaluation data.
      */
@@ -204,4 +252,47 @@ public class ReportPanel extends VBox {
             statusLabel.setText("KML exported: " + file.getName());
         }
     }
+
+    private void exportFusionRoc() {
+        if (currentScenario == null || multiDtiSystem == null || multiDtiSystem.getNodeCount() == 0) return;
+
+        FileChooser fc = new FileChooser();
+        fc.setTitle("Save Fusion ROC Report");
+        fc.setInitialFileName("cuas_eval_fusion_roc.html");
+        fc.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("HTML Files", "*.html"));
+
+        Stage stage = (Stage) getScene().getWindow();
+        File file = fc.showSaveDialog(stage);
+        if (file == null) return;
+
+        TestScenario scenario = currentScenario;
+        MultiDtiSystem system = multiDtiSystem;
+        int replications = rocReplicationsSpinner.getValue();
+        rocRunning = true;
+        updateRocButton();
+        statusLabel.setText(String.format(Locale.ENGLISH,
+                "Evaluating fusion ROC (%d replication%s)...", replications, replications > 1 ? "s" : ""));
+
+        rocThread.execute(() -> {
+            String status;
+            try {
+                FusionRocEvaluator rocEvaluator = new FusionRocEvaluator(system);
+                FusionRocResult roc = replications > 1
+                        ? rocEvaluator.run(scenario, replications)
+                        : rocEvaluator.evaluate(scenario);
+                reportGen.generateFusionRocReport(List.of(roc), file);
+                status = "Fusion ROC report saved: " + file.getName();
+            } catch (RuntimeException e) {
+                log.error("Fusion ROC export failed", e);
+                status = "Fusion ROC export failed: " + e.getMessage();
+            }
+            String finalStatus = status;
+            Platform.runLater(() -> {
+                rocRunning = false;
+                updateRocButton();
+                statusLabel.setText(finalStatus);
+            });
+        });
+    }
 }
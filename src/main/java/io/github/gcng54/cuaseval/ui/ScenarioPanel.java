@@ -1,23 +1,35 @@
 package io.github.gcng54.cuaseval.ui;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import io.github.gcng54.cuaseval.dti.DetectionSystem;
+import io.github.gcng54.cuaseval.dti.DtiPipeline;
 import io.github.gcng54.cuaseval.dti.MultiDtiSystem;
 import io.github.gcng54.cuaseval.evaluator.TestEvaluator;
+import io.github.gcng54.cuaseval.event.PipelineEventBus;
+import io.github.gcng54.cuaseval.event.SampledLogConsumer;
 import io.github.gcng54.cuaseval.generator.TestScenarioGenerator;
 import io.github.gcng54.cuaseval.model.*;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Scenario configuration panel for the CUAS-Eval UI.
  * Allows the user to configure environment, targets, and run evaluations.
  * Supports both generic test scenarios and CWA 18150 COURAGEOUS scenarios (S1–S10).
+ * Evaluations and re-fusions run one at a time on a background thread; log
+ * lines and results are posted back to the JavaFX thread.
  */
 public class ScenarioPanel extends VBox {
 
+    /** Per-target pipeline events shown in the log: one in this many */
+    private static final int EVENT_LOG_SAMPLE_EVERY = 25;
+
     private final ComboBox<String> scenarioTypeCombo;
     private final ComboBox<String> courageousScenarioCombo;
     private final TextField latField;
@@ -25,6 +37,8 @@ public class ScenarioPanel extends VBox {
     private final Spinner<Integer> targetCountSpinner;
     private final ComboBox<String> weatherCombo;
     private final ComboBox<String> ewCombo;    // EW condition selector (EV-01)
+    private final CheckBox timeSteppedCheck;   // scan-by-scan detection along flight plans
+    private final CheckBox perTargetCheck;     // concurrent per-target D→T→I chains
     private final TextArea logArea;
     private final Label scenarioDescLabel;
     private final Button runButton;
@@ -36,6 +50,19 @@ public class ScenarioPanel extends VBox {
     /** Optional multi-DTI system for sensor-aware evaluation */
     private MultiDtiSystem multiDtiSystem;
 
+    /** Runs evaluations and re-fusions in submission order, off the JavaFX thread */
+    private final ExecutorService evaluationThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "scenario-evaluation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Last single scenario evaluated by the multi-DTI system, prepared once
+     * and re-fused on fusion changes (evaluation thread only)
+     */
+    private MultiDtiSystem.PreparedScenario lastMultiDtiScenario;
+
     // Callback for when a scenario is run
     private ScenarioCallback callback;
 
@@ -120,6 +147,13 @@ public class ScenarioPanel extends VBox {
         }
         ewCombo.getSelectionModel().selectFirst();
 
+        // Detection model
+        timeSteppedCheck = new CheckBox("Time-stepped detection (scan along flight plan)");
+        timeSteppedCheck.setWrapText(true);
+
+        perTargetCheck = new CheckBox("Concurrent per-target DTI (all cores)");
+        perTargetCheck.setWrapText(true);
+
         // Scenario management buttons
         newScenarioButton = new Button("🆕 New Scenario");
         newScenarioButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 6 16;");
@@ -148,6 +182,13 @@ public class ScenarioPanel extends VBox {
         logArea.setPrefRowCount(12);
         logArea.setStyle("-fx-font-family: Consolas; -fx-font-size: 11px;");
 
+        // Sampled DTI events arrive on the event bus thread
+        PipelineEventBus events = PipelineEventBus.getDefault();
+        if (events != null) {
+            events.addConsumer(new SampledLogConsumer(EVENT_LOG_SAMPLE_EVERY,
+                    line -> Platform.runLater(() -> appendLog(line))));
+        }
+
         // Layout
         getChildren().addAll(
                 title,
@@ -162,6 +203,8 @@ public class ScenarioPanel extends VBox {
                 label("Target Count (multi):"), targetCountSpinner,
                 label("Weather (adverse):"), weatherCombo,
                 label("EW Condition:"), ewCombo,
+                timeSteppedCheck,
+                perTargetCheck,
                 new Separator(),
                 runButton,
                 new Separator(),
@@ -177,14 +220,38 @@ public class ScenarioPanel extends VBox {
         this.callback = callback;
     }
 
+    /**
+     * Set the multi-DTI system. When every node result of the last evaluated
+     * scenario is still cached (only the fusion settings changed), the
+     * scenario is re-fused on the evaluation thread and published.
+     */
     public void setMultiDtiSystem(MultiDtiSystem system) {
         this.multiDtiSystem = system;
+        if (system == null || system.getNodeCount() == 0) return;
+        evaluationThread.execute(() -> {
+            MultiDtiSystem.PreparedScenario scenario = lastMultiDtiScenario;
+            if (scenario != null && system.isCached(scenario)) {
+                refuseLastScenario(system, scenario);
+            }
+        });
     }
 
+    /** Append a line to the evaluation log; may be called from any thread. */
     public void appendLog(String message) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> appendLog(message));
+            return;
+        }
         logArea.appendText(message + "\n");
     }
 
+    /** Hand a result to the callback on the JavaFX thread. */
+    private void publish(TestScenario scenario, EvaluationResult result) {
+        if (callback != null) {
+            Platform.runLater(() -> callback.onScenarioEvaluated(scenario, result));
+        }
+    }
+
     // ── Scenario changed ────────────────────────────────────────────────
 
     private void onScenarioTypeChanged() {
@@ -215,7 +282,7 @@ public class ScenarioPanel extends VBox {
                 scenarioDescLabel.setText(st.getDescription());
             }
         } else if ("COURAGEOUS Full Suite (S1–S10)".equals(type)) {
-            scenarioDescLabel.setText("Run all 10 COURAGEOUS scenarios (S1–S10) sequentially.");
+            scenarioDescLabel.setText("Run all 10 COURAGEOUS scenarios (S1–S10) in parallel.");
         } else if ("Full Generic Suite".equals(type)) {
             scenarioDescLabel.setText("Run baseline, multi-target, tracking, and weather scenarios.");
         } else {
@@ -240,6 +307,7 @@ public class ScenarioPanel extends VBox {
         appendLog("Starting evaluation...");
 
         // Check for multi-DTI system
+        MultiDtiSystem multiDtiSystem = this.multiDtiSystem;
         boolean useMultiDti = multiDtiSystem != null && multiDtiSystem.getNodeCount() > 0;
         if (useMultiDti) {
             appendLog(String.format(Locale.ENGLISH, "Using Multi-DTI: %d nodes, fusion=%s",
@@ -260,9 +328,39 @@ public class ScenarioPanel extends VBox {
 
         final TestEnvironment.EwCondition finalEw = ewCondition;
 
+        // Read the controls here; the evaluation itself runs on the evaluation thread
+        String type = scenarioTypeCombo.getValue();
+        boolean timeStepped = timeSteppedCheck.isSelected();
+        boolean perTarget = perTargetCheck.isSelected();
+        String latText = latField.getText();
+        String lonText = lonField.getText();
+        int targetCount = targetCountSpinner.getValue();
+        String weather = weatherCombo.getValue();
+        runButton.setDisable(true);
+        evaluationThread.execute(() -> {
+            try {
+                evaluate(multiDtiSystem, useMultiDti, finalEw, type, timeStepped, perTarget,
+                        latText, lonText, targetCount, weather);
+            } finally {
+                Platform.runLater(() -> runButton.setDisable(false));
+            }
+        });
+    }
+
+    private void evaluate(MultiDtiSystem multiDtiSystem, boolean useMultiDti,
+                          TestEnvironment.EwCondition ewCondition, String type,
+                          boolean timeStepped, boolean perTarget, String latText, String lonText,
+                          int targetCount, String weather) {
+        lastMultiDtiScenario = null;
         try {
-            String type = scenarioTypeCombo.getValue();
             TestEvaluator evaluator = new TestEvaluator();
+            configurePipeline(evaluator.getPipeline(), timeStepped, perTarget);
+            if (useMultiDti) {
+                // Node results are cached per pipeline configuration, so switching modes re-runs the nodes
+                for (MultiDtiSystem.DtiNode node : multiDtiSystem.getNodes()) {
+                    configurePipeline(node.getPipeline(), timeStepped, perTarget);
+                }
+            }
 
             if ("COURAGEOUS Full Suite (S1–S10)".equals(type)) {
                 // Run all 10 COURAGEOUS scenarios
@@ -270,32 +368,28 @@ public class ScenarioPanel extends VBox {
                 List<TestScenario> suite = scenarioGen.createCourageousTestSuite();
                 List<EvaluationResult> results = useMultiDti
                         ? suite.stream().map(multiDtiSystem::execute).toList()
-                        : evaluator.evaluateSuite(suite);
+                        : evaluator.evaluateSuiteParallel(suite);
                 int passCount = 0;
                 for (int i = 0; i < suite.size(); i++) {
                     logResult(suite.get(i), results.get(i));
-                    if (callback != null) {
-                        callback.onScenarioEvaluated(suite.get(i), results.get(i));
-                    }
+                    publish(suite.get(i), results.get(i));
                     if (results.get(i).isPassed()) passCount++;
                 }
                 appendLog(String.format(Locale.ENGLISH, "\n═══ Suite Complete: %d/%d scenarios passed ═══",
                         passCount, suite.size()));
 
             } else if ("Full Generic Suite".equals(type)) {
-                double lat = Double.parseDouble(latField.getText());
-                double lon = Double.parseDouble(lonField.getText());
+                double lat = Double.parseDouble(latText);
+                double lon = Double.parseDouble(lonText);
                 GeoPosition centre = new GeoPosition(lat, lon, 0);
 
                 List<TestScenario> suite = scenarioGen.createFullTestSuite(centre);
                 List<EvaluationResult> results = useMultiDti
                         ? suite.stream().map(multiDtiSystem::execute).toList()
-                        : evaluator.evaluateSuite(suite);
+                        : evaluator.evaluateSuiteParallel(suite);
                 for (int i = 0; i < suite.size(); i++) {
                     logResult(suite.get(i), results.get(i));
-                    if (callback != null) {
-                        callback.onScenarioEvaluated(suite.get(i), results.get(i));
-                    }
+                    publish(suite.get(i), results.get(i));
                 }
                 appendLog("\n=== Suite Complete: " + suite.size() + " scenarios ===");
 
@@ -306,41 +400,35 @@ public class ScenarioPanel extends VBox {
 
                 appendLog("═══ " + st + " ═══");
                 TestScenario scenario = scenarioGen.createCourageousScenario(st);
-                EvaluationResult result = useMultiDti
-                        ? multiDtiSystem.execute(scenario) : evaluator.evaluate(scenario);
+                EvaluationResult result = evaluateSingle(multiDtiSystem, useMultiDti, evaluator, scenario);
                 logResult(scenario, result);
                 logRequirementDetails(scenario, result);
-                if (callback != null) {
-                    callback.onScenarioEvaluated(scenario, result);
-                }
+                publish(scenario, result);
 
             } else {
                 // Generic scenarios
-                double lat = Double.parseDouble(latField.getText());
-                double lon = Double.parseDouble(lonField.getText());
+                double lat = Double.parseDouble(latText);
+                double lon = Double.parseDouble(lonText);
                 GeoPosition centre = new GeoPosition(lat, lon, 0);
 
                 TestScenario scenario = switch (type) {
                     case "Multi-Target" ->
-                            scenarioGen.createMultiTargetScenario(centre, targetCountSpinner.getValue());
+                            scenarioGen.createMultiTargetScenario(centre, targetCount);
                     case "Tracking Continuity" ->
                             scenarioGen.createTrackingScenario(centre);
                     case "Adverse Weather" ->
                             scenarioGen.createAdverseWeatherScenario(centre,
-                                    TestEnvironment.WeatherCondition.valueOf(weatherCombo.getValue()));
+                                    TestEnvironment.WeatherCondition.valueOf(weather));
                     default ->
                             scenarioGen.createSingleTargetScenario(centre);
                 };
 
                 // Apply EW condition (EV-01)
-                applyEwCondition(scenario, finalEw);
+                applyEwCondition(scenario, ewCondition);
 
-                EvaluationResult result = useMultiDti
-                        ? multiDtiSystem.execute(scenario) : evaluator.evaluate(scenario);
+                EvaluationResult result = evaluateSingle(multiDtiSystem, useMultiDti, evaluator, scenario);
                 logResult(scenario, result);
-                if (callback != null) {
-                    callback.onScenarioEvaluated(scenario, result);
-                }
+                publish(scenario, result);
             }
 
         } catch (Exception ex) {
@@ -349,6 +437,37 @@ public class ScenarioPanel extends VBox {
         }
     }
 
+    /**
+     * Evaluate one scenario; with the multi-DTI system it is prepared once and
+     * remembered for re-fusion.
+     */
+    /** Apply the detection model and execution mode selected in the panel to a pipeline. */
+    private static void configurePipeline(DtiPipeline pipeline, boolean timeStepped, boolean perTarget) {
+        pipeline.getDetectionSystem().setDetectionMode(timeStepped
+                ? DetectionSystem.DetectionMode.TIME_STEPPED : DetectionSystem.DetectionMode.SNAPSHOT);
+        pipeline.setExecutionMode(perTarget
+                ? DtiPipeline.ExecutionMode.PER_TARGET : DtiPipeline.ExecutionMode.PHASED);
+    }
+
+    private EvaluationResult evaluateSingle(MultiDtiSystem multiDtiSystem, boolean useMultiDti,
+                                            TestEvaluator evaluator, TestScenario scenario) {
+        if (!useMultiDti) return evaluator.evaluate(scenario);
+        MultiDtiSystem.PreparedScenario prepared = MultiDtiSystem.prepare(scenario);
+        EvaluationResult result = multiDtiSystem.execute(prepared);
+        lastMultiDtiScenario = prepared;
+        return result;
+    }
+
+    private void refuseLastScenario(MultiDtiSystem system, MultiDtiSystem.PreparedScenario prepared) {
+        TestScenario scenario = prepared.getScenario();
+        long start = System.nanoTime();
+        EvaluationResult result = system.execute(prepared);
+        appendLog(String.format(Locale.ENGLISH, "\nRe-fused %s with fusion=%s from cached node results (%.0f ms)",
+                scenario.getName(), system.getDetectionFusion(), (System.nanoTime() - start) / 1e6));
+        logResult(scenario, result);
+        publish(scenario, result);
+    }
+
     private void logResult(TestScenario scenario, EvaluationResult result) {
         appendLog("\n── " + scenario.getName() + " ──");
         appendLog(String.format(Locale.ENGLISH, "  Score: %.1f / 100", result.getOverallScore()));
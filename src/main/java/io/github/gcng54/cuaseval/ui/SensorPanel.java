@@ -1,5 +1,6 @@
 package io.github.gcng54.cuaseval.ui;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -8,6 +9,9 @@ import io.github.gcng54.cuaseval.model.*;
 
 import java.util.*;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Sensor configuration panel with sub-tabs: Sensors, DTI, Fusion.
@@ -38,6 +42,16 @@ public class SensorPanel extends VBox {
     private final MultiDtiSystem multiDti = new MultiDtiSystem();
     private int nodeCounter = 0;
 
+    /** Computes the system summary (raster coverage) off the JavaFX thread */
+    private final ExecutorService summaryThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sensor-summary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Latest summary request; older requests are skipped or discarded */
+    private final AtomicLong summaryRequest = new AtomicLong();
+
     /** Callback for notifying parent that the multi-DTI config changed. */
     public interface SensorCallback {
         void onMultiDtiConfigured(MultiDtiSystem system);
@@ -513,12 +527,30 @@ public class SensorPanel extends VBox {
 
     // ── Helpers (continued) ─────────────────────────────────────────────
 
+    /**
+     * Refresh the system summary. The coverage raster is computed on the
+     * summary thread; only the latest request's text is shown.
+     */
     private void updateSystemSummary() {
+        long request = summaryRequest.incrementAndGet();
         if (multiDti.getNodeCount() == 0) {
             systemSummaryArea.setText("No nodes configured.\n\nUse 'Add Node' or quick setup buttons.");
             return;
         }
-        systemSummaryArea.setText(multiDti.getSummary());
+        systemSummaryArea.setText("Computing system coverage...");
+        summaryThread.execute(() -> {
+            if (request != summaryRequest.get()) return;
+            String summary;
+            try {
+                summary = multiDti.getSummary();
+            } catch (RuntimeException e) {
+                summary = "Coverage computation failed: " + e.getMessage();
+            }
+            String text = summary;
+            Platform.runLater(() -> {
+                if (request == summaryRequest.get()) systemSummaryArea.setText(text);
+            });
+        });
     }
 
     private void notifyCallback() {